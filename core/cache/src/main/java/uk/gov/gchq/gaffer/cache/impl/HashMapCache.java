@@ -49,10 +49,11 @@ public class HashMapCache<K, V> implements ICache<K, V> {
 
     @Override
     public V get(final K key) {
+        final Object value = cache.get(key);
         try {
-            return (V) (useJavaSerialisation
-                    ? JAVA_SERIALISER.deserialise((byte[]) cache.get(key))
-                    : cache.get(key));
+            return (V) (useJavaSerialisation && null != value
+                    ? JAVA_SERIALISER.deserialise((byte[]) value)
+                    : value);
         } catch (final SerialisationException e) {
             throw new RuntimeException(e);
         }
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * A {@code PipelinedIterable} consumes the provided {@link Iterable} on a
+ * separate thread, buffering the items in a bounded queue. This allows the
+ * work done to produce the items, for example a scan of a store, to overlap
+ * with the work done by the consumer of the items.
+ * </p>
+ * <p>
+ * If several iterables are provided they are each consumed on their own thread
+ * and the items are returned in the order they arrive in the buffer, so a slow
+ * iterable does not hold up the items from the others.
+ * </p>
+ * <p>
+ * If the executor rejects an iterable, for example because a bounded executor
+ * has no free threads, that iterable is read on the consumer's thread once the
+ * others have finished.
+ * </p>
+ * <p>
+ * When the buffer is full the producing threads wait for the consumer. Closing
+ * the iterable, or any of its iterators, stops the producing threads and closes
+ * the underlying iterables. If an underlying iterable throws an exception it is
+ * rethrown to the consumer.
+ * </p>
+ * <p>
+ * An idle timeout can optionally be provided. If the consumer then stops
+ * reading without closing the iterator, the producing threads give up once
+ * they have been unable to add an item to the buffer for the idle timeout. The
+ * producing threads are then stopped, the underlying iterables are closed and
+ * the iterator throws an exception if the consumer tries to read from it
+ * again. By default there is no idle timeout, so a consumer can pause for as
+ * long as it needs to.
+ * </p>
+ *
+ * @param <T> the type of items in the iterable.
+ */
+public class PipelinedIterable<T> implements CloseableIterable<T> {
+    public static final long NO_IDLE_TIMEOUT = 0;
+    private static final Object END = new Object();
+    private static final Object NULL = new Object();
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final List<? extends Iterable<? extends T>> inputs;
+    private final ExecutorService executor;
+    private final int bufferSize;
+    private final long idleTimeoutMillis;
+    private final List<PipelinedIterator> iterators = new CopyOnWriteArrayList<>();
+
+    public PipelinedIterable(final Iterable<? extends T> input, final ExecutorService executor, final int bufferSize) {
+        this(Collections.singletonList(input), executor, bufferSize);
+    }
+
+    public PipelinedIterable(final List<? extends Iterable<? extends T>> inputs, final ExecutorService executor, final int bufferSize) {
+        this(inputs, executor, bufferSize, NO_IDLE_TIMEOUT);
+    }
+
+    /**
+     * @param inputs            the iterables to consume
+     * @param executor          the executor to consume the iterables on
+     * @param bufferSize        the maximum number of items to buffer
+     * @param idleTimeoutMillis the time to wait for the consumer before closing
+     *                          the iterator, or {@link #NO_IDLE_TIMEOUT}
+     */
+    public PipelinedIterable(final List<? extends Iterable<? extends T>> inputs, final ExecutorService executor, final int bufferSize, final long idleTimeoutMillis) {
+        if (null == inputs || inputs.contains(null)) {
+            throw new IllegalArgumentException("Input iterables are required");
+        }
+        if (null == executor) {
+            throw new IllegalArgumentException("Executor is required");
+        }
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be at least 1");
+        }
+        if (idleTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Idle timeout must not be negative");
+        }
+        this.inputs = inputs;
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        final PipelinedIterator iterator = new PipelinedIterator();
+        iterators.add(iterator);
+        return iterator;
+    }
+
+    @Override
+    public void close() {
+        iterators.forEach(PipelinedIterator::close);
+        inputs.forEach(CloseableUtil::close);
+    }
+
+    private final class PipelinedIterator implements CloseableIterator<T> {
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final List<Future<?>> producers = new CopyOnWriteArrayList<>();
+        private final Deque<Iterable<? extends T>> rejectedInputs = new ArrayDeque<>();
+        private int activeProducers;
+        private volatile boolean closed;
+        private volatile boolean abandoned;
+        private boolean finished;
+        private Iterator<? extends T> rejectedInputItr;
+        private Object next;
+
+        private PipelinedIterator() {
+            for (final Iterable<? extends T> input : inputs) {
+                try {
+                    producers.add(executor.submit(() -> produce(input)));
+                    activeProducers++;
+                } catch (final RejectedExecutionException e) {
+                    rejectedInputs.add(input);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == next && !finished) {
+                if (closed) {
+                    if (abandoned) {
+                        throw new IllegalStateException("The iterator was not read for " + idleTimeoutMillis + "ms so it has been closed");
+                    }
+                    return false;
+                }
+                if (activeProducers > 0) {
+                    final Object item;
+                    try {
+                        // Poll so an iterator closed by the producers is noticed
+                        item = queue.poll(OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        close();
+                        throw new RuntimeException("Interrupted whilst waiting for the next item", e);
+                    }
+                    if (END == item) {
+                        activeProducers--;
+                    } else {
+                        next = item;
+                    }
+                } else {
+                    readRejectedInput();
+                }
+            }
+
+            if (next instanceof Failure) {
+                final Failure failure = (Failure) next;
+                close();
+                failure.rethrow();
+            }
+            return null != next;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more items");
+            }
+            final Object item = next;
+            next = null;
+            return NULL == item ? null : (T) item;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            next = null;
+            producers.forEach(producer -> producer.cancel(true));
+            queue.clear();
+            iterators.remove(this);
+            CloseableUtil.close(rejectedInputItr);
+        }
+
+        // Inputs the executor had no capacity for are read on the consumer's
+        // thread once the other inputs have finished
+        private void readRejectedInput() {
+            try {
+                while (null == rejectedInputItr || !rejectedInputItr.hasNext()) {
+                    CloseableUtil.close(rejectedInputItr);
+                    rejectedInputItr = null;
+                    if (rejectedInputs.isEmpty()) {
+                        finished = true;
+                        return;
+                    }
+                    rejectedInputItr = rejectedInputs.poll().iterator();
+                }
+                final T item = rejectedInputItr.next();
+                next = null == item ? NULL : item;
+            } catch (final RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        private void produce(final Iterable<? extends T> input) {
+            Iterator<? extends T> inputItr = null;
+            try {
+                inputItr = input.iterator();
+                while (!closed && inputItr.hasNext()) {
+                    final T item = inputItr.next();
+                    if (!put(null == item ? NULL : item)) {
+                        return;
+                    }
+                }
+                put(END);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final RuntimeException | Error e) {
+                try {
+                    put(new Failure(e));
+                } catch (final InterruptedException e2) {
+                    Thread.currentThread().interrupt();
+                }
+            } finally {
+                CloseableUtil.close(inputItr);
+            }
+        }
+
+        private boolean put(final Object item) throws InterruptedException {
+            // Check periodically whether the consumer has closed or abandoned the iterator
+            final long idleDeadline = System.currentTimeMillis() + idleTimeoutMillis;
+            while (!closed) {
+                if (queue.offer(item, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+                if (NO_IDLE_TIMEOUT != idleTimeoutMillis && System.currentTimeMillis() >= idleDeadline) {
+                    abandon();
+                }
+            }
+            return false;
+        }
+
+        private void abandon() {
+            abandoned = true;
+            closed = true;
+            producers.forEach(producer -> producer.cancel(true));
+            queue.clear();
+            iterators.remove(this);
+            inputs.forEach(CloseableUtil::close);
+        }
+    }
+
+    private static final class Failure {
+        private final Throwable throwable;
+
+        private Failure(final Throwable throwable) {
+            this.throwable = throwable;
+        }
+
+        private void rethrow() {
+            if (throwable instanceof Error) {
+                throw (Error) throwable;
+            }
+            throw (RuntimeException) throwable;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class PipelinedIterableTest {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldIterateOverInputIncludingNulls() {
+        // Given
+        final List<Integer> input = Arrays.asList(1, null, 3, 4, 5);
+
+        // When
+        final PipelinedIterable<Integer> iterable = new PipelinedIterable<>(input, executor, 2);
+
+        // Then
+        assertEquals(input, Lists.newArrayList(iterable));
+        assertEquals(input, Lists.newArrayList(iterable));
+    }
+
+    @Test
+    public void shouldIterateOverAllItemsFromMultipleInputs() {
+        // Given
+        final List<List<Integer>> inputs = Arrays.asList(
+                Arrays.asList(1, 2, 3),
+                Collections.emptyList(),
+                Arrays.asList(4, null));
+
+        // When
+        final PipelinedIterable<Integer> iterable = new PipelinedIterable<>(inputs, executor, 1);
+
+        // Then
+        final List<Integer> results = Lists.newArrayList(iterable);
+        assertEquals(5, results.size());
+        assertTrue(results.containsAll(Arrays.asList(1, 2, 3, 4, null)));
+        assertFalse(new PipelinedIterable<>(Collections.<List<Integer>>emptyList(), executor, 1).iterator().hasNext());
+    }
+
+    @Test
+    public void shouldRethrowExceptionFromInput() {
+        // Given
+        final Iterable<Integer> input = () -> new Iterator<Integer>() {
+            private int count;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                if (count > 1) {
+                    throw new IllegalStateException("Input failed");
+                }
+                return count++;
+            }
+        };
+        final Iterator<Integer> iterator = new PipelinedIterable<>(input, executor, 10).iterator();
+
+        // When / Then
+        assertEquals(0, (int) iterator.next());
+        assertEquals(1, (int) iterator.next());
+        try {
+            iterator.hasNext();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertEquals("Input failed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldStopProducerAndCloseInputWhenClosed() throws InterruptedException {
+        // Given
+        final CloseableIterable<Integer> input = mock(CloseableIterable.class);
+        final CloseableIterator<Integer> inputIterator = mock(CloseableIterator.class);
+        given(input.iterator()).willReturn(inputIterator);
+        given(inputIterator.hasNext()).willReturn(true);
+        given(inputIterator.next()).willReturn(1);
+
+        final PipelinedIterable<Integer> iterable = new PipelinedIterable<>(input, executor, 1);
+        final CloseableIterator<Integer> iterator = iterable.iterator();
+        assertTrue(iterator.hasNext());
+
+        // When
+        iterable.close();
+
+        // Then
+        assertFalse(iterator.hasNext());
+        verify(input).close();
+        verify(inputIterator, timeout(5000)).close();
+    }
+
+    @Test
+    public void shouldStopProducerAndCloseInputWhenConsumerStopsReading() {
+        // Given
+        final CloseableIterator<Integer> inputIterator = mock(CloseableIterator.class);
+        given(inputIterator.hasNext()).willReturn(true);
+        given(inputIterator.next()).willReturn(1);
+        final Iterable<Integer> input = () -> inputIterator;
+
+        final CloseableIterator<Integer> iterator = new PipelinedIterable<>(Collections.singletonList(input), executor, 1, 200).iterator();
+        assertEquals(1, (int) iterator.next());
+
+        // When - the iterator is not read again or closed
+        verify(inputIterator, timeout(5000)).close();
+
+        // Then
+        try {
+            iterator.hasNext();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().contains("was not read for 200ms"));
+        }
+    }
+
+    @Test
+    public void shouldStopOtherProducersAndCloseInputsWhenConsumerStopsReading() throws InterruptedException {
+        // Given
+        final CloseableIterator<Integer> inputIterator = mock(CloseableIterator.class);
+        given(inputIterator.hasNext()).willReturn(true);
+        given(inputIterator.next()).willReturn(1);
+        final CloseableIterable<Integer> input = mock(CloseableIterable.class);
+        given(input.iterator()).willReturn(inputIterator);
+        final CountDownLatch blockedInputInterrupted = new CountDownLatch(1);
+        final CloseableIterable<Integer> blockedInput = mock(CloseableIterable.class);
+        given(blockedInput.iterator()).willReturn(new WrappedCloseableIterator<>(new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    Thread.sleep(Long.MAX_VALUE);
+                } catch (final InterruptedException e) {
+                    blockedInputInterrupted.countDown();
+                }
+                return false;
+            }
+
+            @Override
+            public Integer next() {
+                throw new NoSuchElementException();
+            }
+        }));
+
+        final CloseableIterator<Integer> iterator = new PipelinedIterable<>(Arrays.asList(input, blockedInput), executor, 1, 200).iterator();
+        assertEquals(1, (int) iterator.next());
+
+        // When - the iterator is not read again or closed
+        verify(input, timeout(5000)).close();
+
+        // Then
+        verify(blockedInput, timeout(5000)).close();
+        assertTrue(blockedInputInterrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldReadInputsRejectedByExecutorOnConsumerThread() {
+        // Given
+        final ExecutorService boundedExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+        final List<List<Integer>> inputs = Arrays.asList(
+                Arrays.asList(1, 2),
+                Arrays.asList(3, null),
+                Collections.singletonList(5));
+
+        // When
+        final List<Integer> results;
+        try {
+            results = Lists.newArrayList(new PipelinedIterable<>(inputs, boundedExecutor, 1));
+        } finally {
+            boundedExecutor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(5, results.size());
+        assertTrue(results.containsAll(Arrays.asList(1, 2, 3, null, 5)));
+    }
+
+    @Test
+    public void shouldRejectNegativeIdleTimeout() {
+        try {
+            new PipelinedIterable<>(Collections.singletonList(Collections.emptyList()), executor, 1, -1);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Idle timeout"));
+        }
+    }
+}
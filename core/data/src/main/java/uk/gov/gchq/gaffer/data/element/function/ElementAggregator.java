@@ -34,8 +34,9 @@ import java.util.function.BinaryOperator;
  * {@link Element} objects into a single element.
  */
 public class ElementAggregator extends TupleAdaptedBinaryOperatorComposite<String> {
-    private final PropertiesTuple stateTuple = new PropertiesTuple();
-    private final PropertiesTuple propertiesTuple = new PropertiesTuple();
+    // Each thread reuses its own tuples so the aggregator can be shared between threads
+    private final ThreadLocal<PropertiesTuple> stateTuple = ThreadLocal.withInitial(PropertiesTuple::new);
+    private final ThreadLocal<PropertiesTuple> propertiesTuple = ThreadLocal.withInitial(PropertiesTuple::new);
     private boolean readOnly;
 
     /**
@@ -60,9 +61,16 @@ public class ElementAggregator extends TupleAdaptedBinaryOperatorComposite<Strin
             return properties;
         }
 
-        propertiesTuple.setProperties(properties);
-        stateTuple.setProperties(state);
-        apply(stateTuple, propertiesTuple);
+        final PropertiesTuple stateTpl = stateTuple.get();
+        final PropertiesTuple propertiesTpl = propertiesTuple.get();
+        stateTpl.setProperties(state);
+        propertiesTpl.setProperties(properties);
+        try {
+            apply(stateTpl, propertiesTpl);
+        } finally {
+            stateTpl.setProperties(null);
+            propertiesTpl.setProperties(null);
+        }
         return state;
     }
 
@@ -92,12 +100,8 @@ public class ElementAggregator extends TupleAdaptedBinaryOperatorComposite<Strin
             return false;
         }
 
-        final ElementAggregator that = (ElementAggregator) obj;
-
         return new EqualsBuilder()
                 .appendSuper(super.equals(obj))
-                .append(stateTuple, that.stateTuple)
-                .append(propertiesTuple, that.propertiesTuple)
                 .isEquals();
     }
 
@@ -105,16 +109,13 @@ public class ElementAggregator extends TupleAdaptedBinaryOperatorComposite<Strin
     public int hashCode() {
         return new HashCodeBuilder(59, 13)
                 .appendSuper(super.hashCode())
-                .append(stateTuple)
-                .append(propertiesTuple)
                 .toHashCode();
     }
 
     @Override
     public String toString() {
         return new ToStringBuilder(this)
-                .append("stateTuple", stateTuple)
-                .append("propertiesTuple", propertiesTuple)
+                .appendSuper(super.toString())
                 .toString();
     }
 
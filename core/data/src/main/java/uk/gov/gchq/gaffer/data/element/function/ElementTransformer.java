@@ -32,11 +32,17 @@ import java.util.function.Function;
  * transformations to an {@link Element}.
  */
 public class ElementTransformer extends TupleAdaptedFunctionComposite<String> {
-    private final ElementTuple elementTuple = new ElementTuple();
+    // Each thread reuses its own tuple so the transformer can be shared between threads
+    private final ThreadLocal<ElementTuple> elementTuple = ThreadLocal.withInitial(ElementTuple::new);
 
     public Element apply(final Element element) {
-        elementTuple.setElement(element);
-        apply(elementTuple);
+        final ElementTuple tuple = elementTuple.get();
+        tuple.setElement(element);
+        try {
+            apply(tuple);
+        } finally {
+            tuple.setElement(null);
+        }
         return element;
     }
 
@@ -50,11 +56,8 @@ public class ElementTransformer extends TupleAdaptedFunctionComposite<String> {
             return false;
         }
 
-        final ElementTransformer that = (ElementTransformer) obj;
-
         return new EqualsBuilder()
                 .appendSuper(super.equals(obj))
-                .append(elementTuple, that.elementTuple)
                 .isEquals();
     }
 
@@ -62,14 +65,13 @@ public class ElementTransformer extends TupleAdaptedFunctionComposite<String> {
     public int hashCode() {
         return new HashCodeBuilder(47, 17)
                 .appendSuper(super.hashCode())
-                .append(elementTuple)
                 .toHashCode();
     }
 
     @Override
     public String toString() {
         return new ToStringBuilder(this)
-                .append("elementTuple", elementTuple)
+                .appendSuper(super.toString())
                 .toString();
     }
 
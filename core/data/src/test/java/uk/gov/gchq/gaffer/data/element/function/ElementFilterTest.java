@@ -29,7 +29,11 @@ import uk.gov.gchq.koryphe.impl.predicate.Or;
 import uk.gov.gchq.koryphe.tuple.predicate.KoryphePredicate2;
 import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
 
 import static junit.framework.TestCase.assertSame;
@@ -79,6 +83,41 @@ public class ElementFilterTest extends JSONSerialisationTest<ElementFilter> {
         assertFalse(result2);
     }
 
+    @Test
+    public void shouldTestElementsConcurrently() throws Exception {
+        // Given
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select(TestPropertyNames.PROP_1)
+                .execute(new IsMoreThan(5))
+                .build();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<Boolean>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> {
+                    for (int j = 0; j < 10000; j++) {
+                        final Entity element = new Entity.Builder()
+                                .property(TestPropertyNames.PROP_1, j % 10)
+                                .build();
+                        if (filter.test(element) != (j % 10 > 5)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+
+            // Then
+            for (final Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void shouldTestElementOnPredicate2WithValidationResult() {
         // Given
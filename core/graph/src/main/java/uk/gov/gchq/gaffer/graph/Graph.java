@@ -31,6 +31,7 @@ import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.graph.hook.GraphHook;
 import uk.gov.gchq.gaffer.graph.hook.NamedOperationResolver;
 import uk.gov.gchq.gaffer.graph.hook.NamedViewResolver;
+import uk.gov.gchq.gaffer.graph.hook.QueryResultCache;
 import uk.gov.gchq.gaffer.jobtracker.JobDetail;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.named.operation.NamedOperation;
@@ -898,6 +899,9 @@ public final class Graph {
                 if (NamedViewResolver.class.isAssignableFrom(graphHook.getClass())) {
                     hasNamedViewHook = true;
                 }
+                if (graphHook instanceof QueryResultCache) {
+                    ((QueryResultCache) graphHook).setGraphId(config.getGraphId());
+                }
             }
             if (!hasNamedViewHook) {
                 config.getHooks().add(0, new NamedViewResolver());
@@ -0,0 +1,650 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.graph.hook;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
+import uk.gov.gchq.gaffer.cache.ICacheService;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.Operations;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.CountGroups;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.Map;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElementsFromFile;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElementsFromKafka;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElementsFromSocket;
+import uk.gov.gchq.gaffer.operation.impl.compare.Max;
+import uk.gov.gchq.gaffer.operation.impl.compare.Min;
+import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.operation.impl.function.Aggregate;
+import uk.gov.gchq.gaffer.operation.impl.function.Filter;
+import uk.gov.gchq.gaffer.operation.impl.function.Transform;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToArray;
+import uk.gov.gchq.gaffer.operation.impl.output.ToEntitySeeds;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+import uk.gov.gchq.gaffer.operation.impl.output.ToVertices;
+import uk.gov.gchq.gaffer.operation.io.Input;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.function.Identity;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * A {@code QueryResultCache} is a {@link GraphHook} that caches the results of
+ * read only {@link OperationChain}s, so repeated queries can be answered
+ * without going back to the store.
+ * </p>
+ * <p>
+ * A chain is only cached if every operation in it is one of the configured
+ * cacheable operations. The cache key is made from the graph id and a hash of
+ * the chain, serialised to JSON with the map keys sorted, and the user's id,
+ * data auths and operation auths. Results are stored using the
+ * {@link CacheServiceLoader} cache service, in the cache with the configured
+ * name, and expire after the configured time to live. Results are stored
+ * serialised with the {@link JavaSerialiser}, so each cache hit returns a new
+ * copy of the result. Iterable results are only cached once they have been
+ * fully read and if they contain no more than the configured maximum number of
+ * items, and no result is cached if it is larger than the configured maximum
+ * number of bytes once serialised.
+ * </p>
+ * <p>
+ * The expiry time of each result is also kept in a second cache, so expired
+ * results can be found without reading the results themselves. Expired
+ * results are removed from the cache service when they are read, and by a
+ * sweep of the whole cache when a result is added, at most once per time to
+ * live. When the cache holds the configured maximum number of entries, the
+ * oldest results are removed to make room for the new one.
+ * </p>
+ * <p>
+ * Every time an operation chain containing one of the configured write
+ * operations, such as {@link AddElements}, runs through the graph a new write
+ * generation is stored in the cache service and the cache is cleared. Results
+ * are stored with the generation they were read in and are discarded if the
+ * generation has since changed, so a query that overlaps a write is never
+ * cached. As the generation is kept in the cache service, a distributed cache
+ * service can be shared by instances of the same graph on several nodes.
+ * Writes made to the store without going through a graph using this hook are
+ * only seen once the cached results expire.
+ * </p>
+ * <p>
+ * This hook should be added after any hooks that authorise the operation
+ * chain, such as the {@link OperationAuthoriser}, so unauthorised chains are
+ * rejected before a cached result is returned.
+ * </p>
+ */
+@JsonPropertyOrder(alphabetic = true)
+public class QueryResultCache implements GraphHook {
+    public static final String DEFAULT_CACHE_NAME = "queryResultCache";
+    public static final long DEFAULT_TIME_TO_LIVE = TimeUnit.MINUTES.toMillis(5);
+    public static final int DEFAULT_MAX_RESULT_SIZE = 10000;
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    public static final int DEFAULT_MAX_RESULT_BYTES = 1024 * 1024;
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryResultCache.class);
+    private static final String CONTEXT_CONFIG_PREFIX = "gaffer.queryResultCache.";
+    private static final String WRITE_GENERATION_CACHE_SUFFIX = ".writeGeneration";
+    private static final String EXPIRY_TIME_CACHE_SUFFIX = ".expiryTime";
+    private static final JavaSerialiser SERIALISER = new JavaSerialiser();
+    private static final ObjectMapper SORTED_MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private String cacheName = DEFAULT_CACHE_NAME;
+    private long timeToLive = DEFAULT_TIME_TO_LIVE;
+    private int maxResultSize = DEFAULT_MAX_RESULT_SIZE;
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+    private int maxResultBytes = DEFAULT_MAX_RESULT_BYTES;
+    private Set<Class<? extends Operation>> cacheableOperations = new HashSet<>(Arrays.asList(
+            GetElements.class, GetAllElements.class, GetAdjacentIds.class,
+            Limit.class, Count.class, CountGroups.class,
+            ToList.class, ToSet.class, ToArray.class, ToVertices.class, ToEntitySeeds.class,
+            Sort.class, Max.class, Min.class,
+            Filter.class, Transform.class, Aggregate.class
+    ));
+    private Set<Class<? extends Operation>> writeOperations = new HashSet<>(Arrays.asList(
+            AddElements.class, AddElementsFromFile.class, AddElementsFromKafka.class, AddElementsFromSocket.class
+    ));
+
+    private String graphId;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong nextExpirySweep = new AtomicLong();
+
+    @Override
+    public void preExecute(final OperationChain<?> opChain, final Context context) {
+        if (!CacheServiceLoader.isEnabled()) {
+            return;
+        }
+
+        if (containsWriteOperation(opChain)) {
+            // Stop any reads that are already running from being cached
+            startNewWriteGeneration();
+            return;
+        }
+
+        if (!isCacheable(opChain)) {
+            return;
+        }
+
+        final String generation = getWriteGeneration();
+        final String key = createKey(opChain, context);
+        if (null == generation || null == key) {
+            return;
+        }
+
+        final Object cachedResult = getFromCache(key, generation);
+        if (null != cachedResult) {
+            hits.incrementAndGet();
+            final Map<Object, Object> map = new Map<>(new Identity());
+            map.setInput(cachedResult);
+            opChain.updateOperations(Collections.singletonList(map));
+        } else {
+            misses.incrementAndGet();
+            context.setConfig(CONTEXT_CONFIG_PREFIX + context.getJobId(), new PendingResult(key, generation));
+        }
+    }
+
+    @Override
+    public <T> T postExecute(final T result, final OperationChain<?> opChain, final Context context) {
+        if (containsWriteOperation(opChain)) {
+            invalidate();
+            return result;
+        }
+
+        final PendingResult pending = removePendingResult(context);
+        if (null == pending || null == result) {
+            return result;
+        }
+
+        if (result instanceof Collection) {
+            if (((Collection) result).size() <= maxResultSize) {
+                addToCache(pending, result, false);
+            }
+            return result;
+        }
+
+        if (result instanceof Iterable) {
+            return (T) new ResultCachingIterable<>((Iterable<?>) result, pending);
+        }
+
+        addToCache(pending, result, false);
+        return result;
+    }
+
+    @Override
+    public <T> T onFailure(final T result, final OperationChain<?> opChain, final Context context, final Exception e) {
+        removePendingResult(context);
+        if (containsWriteOperation(opChain)) {
+            invalidate();
+        }
+        return result;
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public void setCacheName(final String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    /**
+     * @return the time, in milliseconds, that results are cached for.
+     */
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(final long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public int getMaxResultSize() {
+        return maxResultSize;
+    }
+
+    public void setMaxResultSize(final int maxResultSize) {
+        this.maxResultSize = maxResultSize;
+    }
+
+    /**
+     * @return the maximum number of results to cache. When the cache is full
+     * the oldest results are removed before the next result is added.
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(final int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return the maximum size of a serialised result, in bytes. Larger
+     * results are not cached.
+     */
+    public int getMaxResultBytes() {
+        return maxResultBytes;
+    }
+
+    public void setMaxResultBytes(final int maxResultBytes) {
+        this.maxResultBytes = maxResultBytes;
+    }
+
+    public Set<Class<? extends Operation>> getCacheableOperations() {
+        return cacheableOperations;
+    }
+
+    public void setCacheableOperations(final Set<Class<? extends Operation>> cacheableOperations) {
+        this.cacheableOperations = cacheableOperations;
+    }
+
+    public Set<Class<? extends Operation>> getWriteOperations() {
+        return writeOperations;
+    }
+
+    public void setWriteOperations(final Set<Class<? extends Operation>> writeOperations) {
+        this.writeOperations = writeOperations;
+    }
+
+    @JsonIgnore
+    public String getGraphId() {
+        return graphId;
+    }
+
+    /**
+     * @param graphId the id of the graph this hook is added to. This is set
+     *                by the {@link uk.gov.gchq.gaffer.graph.Graph} so results
+     *                from other graphs using the same cache are never returned.
+     */
+    public void setGraphId(final String graphId) {
+        this.graphId = graphId;
+    }
+
+    /**
+     * @return the current write generation from the cache service, an empty
+     * string if there have been no writes, or null if the cache service could
+     * not be read.
+     */
+    @JsonIgnore
+    public String getWriteGeneration() {
+        if (!CacheServiceLoader.isEnabled()) {
+            return null;
+        }
+        try {
+            final String generation = CacheServiceLoader.getService().getFromCache(getWriteGenerationCacheName(), getKeyPrefix());
+            return null == generation ? "" : generation;
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Unable to read the query result cache write generation: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @JsonIgnore
+    public long getHits() {
+        return hits.get();
+    }
+
+    @JsonIgnore
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @JsonIgnore
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    /**
+     * @return the proportion of cacheable operation chains that were answered
+     * from the cache, or 0 if no cacheable chains have been executed.
+     */
+    @JsonIgnore
+    public double getHitRate() {
+        final long hitCount = hits.get();
+        final long total = hitCount + misses.get();
+        return 0 == total ? 0 : (double) hitCount / total;
+    }
+
+    private void invalidate() {
+        invalidations.incrementAndGet();
+        if (CacheServiceLoader.isEnabled()) {
+            startNewWriteGeneration();
+            try {
+                CacheServiceLoader.getService().clearCache(cacheName);
+                CacheServiceLoader.getService().clearCache(getExpiryTimeCacheName());
+            } catch (final CacheOperationException e) {
+                LOGGER.warn("Unable to clear the query result cache {}: {}", cacheName, e.getMessage());
+            }
+        }
+    }
+
+    // A random generation does not need an atomic increment, so it works
+    // with any cache service
+    private void startNewWriteGeneration() {
+        try {
+            CacheServiceLoader.getService().putInCache(getWriteGenerationCacheName(), getKeyPrefix(), UUID.randomUUID().toString());
+        } catch (final CacheOperationException | RuntimeException e) {
+            LOGGER.warn("Unable to update the query result cache write generation: {}", e.getMessage());
+        }
+    }
+
+    private String getWriteGenerationCacheName() {
+        return cacheName + WRITE_GENERATION_CACHE_SUFFIX;
+    }
+
+    private String getExpiryTimeCacheName() {
+        return cacheName + EXPIRY_TIME_CACHE_SUFFIX;
+    }
+
+    private String getKeyPrefix() {
+        return null == graphId ? "" : graphId + ":";
+    }
+
+    private boolean containsWriteOperation(final Operations<?> operations) {
+        for (final Operation op : operations.getOperations()) {
+            if (null != op && (writeOperations.contains(op.getClass())
+                    || (op instanceof Operations && containsWriteOperation((Operations<?>) op)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isCacheable(final Operations<?> operations) {
+        if (operations.getOperations().isEmpty()) {
+            return false;
+        }
+        for (final Operation op : operations.getOperations()) {
+            if (null == op) {
+                return false;
+            }
+            if (op instanceof OperationChain) {
+                if (!isCacheable((OperationChain<?>) op)) {
+                    return false;
+                }
+            } else if (!cacheableOperations.contains(op.getClass())
+                    || !hasRepeatableInput(op)
+                    || (op instanceof Operations && !isCacheable((Operations<?>) op))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Serialising the chain reads the inputs, so closeable iterables, such as
+    // the results of another query, must be left for the store to read.
+    private boolean hasRepeatableInput(final Operation op) {
+        return !(op instanceof Input) || !(((Input) op).getInput() instanceof CloseableIterable);
+    }
+
+    private String createKey(final OperationChain<?> opChain, final Context context) {
+        try {
+            final Object chainTree = SORTED_MAPPER.readValue(JSONSerialiser.serialise(opChain), Object.class);
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(SORTED_MAPPER.writeValueAsBytes(chainTree));
+            final User user = context.getUser();
+            digest.update(SORTED_MAPPER.writeValueAsBytes(user.getUserId()));
+            digest.update(SORTED_MAPPER.writeValueAsBytes(sorted(user.getDataAuths())));
+            digest.update(SORTED_MAPPER.writeValueAsBytes(sorted(user.getOpAuths())));
+            return getKeyPrefix() + Base64.getEncoder().encodeToString(digest.digest());
+        } catch (final IOException | NoSuchAlgorithmException e) {
+            LOGGER.debug("Unable to create a query result cache key, the result will not be cached: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static Set<String> sorted(final Set<String> auths) {
+        return null != auths ? new TreeSet<>(auths) : Collections.emptySet();
+    }
+
+    private Object getFromCache(final String key, final String generation) {
+        final CachedResult cachedResult;
+        try {
+            cachedResult = CacheServiceLoader.getService().getFromCache(cacheName, key);
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Unable to read from the query result cache {}: {}", cacheName, e.getMessage());
+            return null;
+        }
+
+        if (null == cachedResult) {
+            return null;
+        }
+        if (!generation.equals(cachedResult.generation) || cachedResult.expiryTime < System.currentTimeMillis()) {
+            removeFromCache(CacheServiceLoader.getService(), key);
+            return null;
+        }
+        try {
+            return cachedResult.getResult();
+        } catch (final SerialisationException e) {
+            LOGGER.warn("Unable to deserialise a result from the query result cache {}: {}", cacheName, e.getMessage());
+            return null;
+        }
+    }
+
+    private void addToCache(final PendingResult pending, final Object result, final boolean iterable) {
+        if (!CacheServiceLoader.isEnabled() || !pending.generation.equals(getWriteGeneration())) {
+            return;
+        }
+
+        final byte[] serialisedResult;
+        try {
+            serialisedResult = SERIALISER.serialise(result);
+        } catch (final SerialisationException e) {
+            LOGGER.warn("Unable to serialise a result for the query result cache {}: {}", cacheName, e.getMessage());
+            return;
+        }
+        if (serialisedResult.length > maxResultBytes) {
+            LOGGER.debug("Not caching a result of {} bytes as it is larger than the maximum of {} bytes",
+                    serialisedResult.length, maxResultBytes);
+            return;
+        }
+
+        try {
+            final ICacheService service = CacheServiceLoader.getService();
+            final long now = System.currentTimeMillis();
+            evict(service, now);
+            final long expiryTime = now + timeToLive;
+            service.putInCache(cacheName, pending.key, new CachedResult(serialisedResult, iterable, pending.generation, expiryTime));
+            service.putInCache(getExpiryTimeCacheName(), pending.key, expiryTime);
+        } catch (final CacheOperationException | RuntimeException e) {
+            LOGGER.warn("Unable to add a result to the query result cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    // Removes the expired results, at most once per time to live unless the
+    // cache is full, then the oldest results until there is room for another.
+    private void evict(final ICacheService service, final long now) {
+        final boolean full = service.sizeOfCache(cacheName) >= maxEntries;
+        if (!full && now < nextExpirySweep.get()) {
+            return;
+        }
+        nextExpirySweep.set(now + timeToLive);
+
+        final HashMap<String, Long> expiryTimes = new HashMap<>();
+        for (final String key : new ArrayList<>(service.<String, Object>getAllKeysFromCache(cacheName))) {
+            final Long expiryTime = service.getFromCache(getExpiryTimeCacheName(), key);
+            if (null == expiryTime || expiryTime < now) {
+                removeFromCache(service, key);
+            } else {
+                expiryTimes.put(key, expiryTime);
+            }
+        }
+        for (final String key : new ArrayList<>(service.<String, Long>getAllKeysFromCache(getExpiryTimeCacheName()))) {
+            if (!expiryTimes.containsKey(key)) {
+                service.removeFromCache(getExpiryTimeCacheName(), key);
+            }
+        }
+
+        final int excess = expiryTimes.size() - maxEntries + 1;
+        if (excess > 0) {
+            // Every result has the same time to live, so the first to expire are the oldest
+            final List<String> oldestFirst = new ArrayList<>(expiryTimes.keySet());
+            oldestFirst.sort((key1, key2) -> Long.compare(expiryTimes.get(key1), expiryTimes.get(key2)));
+            oldestFirst.subList(0, excess).forEach(key -> removeFromCache(service, key));
+        }
+    }
+
+    private void removeFromCache(final ICacheService service, final String key) {
+        service.removeFromCache(cacheName, key);
+        service.removeFromCache(getExpiryTimeCacheName(), key);
+    }
+
+    private PendingResult removePendingResult(final Context context) {
+        final String configKey = CONTEXT_CONFIG_PREFIX + context.getJobId();
+        final Object pending = context.getConfig(configKey);
+        if (null != pending) {
+            context.setConfig(configKey, null);
+        }
+        return (PendingResult) pending;
+    }
+
+    private static final class PendingResult {
+        private final String key;
+        private final String generation;
+
+        private PendingResult(final String key, final String generation) {
+            this.key = key;
+            this.generation = generation;
+        }
+    }
+
+    private static final class CachedResult implements Serializable {
+        private static final long serialVersionUID = -6208395364613578347L;
+        private final byte[] result;
+        private final boolean iterable;
+        private final String generation;
+        private final long expiryTime;
+
+        private CachedResult(final byte[] result, final boolean iterable, final String generation, final long expiryTime) {
+            // The result is stored serialised so callers cannot modify the cached copy
+            this.result = result;
+            this.iterable = iterable;
+            this.generation = generation;
+            this.expiryTime = expiryTime;
+        }
+
+        private Object getResult() throws SerialisationException {
+            final Object deserialised = SERIALISER.deserialise(result);
+            if (iterable) {
+                return new WrappedCloseableIterable<>((List<?>) deserialised);
+            }
+            return deserialised;
+        }
+    }
+
+    /**
+     * Records the items of the result as the first iterator reads them and
+     * caches them once they have all been read.
+     */
+    private final class ResultCachingIterable<T> implements CloseableIterable<T> {
+        private final Iterable<T> iterable;
+        private final PendingResult pending;
+        private boolean recording = true;
+
+        private ResultCachingIterable(final Iterable<T> iterable, final PendingResult pending) {
+            this.iterable = iterable;
+            this.pending = pending;
+        }
+
+        @Override
+        public CloseableIterator<T> iterator() {
+            if (!recording) {
+                return new WrappedCloseableIterator<>(iterable.iterator());
+            }
+            recording = false;
+
+            final Iterator<T> iterator = iterable.iterator();
+            return new CloseableIterator<T>() {
+                private List<T> items = new ArrayList<>();
+
+                @Override
+                public boolean hasNext() {
+                    final boolean hasNext = iterator.hasNext();
+                    if (!hasNext && null != items) {
+                        addToCache(pending, items, true);
+                        items = null;
+                    }
+                    return hasNext;
+                }
+
+                @Override
+                public T next() {
+                    final T next = iterator.next();
+                    if (null != items) {
+                        if (items.size() < maxResultSize) {
+                            items.add(next);
+                        } else {
+                            items = null;
+                        }
+                    }
+                    return next;
+                }
+
+                @Override
+                public void close() {
+                    items = null;
+                    CloseableUtil.close(iterator);
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(iterable);
+        }
+    }
+}
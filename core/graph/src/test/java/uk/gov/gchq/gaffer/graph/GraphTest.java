@@ -50,6 +50,7 @@ import uk.gov.gchq.gaffer.graph.hook.NamedOperationResolver;
 import uk.gov.gchq.gaffer.graph.hook.NamedViewResolver;
 import uk.gov.gchq.gaffer.graph.hook.OperationAuthoriser;
 import uk.gov.gchq.gaffer.graph.hook.OperationChainLimiter;
+import uk.gov.gchq.gaffer.graph.hook.QueryResultCache;
 import uk.gov.gchq.gaffer.integration.store.TestStore;
 import uk.gov.gchq.gaffer.jobtracker.JobDetail;
 import uk.gov.gchq.gaffer.named.operation.NamedOperation;
@@ -431,6 +432,29 @@ public class GraphTest {
         }
     }
 
+    @Test
+    public void shouldSetGraphIdOnQueryResultCacheHook() {
+        // Given
+        final Store store = mock(Store.class);
+        given(store.getSchema()).willReturn(new Schema());
+        given(store.getProperties()).willReturn(new StoreProperties());
+        final QueryResultCache hook = new QueryResultCache();
+
+        // When
+        new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(GRAPH_ID)
+                        .addHook(hook)
+                        .build())
+                .storeProperties(StreamUtil.storeProps(getClass()))
+                .store(store)
+                .addSchema(new Schema.Builder().build())
+                .build();
+
+        // Then
+        assertEquals(GRAPH_ID, hook.getGraphId());
+    }
+
     @Test
     public void shouldCallAllGraphHooksBeforeOperationChainExecuted() throws OperationException {
         // Given
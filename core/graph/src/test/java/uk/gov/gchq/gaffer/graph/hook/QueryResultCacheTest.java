@@ -0,0 +1,394 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.graph.hook;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
+import uk.gov.gchq.gaffer.cache.impl.HashMapCacheService;
+import uk.gov.gchq.gaffer.cache.util.CacheProperties;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
+import uk.gov.gchq.gaffer.operation.impl.Map;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class QueryResultCacheTest extends GraphHookTest<QueryResultCache> {
+    private static final String QUERY_RESULT_CACHE_PATH = "queryResultCache.json";
+    private static final User USER = new User.Builder()
+            .userId("user")
+            .dataAuths("public")
+            .build();
+    private static final List<Element> ELEMENTS = Arrays.asList(
+            new Entity(TestGroups.ENTITY, "vertex1"),
+            new Edge(TestGroups.EDGE, "vertex1", "vertex2", true));
+
+    public QueryResultCacheTest() {
+        super(QueryResultCache.class);
+    }
+
+    @Before
+    public void before() {
+        final Properties cacheProperties = new Properties();
+        cacheProperties.setProperty(CacheProperties.CACHE_SERVICE_CLASS, HashMapCacheService.class.getName());
+        cacheProperties.setProperty(HashMapCacheService.JAVA_SERIALISATION_CACHE, "true");
+        CacheServiceLoader.initialise(cacheProperties);
+    }
+
+    @After
+    public void after() {
+        CacheServiceLoader.shutdown();
+    }
+
+    @Test
+    public void shouldReturnCachedListOnRepeatedChain() {
+        // Given
+        final QueryResultCache hook = fromJson(QUERY_RESULT_CACHE_PATH);
+
+        // When
+        final Object firstResult = execute(hook, createReadChain("vertex1"), USER, ELEMENTS);
+        final OperationChain<?> secondChain = createReadChain("vertex1");
+        final Object secondResult = execute(hook, secondChain, USER, null);
+
+        // Then
+        assertEquals(ELEMENTS, firstResult);
+        assertEquals(ELEMENTS, secondResult);
+        assertTrue(secondChain.getOperations().get(0) instanceof Map);
+        assertEquals(1, hook.getHits());
+        assertEquals(1, hook.getMisses());
+        assertEquals(0.5, hook.getHitRate(), 0);
+    }
+
+    @Test
+    public void shouldCacheIterableResultOnceFullyRead() {
+        // Given
+        final QueryResultCache hook = fromJson(QUERY_RESULT_CACHE_PATH);
+        final OperationChain<?> opChain = new OperationChain<>(new GetElements.Builder()
+                .input(new EntitySeed("vertex1"))
+                .build());
+
+        // When
+        final CloseableIterable<?> firstResult = (CloseableIterable<?>) execute(hook, opChain, USER, new WrappedCloseableIterable<>(ELEMENTS));
+        final OperationChain<?> secondChain = opChain.shallowClone();
+        final Object resultBeforeRead = execute(hook, secondChain, USER, new WrappedCloseableIterable<>(ELEMENTS));
+        final List<?> firstItems = Lists.newArrayList(firstResult);
+        final OperationChain<?> thirdChain = opChain.shallowClone();
+        final Object resultAfterRead = execute(hook, thirdChain, USER, null);
+
+        // Then
+        assertEquals(ELEMENTS, firstItems);
+        assertTrue(secondChain.getOperations().get(0) instanceof GetElements);
+        assertTrue(thirdChain.getOperations().get(0) instanceof Map);
+        assertTrue(resultAfterRead instanceof CloseableIterable);
+        assertEquals(ELEMENTS, Lists.newArrayList((Iterable<?>) resultAfterRead));
+        assertEquals(1, hook.getHits());
+        assertEquals(2, hook.getMisses());
+    }
+
+    @Test
+    public void shouldNotCacheResultsLargerThanMaxResultSize() {
+        // Given
+        final QueryResultCache hook = fromJson(QUERY_RESULT_CACHE_PATH);
+        final List<Element> largeResult = Lists.newArrayList(ELEMENTS);
+        largeResult.add(new Entity(TestGroups.ENTITY, "vertex3"));
+
+        // When
+        execute(hook, createReadChain("vertex1"), USER, largeResult);
+        final OperationChain<?> secondChain = createReadChain("vertex1");
+        execute(hook, secondChain, USER, largeResult);
+
+        // Then
+        assertTrue(secondChain.getOperations().get(0) instanceof GetElements);
+        assertEquals(0, hook.getHits());
+    }
+
+    @Test
+    public void shouldNotCacheResultsLargerThanMaxResultBytes() {
+        // Given
+        final QueryResultCache hook = fromJson(QUERY_RESULT_CACHE_PATH);
+        hook.setMaxResultBytes(10);
+
+        // When
+        execute(hook, createReadChain("vertex1"), USER, ELEMENTS);
+        final OperationChain<?> secondChain = createReadChain("vertex1");
+        execute(hook, secondChain, USER, ELEMENTS);
+
+        // Then
+        assertTrue(secondChain.getOperations().get(0) instanceof GetElements);
+        assertEquals(0, hook.getHits());
+        assertEquals(0, CacheServiceLoader.getService().sizeOfCache(hook.getCacheName()));
+    }
+
+    @Test
+    public void shouldEvictOldestResultWhenCacheIsFull() throws InterruptedException {
+        // Given
+        final QueryResultCache hook = fromJson(QUERY_RESULT_CACHE_PATH);
+        hook.setMaxEntries(2);
+        for (final String vertex : Arrays.asList("vertex1", "vertex2", "vertex3")) {
+            execute(hook, createReadChain(vertex), USER, ELEMENTS);
+            // Make sure each result is older than the next
+            Thread.sleep(10);
+        }
+
+        // When
+        final OperationChain<?> newestChain = createReadChain("vertex3");
+        execute(hook, newestChain, USER, null);
+        final OperationChain<?> middleChain = createReadChain("vertex2");
+        execute(hook, middleChain, USER, null);
+        final OperationChain<?> oldestChain = createReadChain("vertex1");
+        execute(hook, oldestChain, USER, ELEMENTS);
+
+        // Then
+        assertTrue(newestChain.getOperations().get(0) instanceof Map);
+        assertTrue(middleChain.getOperations().get(0) instanceof Map);
+        assertTrue(oldestChain.getOperations().get(0) instanceof GetElements);
+        assertEquals(2, hook.getHits());
+        assertEquals(2, CacheServiceLoader.getService().sizeOfCache(hook.getCacheName()));
+    }
+
+    @Test
+    public void shouldRemoveExpiredResultsFromCacheService() throws InterruptedException {
+        // Given
+        final QueryResultCache hook = fromJson(QUERY_RESULT_CACHE_PATH);
+        hook.setTimeToLive(1);
+        execute(hook, createReadChain("vertex1"), USER, ELEMENTS);
+        execute(hook, createReadChain("vertex2"), USER, ELEMENTS);
+        Thread.sleep(10);
+
+        // When
+        execute(hook, createReadChain("vertex3"), USER, ELEMENTS);
+
+        // Then
+        assertEquals(1, CacheServiceLoader.getService().sizeOfCache(hook.getCacheName()));
+    }
+
+    @Test
+    public void shouldNotShareResultsBetweenDifferentDataAuthsOrChains() {
+        // Given
+        final QueryResultCache hook = fromJson(QUERY_RESULT_CACHE_PATH);
+        final User otherUser = new User.Builder()
+                .userId("user")
+                .dataAuths("public", "private")
+                .build();
+        execute(hook, createReadChain("vertex1"), USER, ELEMENTS);
+
+        // When
+        final OperationChain<?> otherUserChain = createReadChain("vertex1");
+        execute(hook, otherUserChain, otherUser, ELEMENTS);
+        final OperationChain<?> otherSeedChain = createReadChain("vertex2");
+        execute(hook, otherSeedChain, USER, ELEMENTS);
+
+        // Then
+        assertTrue(otherUserChain.getOperations().get(0) instanceof GetElements);
+        assertTrue(otherSeedChain.getOperations().get(0) instanceof GetElements);
+        assertEquals(0, hook.getHits());
+        assertEquals(3, hook.getMisses());
+    }
+
+    @Test
+    public void shouldNotShareResultsBetweenDifferentUserIdsOrOpAuths() {
+        // Given
+        final QueryResultCache hook = fromJson(QUERY_RESULT_CACHE_PATH);
+        final User otherUserId = new User.Builder()
+                .userId("otherUser")
+                .dataAuths("public")
+                .build();
+        final User otherOpAuths = new User.Builder()
+                .userId("user")
+                .dataAuths("public")
+                .opAuths("admin")
+                .build();
+        execute(hook, createReadChain("vertex1"), USER, ELEMENTS);
+
+        // When
+        final OperationChain<?> otherUserIdChain = createReadChain("vertex1");
+        execute(hook, otherUserIdChain, otherUserId, ELEMENTS);
+        final OperationChain<?> otherOpAuthsChain = createReadChain("vertex1");
+        execute(hook, otherOpAuthsChain, otherOpAuths, ELEMENTS);
+
+        // Then
+        assertTrue(otherUserIdChain.getOperations().get(0) instanceof GetElements);
+        assertTrue(otherOpAuthsChain.getOperations().get(0) instanceof GetElements);
+        assertEquals(0, hook.getHits());
+    }
+
+    @Test
+    public void shouldReturnCopyOfCachedElements() {
+        // Given
+        final QueryResultCache hook = fromJson(QUERY_RESULT_CACHE_PATH);
+        execute(hook, createReadChain("vertex1"), USER, ELEMENTS);
+        final List<Element> firstHit = (List<Element>) execute(hook, createReadChain("vertex1"), USER, null);
+
+        // When
+        firstHit.get(0).putProperty(TestPropertyNames.COUNT, 10L);
+        final List<Element> secondHit = (List<Element>) execute(hook, createReadChain("vertex1"), USER, null);
+
+        // Then
+        assertEquals(ELEMENTS, secondHit);
+        assertNotSame(firstHit.get(0), secondHit.get(0));
+        assertEquals(2, hook.getHits());
+    }
+
+    @Test
+    public void shouldShareResultsAndWritesBetweenInstancesOfTheSameGraph() {
+        // Given
+        final QueryResultCache node1 = fromJson(QUERY_RESULT_CACHE_PATH);
+        final QueryResultCache node2 = fromJson(QUERY_RESULT_CACHE_PATH);
+        node1.setGraphId("graph1");
+        node2.setGraphId("graph1");
+        execute(node1, createReadChain("vertex1"), USER, ELEMENTS);
+
+        // When
+        final OperationChain<?> hitChain = createReadChain("vertex1");
+        execute(node2, hitChain, USER, null);
+        execute(node2, new OperationChain<>(new AddElements()), USER, null);
+        final OperationChain<?> afterWriteChain = createReadChain("vertex1");
+        execute(node1, afterWriteChain, USER, ELEMENTS);
+
+        // Then
+        assertTrue(hitChain.getOperations().get(0) instanceof Map);
+        assertTrue(afterWriteChain.getOperations().get(0) instanceof GetElements);
+        assertEquals(node1.getWriteGeneration(), node2.getWriteGeneration());
+    }
+
+    @Test
+    public void shouldNotShareResultsBetweenGraphs() {
+        // Given
+        final QueryResultCache graph1 = fromJson(QUERY_RESULT_CACHE_PATH);
+        final QueryResultCache graph2 = fromJson(QUERY_RESULT_CACHE_PATH);
+        graph1.setGraphId("graph1");
+        graph2.setGraphId("graph2");
+        execute(graph1, createReadChain("vertex1"), USER, ELEMENTS);
+
+        // When
+        final OperationChain<?> otherGraphChain = createReadChain("vertex1");
+        execute(graph2, otherGraphChain, USER, ELEMENTS);
+
+        // Then
+        assertTrue(otherGraphChain.getOperations().get(0) instanceof GetElements);
+        assertEquals(0, graph2.getHits());
+    }
+
+    @Test
+    public void shouldInvalidateCacheWhenElementsAreAdded() {
+        // Given
+        final QueryResultCache hook = fromJson(QUERY_RESULT_CACHE_PATH);
+        execute(hook, createReadChain("vertex1"), USER, ELEMENTS);
+        final String generation = hook.getWriteGeneration();
+
+        // When
+        execute(hook, new OperationChain<>(new AddElements.Builder()
+                .input(ELEMENTS.get(0))
+                .build()), USER, null);
+        final OperationChain<?> readChain = createReadChain("vertex1");
+        execute(hook, readChain, USER, ELEMENTS);
+
+        // Then
+        assertTrue(readChain.getOperations().get(0) instanceof GetElements);
+        assertNotEquals(generation, hook.getWriteGeneration());
+        assertEquals(1, hook.getInvalidations());
+        assertEquals(0, hook.getHits());
+    }
+
+    @Test
+    public void shouldNotCacheResultReadWhilstElementsWereAdded() {
+        // Given
+        final QueryResultCache hook = fromJson(QUERY_RESULT_CACHE_PATH);
+        final OperationChain<?> readChain = createReadChain("vertex1");
+        final Context readContext = new Context(USER);
+        hook.preExecute(readChain, readContext);
+
+        // When
+        execute(hook, new OperationChain<>(new AddElements()), USER, null);
+        hook.postExecute(ELEMENTS, readChain, readContext);
+        final OperationChain<?> secondChain = createReadChain("vertex1");
+        execute(hook, secondChain, USER, ELEMENTS);
+
+        // Then
+        assertTrue(secondChain.getOperations().get(0) instanceof GetElements);
+        assertEquals(0, hook.getHits());
+    }
+
+    @Test
+    public void shouldNotCacheChainsWithOperationsThatAreNotCacheable() {
+        // Given
+        final QueryResultCache hook = fromJson(QUERY_RESULT_CACHE_PATH);
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new GetElements.Builder()
+                        .input(new EntitySeed("vertex1"))
+                        .build())
+                .then(new DiscardOutput())
+                .build();
+
+        // When
+        execute(hook, opChain, USER, null);
+        final OperationChain<?> secondChain = opChain.shallowClone();
+        execute(hook, secondChain, USER, null);
+
+        // Then
+        assertEquals(2, secondChain.getOperations().size());
+        assertEquals(0, hook.getHits());
+        assertEquals(0, hook.getMisses());
+    }
+
+    @Override
+    protected QueryResultCache getTestObject() {
+        return fromJson(QUERY_RESULT_CACHE_PATH);
+    }
+
+    private OperationChain<?> createReadChain(final String vertex) {
+        return new OperationChain.Builder()
+                .first(new GetElements.Builder()
+                        .input(new EntitySeed(vertex))
+                        .build())
+                .then(new ToList<>())
+                .build();
+    }
+
+    // Runs the hook around a chain as the Graph would, using the given result
+    // unless the hook has replaced the chain with a cached result.
+    private Object execute(final QueryResultCache hook, final OperationChain<?> opChain, final User user, final Object storeResult) {
+        final Context context = new Context(user);
+        hook.preExecute(opChain, context);
+        final Operation firstOp = opChain.getOperations().get(0);
+        final Object result = firstOp instanceof Map ? ((Map) firstOp).getInput() : storeResult;
+        return hook.postExecute(result, opChain, context);
+    }
+}
@@ -18,6 +18,8 @@ package uk.gov.gchq.gaffer.named.operation;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Maps;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -28,12 +30,12 @@ import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.OperationChain;
-import uk.gov.gchq.gaffer.operation.OperationChainDAO;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.io.IOException;
 import java.io.Serializable;
-import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -54,6 +56,7 @@ public class NamedOperationDetail implements Serializable {
     private List<String> writeAccessRoles;
     private Map<String, ParameterDetail> parameters = Maps.newHashMap();
     private Integer score;
+    private transient volatile OperationChainTemplate template;
 
     public NamedOperationDetail() {
     }
@@ -128,10 +131,6 @@ public class NamedOperationDetail implements Serializable {
         return score;
     }
 
-    private String buildParamNameString(final String paramKey) {
-        return "\"${" + paramKey + "}\"";
-    }
-
     /**
      * Gets the OperationChain after adding in default values for any parameters. If a parameter
      * does not have a default, null is inserted.
@@ -141,29 +140,15 @@ public class NamedOperationDetail implements Serializable {
      */
     @JsonIgnore
     public OperationChain getOperationChainWithDefaultParams() {
-        String opStringWithDefaults = operations;
-
+        final OperationChainTemplate compiledTemplate = getTemplate();
+        final Map<String, JsonNode> paramValues = new HashMap<>();
         if (null != parameters) {
-            for (final Map.Entry<String, ParameterDetail> parameterDetailPair : parameters.entrySet()) {
-                String paramKey = parameterDetailPair.getKey();
-
-                try {
-                    opStringWithDefaults = opStringWithDefaults.replace(buildParamNameString(paramKey),
-                            new String(JSONSerialiser.serialise(parameterDetailPair.getValue().getDefaultValue(), CHARSET_NAME), CHARSET_NAME));
-                } catch (final SerialisationException | UnsupportedEncodingException e) {
-                    throw new IllegalArgumentException(e.getMessage());
-                }
+            for (final String paramKey : parameters.keySet()) {
+                paramValues.put(paramKey, compiledTemplate.getDefaultValue(paramKey));
             }
         }
 
-        OperationChain opChain;
-        try {
-            opChain = JSONSerialiser.deserialise(opStringWithDefaults.getBytes(CHARSET_NAME), OperationChainDAO.class);
-        } catch (final Exception e) {
-            throw new IllegalArgumentException(e.getMessage());
-        }
-
-        return opChain;
+        return compiledTemplate.createOperationChain(paramValues);
     }
 
     /**
@@ -174,7 +159,8 @@ public class NamedOperationDetail implements Serializable {
      * @throws IllegalArgumentException if substituting the parameters fails
      */
     public OperationChain getOperationChain(final Map<String, Object> executionParams) {
-        String opStringWithParams = operations;
+        final OperationChainTemplate compiledTemplate = getTemplate();
+        final Map<String, JsonNode> paramValues = new HashMap<>();
 
         // First check all the parameters supplied are expected parameter names
         if (null != parameters) {
@@ -189,33 +175,40 @@ public class NamedOperationDetail implements Serializable {
 
             for (final Map.Entry<String, ParameterDetail> parameterDetailPair : parameters.entrySet()) {
                 String paramKey = parameterDetailPair.getKey();
-                try {
-                    if (null != executionParams && executionParams.containsKey(paramKey)) {
-                        Object paramObj = JSONSerialiser.deserialise(JSONSerialiser.serialise(executionParams.get(paramKey)), parameterDetailPair.getValue().getValueClass());
-
-                        opStringWithParams = opStringWithParams.replace(buildParamNameString(paramKey),
-                                new String(JSONSerialiser.serialise(paramObj, CHARSET_NAME), CHARSET_NAME));
-                    } else if (!parameterDetailPair.getValue().isRequired()) {
-                        opStringWithParams = opStringWithParams.replace(buildParamNameString(paramKey),
-                                new String(JSONSerialiser.serialise(parameterDetailPair.getValue().getDefaultValue(), CHARSET_NAME), CHARSET_NAME));
-                    } else {
-                        throw new IllegalArgumentException("Missing parameter " + paramKey + " with no default");
-                    }
-                } catch (final SerialisationException | UnsupportedEncodingException e) {
-                    throw new IllegalArgumentException(e.getMessage());
+                if (null != executionParams && executionParams.containsKey(paramKey)) {
+                    paramValues.put(paramKey, toJsonValue(executionParams.get(paramKey), parameterDetailPair.getValue().getValueClass()));
+                } else if (!parameterDetailPair.getValue().isRequired()) {
+                    paramValues.put(paramKey, compiledTemplate.getDefaultValue(paramKey));
+                } else {
+                    throw new IllegalArgumentException("Missing parameter " + paramKey + " with no default");
                 }
             }
         }
 
-        OperationChain opChain;
+        return compiledTemplate.createOperationChain(paramValues);
+    }
+
+    private OperationChainTemplate getTemplate() {
+        // The template is compiled the first time it is needed and then reused.
+        // It is transient, so it is compiled again if this detail is deserialised.
+        OperationChainTemplate compiledTemplate = template;
+        if (null == compiledTemplate) {
+            compiledTemplate = new OperationChainTemplate(operations, parameters);
+            template = compiledTemplate;
+        }
+        return compiledTemplate;
+    }
 
+    private JsonNode toJsonValue(final Object value, final Class<?> valueClass) {
+        final ObjectMapper mapper = JSONSerialiser.getMapper();
         try {
-            opChain = JSONSerialiser.deserialise(opStringWithParams.getBytes(CHARSET_NAME), OperationChainDAO.class);
-        } catch (final Exception e) {
+            if (null == value || null == valueClass || valueClass.isInstance(value)) {
+                return mapper.valueToTree(value);
+            }
+            return mapper.valueToTree(mapper.treeToValue(mapper.valueToTree(value), valueClass));
+        } catch (final IOException | IllegalArgumentException e) {
             throw new IllegalArgumentException(e.getMessage());
         }
-
-        return opChain;
     }
 
     @Override
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.named.operation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationChainDAO;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An {@code OperationChainTemplate} holds the operations of a
+ * {@link NamedOperationDetail} parsed into a JSON tree, along with the
+ * locations of the parameter placeholders in the tree and the parameter
+ * default values. Operation chains are created by copying only the parts of
+ * the tree that contain placeholders, so the operations JSON does not need to
+ * be searched and re-parsed for every execution.
+ */
+final class OperationChainTemplate {
+    private final JsonNode operations;
+    private final Map<String, JsonNode> defaultValues;
+
+    // Placeholder nodes and the name of the parameter they are replaced with
+    private final Map<JsonNode, String> placeholders = new IdentityHashMap<>();
+
+    // Container nodes that contain a placeholder, as a value or a field name
+    private final Set<JsonNode> containers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    OperationChainTemplate(final String operations, final Map<String, ParameterDetail> parameters) {
+        final ObjectMapper mapper = JSONSerialiser.getMapper();
+        try {
+            this.operations = mapper.readTree(operations);
+        } catch (final IOException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+
+        if (null == parameters || parameters.isEmpty()) {
+            this.defaultValues = Collections.emptyMap();
+        } else {
+            this.defaultValues = new HashMap<>(parameters.size());
+            for (final Map.Entry<String, ParameterDetail> entry : parameters.entrySet()) {
+                defaultValues.put(entry.getKey(), mapper.valueToTree(entry.getValue().getDefaultValue()));
+            }
+            findPlaceholders(this.operations);
+        }
+    }
+
+    /**
+     * Gets the JSON value of the default for a parameter.
+     *
+     * @param paramKey the name of the parameter
+     * @return the default value of the parameter as JSON
+     */
+    JsonNode getDefaultValue(final String paramKey) {
+        return defaultValues.get(paramKey);
+    }
+
+    /**
+     * Creates an {@link OperationChain} from the template, replacing each
+     * placeholder with the provided value for its parameter.
+     *
+     * @param paramValues the JSON values of the parameters, keyed by name
+     * @return the {@link OperationChain}
+     * @throws IllegalArgumentException if the operation chain cannot be created
+     */
+    OperationChain createOperationChain(final Map<String, JsonNode> paramValues) {
+        try {
+            return JSONSerialiser.getMapper().treeToValue(resolve(operations, paramValues), OperationChainDAO.class);
+        } catch (final Exception e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    private boolean findPlaceholders(final JsonNode node) {
+        boolean hasPlaceholder = false;
+        if (node.isTextual()) {
+            final String paramKey = getParamKey(node.textValue());
+            if (null != paramKey) {
+                placeholders.put(node, paramKey);
+                hasPlaceholder = true;
+            }
+        } else if (node.isObject()) {
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                hasPlaceholder |= null != getParamKey(field.getKey());
+                hasPlaceholder |= findPlaceholders(field.getValue());
+            }
+        } else if (node.isArray()) {
+            for (final JsonNode child : node) {
+                hasPlaceholder |= findPlaceholders(child);
+            }
+        }
+
+        if (hasPlaceholder && node.isContainerNode()) {
+            containers.add(node);
+        }
+        return hasPlaceholder;
+    }
+
+    private String getParamKey(final String text) {
+        if (text.length() > 3 && text.startsWith("${") && text.endsWith("}")) {
+            final String paramKey = text.substring(2, text.length() - 1);
+            if (defaultValues.containsKey(paramKey)) {
+                return paramKey;
+            }
+        }
+        return null;
+    }
+
+    private JsonNode resolve(final JsonNode node, final Map<String, JsonNode> paramValues) {
+        final String paramKey = placeholders.get(node);
+        if (null != paramKey) {
+            return paramValues.get(paramKey);
+        }
+
+        // Parts of the tree without placeholders are shared, as they are only read
+        if (!containers.contains(node)) {
+            return node;
+        }
+
+        if (node.isArray()) {
+            final ArrayNode array = JSONSerialiser.getMapper().createArrayNode();
+            for (final JsonNode child : node) {
+                array.add(resolve(child, paramValues));
+            }
+            return array;
+        }
+
+        final ObjectNode object = JSONSerialiser.getMapper().createObjectNode();
+        final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            object.set(resolveFieldName(field.getKey(), paramValues), resolve(field.getValue(), paramValues));
+        }
+        return object;
+    }
+
+    private String resolveFieldName(final String fieldName, final Map<String, JsonNode> paramValues) {
+        final String paramKey = getParamKey(fieldName);
+        if (null == paramKey) {
+            return fieldName;
+        }
+
+        final JsonNode value = paramValues.get(paramKey);
+        if (null == value || !value.isTextual()) {
+            throw new IllegalArgumentException("Parameter " + paramKey + " is used as a field name so must be a string");
+        }
+        return value.textValue();
+    }
+}
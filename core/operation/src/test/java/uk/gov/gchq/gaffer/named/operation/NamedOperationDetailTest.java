@@ -0,0 +1,138 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.named.operation;
+
+import com.google.common.collect.Maps;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class NamedOperationDetailTest {
+    private static final String OPERATIONS = "{\"operations\":[" +
+            "{\"class\":\"uk.gov.gchq.gaffer.operation.impl.get.GetAllElements\"}," +
+            "{\"class\":\"uk.gov.gchq.gaffer.operation.impl.Limit\",\"resultLimit\":\"${limit}\",\"truncate\":\"${truncate}\"}]}";
+
+    @Test
+    public void shouldReplaceParametersWithProvidedValuesAndDefaults() {
+        // Given
+        final NamedOperationDetail namedOpDetail = createNamedOperationDetail();
+        final Map<String, Object> params = Collections.singletonMap("limit", 5);
+
+        // When
+        final OperationChain<?> opChain = namedOpDetail.getOperationChain(params);
+
+        // Then
+        assertEquals(2, opChain.getOperations().size());
+        assertTrue(opChain.getOperations().get(0) instanceof GetAllElements);
+        final Limit<?> limit = (Limit<?>) opChain.getOperations().get(1);
+        assertEquals(5, (int) limit.getResultLimit());
+        assertEquals(false, limit.getTruncate());
+    }
+
+    @Test
+    public void shouldReplaceParametersWithDefaults() {
+        // Given
+        final NamedOperationDetail namedOpDetail = createNamedOperationDetail();
+
+        // When
+        final OperationChain<?> opChain = namedOpDetail.getOperationChainWithDefaultParams();
+
+        // Then
+        final Limit<?> limit = (Limit<?>) opChain.getOperations().get(1);
+        assertNull(limit.getResultLimit());
+        assertEquals(false, limit.getTruncate());
+    }
+
+    @Test
+    public void shouldCreateNewOperationChainForEachCall() {
+        // Given
+        final NamedOperationDetail namedOpDetail = createNamedOperationDetail();
+        final Map<String, Object> params = new HashMap<>();
+        params.put("limit", 1);
+        params.put("truncate", true);
+
+        // When
+        final OperationChain<?> opChain1 = namedOpDetail.getOperationChain(params);
+        final OperationChain<?> opChain2 = namedOpDetail.getOperationChain(Collections.singletonMap("limit", 2));
+
+        // Then
+        final Limit<?> limit1 = (Limit<?>) opChain1.getOperations().get(1);
+        final Limit<?> limit2 = (Limit<?>) opChain2.getOperations().get(1);
+        assertEquals(1, (int) limit1.getResultLimit());
+        assertEquals(true, limit1.getTruncate());
+        assertEquals(2, (int) limit2.getResultLimit());
+        assertEquals(false, limit2.getTruncate());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenRequiredParameterIsMissing() {
+        // Given
+        final NamedOperationDetail namedOpDetail = createNamedOperationDetail();
+
+        // When / Then
+        try {
+            namedOpDetail.getOperationChain(Collections.singletonMap("truncate", true));
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Missing parameter limit"));
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenParameterIsUnexpected() {
+        // Given
+        final NamedOperationDetail namedOpDetail = createNamedOperationDetail();
+
+        // When / Then
+        try {
+            namedOpDetail.getOperationChain(Collections.singletonMap("unknown", true));
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Unexpected parameter name"));
+        }
+    }
+
+    private NamedOperationDetail createNamedOperationDetail() {
+        final Map<String, ParameterDetail> params = Maps.newHashMap();
+        params.put("limit", new ParameterDetail.Builder()
+                .description("Limit param")
+                .valueClass(Integer.class)
+                .required(true)
+                .build());
+        params.put("truncate", new ParameterDetail.Builder()
+                .description("Truncate param")
+                .valueClass(Boolean.class)
+                .defaultValue(false)
+                .build());
+
+        return new NamedOperationDetail.Builder()
+                .operationName("namedOp")
+                .operationChain(OPERATIONS)
+                .parameters(params)
+                .build();
+    }
+}
@@ -41,6 +41,11 @@ public class OrderedDateSerialiser implements ToBytesSerialiser<Date> {
         return new Date(LONG_SERIALISER.deserialise(bytes));
     }
 
+    @Override
+    public Date deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        return new Date(LONG_SERIALISER.deserialise(allBytes, offset, length));
+    }
+
     @Override
     public Date deserialiseEmpty() {
         return null;
@@ -43,7 +43,12 @@ public class OrderedFloatSerialiser implements ToBytesSerialiser<Float> {
 
     @Override
     public Float deserialise(final byte[] bytes) throws SerialisationException {
-        int i = INTEGER_SERIALISER.deserialise(bytes);
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Float deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        int i = INTEGER_SERIALISER.deserialise(allBytes, offset, length);
         if (i < 0) {
             i = i ^ 0x80000000;
         } else {
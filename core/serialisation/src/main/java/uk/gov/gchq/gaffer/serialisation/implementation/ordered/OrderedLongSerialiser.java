@@ -59,21 +59,26 @@ public class OrderedLongSerialiser implements ToBytesSerialiser<Long> {
 
     @Override
     public Long deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
 
+    @Override
+    public Long deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         long l = 0;
         int shift = 0;
 
-        if (bytes[0] < 0 || bytes[0] > 16) {
-            throw new SerialisationException("Unexpected length " + (0xff & bytes[0]));
+        final byte lengthByte = allBytes[offset];
+        if (lengthByte < 0 || lengthByte > 16) {
+            throw new SerialisationException("Unexpected length " + (0xff & lengthByte));
         }
 
-        for (int i = bytes.length - 1; i >= 0 + 1; i--) {
-            l += (bytes[i] & 0xffL) << shift;
+        for (int i = offset + length - 1; i >= offset + 1; i--) {
+            l += (allBytes[i] & 0xffL) << shift;
             shift += 8;
         }
 
-        if (bytes[0] > 8) {
-            l |= -1L << ((16 - bytes[0]) << 3);
+        if (lengthByte > 8) {
+            l |= -1L << ((16 - lengthByte) << 3);
         }
 
         return l ^ 0x8000000000000000L;
@@ -22,7 +22,9 @@ import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialisationTest;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 
+import java.util.Arrays;
 import java.util.Date;
 
 import static org.junit.Assert.assertEquals;
@@ -88,6 +90,22 @@ public class OrderedDateSerialiserTest extends ToBytesSerialisationTest<Date> {
         return 0;
     }
 
+    @Test
+    public void shouldDeserialiseFromOffset() throws SerialisationException {
+        for (final Pair<Date, byte[]> pair : historicSerialisationPairs) {
+            // Given
+            final byte[] bytes = new byte[pair.getSecond().length + 4];
+            Arrays.fill(bytes, (byte) -1);
+            System.arraycopy(pair.getSecond(), 0, bytes, 2, pair.getSecond().length);
+
+            // When
+            final Date result = ((ToBytesSerialiser<Date>) serialiser).deserialise(bytes, 2, pair.getSecond().length);
+
+            // Then
+            assertEquals(pair.getFirst(), result);
+        }
+    }
+
     @Override
     public Serialiser<Date, byte[]> getSerialisation() {
         return new OrderedDateSerialiser();
@@ -22,6 +22,9 @@ import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialisationTest;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+
+import java.util.Arrays;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -86,6 +89,22 @@ public class OrderedDoubleSerialiserTest extends ToBytesSerialisationTest<Double
         return 0;
     }
 
+    @Test
+    public void shouldDeserialiseFromOffset() throws SerialisationException {
+        for (final Pair<Double, byte[]> pair : historicSerialisationPairs) {
+            // Given
+            final byte[] bytes = new byte[pair.getSecond().length + 4];
+            Arrays.fill(bytes, (byte) -1);
+            System.arraycopy(pair.getSecond(), 0, bytes, 2, pair.getSecond().length);
+
+            // When
+            final Double result = ((ToBytesSerialiser<Double>) serialiser).deserialise(bytes, 2, pair.getSecond().length);
+
+            // Then
+            assertEquals(pair.getFirst(), result);
+        }
+    }
+
     @Override
     public Serialiser<Double, byte[]> getSerialisation() {
         return new OrderedDoubleSerialiser();
@@ -143,7 +143,11 @@ import uk.gov.gchq.gaffer.store.operation.handler.output.ToSetHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.output.ToSingletonListHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.output.ToStreamHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.output.ToVerticesHandler;
+import uk.gov.gchq.gaffer.store.optimiser.CollectionOutputOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.DiscardOutputOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.LimitOptimiser;
 import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.ViewFunctionOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
@@ -154,6 +158,8 @@ import uk.gov.gchq.koryphe.ValidationResult;
 import uk.gov.gchq.koryphe.util.ReflectionUtil;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -163,6 +169,9 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A {@code Store} backs a Graph and is responsible for storing the {@link
@@ -177,9 +186,11 @@ import java.util.concurrent.Executors;
  */
 public abstract class Store {
     private static final Logger LOGGER = LoggerFactory.getLogger(Store.class);
+    private static final long OPERATION_EXECUTOR_KEEP_ALIVE_SECONDS = 60;
     private final Class<? extends Serialiser> requiredParentSerialiserClass;
     private final Map<Class<? extends Operation>, OperationHandler> operationHandlers = new LinkedHashMap<>();
     protected final List<OperationChainOptimiser> opChainOptimisers = new ArrayList<>();
+    private final List<OperationChainOptimiser> storeOpChainOptimisers = new ArrayList<>();
     protected final OperationChainValidator opChainValidator;
     private final SchemaOptimiser schemaOptimiser;
 
@@ -204,6 +215,7 @@ public abstract class Store {
 
     private JobTracker jobTracker;
     private ExecutorService executorService;
+    private ThreadPoolExecutor operationExecutor;
     private String graphId;
 
     public Store() {
@@ -260,7 +272,9 @@ public abstract class Store {
         optimiseSchema();
         validateSchemas();
         addOpHandlers();
+        addStoreOperationChainOptimisers();
         addExecutorService();
+        addOperationExecutor();
     }
 
     public static void updateJsonSerialiser(final StoreProperties storeProperties) {
@@ -396,6 +410,19 @@ public abstract class Store {
         executorService.execute(runnable);
     }
 
+    /**
+     * Gets the executor that operation handlers should use to run work in
+     * parallel. It has at most {@link StoreProperties#OPERATION_EXECUTOR_THREAD_COUNT}
+     * threads and does not queue tasks. When all the threads are busy it
+     * throws a {@link java.util.concurrent.RejectedExecutionException}, and
+     * the caller should then do the work on its own thread.
+     *
+     * @return the operation executor
+     */
+    public ExecutorService getOperationExecutor() {
+        return operationExecutor;
+    }
+
     public JobTracker getJobTracker() {
         return jobTracker;
     }
@@ -647,6 +674,36 @@ public abstract class Store {
         opChainOptimisers.addAll(newOpChainOptimisers);
     }
 
+    private void addStoreOperationChainOptimisers() {
+        // Only replace the optimisers created by a previous initialise, so
+        // optimisers added by callers are kept
+        opChainOptimisers.removeAll(storeOpChainOptimisers);
+        storeOpChainOptimisers.clear();
+        storeOpChainOptimisers.addAll(createOperationChainOptimisers());
+        addOperationChainOptimisers(storeOpChainOptimisers);
+    }
+
+    /**
+     * Creates the {@link OperationChainOptimiser}s that are applied to every
+     * operation chain executed on this store. By default these are the
+     * built-in optimisers if {@link StoreProperties#OPERATION_CHAIN_OPTIMISERS_ENABLED}
+     * is set, otherwise there are none. Stores can override this to change
+     * the optimisations.
+     *
+     * @return the operation chain optimisers, in the order they are applied.
+     */
+    protected List<OperationChainOptimiser> createOperationChainOptimisers() {
+        if (!Boolean.TRUE.equals(getProperties().getOperationChainOptimisersEnabled())) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(
+                new ViewFunctionOptimiser(this),
+                new LimitOptimiser(),
+                new CollectionOutputOptimiser(),
+                new DiscardOutputOptimiser()
+        );
+    }
+
     /**
      * Any additional operations that a store can handle should be registered in
      * this method by calling addOperationHandler(...)
@@ -796,6 +853,27 @@ public abstract class Store {
         });
     }
 
+    private void addOperationExecutor() {
+        final Integer configuredThreadCount = getProperties().getOperationExecutorThreadCount();
+        final int threadCount = null != configuredThreadCount && configuredThreadCount > 0
+                ? configuredThreadCount
+                : Integer.parseInt(StoreProperties.OPERATION_EXECUTOR_THREAD_COUNT_DEFAULT);
+        if (null != operationExecutor && operationExecutor.getMaximumPoolSize() == threadCount) {
+            return;
+        }
+        if (null != operationExecutor) {
+            operationExecutor.shutdown();
+        }
+        LOGGER.debug("Initialising operation executor with up to {} threads", threadCount);
+        operationExecutor = new ThreadPoolExecutor(threadCount, threadCount,
+                OPERATION_EXECUTOR_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+        operationExecutor.allowCoreThreadTimeOut(true);
+    }
+
     private void addOpHandlers() {
         addCoreOpHandlers();
         addAdditionalOperationHandlers();
@@ -68,9 +68,23 @@ public class StoreProperties implements Cloneable {
 
     public static final String JOB_TRACKER_ENABLED = "gaffer.store.job.tracker.enabled";
 
+    /**
+     * When true the store applies the built-in operation chain optimisers,
+     * for example merging a Filter into the View of the preceding GetElements.
+     * They are disabled by default.
+     */
+    public static final String OPERATION_CHAIN_OPTIMISERS_ENABLED = "gaffer.store.operation.chain.optimisers.enabled";
+
     public static final String EXECUTOR_SERVICE_THREAD_COUNT = "gaffer.store.job.executor.threads";
     public static final String EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT = "50";
 
+    /**
+     * The maximum number of threads operation handlers can use to run work in
+     * parallel, for example the producers of a pipelined operation chain.
+     */
+    public static final String OPERATION_EXECUTOR_THREAD_COUNT = "gaffer.store.operation.executor.threads";
+    public static final String OPERATION_EXECUTOR_THREAD_COUNT_DEFAULT = "20";
+
     public static final String JSON_SERIALISER_CLASS = JSONSerialiser.JSON_SERIALISER_CLASS_KEY;
     public static final String JSON_SERIALISER_MODULES = JSONSerialiser.JSON_SERIALISER_MODULES;
     public static final String STRICT_JSON = JSONSerialiser.STRICT_JSON;
@@ -340,6 +354,14 @@ public class StoreProperties implements Cloneable {
         set(JOB_TRACKER_ENABLED, jobTrackerEnabled.toString());
     }
 
+    public Boolean getOperationChainOptimisersEnabled() {
+        return Boolean.valueOf(get(OPERATION_CHAIN_OPTIMISERS_ENABLED, "false"));
+    }
+
+    public void setOperationChainOptimisersEnabled(final Boolean operationChainOptimisersEnabled) {
+        set(OPERATION_CHAIN_OPTIMISERS_ENABLED, operationChainOptimisersEnabled.toString());
+    }
+
     public String getSchemaClassName() {
         return get(SCHEMA_CLASS, Schema.class.getName());
     }
@@ -408,6 +430,14 @@ public class StoreProperties implements Cloneable {
         return Integer.parseInt(get(EXECUTOR_SERVICE_THREAD_COUNT, EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT));
     }
 
+    public Integer getOperationExecutorThreadCount() {
+        return Integer.parseInt(get(OPERATION_EXECUTOR_THREAD_COUNT, OPERATION_EXECUTOR_THREAD_COUNT_DEFAULT));
+    }
+
+    public void setOperationExecutorThreadCount(final Integer operationExecutorThreadCount) {
+        set(OPERATION_EXECUTOR_THREAD_COUNT, null != operationExecutorThreadCount ? operationExecutorThreadCount.toString() : null);
+    }
+
     public void addOperationDeclarationPaths(final String... newPaths) {
         final String newPathsCsv = StringUtils.join(newPaths, ",");
         String combinedPaths = getOperationDeclarationPaths();
@@ -16,6 +16,10 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.ForEach;
@@ -24,16 +28,58 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 
 /**
  * An {@code OperationHandler} for the {@link ForEach} Operation.
+ * <p>
+ * By default the operation is executed for each input in turn. If the
+ * {@link #PARALLELISM} option is set on the {@link ForEach} operation, up to
+ * that many operations are executed concurrently on the store's operation
+ * executor. The results are returned lazily, in the same order as the inputs,
+ * as the operations complete. As operations such as {@code GetElements}
+ * return lazy iterables, a result that is an {@link Iterable} is read into a
+ * list by the concurrent operation, so the scan is done on its thread rather
+ * than the consumer's.
+ * </p>
+ * <p>
+ * The handler has two settings which can be overridden by system administrators
+ * in the operationDeclarations.json file: maxParallelism - the maximum
+ * parallelism a single {@link ForEach} can request, and maxParallelismPerUser -
+ * the maximum number of operations that can be run concurrently for a single
+ * user across all {@link ForEach} operations. When a user has reached their
+ * limit, or the store's operation executor has no free threads, further
+ * operations are executed on the calling thread.
+ * </p>
  *
  * @param <I> input type
  * @param <O> output type
  */
 public class ForEachHandler<I, O> implements OutputOperationHandler<ForEach<I, O>, Iterable<? extends O>> {
+    /**
+     * ForEach option for the number of operations to execute concurrently.
+     */
+    public static final String PARALLELISM = "gaffer.operation.foreach.parallelism";
+    public static final int DEFAULT_MAX_PARALLELISM = 10;
+    public static final int DEFAULT_MAX_PARALLELISM_PER_USER = 20;
+
+    private final Map<String, Semaphore> userPermits = new ConcurrentHashMap<>();
+    private int maxParallelism = DEFAULT_MAX_PARALLELISM;
+    private int maxParallelismPerUser = DEFAULT_MAX_PARALLELISM_PER_USER;
 
     @Override
     public Iterable<? extends O> doOperation(final ForEach<I, O> forEach, final Context context, final Store store) throws OperationException {
@@ -44,15 +90,65 @@ public class ForEachHandler<I, O> implements OutputOperationHandler<ForEach<I, O
             throw new OperationException("Inputs cannot be null");
         }
 
+        final int parallelism = getParallelism(forEach);
+        if (parallelism > 1) {
+            final ParallelForEachIterable results = new ParallelForEachIterable(forEach, parallelism, context, store);
+            if (forEach.getOperation() instanceof Output) {
+                return results;
+            }
+
+            // Operations without an output must be executed even if the result is not consumed
+            final List<O> nullResults = new ArrayList<>();
+            try (final CloseableIterator<O> itr = results.iterator()) {
+                itr.forEachRemaining(nullResults::add);
+            } catch (final RuntimeException e) {
+                throw new OperationException("Failed to execute ForEach operation: " + e.getMessage(), e);
+            }
+            return nullResults;
+        }
+
         final List<O> results = new ArrayList<>();
         for (final I input : forEach.getInput()) {
-            final Operation clonedOperation = forEach.getOperation().shallowClone();
-            OperationHandlerUtil.updateOperationInput(clonedOperation, input);
-            results.add(executeOperation(clonedOperation, context, store));
+            results.add(executeOperation(cloneOperation(forEach, input), context, store));
         }
         return results;
     }
 
+    public int getMaxParallelism() {
+        return maxParallelism;
+    }
+
+    public void setMaxParallelism(final int maxParallelism) {
+        this.maxParallelism = maxParallelism;
+    }
+
+    public int getMaxParallelismPerUser() {
+        return maxParallelismPerUser;
+    }
+
+    public void setMaxParallelismPerUser(final int maxParallelismPerUser) {
+        this.maxParallelismPerUser = maxParallelismPerUser;
+    }
+
+    private int getParallelism(final ForEach<I, O> forEach) throws OperationException {
+        final String parallelism = forEach.getOption(PARALLELISM);
+        if (null == parallelism) {
+            return 1;
+        }
+
+        try {
+            return Math.min(Integer.parseInt(parallelism), maxParallelism);
+        } catch (final NumberFormatException e) {
+            throw new OperationException("Invalid value for option " + PARALLELISM + ": " + parallelism, e);
+        }
+    }
+
+    private Operation cloneOperation(final ForEach<I, O> forEach, final I input) {
+        final Operation clonedOperation = forEach.getOperation().shallowClone();
+        OperationHandlerUtil.updateOperationInput(clonedOperation, input);
+        return clonedOperation;
+    }
+
     private O executeOperation(final Operation operation, final Context context, final Store store) throws OperationException {
         final O result;
         if (operation instanceof Output) {
@@ -63,4 +159,131 @@ public class ForEachHandler<I, O> implements OutputOperationHandler<ForEach<I, O
         }
         return result;
     }
+
+    // Reads a lazy iterable result so the work it does happens on the calling thread
+    private O executeAndReadOperation(final Operation operation, final Context context, final Store store) throws OperationException {
+        final O result = executeOperation(operation, context, store);
+        if (!(result instanceof Iterable) || result instanceof Collection) {
+            return result;
+        }
+
+        final List<Object> items = new ArrayList<>();
+        try {
+            ((Iterable<?>) result).forEach(items::add);
+        } finally {
+            CloseableUtil.close(result);
+        }
+        return (O) (result instanceof CloseableIterable ? new WrappedCloseableIterable<>(items) : items);
+    }
+
+    private Semaphore getUserPermits(final Context context) {
+        final String userId = null != context.getUser() ? context.getUser().getUserId() : null;
+        return userPermits.computeIfAbsent(null != userId ? userId : "", k -> new Semaphore(maxParallelismPerUser));
+    }
+
+    private final class ParallelForEachIterable implements CloseableIterable<O> {
+        private final ForEach<I, O> forEach;
+        private final int parallelism;
+        private final Context context;
+        private final Store store;
+
+        private ParallelForEachIterable(final ForEach<I, O> forEach, final int parallelism, final Context context, final Store store) {
+            this.forEach = forEach;
+            this.parallelism = parallelism;
+            this.context = context;
+            this.store = store;
+        }
+
+        @Override
+        public CloseableIterator<O> iterator() {
+            return new ParallelForEachIterator(this);
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(forEach.getInput());
+        }
+    }
+
+    private final class ParallelForEachIterator implements CloseableIterator<O> {
+        private final ParallelForEachIterable iterable;
+        private final Iterator<? extends I> inputItr;
+        private final Deque<Future<O>> pending = new ArrayDeque<>();
+
+        private ParallelForEachIterator(final ParallelForEachIterable iterable) {
+            this.iterable = iterable;
+            this.inputItr = iterable.forEach.getInput().iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            // Keep up to the requested number of operations running ahead of the consumer
+            while (pending.size() < iterable.parallelism && inputItr.hasNext()) {
+                pending.add(submit(cloneOperation(iterable.forEach, inputItr.next())));
+            }
+            return !pending.isEmpty();
+        }
+
+        @Override
+        public O next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more results");
+            }
+
+            try {
+                return pending.poll().get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new RuntimeException("Interrupted whilst waiting for the ForEach results", e);
+            } catch (final ExecutionException e) {
+                close();
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new RuntimeException(cause.getMessage(), cause);
+            }
+        }
+
+        @Override
+        public void close() {
+            pending.forEach(future -> future.cancel(true));
+            pending.clear();
+            CloseableUtil.close(inputItr);
+        }
+
+        private Future<O> submit(final Operation operation) {
+            // Each operation gets its own context so concurrent executions do not share a job
+            final Context context = iterable.context.shallowClone();
+            final Semaphore permits = getUserPermits(iterable.context);
+            if (permits.tryAcquire()) {
+                final FutureTask<O> future = new FutureTask<O>(() -> executeAndReadOperation(operation, context, iterable.store)) {
+                    @Override
+                    protected void done() {
+                        permits.release();
+                    }
+                };
+                final ExecutorService executor = iterable.store.getOperationExecutor();
+                try {
+                    if (null != executor) {
+                        executor.execute(future);
+                        return future;
+                    }
+                } catch (final RejectedExecutionException e) {
+                    // The executor has no free threads, so fall through to run the operation on this thread
+                }
+                future.run();
+                return future;
+            }
+
+            // The user has no spare capacity so execute the operation on this thread
+            final FutureTask<O> future = new FutureTask<>(() -> executeOperation(operation, context, iterable.store));
+            future.run();
+            return future;
+        }
+    }
 }
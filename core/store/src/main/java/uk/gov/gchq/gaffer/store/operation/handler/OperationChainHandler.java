@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.store.operation.handler;
 
+import uk.gov.gchq.gaffer.commonutil.iterable.PipelinedIterable;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
@@ -25,26 +26,55 @@ import uk.gov.gchq.gaffer.store.operation.OperationChainValidator;
 import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
 import uk.gov.gchq.koryphe.ValidationResult;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
  * A {@code OperationChainHandler} handles {@link OperationChain}s.
+ * <p>
+ * If the {@link #PIPELINE} option is set to true on the operation chain, each
+ * {@link Iterable} passed between the operations is consumed on a separate
+ * thread and buffered in a bounded queue, so the operations in the chain run
+ * concurrently rather than one after another. The items are consumed using the
+ * store's operation executor. If it has no free threads an iterable is read on
+ * the consumer's thread instead.
+ * </p>
  *
  * @param <OUT> the output type of the operation chain
  */
 public class OperationChainHandler<OUT> implements OutputOperationHandler<OperationChain<OUT>, OUT> {
+    /**
+     * Operation chain option to run the operations in the chain as a pipeline.
+     */
+    public static final String PIPELINE = "gaffer.operation.chain.pipeline";
+
+    /**
+     * Operation chain option for the number of items to buffer between each
+     * pair of operations in a pipeline.
+     */
+    public static final String PIPELINE_BUFFER_SIZE = "gaffer.operation.chain.pipeline.buffer.size";
+    public static final String PIPELINE_BUFFER_SIZE_DEFAULT = "1000";
+
     private final OperationChainValidator opChainValidator;
     private final List<OperationChainOptimiser> opChainOptimisers;
 
     @Override
     public OUT doOperation(final OperationChain<OUT> operationChain, final Context context, final Store store) throws OperationException {
 
-        prepareOperationChain(operationChain, context, store);
+        final OperationChain<OUT> optimisedOperationChain = prepareOperationChain(operationChain, context, store);
+
+        final boolean pipeline = Boolean.parseBoolean(optimisedOperationChain.getOption(PIPELINE));
+        final int bufferSize = Integer.parseInt(optimisedOperationChain.getOption(PIPELINE_BUFFER_SIZE, PIPELINE_BUFFER_SIZE_DEFAULT));
+        final List<Operation> operations = optimisedOperationChain.getOperations();
 
         Object result = null;
-        for (final Operation op : operationChain.getOperations()) {
+        for (int i = 0; i < operations.size(); i++) {
+            final Operation op = operations.get(i);
             updateOperationInput(op, result);
             result = store.handleOperation(op, context);
+            if (pipeline && i < operations.size() - 1) {
+                result = pipelineResult(result, bufferSize, store);
+            }
         }
 
         return (OUT) result;
@@ -86,6 +116,14 @@ public class OperationChainHandler<OUT> implements OutputOperationHandler<Operat
         this.opChainOptimisers = opChainOptimisers;
     }
 
+    private Object pipelineResult(final Object result, final int bufferSize, final Store store) {
+        // Collections have already been computed so there is nothing to overlap
+        if (result instanceof Iterable && !(result instanceof Collection)) {
+            return new PipelinedIterable<>((Iterable<?>) result, store.getOperationExecutor(), bufferSize);
+        }
+        return result;
+    }
+
     private void setOperationInput(final Operation op, final Object result) {
         if (null == ((Input) op).getInput()) {
             ((Input) op).setInput(result);
@@ -29,15 +29,31 @@ import uk.gov.gchq.gaffer.user.User;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Wrapper around the {@link CacheServiceLoader} to provide an interface for handling
  * the {@link uk.gov.gchq.gaffer.named.operation.NamedOperation}s for a Gaffer graph.
+ * <p>
+ * Named operations read from the cache are also held in an in-process near
+ * cache, so the compiled operation chain template of each
+ * {@link NamedOperationDetail} is reused rather than being fetched and
+ * compiled again for every execution. Whenever named operations are added,
+ * deleted or cleared a new version is written to the cache service. Near
+ * cache entries are only used while their version matches the current
+ * version, so changes made on other JVMs sharing a distributed cache are
+ * also picked up.
+ * </p>
  */
 public class NamedOperationCache {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NamedOperationCache.class);
     private static final String CACHE_NAME = "NamedOperation";
+    private static final String VERSION_CACHE_NAME = "NamedOperationVersion";
+    private static final String VERSION_KEY = "version";
+    private static final ConcurrentMap<String, NearCacheEntry> NEAR_CACHE = new ConcurrentHashMap<>();
 
     /**
      * If the user is just adding to the cache, ie the overwrite flag is set to false, then no security is added.
@@ -162,6 +178,8 @@ public class NamedOperationCache {
             CacheServiceLoader.getService().clearCache(CACHE_NAME);
         } catch (final CacheOperationException e) {
             throw new CacheOperationFailedException("Failed to clear cache", e);
+        } finally {
+            updateVersion();
         }
     }
 
@@ -174,7 +192,11 @@ public class NamedOperationCache {
      *                                       operation from the cache
      */
     public void deleteFromCache(final String name) throws CacheOperationFailedException {
-        CacheServiceLoader.getService().removeFromCache(CACHE_NAME, name);
+        try {
+            CacheServiceLoader.getService().removeFromCache(CACHE_NAME, name);
+        } finally {
+            updateVersion();
+        }
 
         if (null != CacheServiceLoader.getService().getFromCache(CACHE_NAME, name)) {
             throw new CacheOperationFailedException("Failed to remove " + name + " from cache");
@@ -200,6 +222,8 @@ public class NamedOperationCache {
             }
         } catch (final CacheOperationException e) {
             throw new CacheOperationFailedException(e);
+        } finally {
+            updateVersion();
         }
     }
 
@@ -212,15 +236,7 @@ public class NamedOperationCache {
      *                                       cache
      */
     public NamedOperationDetail getFromCache(final String name) throws CacheOperationFailedException {
-        if (null == name) {
-            throw new CacheOperationFailedException("Operation name cannot be null");
-        }
-        final NamedOperationDetail op = CacheServiceLoader.getService().getFromCache(CACHE_NAME, name);
-
-        if (null != op) {
-            return op;
-        }
-        throw new CacheOperationFailedException("No named operation with the name " + name + " exists in the cache");
+        return getFromCache(name, true);
     }
 
     private void add(final NamedOperationDetail namedOperation, final boolean overwrite, final User user, final String adminAuth) throws CacheOperationFailedException {
@@ -241,7 +257,7 @@ public class NamedOperationCache {
         NamedOperationDetail existing;
 
         try {
-            existing = getFromCache(name);
+            existing = getFromCache(name, false);
         } catch (final CacheOperationFailedException e) { // if there is no existing named Operation add one
             addToCache(name, namedOperation, false);
             return;
@@ -257,7 +273,7 @@ public class NamedOperationCache {
         if (null == name) {
             throw new CacheOperationFailedException("NamedOperation name cannot be null");
         }
-        final NamedOperationDetail existing = getFromCache(name);
+        final NamedOperationDetail existing = getFromCache(name, false);
         if (existing.hasWriteAccess(user, adminAuth)) {
             deleteFromCache(name);
         } else {
@@ -291,4 +307,52 @@ public class NamedOperationCache {
         }
         return new WrappedCloseableIterable<>(executables);
     }
+
+    // Adding and deleting check the write access of the user against the
+    // cache service rather than the near cache
+    private NamedOperationDetail getFromCache(final String name, final boolean useNearCache) throws CacheOperationFailedException {
+        if (null == name) {
+            throw new CacheOperationFailedException("Operation name cannot be null");
+        }
+
+        // The version is read before the named operation, so a near cache
+        // entry is never newer than its version
+        final Object version = CacheServiceLoader.getService().getFromCache(VERSION_CACHE_NAME, VERSION_KEY);
+        if (useNearCache && null != version) {
+            final NearCacheEntry entry = NEAR_CACHE.get(name);
+            if (null != entry && version.equals(entry.version)) {
+                return entry.namedOperation;
+            }
+        }
+
+        final NamedOperationDetail op = CacheServiceLoader.getService().getFromCache(CACHE_NAME, name);
+
+        if (null != op) {
+            if (null != version) {
+                NEAR_CACHE.put(name, new NearCacheEntry(version, op));
+            }
+            return op;
+        }
+        NEAR_CACHE.remove(name);
+        throw new CacheOperationFailedException("No named operation with the name " + name + " exists in the cache");
+    }
+
+    private void updateVersion() {
+        NEAR_CACHE.clear();
+        try {
+            CacheServiceLoader.getService().putInCache(VERSION_CACHE_NAME, VERSION_KEY, UUID.randomUUID().toString());
+        } catch (final CacheOperationException e) {
+            LOGGER.error("Failed to update the named operation cache version", e);
+        }
+    }
+
+    private static final class NearCacheEntry {
+        private final Object version;
+        private final NamedOperationDetail namedOperation;
+
+        private NearCacheEntry(final Object version, final NamedOperationDetail namedOperation) {
+            this.version = version;
+            this.namedOperation = namedOperation;
+        }
+    }
 }
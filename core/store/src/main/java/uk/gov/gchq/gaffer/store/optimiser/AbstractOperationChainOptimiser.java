@@ -48,7 +48,9 @@ public abstract class AbstractOperationChainOptimiser implements OperationChainO
             optimisedOps.addAll(addPostOperations(currentOp, nextOp));
         }
 
-        return new OperationChain<>(optimiseAll(optimisedOps));
+        final OperationChain<O> optimisedOperationChain = new OperationChain<>(optimiseAll(optimisedOps));
+        optimisedOperationChain.setOptions(operationChain.getOptions());
+        return optimisedOperationChain;
     }
 
     /**
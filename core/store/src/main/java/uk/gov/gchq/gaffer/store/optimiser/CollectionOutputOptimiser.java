@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link OperationChainOptimiser} that removes {@link ToList} and {@link ToSet}
+ * operations whose output is immediately collected again. A {@link ToList} or
+ * {@link ToSet} directly before a {@link ToSet}, or a {@link ToList} directly
+ * before another {@link ToList}, is removed as the second operation produces
+ * the same result from the original input.
+ * <p>
+ * A {@link ToSet} before a {@link ToList} is kept, as it removes duplicates.
+ * </p>
+ */
+public class CollectionOutputOptimiser extends AbstractOperationChainOptimiser {
+    @Override
+    protected List<Operation> addPreOperations(final Operation previousOp, final Operation currentOp) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseCurrentOperation(final Operation previousOp, final Operation currentOp, final Operation nextOp) {
+        if (isRedundant(currentOp, nextOp)) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(currentOp);
+    }
+
+    @Override
+    protected List<Operation> addPostOperations(final Operation currentOp, final Operation nextOp) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseAll(final List<Operation> ops) {
+        return ops;
+    }
+
+    private boolean isRedundant(final Operation currentOp, final Operation nextOp) {
+        if (currentOp instanceof ToList && null == ((ToList) currentOp).getInput()) {
+            return (nextOp instanceof ToList && null == ((ToList) nextOp).getInput())
+                    || (nextOp instanceof ToSet && null == ((ToSet) nextOp).getInput());
+        }
+        if (currentOp instanceof ToSet && null == ((ToSet) currentOp).getInput()) {
+            return nextOp instanceof ToSet && null == ((ToSet) nextOp).getInput();
+        }
+        return false;
+    }
+}
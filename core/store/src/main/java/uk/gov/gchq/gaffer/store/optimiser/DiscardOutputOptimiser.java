@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
+import uk.gov.gchq.gaffer.operation.io.Output;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link OperationChainOptimiser} that removes {@link DiscardOutput}
+ * operations that have no output to discard. These are a {@link DiscardOutput}
+ * at the start of a chain, after an operation that has no output or directly
+ * after another {@link DiscardOutput}.
+ */
+public class DiscardOutputOptimiser extends AbstractOperationChainOptimiser {
+    @Override
+    protected List<Operation> addPreOperations(final Operation previousOp, final Operation currentOp) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseCurrentOperation(final Operation previousOp, final Operation currentOp, final Operation nextOp) {
+        return Collections.singletonList(currentOp);
+    }
+
+    @Override
+    protected List<Operation> addPostOperations(final Operation currentOp, final Operation nextOp) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseAll(final List<Operation> ops) {
+        final List<Operation> optimisedOps = new ArrayList<>(ops.size());
+        for (final Operation op : ops) {
+            final Operation previousOp = optimisedOps.isEmpty() ? null : optimisedOps.get(optimisedOps.size() - 1);
+            if (!(op instanceof DiscardOutput) || previousOp instanceof Output) {
+                optimisedOps.add(op);
+            }
+        }
+        return optimisedOps;
+    }
+}
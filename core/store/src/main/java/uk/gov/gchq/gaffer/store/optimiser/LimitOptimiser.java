@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.data.generator.OneToOneObjectGenerator;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.function.Transform;
+import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link OperationChainOptimiser} that moves each truncating {@link Limit}
+ * as close as possible to the operation that produces the items. A {@link Limit}
+ * is moved before any {@link Transform} and any {@link GenerateObjects} using a
+ * {@link OneToOneObjectGenerator}, as these produce one output for each input.
+ * Consecutive truncating limits are then merged into a single {@link Limit}.
+ * <p>
+ * This means a {@link Limit} usually directly follows the operation that
+ * fetches the elements from the store, so the fetch is closed as soon as the
+ * limit is reached and no work is done on items that would be discarded.
+ * </p>
+ */
+public class LimitOptimiser extends AbstractOperationChainOptimiser {
+    @Override
+    protected List<Operation> addPreOperations(final Operation previousOp, final Operation currentOp) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseCurrentOperation(final Operation previousOp, final Operation currentOp, final Operation nextOp) {
+        return Collections.singletonList(currentOp);
+    }
+
+    @Override
+    protected List<Operation> addPostOperations(final Operation currentOp, final Operation nextOp) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseAll(final List<Operation> ops) {
+        final List<Operation> optimisedOps = new ArrayList<>(ops.size());
+        for (final Operation op : ops) {
+            if (isMovableLimit(op)) {
+                int index = optimisedOps.size();
+                while (index > 0 && isOneToOne(optimisedOps.get(index - 1))) {
+                    index--;
+                }
+
+                final Operation previousOp = index > 0 ? optimisedOps.get(index - 1) : null;
+                if (isMovableLimit(previousOp)) {
+                    final Limit mergedLimit = ((Limit) previousOp).shallowClone();
+                    mergedLimit.setResultLimit(Math.min(mergedLimit.getResultLimit(), ((Limit) op).getResultLimit()));
+                    optimisedOps.set(index - 1, mergedLimit);
+                } else {
+                    optimisedOps.add(index, op);
+                }
+            } else {
+                optimisedOps.add(op);
+            }
+        }
+        return optimisedOps;
+    }
+
+    private boolean isMovableLimit(final Operation op) {
+        return op instanceof Limit
+                && ((Limit) op).getTruncate()
+                && null != ((Limit) op).getResultLimit()
+                && null == ((Limit) op).getInput()
+                && hasNoOptions(op);
+    }
+
+    private boolean isOneToOne(final Operation op) {
+        if (op instanceof Transform) {
+            return null == ((Transform) op).getInput() && hasNoOptions(op);
+        }
+        if (op instanceof GenerateObjects) {
+            return null == ((GenerateObjects) op).getInput()
+                    && ((GenerateObjects) op).getElementGenerator() instanceof OneToOneObjectGenerator
+                    && hasNoOptions(op);
+        }
+        return false;
+    }
+
+    private boolean hasNoOptions(final Operation op) {
+        return null == op.getOptions() || op.getOptions().isEmpty();
+    }
+}
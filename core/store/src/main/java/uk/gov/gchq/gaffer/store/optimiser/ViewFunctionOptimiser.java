@@ -0,0 +1,235 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
+import uk.gov.gchq.gaffer.operation.impl.function.Filter;
+import uk.gov.gchq.gaffer.operation.impl.function.Transform;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreTrait;
+import uk.gov.gchq.gaffer.store.operation.validator.function.FilterValidator;
+import uk.gov.gchq.gaffer.store.operation.validator.function.TransformValidator;
+import uk.gov.gchq.gaffer.store.schema.ViewValidator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@link OperationChainOptimiser} that merges a {@link Filter} or
+ * {@link Transform} directly following a {@link GetElements} or
+ * {@link GetAllElements} into the {@link View} of the get operation, so the
+ * functions are applied by the store whilst the elements are being fetched.
+ * <p>
+ * A {@link Filter} is merged into the post transform filters and requires the
+ * store to have the {@link StoreTrait#POST_TRANSFORMATION_FILTERING} trait.
+ * Groups in the {@link View} that the {@link Filter} would remove are removed
+ * from the {@link View}. A {@link Transform} is merged into the transformers
+ * and requires the {@link StoreTrait#TRANSFORMATION} trait. It is only merged
+ * if the {@link View} has no post transform filters and the {@link Transform}
+ * provides a transformer for every group in the {@link View}.
+ * </p>
+ * <p>
+ * Operations are only merged when the {@link View} contains no global
+ * definitions, so the groups the functions apply to are known up front.
+ * As the chain has already been validated when it is optimised, an operation
+ * is only merged if it is valid against the schema and the merged
+ * {@link View} is valid too. Otherwise the operation is left in the chain and
+ * its handler reports the validation errors.
+ * </p>
+ */
+public class ViewFunctionOptimiser extends AbstractOperationChainOptimiser {
+    private final Store store;
+    private final ViewValidator viewValidator = new ViewValidator();
+    private final FilterValidator filterValidator = new FilterValidator();
+    private final TransformValidator transformValidator = new TransformValidator();
+
+    public ViewFunctionOptimiser(final Store store) {
+        this.store = store;
+    }
+
+    @Override
+    protected List<Operation> addPreOperations(final Operation previousOp, final Operation currentOp) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseCurrentOperation(final Operation previousOp, final Operation currentOp, final Operation nextOp) {
+        return Collections.singletonList(currentOp);
+    }
+
+    @Override
+    protected List<Operation> addPostOperations(final Operation currentOp, final Operation nextOp) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseAll(final List<Operation> ops) {
+        final List<Operation> optimisedOps = new ArrayList<>(ops.size());
+        for (final Operation op : ops) {
+            final Operation previousOp = optimisedOps.isEmpty() ? null : optimisedOps.get(optimisedOps.size() - 1);
+            final View mergedView = isMergeableGet(previousOp) ? mergeIntoView(((GraphFilters) previousOp).getView(), op) : null;
+            if (null != mergedView && isValid(mergedView)) {
+                final Operation mergedOp = previousOp.shallowClone();
+                ((GraphFilters) mergedOp).setView(mergedView);
+                optimisedOps.set(optimisedOps.size() - 1, mergedOp);
+            } else {
+                optimisedOps.add(op);
+            }
+        }
+        return optimisedOps;
+    }
+
+    private View mergeIntoView(final View view, final Operation op) {
+        if (op instanceof Filter && isMergeable(op, ((Filter) op).getInput())
+                && store.hasTrait(StoreTrait.POST_TRANSFORMATION_FILTERING)
+                && filterValidator.validate((Filter) op, store.getSchema()).isValid()) {
+            return mergeFilter(view, (Filter) op);
+        }
+        if (op instanceof Transform && isMergeable(op, ((Transform) op).getInput())
+                && store.hasTrait(StoreTrait.TRANSFORMATION)
+                && transformValidator.validate((Transform) op, store.getSchema()).isValid()) {
+            return mergeTransform(view, (Transform) op);
+        }
+        return null;
+    }
+
+    private View mergeFilter(final View view, final Filter filter) {
+        final boolean allGroups = null == filter.getEntities() && null == filter.getEdges();
+        final View.Builder viewBuilder = new View.Builder().config(view.getConfig());
+        boolean hasGroups = false;
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEntities().entrySet()) {
+            final ElementFilter groupFilter = allGroups ? new ElementFilter() : getFunction(filter.getEntities(), entry.getKey());
+            if (null != groupFilter) {
+                viewBuilder.entity(entry.getKey(), mergeFilter(entry.getValue(), filter.getGlobalElements(), filter.getGlobalEntities(), groupFilter));
+                hasGroups = true;
+            }
+        }
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEdges().entrySet()) {
+            final ElementFilter groupFilter = allGroups ? new ElementFilter() : getFunction(filter.getEdges(), entry.getKey());
+            if (null != groupFilter) {
+                viewBuilder.edge(entry.getKey(), mergeFilter(entry.getValue(), filter.getGlobalElements(), filter.getGlobalEdges(), groupFilter));
+                hasGroups = true;
+            }
+        }
+
+        // Keep the Filter rather than create a view with no groups
+        return hasGroups ? viewBuilder.build() : null;
+    }
+
+    private ViewElementDefinition mergeFilter(final ViewElementDefinition elementDef, final ElementFilter... filters) {
+        final ElementFilter postTransformFilter = new ElementFilter();
+        if (null != elementDef.getPostTransformFilter()) {
+            postTransformFilter.getComponents().addAll(elementDef.getPostTransformFilter().getComponents());
+        }
+        for (final ElementFilter filter : filters) {
+            if (null != filter) {
+                postTransformFilter.getComponents().addAll(filter.getComponents());
+            }
+        }
+
+        return new ViewElementDefinition.Builder()
+                .merge(elementDef)
+                .clearPostTransformFilter()
+                .postTransformFilter(postTransformFilter)
+                .build();
+    }
+
+    private View mergeTransform(final View view, final Transform transform) {
+        if (null == transform.getEntities() && null == transform.getEdges()) {
+            // The Transform would not change the elements
+            return view;
+        }
+
+        if (view.hasPostTransformFilters()) {
+            return null;
+        }
+
+        final View.Builder viewBuilder = new View.Builder().config(view.getConfig());
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEntities().entrySet()) {
+            final ElementTransformer transformer = getFunction(transform.getEntities(), entry.getKey());
+            if (null == transformer) {
+                return null;
+            }
+            viewBuilder.entity(entry.getKey(), mergeTransformer(entry.getValue(), transformer));
+        }
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEdges().entrySet()) {
+            final ElementTransformer transformer = getFunction(transform.getEdges(), entry.getKey());
+            if (null == transformer) {
+                return null;
+            }
+            viewBuilder.edge(entry.getKey(), mergeTransformer(entry.getValue(), transformer));
+        }
+        return viewBuilder.build();
+    }
+
+    private ViewElementDefinition mergeTransformer(final ViewElementDefinition elementDef, final ElementTransformer transformer) {
+        final ElementTransformer mergedTransformer = new ElementTransformer();
+        if (null != elementDef.getTransformer()) {
+            mergedTransformer.getComponents().addAll(elementDef.getTransformer().getComponents());
+        }
+        mergedTransformer.getComponents().addAll(transformer.getComponents());
+
+        return new ViewElementDefinition.Builder()
+                .merge(elementDef)
+                .clearTransform()
+                .transformer(mergedTransformer)
+                .build();
+    }
+
+    private boolean isValid(final View view) {
+        return viewValidator.validate(view, store.getSchema(), store.getTraits()).isValid();
+    }
+
+    private boolean isMergeableGet(final Operation op) {
+        if (!(op instanceof GetElements) && !(op instanceof GetAllElements)) {
+            return false;
+        }
+
+        final View view = ((GraphFilters) op).getView();
+        return null != view
+                && !view.isAllEntities()
+                && !view.isAllEdges()
+                && isEmpty(view.getGlobalElements())
+                && isEmpty(view.getGlobalEntities())
+                && isEmpty(view.getGlobalEdges())
+                && hasNoOptions(op);
+    }
+
+    private boolean isMergeable(final Operation op, final Object input) {
+        return null == input && hasNoOptions(op);
+    }
+
+    private <T> T getFunction(final Map<String, T> functions, final String group) {
+        return null == functions ? null : functions.get(group);
+    }
+
+    private boolean isEmpty(final List<?> list) {
+        return null == list || list.isEmpty();
+    }
+
+    private boolean hasNoOptions(final Operation op) {
+        return null == op.getOptions() || op.getOptions().isEmpty();
+    }
+}
@@ -0,0 +1,549 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.serialiser;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId.MatchedVertex;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+/**
+ * <p>
+ * Serialises a stream of {@link Element}s into a compact binary format, using
+ * the {@link ToBytesSerialiser}s defined in the {@link Schema}. This is used to
+ * send large query results between the REST API and a ProxyStore without the
+ * cost of writing the class name and property names of every element as JSON.
+ * </p>
+ * <p>
+ * The properties are written by position, so the same schema must be used to
+ * write and read the stream. The stream header contains a fingerprint of the
+ * groups, properties and serialisers in the writer's schema and the reader
+ * rejects a stream written with a different fingerprint. A client should send
+ * its fingerprint, see {@link #getSchemaFingerprint()}, in the
+ * {@link #SCHEMA_FINGERPRINT_HEADER} request header so the server can respond
+ * with JSON instead when the schemas differ.
+ * </p>
+ * <p>
+ * The stream starts with a short header, followed by a frame for each element
+ * and an end frame. The first time a group is seen a dictionary frame assigns it
+ * an id, which is then used by all the element frames for that group. An
+ * element frame contains the vertices and a bit mask of the schema properties
+ * that are set, followed by the length-value serialised properties. Elements
+ * that cannot be represented this way, for example elements with properties
+ * that are not in the schema, are written as JSON frames. If the results fail
+ * part way through an error frame is written, so the reader can report the
+ * error rather than silently returning partial results.
+ * </p>
+ */
+public class ElementStreamSerialiser {
+    public static final String MEDIA_TYPE = "application/x-gaffer-elements";
+    public static final String SCHEMA_FINGERPRINT_HEADER = "X-Gaffer-Element-Schema";
+
+    private static final byte[] HEADER = {'G', 'E', 2};
+    private static final int MAX_PROPERTIES = 63;
+
+    private static final byte END_FRAME = 0;
+    private static final byte GROUP_FRAME = 1;
+    private static final byte ENTITY_FRAME = 2;
+    private static final byte EDGE_FRAME = 3;
+    private static final byte JSON_FRAME = 4;
+    private static final byte ERROR_FRAME = 5;
+
+    private static final byte DIRECTED = 1;
+    private static final byte MATCHED_SOURCE = 2;
+    private static final byte MATCHED_DESTINATION = 4;
+
+    private final ToBytesSerialiser<Object> vertexSerialiser;
+    private final Map<String, GroupDefinition> groupDefinitions = new HashMap<>();
+    private final String schemaFingerprint;
+
+    public ElementStreamSerialiser(final Schema schema) {
+        if (null == schema) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+        vertexSerialiser = schema.getVertexSerialiser() instanceof ToBytesSerialiser
+                ? (ToBytesSerialiser) schema.getVertexSerialiser() : null;
+        for (final Map.Entry<String, ? extends SchemaElementDefinition> entry : schema.getEntities().entrySet()) {
+            addGroupDefinition(entry.getKey(), entry.getValue());
+        }
+        for (final Map.Entry<String, ? extends SchemaElementDefinition> entry : schema.getEdges().entrySet()) {
+            addGroupDefinition(entry.getKey(), entry.getValue());
+        }
+        schemaFingerprint = createSchemaFingerprint();
+    }
+
+    /**
+     * Gets a fingerprint of the parts of the schema used to encode the
+     * elements. Two serialisers can only read each other's streams if their
+     * fingerprints are equal.
+     *
+     * @return the schema fingerprint
+     */
+    public String getSchemaFingerprint() {
+        return schemaFingerprint;
+    }
+
+    /**
+     * Checks whether the provided type is an {@link Iterable} of {@link Element}s,
+     * which is the only type of result that can be written using this format.
+     *
+     * @param typeReference the type of the result
+     * @return true if the result can be serialised using this format.
+     */
+    public static boolean canSerialise(final TypeReference<?> typeReference) {
+        if (null == typeReference || !(typeReference.getType() instanceof ParameterizedType)) {
+            return false;
+        }
+
+        final ParameterizedType type = (ParameterizedType) typeReference.getType();
+        if (!(type.getRawType() instanceof Class)
+                || !Iterable.class.isAssignableFrom((Class<?>) type.getRawType())
+                || 1 != type.getActualTypeArguments().length) {
+            return false;
+        }
+
+        Type itemType = type.getActualTypeArguments()[0];
+        if (itemType instanceof WildcardType) {
+            final Type[] upperBounds = ((WildcardType) itemType).getUpperBounds();
+            itemType = 1 == upperBounds.length ? upperBounds[0] : null;
+        }
+        return itemType instanceof Class && Element.class.isAssignableFrom((Class<?>) itemType);
+    }
+
+    /**
+     * Writes all the elements to the output stream, followed by an end frame.
+     * If iterating over or serialising the elements fails, an error frame is
+     * written before the exception is rethrown. The elements are closed if
+     * they are {@link java.io.Closeable} but the output stream is left open.
+     *
+     * @param elements the elements to write
+     * @param out      the stream to write to
+     * @throws SerialisationException if the elements could not be written
+     */
+    public void serialise(final Iterable<?> elements, final OutputStream out) throws SerialisationException {
+        final Writer writer = new Writer(out);
+        try {
+            for (final Object element : elements) {
+                writer.write((Element) element);
+            }
+        } catch (final RuntimeException | SerialisationException e) {
+            writeError(writer, e);
+            throw e;
+        } finally {
+            CloseableUtil.close(elements);
+        }
+        writer.writeEnd();
+    }
+
+    /**
+     * Reads elements from the input stream, one frame at a time. Closing the
+     * returned iterator closes the input stream.
+     *
+     * @param in the stream to read from
+     * @return an iterator of the elements in the stream
+     * @throws SerialisationException if the stream does not start with a valid header
+     */
+    public CloseableIterator<Element> deserialise(final InputStream in) throws SerialisationException {
+        return new Reader(in);
+    }
+
+    private static void writeError(final Writer writer, final Exception e) {
+        try {
+            writer.writeError(null != e.getMessage() ? e.getMessage() : e.getClass().getName());
+        } catch (final SerialisationException writeException) {
+            // The output stream has failed, so the reader will see the stream end without an end frame
+            e.addSuppressed(writeException);
+        }
+    }
+
+    private void addGroupDefinition(final String group, final SchemaElementDefinition elementDef) {
+        final List<String> properties = new ArrayList<>(elementDef.getProperties());
+        final List<ToBytesSerialiser<Object>> serialisers = new ArrayList<>(properties.size());
+        for (final String property : properties) {
+            final TypeDefinition typeDef = elementDef.getPropertyTypeDef(property);
+            if (null == typeDef || !(typeDef.getSerialiser() instanceof ToBytesSerialiser)) {
+                // Elements in this group will be written as JSON
+                return;
+            }
+            serialisers.add((ToBytesSerialiser) typeDef.getSerialiser());
+        }
+        if (properties.size() <= MAX_PROPERTIES) {
+            groupDefinitions.put(group, new GroupDefinition(properties, serialisers));
+        }
+    }
+
+    private String createSchemaFingerprint() {
+        final StringBuilder encoding = new StringBuilder();
+        encoding.append(null != vertexSerialiser ? vertexSerialiser.getClass().getName() : "");
+        for (final Map.Entry<String, GroupDefinition> entry : new TreeMap<>(groupDefinitions).entrySet()) {
+            encoding.append('\n').append(entry.getKey());
+            for (int i = 0; i < entry.getValue().properties.size(); i++) {
+                encoding.append('\t').append(entry.getValue().properties.get(i))
+                        .append('=').append(entry.getValue().serialisers.get(i).getClass().getName());
+            }
+        }
+
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(encoding.toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class GroupDefinition {
+        private final List<String> properties;
+        private final List<ToBytesSerialiser<Object>> serialisers;
+
+        private GroupDefinition(final List<String> properties, final List<ToBytesSerialiser<Object>> serialisers) {
+            this.properties = properties;
+            this.serialisers = serialisers;
+        }
+    }
+
+    /**
+     * Writes elements to an output stream in the binary element format.
+     */
+    private final class Writer {
+        private final OutputStream out;
+        private final Map<String, Integer> groupIds = new HashMap<>();
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        private Writer(final OutputStream out) throws SerialisationException {
+            this.out = out;
+            write(HEADER);
+            final byte[] fingerprint = schemaFingerprint.getBytes(StandardCharsets.UTF_8);
+            CompactRawSerialisationUtils.write(fingerprint.length, out);
+            write(fingerprint);
+        }
+
+        public void write(final Element element) throws SerialisationException {
+            final GroupDefinition groupDef = getGroupDefinition(element);
+            if (null == groupDef) {
+                writeFrame(JSON_FRAME, JSONSerialiser.serialise(element));
+                return;
+            }
+
+            buffer.reset();
+            final byte frameType;
+            if (element instanceof Entity) {
+                frameType = ENTITY_FRAME;
+                LengthValueBytesSerialiserUtil.serialise(vertexSerialiser, ((Entity) element).getVertex(), buffer);
+            } else {
+                final Edge edge = (Edge) element;
+                frameType = EDGE_FRAME;
+                buffer.write(getEdgeFlags(edge));
+                LengthValueBytesSerialiserUtil.serialise(vertexSerialiser, edge.getSource(), buffer);
+                LengthValueBytesSerialiserUtil.serialise(vertexSerialiser, edge.getDestination(), buffer);
+            }
+            serialiseProperties(element.getProperties(), groupDef);
+
+            final int groupId = getGroupId(element.getGroup());
+            write(frameType);
+            CompactRawSerialisationUtils.write(groupId, out);
+            CompactRawSerialisationUtils.write(buffer.size(), out);
+            try {
+                buffer.writeTo(out);
+            } catch (final IOException e) {
+                throw new SerialisationException("Unable to write element", e);
+            }
+        }
+
+        public void writeError(final String message) throws SerialisationException {
+            writeFrame(ERROR_FRAME, message.getBytes(StandardCharsets.UTF_8));
+            flush();
+        }
+
+        public void writeEnd() throws SerialisationException {
+            write(END_FRAME);
+            flush();
+        }
+
+        private GroupDefinition getGroupDefinition(final Element element) {
+            if (null == vertexSerialiser
+                    || (!(element instanceof Entity) && !(element instanceof Edge))) {
+                return null;
+            }
+            final GroupDefinition groupDef = groupDefinitions.get(element.getGroup());
+            if (null == groupDef || hasNullVertex(element)) {
+                return null;
+            }
+            for (final Map.Entry<String, Object> property : element.getProperties().entrySet()) {
+                if (null == property.getValue() || !groupDef.properties.contains(property.getKey())) {
+                    return null;
+                }
+            }
+            return groupDef;
+        }
+
+        private boolean hasNullVertex(final Element element) {
+            if (element instanceof Entity) {
+                return null == ((Entity) element).getVertex();
+            }
+            return null == ((Edge) element).getSource() || null == ((Edge) element).getDestination();
+        }
+
+        private byte getEdgeFlags(final Edge edge) {
+            byte flags = edge.isDirected() ? DIRECTED : 0;
+            if (MatchedVertex.SOURCE == edge.getMatchedVertex()) {
+                flags |= MATCHED_SOURCE;
+            } else if (MatchedVertex.DESTINATION == edge.getMatchedVertex()) {
+                flags |= MATCHED_DESTINATION;
+            }
+            return flags;
+        }
+
+        private void serialiseProperties(final Properties properties, final GroupDefinition groupDef) throws SerialisationException {
+            long propertyMask = 0;
+            for (int i = 0; i < groupDef.properties.size(); i++) {
+                if (properties.containsKey(groupDef.properties.get(i))) {
+                    propertyMask |= 1L << i;
+                }
+            }
+            CompactRawSerialisationUtils.write(propertyMask, buffer);
+            for (int i = 0; i < groupDef.properties.size(); i++) {
+                final Object value = properties.get(groupDef.properties.get(i));
+                if (null != value) {
+                    LengthValueBytesSerialiserUtil.serialise(groupDef.serialisers.get(i), value, buffer);
+                }
+            }
+        }
+
+        private int getGroupId(final String group) throws SerialisationException {
+            Integer groupId = groupIds.get(group);
+            if (null == groupId) {
+                groupId = groupIds.size();
+                groupIds.put(group, groupId);
+                writeFrame(GROUP_FRAME, group.getBytes(StandardCharsets.UTF_8));
+            }
+            return groupId;
+        }
+
+        private void writeFrame(final byte frameType, final byte[] bytes) throws SerialisationException {
+            write(frameType);
+            CompactRawSerialisationUtils.write(bytes.length, out);
+            write(bytes);
+        }
+
+        private void write(final int b) throws SerialisationException {
+            try {
+                out.write(b);
+            } catch (final IOException e) {
+                throw new SerialisationException("Unable to write element stream", e);
+            }
+        }
+
+        private void write(final byte[] bytes) throws SerialisationException {
+            try {
+                out.write(bytes);
+            } catch (final IOException e) {
+                throw new SerialisationException("Unable to write element stream", e);
+            }
+        }
+
+        private void flush() throws SerialisationException {
+            try {
+                out.flush();
+            } catch (final IOException e) {
+                throw new SerialisationException("Unable to write element stream", e);
+            }
+        }
+    }
+
+    private final class Reader implements CloseableIterator<Element> {
+        private final DataInputStream in;
+        private final List<String> groups = new ArrayList<>();
+        private Element next;
+        private boolean finished;
+
+        private Reader(final InputStream in) throws SerialisationException {
+            this.in = new DataInputStream(in);
+            final byte[] header = new byte[HEADER.length];
+            try {
+                this.in.readFully(header);
+            } catch (final IOException e) {
+                close();
+                throw new SerialisationException("Unable to read element stream header", e);
+            }
+            for (int i = 0; i < HEADER.length; i++) {
+                if (HEADER[i] != header[i]) {
+                    close();
+                    throw new SerialisationException("Unsupported element stream format");
+                }
+            }
+
+            final String fingerprint;
+            try {
+                fingerprint = new String(readBytes(), StandardCharsets.UTF_8);
+            } catch (final IOException e) {
+                close();
+                throw new SerialisationException("Unable to read element stream header", e);
+            }
+            if (!schemaFingerprint.equals(fingerprint)) {
+                close();
+                throw new SerialisationException("The element stream was written using a different schema");
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == next && !finished) {
+                try {
+                    next = readFrame();
+                } catch (final IOException e) {
+                    close();
+                    throw new RuntimeException(e.getMessage(), e);
+                }
+            }
+            return null != next;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements");
+            }
+            final Element element = next;
+            next = null;
+            return element;
+        }
+
+        @Override
+        public void close() {
+            finished = true;
+            CloseableUtil.close(in);
+        }
+
+        // Returns null for frames that do not contain an element
+        private Element readFrame() throws IOException {
+            final int frameType;
+            try {
+                frameType = in.readByte();
+            } catch (final EOFException e) {
+                throw new SerialisationException("Element stream ended unexpectedly", e);
+            }
+
+            switch (frameType) {
+                case END_FRAME:
+                    close();
+                    return null;
+                case GROUP_FRAME:
+                    groups.add(new String(readBytes(), StandardCharsets.UTF_8));
+                    return null;
+                case ENTITY_FRAME:
+                case EDGE_FRAME:
+                    return readElement(frameType);
+                case JSON_FRAME:
+                    return JSONSerialiser.deserialise(readBytes(), Element.class);
+                case ERROR_FRAME:
+                    close();
+                    throw new SerialisationException("Error whilst streaming elements: "
+                            + new String(readBytes(), StandardCharsets.UTF_8));
+                default:
+                    throw new SerialisationException("Unknown element stream frame type: " + frameType);
+            }
+        }
+
+        private Element readElement(final int frameType) throws IOException {
+            final int groupId = (int) CompactRawSerialisationUtils.read(in);
+            if (groupId < 0 || groupId >= groups.size()) {
+                throw new SerialisationException("Unknown group id in element stream: " + groupId);
+            }
+            final String group = groups.get(groupId);
+            final GroupDefinition groupDef = groupDefinitions.get(group);
+            if (null == groupDef) {
+                throw new SerialisationException("Group " + group + " was not found in the schema");
+            }
+
+            final byte[] bytes = readBytes();
+            final int[] delimiter = {0};
+            final Element element;
+            if (ENTITY_FRAME == frameType) {
+                element = new Entity(group, LengthValueBytesSerialiserUtil.deserialise(vertexSerialiser, bytes, delimiter));
+            } else {
+                final byte flags = bytes[delimiter[0]++];
+                final Object source = LengthValueBytesSerialiserUtil.deserialise(vertexSerialiser, bytes, delimiter);
+                final Object destination = LengthValueBytesSerialiserUtil.deserialise(vertexSerialiser, bytes, delimiter);
+                final MatchedVertex matchedVertex;
+                if (0 != (flags & MATCHED_SOURCE)) {
+                    matchedVertex = MatchedVertex.SOURCE;
+                } else if (0 != (flags & MATCHED_DESTINATION)) {
+                    matchedVertex = MatchedVertex.DESTINATION;
+                } else {
+                    matchedVertex = null;
+                }
+                element = new Edge(group, source, destination, 0 != (flags & DIRECTED), matchedVertex, null);
+            }
+
+            final long propertyMask = CompactRawSerialisationUtils.readLong(bytes, delimiter[0]);
+            delimiter[0] += CompactRawSerialisationUtils.decodeVIntSize(bytes[delimiter[0]]);
+            for (int i = 0; i < groupDef.properties.size(); i++) {
+                if (0 != (propertyMask & (1L << i))) {
+                    element.putProperty(groupDef.properties.get(i),
+                            LengthValueBytesSerialiserUtil.deserialise(groupDef.serialisers.get(i), bytes, delimiter));
+                }
+            }
+            return element;
+        }
+
+        private byte[] readBytes() throws IOException {
+            final int length = (int) CompactRawSerialisationUtils.read(in);
+            if (length < 0) {
+                throw new SerialisationException("Invalid frame length in element stream: " + length);
+            }
+            final byte[] bytes = new byte[length];
+            try {
+                in.readFully(bytes);
+            } catch (final EOFException e) {
+                throw new SerialisationException("Element stream ended unexpectedly", e);
+            }
+            return bytes;
+        }
+    }
+}
@@ -18,9 +18,9 @@ package uk.gov.gchq.gaffer.store.util;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.Schema;
@@ -32,13 +32,15 @@ import uk.gov.gchq.koryphe.function.KorypheFunction;
 import uk.gov.gchq.koryphe.predicate.KoryphePredicate;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.BinaryOperator;
+import java.util.stream.IntStream;
 
 /**
  * Utility methods to help with doing aggregation of elements. Aggregation differs
@@ -47,6 +49,11 @@ import java.util.stream.Collectors;
  * checks the {@link View} to see if the groupBy properties have been overridden.
  */
 public final class AggregatorUtil {
+    /**
+     * The minimum number of aggregatable elements before they are aggregated in parallel.
+     */
+    public static final int MIN_PARALLEL_AGGREGATION_SIZE = 10000;
+
     private AggregatorUtil() {
     }
 
@@ -62,26 +69,37 @@ public final class AggregatorUtil {
      * @return the aggregated elements.
      */
     public static CloseableIterable<Element> ingestAggregate(final Iterable<? extends Element> elements, final Schema schema) {
+        return ingestAggregate(elements, schema, 1);
+    }
+
+    /**
+     * Applies ingest aggregation to the provided iterable of {@link Element}s.
+     * This uses the groupBy properties in the provided {@link Schema} to group
+     * the elements prior to aggregating them.
+     * <p>
+     * If the parallelism is greater than 1 and there are enough elements, the
+     * elements are hash partitioned by their keys and the partitions are
+     * aggregated in parallel using the common fork join pool. Each partition
+     * uses its own copy of the schema aggregators, however the aggregation
+     * functions themselves are shared so they must be thread safe.
+     * <p>
+     * NOTE - this is done in memory so the size of the iterable should be limited.
+     *
+     * @param elements    the elements to be aggregated
+     * @param schema      the schema containing the aggregators and groupBy properties to use
+     * @param parallelism the number of partitions to aggregate in parallel
+     * @return the aggregated elements.
+     */
+    public static CloseableIterable<Element> ingestAggregate(final Iterable<? extends Element> elements, final Schema schema, final int parallelism) {
         if (null == schema) {
             throw new IllegalArgumentException("Schema is required");
         }
         final Collection<String> aggregatedGroups = schema.getAggregatedGroups();
-        final List<Element> aggregatableElements = new ArrayList<>();
-        final List<Element> nonAggregatedElements = new ArrayList<>();
-        for (final Element element : elements) {
-            if (null != element) {
-                if (aggregatedGroups.contains(element.getGroup())) {
-                    aggregatableElements.add(element);
-                } else {
-                    nonAggregatedElements.add(element);
-                }
-            }
+        final Map<String, ElementAggregator> aggregators = new HashMap<>();
+        for (final String group : aggregatedGroups) {
+            aggregators.put(group, schema.getElement(group).getIngestAggregator());
         }
-
-        final Iterable<Element> aggregatedElements = Streams.toStream(aggregatableElements)
-                .collect(Collectors.groupingBy(new ToIngestElementKey(schema), Collectors.reducing(null, new IngestElementBinaryOperator(schema))))
-                .values();
-        return new ChainedIterable<>(aggregatedElements, nonAggregatedElements);
+        return aggregate(elements, aggregatedGroups, new ToIngestElementKey(schema), aggregators, parallelism);
     }
 
     /**
@@ -97,6 +115,27 @@ public final class AggregatorUtil {
      * @return the aggregated elements.
      */
     public static CloseableIterable<Element> queryAggregate(final Iterable<? extends Element> elements, final Schema schema, final View view) {
+        return queryAggregate(elements, schema, view, 1);
+    }
+
+    /**
+     * Applies query time aggregation to the provided iterable of {@link Element}s.
+     * This uses the groupBy properties in the provided {@link View} or {@link Schema} to group
+     * the elements prior to aggregating them.
+     * <p>
+     * If the parallelism is greater than 1 and there are enough elements, the
+     * partitions are aggregated in parallel, see
+     * {@link #ingestAggregate(Iterable, Schema, int)}.
+     * <p>
+     * NOTE - this is done in memory so the size of the iterable should be limited.
+     *
+     * @param elements    the elements to be aggregated
+     * @param schema      the schema containing the aggregators and groupBy properties to use
+     * @param view        the view containing the aggregators and groupBy properties to use
+     * @param parallelism the number of partitions to aggregate in parallel
+     * @return the aggregated elements.
+     */
+    public static CloseableIterable<Element> queryAggregate(final Iterable<? extends Element> elements, final Schema schema, final View view, final int parallelism) {
         if (null == schema) {
             throw new IllegalArgumentException("Schema is required");
         }
@@ -104,21 +143,14 @@ public final class AggregatorUtil {
             throw new IllegalArgumentException("View is required");
         }
         final Collection<String> aggregatedGroups = schema.getAggregatedGroups();
-        final List<Element> aggregatableElements = new ArrayList<>();
-        final List<Element> nonAggregatedElements = new ArrayList<>();
-        for (final Element element : elements) {
-            if (null != element) {
-                if (aggregatedGroups.contains(element.getGroup())) {
-                    aggregatableElements.add(element);
-                } else {
-                    nonAggregatedElements.add(element);
-                }
+        final Map<String, ElementAggregator> aggregators = new HashMap<>();
+        for (final String group : aggregatedGroups) {
+            final ViewElementDefinition elementDef = view.getElement(group);
+            if (null != elementDef) {
+                aggregators.put(group, schema.getElement(group).getQueryAggregator(elementDef.getGroupBy(), elementDef.getAggregator()));
             }
         }
-        final Iterable<Element> aggregatedElements = Streams.toStream(aggregatableElements)
-                .collect(Collectors.groupingBy(new ToQueryElementKey(schema, view), Collectors.reducing(null, new QueryElementBinaryOperator(schema, view))))
-                .values();
-        return new ChainedIterable<>(aggregatedElements, nonAggregatedElements);
+        return aggregate(elements, aggregatedGroups, new ToQueryElementKey(schema, view), aggregators, parallelism);
     }
 
     /**
@@ -259,6 +291,33 @@ public final class AggregatorUtil {
         }
     }
 
+    /**
+     * Aggregates elements using copies of the provided aggregators, as an
+     * {@link ElementAggregator} holds state whilst aggregating so cannot be
+     * shared between threads.
+     */
+    private static final class PartitionElementBinaryOperator extends KorypheBinaryOperator<Element> {
+        private final Map<String, ElementAggregator> aggregators;
+
+        private PartitionElementBinaryOperator(final Map<String, ElementAggregator> aggregators) {
+            this.aggregators = new HashMap<>(aggregators.size());
+            for (final Map.Entry<String, ElementAggregator> entry : aggregators.entrySet()) {
+                final ElementAggregator aggregator = new ElementAggregator();
+                aggregator.getComponents().addAll(entry.getValue().getComponents());
+                this.aggregators.put(entry.getKey(), aggregator);
+            }
+        }
+
+        @Override
+        public Element _apply(final Element a, final Element b) {
+            final ElementAggregator aggregator = aggregators.get(a.getGroup());
+            if (null == aggregator) {
+                throw new IllegalArgumentException("Group " + a.getGroup() + " was not recognised");
+            }
+            return aggregator.apply(a, b);
+        }
+    }
+
     protected static class PropertiesBinaryOperator extends KorypheBinaryOperator<GroupedProperties> {
         private final Schema schema;
         private final View view;
@@ -286,6 +345,73 @@ public final class AggregatorUtil {
         }
     }
 
+    private static CloseableIterable<Element> aggregate(final Iterable<? extends Element> elements,
+                                                        final Collection<String> aggregatedGroups,
+                                                        final ToElementKey toKey,
+                                                        final Map<String, ElementAggregator> aggregators,
+                                                        final int parallelism) {
+        final List<Element> aggregatableElements = new ArrayList<>();
+        final List<Element> nonAggregatedElements = new ArrayList<>();
+        final Map<Element, Element> aggregatedElements = new HashMap<>();
+        final boolean parallel = parallelism > 1;
+        final BinaryOperator<Element> aggregator = new PartitionElementBinaryOperator(aggregators);
+        for (final Element element : elements) {
+            if (null != element) {
+                if (!aggregatedGroups.contains(element.getGroup())) {
+                    nonAggregatedElements.add(element);
+                } else if (parallel) {
+                    aggregatableElements.add(element);
+                } else {
+                    aggregatedElements.merge(toKey.apply(element), element, aggregator);
+                }
+            }
+        }
+
+        if (aggregatableElements.size() < MIN_PARALLEL_AGGREGATION_SIZE) {
+            for (final Element element : aggregatableElements) {
+                aggregatedElements.merge(toKey.apply(element), element, aggregator);
+            }
+            return new ChainedIterable<>(aggregatedElements.values(), nonAggregatedElements);
+        }
+
+        // Extract the keys in parallel, then aggregate each hash partition of the keys in parallel
+        final int size = aggregatableElements.size();
+        final Element[] keys = new Element[size];
+        final int[] partitions = new int[size];
+        IntStream.range(0, size).parallel().forEach(i -> {
+            keys[i] = toKey.apply(aggregatableElements.get(i));
+            partitions[i] = Math.floorMod(keys[i].hashCode(), parallelism);
+        });
+
+        // Bucket the element indices by partition, so each partition only
+        // visits its own elements
+        final int[] partitionStarts = new int[parallelism + 1];
+        for (final int partition : partitions) {
+            partitionStarts[partition + 1]++;
+        }
+        for (int partition = 0; partition < parallelism; partition++) {
+            partitionStarts[partition + 1] += partitionStarts[partition];
+        }
+        final int[] bucketedIndices = new int[size];
+        final int[] nextIndex = Arrays.copyOf(partitionStarts, parallelism);
+        for (int i = 0; i < size; i++) {
+            bucketedIndices[nextIndex[partitions[i]]++] = i;
+        }
+
+        final Iterable[] aggregatedPartitions = IntStream.range(0, parallelism).parallel()
+                .mapToObj(partition -> {
+                    final Map<Element, Element> partitionElements = new HashMap<>();
+                    final BinaryOperator<Element> partitionAggregator = new PartitionElementBinaryOperator(aggregators);
+                    for (int j = partitionStarts[partition]; j < partitionStarts[partition + 1]; j++) {
+                        final int i = bucketedIndices[j];
+                        partitionElements.merge(keys[i], aggregatableElements.get(i), partitionAggregator);
+                    }
+                    return partitionElements.values();
+                })
+                .toArray(Iterable[]::new);
+        return new ChainedIterable<>(new ChainedIterable<>(aggregatedPartitions), nonAggregatedElements);
+    }
+
     public static Map<String, Set<String>> getIngestGroupBys(final Schema schema) {
         if (null == schema) {
             throw new IllegalArgumentException("Schema is required");
@@ -111,6 +111,11 @@ import uk.gov.gchq.gaffer.store.operation.handler.export.set.GetSetExportHandler
 import uk.gov.gchq.gaffer.store.operation.handler.generate.GenerateElementsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.generate.GenerateObjectsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.output.ToSetHandler;
+import uk.gov.gchq.gaffer.store.optimiser.CollectionOutputOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.DiscardOutputOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.LimitOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.ViewFunctionOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
@@ -122,12 +127,16 @@ import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -297,6 +306,69 @@ public class StoreTest {
         verify(schemaOptimiser).optimise(store.getSchema(), true);
     }
 
+    @Test
+    public void shouldKeepAddedOperationChainOptimisersWhenInitialised() throws StoreException {
+        // Given
+        final StoreProperties properties = mock(StoreProperties.class);
+        given(properties.getJobExecutorThreadCount()).willReturn(1);
+        final OperationChainOptimiser optimiser = mock(OperationChainOptimiser.class);
+        final StoreImpl store = new StoreImpl();
+        store.addOperationChainOptimisers(Collections.singletonList(optimiser));
+
+        // When
+        store.initialise("graphId", schema, properties);
+        store.initialise("graphId", schema, properties);
+
+        // Then
+        assertEquals(1, Collections.frequency(store.opChainOptimisers, optimiser));
+        assertEquals(store.createOperationChainOptimisers().size() + 1, store.opChainOptimisers.size());
+    }
+
+    @Test
+    public void shouldNotAddBuiltInOperationChainOptimisersByDefault() throws StoreException {
+        // Given
+        final StoreImpl store = new StoreImpl();
+
+        // When
+        store.initialise("graphId", schema, new StoreProperties());
+
+        // Then
+        assertTrue(store.opChainOptimisers.isEmpty());
+    }
+
+    @Test
+    public void shouldAddBuiltInOperationChainOptimisersWhenEnabled() throws StoreException {
+        // Given
+        final StoreProperties properties = new StoreProperties();
+        properties.setOperationChainOptimisersEnabled(true);
+        final StoreImpl store = new StoreImpl();
+
+        // When
+        store.initialise("graphId", schema, properties);
+
+        // Then
+        assertEquals(Arrays.asList(ViewFunctionOptimiser.class, LimitOptimiser.class, CollectionOutputOptimiser.class, DiscardOutputOptimiser.class),
+                store.opChainOptimisers.stream().map(Object::getClass).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldCreateBoundedOperationExecutorAndReuseItWhenReinitialised() throws StoreException {
+        // Given
+        final StoreProperties properties = new StoreProperties();
+        properties.setOperationExecutorThreadCount(2);
+        final StoreImpl store = new StoreImpl();
+
+        // When
+        store.initialise("graphId", schema, properties);
+        final ExecutorService executor = store.getOperationExecutor();
+        store.initialise("graphId", schema, properties);
+
+        // Then
+        assertTrue(executor instanceof ThreadPoolExecutor);
+        assertEquals(2, ((ThreadPoolExecutor) executor).getMaximumPoolSize());
+        assertSame(executor, store.getOperationExecutor());
+    }
+
     @Test
     public void shouldDelegateDoOperationToOperationHandler() throws Exception {
         // Given
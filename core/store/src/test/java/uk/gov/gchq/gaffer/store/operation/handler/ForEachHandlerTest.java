@@ -16,9 +16,15 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler;
 
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import org.junit.After;
 import org.junit.Test;
 
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.TransformIterable;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.Count;
 import uk.gov.gchq.gaffer.operation.impl.ForEach;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.operation.io.InputOutput;
@@ -26,18 +32,35 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 public class ForEachHandlerTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
 
     @Test
     public void shouldThrowExceptionWithNullOperation() {
@@ -108,4 +131,145 @@ public class ForEachHandlerTest {
         assertEquals(1, result.size());
         assertSame(output, result.get(0));
     }
+
+    @Test
+    public void shouldExecuteInParallelAndPreserveOrder() throws OperationException {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context(new User());
+
+        final ForEach<Iterable<Integer>, Long> forEach = new ForEach.Builder<Iterable<Integer>, Long>()
+                .input(Arrays.asList(Arrays.asList(1, 2, 3, 4, 5), Arrays.asList(1), Arrays.asList(1, 2, 3, 4), Arrays.asList(1, 2), Arrays.asList(1, 2, 3)))
+                .operation(new Count<>())
+                .option(ForEachHandler.PARALLELISM, "3")
+                .build();
+
+        final ForEachHandler<Iterable<Integer>, Long> handler = new ForEachHandler<>();
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final Set<String> jobIds = ConcurrentHashMap.newKeySet();
+        given(store.getOperationExecutor()).willReturn(executor);
+
+        given(store.execute(any(Count.class), any(Context.class))).willAnswer(invocation -> {
+            threads.add(Thread.currentThread());
+            final Context opContext = (Context) invocation.getArguments()[1];
+            assertSame(context.getUser(), opContext.getUser());
+            jobIds.add(opContext.getJobId());
+            final int size = Iterables.size(((Count) invocation.getArguments()[0]).getInput());
+            Thread.sleep(10L * size);
+            return size * 10L;
+        });
+
+        // When
+        final Iterable<? extends Long> result = handler.doOperation(forEach, context, store);
+
+        // Then
+        assertEquals(Arrays.asList(50L, 10L, 40L, 20L, 30L), Lists.newArrayList(result));
+        assertFalse(threads.contains(Thread.currentThread()));
+        assertEquals(5, jobIds.size());
+        assertFalse(jobIds.contains(context.getJobId()));
+    }
+
+    @Test
+    public void shouldExecuteOnCallingThreadWhenUserHasNoSpareCapacity() throws OperationException {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context(new User());
+
+        final ForEach<Iterable<Integer>, Long> forEach = new ForEach.Builder<Iterable<Integer>, Long>()
+                .input(Arrays.asList(Arrays.asList(1), Arrays.asList(1, 2)))
+                .operation(new Count<>())
+                .option(ForEachHandler.PARALLELISM, "2")
+                .build();
+
+        final ForEachHandler<Iterable<Integer>, Long> handler = new ForEachHandler<>();
+        handler.setMaxParallelismPerUser(0);
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        given(store.execute(any(Count.class), any(Context.class))).willAnswer(invocation -> {
+            threads.add(Thread.currentThread());
+            return 1L;
+        });
+
+        // When
+        final Iterable<? extends Long> result = handler.doOperation(forEach, context, store);
+
+        // Then
+        assertEquals(Arrays.asList(1L, 1L), Lists.newArrayList(result));
+        assertEquals(Collections.singleton(Thread.currentThread()), threads);
+    }
+
+    @Test
+    public void shouldReadLazyIterableResultsOnConcurrentOperationThreads() throws OperationException {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context(new User());
+
+        final ForEach<Iterable<Integer>, CloseableIterable<Integer>> forEach = new ForEach.Builder<Iterable<Integer>, CloseableIterable<Integer>>()
+                .input(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3)))
+                .operation(new GetElements())
+                .option(ForEachHandler.PARALLELISM, "2")
+                .build();
+
+        final ForEachHandler<Iterable<Integer>, CloseableIterable<Integer>> handler = new ForEachHandler<>();
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final AtomicInteger closedResults = new AtomicInteger();
+        given(store.getOperationExecutor()).willReturn(executor);
+        given(store.execute(any(GetElements.class), any(Context.class))).willAnswer(invocation -> {
+            final Iterable<Integer> input = (Iterable) ((GetElements) invocation.getArguments()[0]).getInput();
+            return new TransformIterable<Integer, Integer>(input) {
+                @Override
+                protected Integer transform(final Integer item) {
+                    threads.add(Thread.currentThread());
+                    return item * 10;
+                }
+
+                @Override
+                public void close() {
+                    closedResults.incrementAndGet();
+                }
+            };
+        });
+
+        // When
+        final List<List<Integer>> results = new ArrayList<>();
+        for (final CloseableIterable<Integer> result : handler.doOperation(forEach, context, store)) {
+            results.add(Lists.newArrayList(result));
+        }
+
+        // Then
+        assertEquals(Arrays.asList(Arrays.asList(10, 20), Collections.singletonList(30)), results);
+        assertFalse(threads.isEmpty());
+        assertFalse(threads.contains(Thread.currentThread()));
+        assertEquals(2, closedResults.get());
+    }
+
+    @Test
+    public void shouldExecuteOnCallingThreadWhenOperationExecutorIsBusy() throws OperationException {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context(new User());
+
+        final ForEach<Iterable<Integer>, Long> forEach = new ForEach.Builder<Iterable<Integer>, Long>()
+                .input(Arrays.asList(Arrays.asList(1), Arrays.asList(1, 2)))
+                .operation(new Count<>())
+                .option(ForEachHandler.PARALLELISM, "2")
+                .build();
+
+        final ForEachHandler<Iterable<Integer>, Long> handler = new ForEachHandler<>();
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final ExecutorService busyExecutor = mock(ExecutorService.class);
+        doThrow(new RejectedExecutionException("No free threads")).when(busyExecutor).execute(any(Runnable.class));
+        given(store.getOperationExecutor()).willReturn(busyExecutor);
+        given(store.execute(any(Count.class), any(Context.class))).willAnswer(invocation -> {
+            threads.add(Thread.currentThread());
+            return 1L;
+        });
+
+        // When
+        final Iterable<? extends Long> result = handler.doOperation(forEach, context, store);
+
+        // Then
+        assertEquals(Arrays.asList(1L, 1L), Lists.newArrayList(result));
+        assertEquals(Collections.singleton(Thread.currentThread()), threads);
+    }
 }
@@ -19,11 +19,14 @@ import com.google.common.collect.Lists;
 import org.junit.Test;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.PipelinedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
 import uk.gov.gchq.gaffer.operation.impl.Limit;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
@@ -39,11 +42,17 @@ import uk.gov.gchq.koryphe.ValidationResult;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 public class OperationChainHandlerTest {
 
@@ -149,4 +158,76 @@ public class OperationChainHandlerTest {
         // Then
         assertSame(entityA, result);
     }
+
+    @Test
+    public void shouldPipelineOperationChainWhenOptionIsSet() throws OperationException {
+        // Given
+        final OperationChainValidator opChainValidator = mock(OperationChainValidator.class);
+        final List<OperationChainOptimiser> opChainOptimisers = Collections.emptyList();
+
+        final OperationChainHandler opChainHandler = new OperationChainHandler(opChainValidator, opChainOptimisers);
+
+        final Context context = mock(Context.class);
+        final Store store = mock(Store.class);
+        final User user = mock(User.class);
+
+        final GetAllElements op1 = new GetAllElements();
+        final Limit<Element> op2 = new Limit<>(10);
+        final OperationChain opChain = new OperationChain.Builder()
+                .first(op1)
+                .then(op2)
+                .option(OperationChainHandler.PIPELINE, "true")
+                .option(OperationChainHandler.PIPELINE_BUFFER_SIZE, "1")
+                .build();
+        final Entity entityA = new Entity.Builder().group(TestGroups.ENTITY).vertex("A").build();
+        final Entity entityB = new Entity.Builder().group(TestGroups.ENTITY).vertex("B").build();
+
+        given(context.getUser()).willReturn(user);
+        given(store.getProperties()).willReturn(new StoreProperties());
+        given(opChainValidator.validate(any(), any(), any())).willReturn(new ValidationResult());
+
+        given(store.handleOperation(op1, context)).willReturn(new WrappedCloseableIterable<>(Lists.newArrayList(entityA, entityB)));
+        given(store.handleOperation(op2, context)).willAnswer(invocation -> op2.getInput());
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        given(store.getOperationExecutor()).willReturn(executor);
+
+        // When
+        final Object result = opChainHandler.doOperation(opChain, context, store);
+
+        // Then
+        assertTrue(result instanceof PipelinedIterable);
+        assertEquals(Arrays.asList(entityA, entityB), Lists.newArrayList((Iterable) result));
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldExecuteOptimisedOperationChain() throws OperationException {
+        // Given
+        final OperationChainValidator opChainValidator = mock(OperationChainValidator.class);
+        final OperationChainOptimiser opChainOptimiser = mock(OperationChainOptimiser.class);
+
+        final OperationChainHandler opChainHandler = new OperationChainHandler(opChainValidator, Collections.singletonList(opChainOptimiser));
+
+        final Context context = mock(Context.class);
+        final Store store = mock(Store.class);
+        final User user = mock(User.class);
+
+        final GetAllElements op1 = new GetAllElements();
+        final DiscardOutput op2 = new DiscardOutput();
+        final OperationChain opChain = new OperationChain(Arrays.asList(op1, op2));
+        final OperationChain optimisedOpChain = new OperationChain(Collections.singletonList(op1));
+        final Entity expectedResult = new Entity(TestGroups.ENTITY);
+
+        given(context.getUser()).willReturn(user);
+        given(opChainValidator.validate(any(), any(), any())).willReturn(new ValidationResult());
+        given(opChainOptimiser.optimise(opChain)).willReturn(optimisedOpChain);
+        given(store.handleOperation(op1, context)).willReturn(expectedResult);
+
+        // When
+        final Object result = opChainHandler.doOperation(opChain, context, store);
+
+        // Then
+        assertSame(expectedResult, result);
+        verify(store, never()).handleOperation(op2, context);
+    }
 }
@@ -92,6 +92,27 @@ public class NamedOperationCacheTest {
 
     }
 
+    @Test
+    public void shouldReturnOverwrittenNamedOperationAfterItHasBeenRead() throws CacheOperationFailedException {
+        cache.addNamedOperation(standard, false, standardUser);
+        cache.getNamedOperation(OPERATION_NAME, standardUser);
+
+        cache.addNamedOperation(alternative, true, advancedUser);
+        NamedOperationDetail namedOperation = cache.getNamedOperation(OPERATION_NAME, standardUser);
+
+        assertEquals(alternative, namedOperation);
+    }
+
+    @Test
+    public void shouldNotReturnDeletedNamedOperationAfterItHasBeenRead() throws CacheOperationFailedException {
+        cache.addNamedOperation(standard, false, standardUser);
+        cache.getNamedOperation(OPERATION_NAME, standardUser);
+
+        cache.deleteNamedOperation(OPERATION_NAME, advancedUser);
+        exception.expect(CacheOperationFailedException.class);
+        cache.getNamedOperation(OPERATION_NAME, standardUser);
+    }
+
     @Test
     public void shouldThrowExceptionIfNamedOperationAlreadyExists() throws CacheOperationFailedException {
         cache.addNamedOperation(standard, false, standardUser);
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class CollectionOutputOptimiserTest {
+    @Test
+    public void shouldRemoveRedundantCollections() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final ToList<Element> toList1 = new ToList<>();
+        final ToList<Element> toList2 = new ToList<>();
+        final ToSet<Element> toSet1 = new ToSet<>();
+        final ToSet<Element> toSet2 = new ToSet<>();
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.asList(getAllElements, toList1, toList2, toSet1, toSet2));
+
+        // When
+        final List<Operation> ops = new CollectionOutputOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(Arrays.asList(getAllElements, toSet2), ops);
+    }
+
+    @Test
+    public void shouldKeepToSetBeforeToList() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.asList(new GetAllElements(), new ToSet<>(), new ToList<>()));
+
+        // When
+        final List<Operation> ops = new CollectionOutputOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(opChain.getOperations(), ops);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class DiscardOutputOptimiserTest {
+    @Test
+    public void shouldRemoveDiscardOutputsWithNothingToDiscard() {
+        // Given
+        final DiscardOutput discardOutput1 = new DiscardOutput();
+        final AddElements addElements = new AddElements();
+        final DiscardOutput discardOutput2 = new DiscardOutput();
+        final GetAllElements getAllElements = new GetAllElements();
+        final DiscardOutput discardOutput3 = new DiscardOutput();
+        final DiscardOutput discardOutput4 = new DiscardOutput();
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.asList(
+                discardOutput1, addElements, discardOutput2, getAllElements, discardOutput3, discardOutput4));
+
+        // When
+        final List<Operation> ops = new DiscardOutputOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(Arrays.asList(addElements, getAllElements, discardOutput3), ops);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.function.Transform;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class LimitOptimiserTest {
+    @Test
+    public void shouldMoveLimitBeforeTransformAndMergeLimits() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final Transform transform = new Transform.Builder()
+                .entity(TestGroups.ENTITY, new ElementTransformer())
+                .build();
+        final Limit<Element> limit1 = new Limit<>(10);
+        final Limit<Element> limit2 = new Limit<>(5);
+        final OperationChain<Iterable<? extends Element>> opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(limit1)
+                .then(transform)
+                .then(limit2)
+                .build();
+
+        // When
+        final List<Operation> ops = new LimitOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(3, ops.size());
+        assertSame(getAllElements, ops.get(0));
+        assertEquals(5, (int) ((Limit) ops.get(1)).getResultLimit());
+        assertSame(transform, ops.get(2));
+        assertEquals(10, (int) limit1.getResultLimit());
+    }
+
+    @Test
+    public void shouldNotMoveLimitThatDoesNotTruncate() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final Transform transform = new Transform();
+        final Limit<Element> limit = new Limit<>(5, false);
+        final OperationChain<Iterable<? extends Element>> opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(transform)
+                .then(limit)
+                .build();
+
+        // When
+        final List<Operation> ops = new LimitOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(opChain.getOperations(), ops);
+    }
+}
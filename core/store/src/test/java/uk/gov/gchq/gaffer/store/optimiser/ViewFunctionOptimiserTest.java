@@ -0,0 +1,199 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.function.Filter;
+import uk.gov.gchq.gaffer.operation.impl.function.Transform;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreTrait;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.koryphe.impl.function.Identity;
+import uk.gov.gchq.koryphe.impl.predicate.Exists;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class ViewFunctionOptimiserTest {
+    @Test
+    public void shouldMergeFilterIntoView() {
+        // Given
+        final Store store = createStore(StoreTrait.POST_TRANSFORMATION_FILTERING);
+
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                                .postTransformFilter(new ElementFilter.Builder()
+                                        .select(TestPropertyNames.COUNT)
+                                        .execute(new Exists())
+                                        .build())
+                                .build())
+                        .entity(TestGroups.ENTITY_2)
+                        .build())
+                .build();
+        final Filter filter = new Filter.Builder()
+                .entity(TestGroups.ENTITY, new ElementFilter.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new IsMoreThan(1L))
+                        .build())
+                .build();
+        final OperationChain<Iterable<? extends Element>> opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(filter)
+                .build();
+
+        // When
+        final List<Operation> ops = new ViewFunctionOptimiser(store).optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(1, ops.size());
+        final View view = ((GetAllElements) ops.get(0)).getView();
+        assertEquals(1, view.getEntities().size());
+        assertEquals(2, view.getEntity(TestGroups.ENTITY).getPostTransformFilter().getComponents().size());
+        assertNull(getAllElements.getView().getEntity(TestGroups.ENTITY).getTransformer());
+        assertEquals(2, getAllElements.getView().getEntities().size());
+    }
+
+    @Test
+    public void shouldMergeTransformIntoView() {
+        // Given
+        final Store store = createStore(StoreTrait.TRANSFORMATION);
+
+        final ElementTransformer transformer = new ElementTransformer.Builder()
+                .select(TestPropertyNames.COUNT)
+                .execute(new Identity())
+                .project(TestPropertyNames.COUNT)
+                .build();
+        final OperationChain<Iterable<? extends Element>> opChain = new OperationChain.Builder()
+                .first(new GetAllElements.Builder()
+                        .view(new View.Builder()
+                                .edge(TestGroups.EDGE)
+                                .build())
+                        .build())
+                .then(new Transform.Builder()
+                        .edge(TestGroups.EDGE, transformer)
+                        .build())
+                .build();
+
+        // When
+        final List<Operation> ops = new ViewFunctionOptimiser(store).optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(1, ops.size());
+        final View view = ((GetAllElements) ops.get(0)).getView();
+        assertEquals(transformer.getComponents(), view.getEdge(TestGroups.EDGE).getTransformer().getComponents());
+    }
+
+    @Test
+    public void shouldNotMergeWhenStoreDoesNotHaveTrait() {
+        // Given
+        final Store store = createStore();
+        final OperationChain<Iterable<? extends Element>> opChain = new OperationChain.Builder()
+                .first(new GetAllElements.Builder()
+                        .view(new View.Builder()
+                                .entity(TestGroups.ENTITY)
+                                .build())
+                        .build())
+                .then(new Filter())
+                .build();
+
+        // When
+        final List<Operation> ops = new ViewFunctionOptimiser(store).optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(2, ops.size());
+        assertSame(opChain.getOperations().get(0), ops.get(0));
+        assertTrue(ops.get(1) instanceof Filter);
+    }
+
+    @Test
+    public void shouldNotMergeFilterThatIsInvalidForTheSchema() {
+        // Given
+        final Store store = createStore(StoreTrait.POST_TRANSFORMATION_FILTERING);
+        final OperationChain<Iterable<? extends Element>> opChain = new OperationChain.Builder()
+                .first(new GetAllElements.Builder()
+                        .view(new View.Builder()
+                                .entity(TestGroups.ENTITY)
+                                .build())
+                        .build())
+                .then(new Filter.Builder()
+                        .entity(TestGroups.ENTITY, new ElementFilter.Builder()
+                                .select(TestPropertyNames.COUNT)
+                                .execute(new IsMoreThan("1"))
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final List<Operation> ops = new ViewFunctionOptimiser(store).optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(2, ops.size());
+        assertSame(opChain.getOperations().get(0), ops.get(0));
+        assertSame(opChain.getOperations().get(1), ops.get(1));
+    }
+
+    private Store createStore(final StoreTrait... traits) {
+        final Store store = mock(Store.class);
+        final Schema schema = new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.COUNT, "long")
+                        .build())
+                .entity(TestGroups.ENTITY_2, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.COUNT, "long")
+                        .build())
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source("string")
+                        .destination("string")
+                        .directed("true")
+                        .property(TestPropertyNames.COUNT, "long")
+                        .build())
+                .type("string", String.class)
+                .type("long", Long.class)
+                .type("true", Boolean.class)
+                .build();
+        given(store.getSchema()).willReturn(schema);
+        given(store.getTraits()).willReturn(new HashSet<>(Arrays.asList(traits)));
+        for (final StoreTrait trait : traits) {
+            given(store.hasTrait(trait)).willReturn(true);
+        }
+        return store;
+    }
+}
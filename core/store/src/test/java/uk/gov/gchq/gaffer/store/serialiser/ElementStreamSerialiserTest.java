@@ -0,0 +1,326 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.serialiser;
+
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId.MatchedVertex;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ElementStreamSerialiserTest {
+    private ElementStreamSerialiser serialiser;
+
+    @Before
+    public void setUp() {
+        serialiser = new ElementStreamSerialiser(createSchema(TestPropertyNames.COUNT, TestPropertyNames.STRING));
+    }
+
+    @Test
+    public void shouldHaveSameFingerprintForSameSchema() {
+        assertEquals(serialiser.getSchemaFingerprint(),
+                new ElementStreamSerialiser(createSchema(TestPropertyNames.COUNT, TestPropertyNames.STRING)).getSchemaFingerprint());
+        assertNotEquals(serialiser.getSchemaFingerprint(),
+                new ElementStreamSerialiser(createSchema(TestPropertyNames.STRING, TestPropertyNames.COUNT)).getSchemaFingerprint());
+    }
+
+    @Test
+    public void shouldRejectStreamWrittenWithDifferentSchema() throws SerialisationException {
+        // Given
+        final byte[] bytes = serialise(Arrays.asList(new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex1")
+                .property(TestPropertyNames.COUNT, 1)
+                .property(TestPropertyNames.STRING, "value")
+                .build()));
+        final ElementStreamSerialiser reorderedSerialiser = new ElementStreamSerialiser(
+                createSchema(TestPropertyNames.STRING, TestPropertyNames.COUNT));
+
+        // When / Then
+        try {
+            reorderedSerialiser.deserialise(new ByteArrayInputStream(bytes));
+            fail("Exception expected");
+        } catch (final SerialisationException e) {
+            assertTrue(e.getMessage().contains("different schema"));
+        }
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseElements() throws SerialisationException {
+        // Given
+        final List<Element> elements = Arrays.asList(
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex1")
+                        .property(TestPropertyNames.COUNT, 1)
+                        .property(TestPropertyNames.STRING, "value")
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex2")
+                        .property(TestPropertyNames.STRING, "value")
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("source")
+                        .dest("dest")
+                        .directed(true)
+                        .matchedVertex(MatchedVertex.DESTINATION)
+                        .property(TestPropertyNames.COUNT, 2)
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("source")
+                        .dest("dest")
+                        .directed(false)
+                        .build()
+        );
+
+        // When
+        final List<Element> result = roundTrip(elements);
+
+        // Then
+        assertEquals(elements, result);
+        assertEquals(MatchedVertex.DESTINATION, ((Edge) result.get(2)).getMatchedVertex());
+    }
+
+    @Test
+    public void shouldSerialiseElementsThatAreNotInTheSchemaAsJson() throws SerialisationException {
+        // Given
+        final List<Element> elements = Arrays.asList(
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex1")
+                        .property(TestPropertyNames.COUNT, 1)
+                        .property(TestPropertyNames.PROP_1, "transient")
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY_2)
+                        .vertex("vertex2")
+                        .build()
+        );
+
+        // When
+        final List<Element> result = roundTrip(elements);
+
+        // Then
+        assertEquals(elements, result);
+    }
+
+    @Test
+    public void shouldBeSmallerThanJson() throws SerialisationException {
+        // Given
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("source" + i)
+                    .dest("dest" + i)
+                    .directed(true)
+                    .property(TestPropertyNames.COUNT, i)
+                    .build());
+        }
+
+        // When
+        final byte[] bytes = serialise(elements);
+
+        // Then
+        assertTrue(bytes.length * 4 < JSONSerialiser.serialise(elements).length);
+    }
+
+    @Test
+    public void shouldWriteErrorFrameWhenElementsFail() throws SerialisationException {
+        // Given
+        final Element element = new Entity(TestGroups.ENTITY, "vertex1");
+        final Iterable<Element> elements = () -> new Iterator<Element>() {
+            private boolean returned;
+
+            @Override
+            public boolean hasNext() {
+                if (returned) {
+                    throw new RuntimeException("Scan failed");
+                }
+                return true;
+            }
+
+            @Override
+            public Element next() {
+                returned = true;
+                return element;
+            }
+        };
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            serialiser.serialise(elements, out);
+            fail("Exception expected");
+        } catch (final RuntimeException e) {
+            assertEquals("Scan failed", e.getMessage());
+        }
+
+        // When
+        final CloseableIterator<Element> itr = serialiser.deserialise(new ByteArrayInputStream(out.toByteArray()));
+
+        // Then
+        assertEquals(element, itr.next());
+        try {
+            itr.hasNext();
+            fail("Exception expected");
+        } catch (final RuntimeException e) {
+            assertTrue(e.getMessage().contains("Scan failed"));
+        }
+    }
+
+    @Test
+    public void shouldWriteErrorFrameWhenElementCannotBeSerialised() throws SerialisationException {
+        // Given
+        final Element element = new Entity(TestGroups.ENTITY, "vertex1");
+        final Element invalidElement = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex2")
+                .property("unknownProperty", new UnserialisableValue())
+                .build();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            serialiser.serialise(Arrays.asList(element, invalidElement), out);
+            fail("Exception expected");
+        } catch (final SerialisationException e) {
+            assertTrue(e.getMessage().contains("Value cannot be serialised"));
+        }
+
+        // When
+        final CloseableIterator<Element> itr = serialiser.deserialise(new ByteArrayInputStream(out.toByteArray()));
+
+        // Then
+        assertEquals(element, itr.next());
+        try {
+            itr.hasNext();
+            fail("Exception expected");
+        } catch (final RuntimeException e) {
+            assertTrue(e.getMessage().contains("Error whilst streaming elements"));
+            assertTrue(e.getMessage().contains("Value cannot be serialised"));
+        }
+    }
+
+    @Test
+    public void shouldFailWhenStreamIsTruncated() throws SerialisationException {
+        // Given
+        final byte[] bytes = serialise(Arrays.asList(new Entity(TestGroups.ENTITY, "vertex1")));
+        final byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+
+        // When
+        final CloseableIterator<Element> itr = serialiser.deserialise(new ByteArrayInputStream(truncated));
+
+        // Then
+        assertEquals(new Entity(TestGroups.ENTITY, "vertex1"), itr.next());
+        try {
+            itr.hasNext();
+            fail("Exception expected");
+        } catch (final RuntimeException e) {
+            assertTrue(e.getMessage().contains("ended unexpectedly"));
+        }
+    }
+
+    @Test
+    public void shouldRejectStreamWithInvalidHeader() {
+        try {
+            serialiser.deserialise(new ByteArrayInputStream("[]".getBytes()));
+            fail("Exception expected");
+        } catch (final SerialisationException e) {
+            assertTrue(e.getMessage().contains("element stream"));
+        }
+    }
+
+    @Test
+    public void shouldOnlySerialiseIterablesOfElements() {
+        assertTrue(ElementStreamSerialiser.canSerialise(new TypeReferenceImpl.CloseableIterableElement()));
+        assertTrue(ElementStreamSerialiser.canSerialise(new TypeReferenceImpl.IterableElement()));
+        assertFalse(ElementStreamSerialiser.canSerialise(new TypeReferenceImpl.CloseableIterableEntityId()));
+        assertFalse(ElementStreamSerialiser.canSerialise(new TypeReferenceImpl.Element()));
+        assertFalse(ElementStreamSerialiser.canSerialise(new TypeReferenceImpl.Long()));
+        assertFalse(ElementStreamSerialiser.canSerialise(null));
+    }
+
+    private Schema createSchema(final String... entityProperties) {
+        final SchemaEntityDefinition.Builder entityDef = new SchemaEntityDefinition.Builder()
+                .vertex("string");
+        for (final String property : entityProperties) {
+            entityDef.property(property, TestPropertyNames.COUNT.equals(property) ? "int" : "string");
+        }
+        return new Schema.Builder()
+                .entity(TestGroups.ENTITY, entityDef.build())
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source("string")
+                        .destination("string")
+                        .directed("true")
+                        .property(TestPropertyNames.COUNT, "int")
+                        .build())
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type("int", new TypeDefinition.Builder()
+                        .clazz(Integer.class)
+                        .serialiser(new CompactRawIntegerSerialiser())
+                        .build())
+                .type("true", Boolean.class)
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+    }
+
+    private List<Element> roundTrip(final List<Element> elements) throws SerialisationException {
+        return Lists.newArrayList(serialiser.deserialise(new ByteArrayInputStream(serialise(elements))));
+    }
+
+    private byte[] serialise(final List<Element> elements) throws SerialisationException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serialiser.serialise(elements, out);
+        return out.toByteArray();
+    }
+
+    public static class UnserialisableValue {
+        public String getValue() {
+            throw new IllegalStateException("Value cannot be serialised");
+        }
+    }
+}
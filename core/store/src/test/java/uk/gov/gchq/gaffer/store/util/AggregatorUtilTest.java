@@ -24,9 +24,11 @@ import uk.gov.gchq.gaffer.store.schema.SchemaTest;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Product;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -177,6 +179,48 @@ public class AggregatorUtilTest {
         assertElementEquals(expected, aggregatedElements);
     }
 
+    @Test
+    public void shouldIngestAggregateElementsInParallel() {
+        // given
+        final Schema schema = Schema.fromJson(StreamUtil.openStreams(getClass(), "schema-groupby"));
+
+        final int numVertices = 100;
+        final int numElementsPerVertex = AggregatorUtil.MIN_PARALLEL_AGGREGATION_SIZE / numVertices + 1;
+        final List<Element> elements = new ArrayList<>();
+        final Set<Element> expected = new HashSet<>();
+        for (int i = 0; i < numVertices; i++) {
+            for (int j = 0; j < numElementsPerVertex; j++) {
+                elements.add(new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex" + i)
+                        .property("count", 1L)
+                        .build());
+            }
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.NON_AGG_ENTITY)
+                    .vertex("vertex" + i)
+                    .property("count", 1L)
+                    .build());
+            expected.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + i)
+                    .property("count", (long) numElementsPerVertex)
+                    .build());
+            expected.add(new Entity.Builder()
+                    .group(TestGroups.NON_AGG_ENTITY)
+                    .vertex("vertex" + i)
+                    .property("count", 1L)
+                    .build());
+        }
+        Collections.shuffle(elements);
+
+        // when
+        final CloseableIterable<Element> aggregatedElements = AggregatorUtil.ingestAggregate(elements, schema, 4);
+
+        // then
+        assertElementEquals(expected, aggregatedElements);
+    }
+
     @Test
     public void shouldIngestAggregateElementsWithGroupBy() {
         // given
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.rest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.core.exception.Status;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * A {@code ChunkedQueryExecutor} runs the queries that stream their results
+ * back to the client in chunks. The number of queries running at once is
+ * limited by {@link SystemProperty#CHUNKED_THREADS} and further queries wait in
+ * a queue of size {@link SystemProperty#CHUNKED_QUEUE_SIZE}. When the queue is
+ * full the query is rejected with a {@link Status#SERVICE_UNAVAILABLE} error,
+ * rather than creating more threads.
+ * </p>
+ * <p>
+ * If a client does not accept a chunk within the
+ * {@link SystemProperty#CHUNKED_WRITE_TIMEOUT}, the query is closed so it does
+ * not hold on to the resources of the store. The number of running, queued,
+ * completed, rejected and timed out queries are recorded and published by the
+ * status service.
+ * </p>
+ */
+public class ChunkedQueryExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedQueryExecutor.class);
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor timeoutExecutor;
+    private final ScheduledThreadPoolExecutor flushExecutor;
+    private final int batchSize;
+    private final long writeTimeout;
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong timedOutCount = new AtomicLong();
+
+    public ChunkedQueryExecutor() {
+        this(getIntProperty(SystemProperty.CHUNKED_THREADS, SystemProperty.CHUNKED_THREADS_DEFAULT),
+                getIntProperty(SystemProperty.CHUNKED_QUEUE_SIZE, SystemProperty.CHUNKED_QUEUE_SIZE_DEFAULT),
+                getIntProperty(SystemProperty.CHUNKED_BATCH_SIZE, SystemProperty.CHUNKED_BATCH_SIZE_DEFAULT),
+                Long.parseLong(System.getProperty(SystemProperty.CHUNKED_WRITE_TIMEOUT, SystemProperty.CHUNKED_WRITE_TIMEOUT_DEFAULT)));
+    }
+
+    public ChunkedQueryExecutor(final int threads, final int queueSize, final int batchSize, final long writeTimeout) {
+        if (threads < 1 || queueSize < 1 || batchSize < 1 || writeTimeout < 1) {
+            throw new IllegalArgumentException("The chunked query threads, queue size, batch size and write timeout must be positive");
+        }
+        this.batchSize = batchSize;
+        this.writeTimeout = writeTimeout;
+        executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), createThreadFactory("chunked-query"));
+        executor.allowCoreThreadTimeOut(true);
+        timeoutExecutor = new ScheduledThreadPoolExecutor(1, createThreadFactory("chunked-query-timeout"));
+        timeoutExecutor.setRemoveOnCancelPolicy(true);
+        // A flush can block on a slow client, so allow one flush per running query
+        flushExecutor = new ScheduledThreadPoolExecutor(threads, createThreadFactory("chunked-query-flush"));
+        flushExecutor.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        flushExecutor.allowCoreThreadTimeOut(true);
+        flushExecutor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Runs the query on one of the chunked query threads.
+     *
+     * @param query the query to run
+     * @throws GafferRuntimeException with {@link Status#SERVICE_UNAVAILABLE}
+     *                                if too many queries are already waiting.
+     */
+    public void execute(final Runnable query) {
+        try {
+            executor.execute(query);
+        } catch (final RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            LOGGER.warn("Rejected chunked query. {} queries are running and {} are queued",
+                    executor.getActiveCount(), executor.getQueue().size());
+            throw new GafferRuntimeException("Too many chunked queries are running, please try again later", e, Status.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    /**
+     * Schedules the action to take if a chunk is not written within the write
+     * timeout. The returned future should be cancelled once the chunk has been
+     * written.
+     *
+     * @param onTimeout the action to take when the write times out
+     * @return the future for the scheduled action
+     */
+    public ScheduledFuture<?> scheduleWriteTimeout(final Runnable onTimeout) {
+        return timeoutExecutor.schedule(() -> {
+            timedOutCount.incrementAndGet();
+            LOGGER.warn("Chunked query client did not accept results within {}ms, closing the query", writeTimeout);
+            onTimeout.run();
+        }, writeTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedules a flush of the results of a query to run repeatedly, so
+     * buffered results are sent while the query is waiting for the store. The
+     * returned future should be cancelled once the query has finished.
+     *
+     * @param flush          the flush to run
+     * @param intervalMillis the time between flushes in milliseconds
+     * @return the future for the scheduled flushes
+     */
+    public ScheduledFuture<?> scheduleFlush(final Runnable flush, final long intervalMillis) {
+        return flushExecutor.scheduleWithFixedDelay(flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public ChunkedQueryStatus getStatus() {
+        return new ChunkedQueryStatus(getRunningCount(), getQueuedCount(),
+                getCompletedCount(), getRejectedCount(), getTimedOutCount());
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getWriteTimeout() {
+        return writeTimeout;
+    }
+
+    public int getRunningCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public long getCompletedCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public long getTimedOutCount() {
+        return timedOutCount.get();
+    }
+
+    private static int getIntProperty(final String key, final String defaultValue) {
+        return Integer.parseInt(System.getProperty(key, defaultValue));
+    }
+
+    private static ThreadFactory createThreadFactory(final String name) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
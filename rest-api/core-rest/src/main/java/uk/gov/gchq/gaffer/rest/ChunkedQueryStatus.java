@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * POJO representing the status of the {@link ChunkedQueryExecutor}.
+ */
+public class ChunkedQueryStatus {
+    private final int running;
+    private final int queued;
+    private final long completed;
+    private final long rejected;
+    private final long timedOut;
+
+    @JsonCreator
+    public ChunkedQueryStatus(@JsonProperty("running") final int running,
+                              @JsonProperty("queued") final int queued,
+                              @JsonProperty("completed") final long completed,
+                              @JsonProperty("rejected") final long rejected,
+                              @JsonProperty("timedOut") final long timedOut) {
+        this.running = running;
+        this.queued = queued;
+        this.completed = completed;
+        this.rejected = rejected;
+        this.timedOut = timedOut;
+    }
+
+    public int getRunning() {
+        return running;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getTimedOut() {
+        return timedOut;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (null == obj || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final ChunkedQueryStatus that = (ChunkedQueryStatus) obj;
+
+        return new EqualsBuilder()
+                .append(running, that.running)
+                .append(queued, that.queued)
+                .append(completed, that.completed)
+                .append(rejected, that.rejected)
+                .append(timedOut, that.timedOut)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(running)
+                .append(queued)
+                .append(completed)
+                .append(rejected)
+                .append(timedOut)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("running", running)
+                .append("queued", queued)
+                .append("completed", completed)
+                .append("rejected", rejected)
+                .append("timedOut", timedOut)
+                .toString();
+    }
+}
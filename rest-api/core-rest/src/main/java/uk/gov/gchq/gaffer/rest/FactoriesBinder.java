@@ -33,6 +33,7 @@ public class FactoriesBinder extends AbstractBinder {
     protected void configure() {
         bind(getDefaultGraphFactory()).to(GraphFactory.class).in(Singleton.class);
         bind(getDefaultUserFactory()).to(UserFactory.class).in(Singleton.class);
+        bind(ChunkedQueryExecutor.class).to(ChunkedQueryExecutor.class).in(Singleton.class);
     }
 
     private Class<? extends GraphFactory> getDefaultGraphFactory() {
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.rest.service.v2;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.glassfish.jersey.server.ChunkedOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.rest.ChunkedQueryExecutor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Writes items to a {@link ChunkedOutput} as JSON, separated by the chunk
+ * delimiter. Items are serialised into a reused buffer by a single
+ * {@link JsonGenerator} and sent in batches, rather than creating and sending
+ * a separate string for every item. A batch is sent when it reaches the batch
+ * size or when it is older than the flush interval. The flush interval is
+ * checked on a schedule, so a partial batch is still sent while the query is
+ * waiting for more results from the store.
+ */
+class ChunkedResultWriter implements Closeable {
+    static final String CHUNK_DELIMITER = "\r\n";
+    static final long FLUSH_INTERVAL_MILLIS = 1000;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedResultWriter.class);
+
+    private final ObjectMapper mapper;
+    private final ChunkedOutput<String> output;
+    private final ChunkedQueryExecutor executor;
+    private final Object result;
+    private final StringWriter buffer = new StringWriter();
+    private final JsonGenerator generator;
+    private final ScheduledFuture<?> scheduledFlush;
+    private int batchedItems;
+    private long lastFlushTime = System.currentTimeMillis();
+    private IOException flushFailure;
+
+    /**
+     * @param mapper   the mapper used to serialise the items
+     * @param output   the output to write to
+     * @param executor the executor used to schedule flushes and enforce the write timeout
+     * @param result   the result being written, this is closed if a write times out
+     * @throws IOException if the JSON generator cannot be created
+     */
+    ChunkedResultWriter(final ObjectMapper mapper, final ChunkedOutput<String> output,
+                        final ChunkedQueryExecutor executor, final Object result) throws IOException {
+        this.mapper = mapper;
+        this.output = output;
+        this.executor = executor;
+        this.result = result;
+        generator = mapper.getFactory().createGenerator(buffer);
+        generator.setRootValueSeparator(null);
+        scheduledFlush = executor.scheduleFlush(this::flushIfDue, FLUSH_INTERVAL_MILLIS);
+    }
+
+    synchronized void write(final Object item) throws IOException {
+        if (null != flushFailure) {
+            throw flushFailure;
+        }
+        if (batchedItems > 0) {
+            generator.writeRaw(CHUNK_DELIMITER);
+        }
+        mapper.writeValue(generator, item);
+        batchedItems++;
+
+        if (batchedItems >= executor.getBatchSize() || isFlushDue()) {
+            flush();
+        }
+    }
+
+    synchronized void flush() throws IOException {
+        generator.flush();
+        lastFlushTime = System.currentTimeMillis();
+        if (0 == batchedItems) {
+            return;
+        }
+
+        final String chunk = buffer.toString();
+        buffer.getBuffer().setLength(0);
+        batchedItems = 0;
+
+        // Release the store resources if the client stops reading the results
+        final ScheduledFuture<?> timeout = executor.scheduleWriteTimeout(() -> {
+            CloseableUtil.close(result);
+            CloseableUtil.close(output);
+        });
+        try {
+            output.write(chunk);
+        } finally {
+            timeout.cancel(false);
+        }
+    }
+
+    private boolean isFlushDue() {
+        return System.currentTimeMillis() - lastFlushTime >= FLUSH_INTERVAL_MILLIS;
+    }
+
+    private synchronized void flushIfDue() {
+        if (null == flushFailure && batchedItems > 0 && isFlushDue()) {
+            try {
+                flush();
+            } catch (final IOException e) {
+                // Report the failure on the next write from the query thread
+                LOGGER.debug("Unable to flush chunked results", e);
+                flushFailure = e;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        scheduledFlush.cancel(false);
+        try {
+            flush();
+        } finally {
+            generator.close();
+        }
+    }
+}
@@ -27,9 +27,11 @@ import org.glassfish.jersey.server.ChunkedOutput;
 
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.store.serialiser.ElementStreamSerialiser;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
@@ -102,6 +104,14 @@ public interface IOperationServiceV2 {
             @ApiResponse(code = 501, message = OPERATION_NOT_IMPLEMENTED)})
     Response execute(@ApiParam(value = "The operation to be performed on the graph") final Operation operation);
 
+    @POST
+    @Path("/execute")
+    @Produces(ElementStreamSerialiser.MEDIA_TYPE + ";qs=0.5")
+    @ApiOperation(value = "Performs the given operation on the graph, returning the elements in a compact binary format",
+            hidden = true)
+    Response executeElements(@HeaderParam(ElementStreamSerialiser.SCHEMA_FINGERPRINT_HEADER) final String schemaFingerprint,
+                             final Operation operation);
+
     @POST
     @Path("/execute/chunked")
     @Produces({APPLICATION_JSON, TEXT_PLAIN})
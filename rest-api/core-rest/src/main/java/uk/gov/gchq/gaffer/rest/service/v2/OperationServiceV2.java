@@ -31,26 +31,32 @@ import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.core.exception.Error;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.core.exception.Status;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.graph.GraphRequest;
 import uk.gov.gchq.gaffer.graph.GraphResult;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.rest.ChunkedQueryExecutor;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
 import uk.gov.gchq.gaffer.rest.service.v2.example.ExamplesFactory;
 import uk.gov.gchq.gaffer.serialisation.util.JsonSerialisationUtil;
 import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.serialiser.ElementStreamSerialiser;
 import uk.gov.gchq.koryphe.Summary;
 import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
 
 import javax.inject.Inject;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -83,6 +89,9 @@ public class OperationServiceV2 implements IOperationServiceV2 {
     @Inject
     private ExamplesFactory examplesFactory;
 
+    @Inject
+    private ChunkedQueryExecutor chunkedQueryExecutor;
+
     public final ObjectMapper mapper = createDefaultMapper();
 
     @Override
@@ -115,6 +124,44 @@ public class OperationServiceV2 implements IOperationServiceV2 {
                 .build();
     }
 
+    @Override
+    public Response executeElements(final String schemaFingerprint, final Operation operation) {
+        final ElementStreamSerialiser serialiser = new ElementStreamSerialiser(graphFactory.getGraph().getSchema());
+        if (!(operation instanceof Output)
+                || !ElementStreamSerialiser.canSerialise(((Output<?>) operation).getOutputTypeReference())
+                || !serialiser.getSchemaFingerprint().equals(schemaFingerprint)) {
+            // Only iterables of elements can be sent in the binary format, and only to clients using the same schema
+            final Response response = execute(operation);
+            return Response.fromResponse(response)
+                    .type(MediaType.APPLICATION_JSON_TYPE)
+                    .build();
+        }
+
+        final Pair<Object, String> resultAndJobId = _execute(operation);
+        final Object result = resultAndJobId.getFirst();
+        if (!(result instanceof Iterable)) {
+            CloseableUtil.close(result);
+            return Response.noContent()
+                    .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
+                    .header(JOB_ID_HEADER, resultAndJobId.getSecond())
+                    .build();
+        }
+
+        final StreamingOutput output = out -> {
+            try {
+                serialiser.serialise((Iterable<?>) result, out);
+            } catch (final SerialisationException e) {
+                throw new IOException(e.getMessage(), e);
+            } finally {
+                CloseableUtil.close(operation);
+            }
+        };
+        return Response.ok(output, ElementStreamSerialiser.MEDIA_TYPE)
+                .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
+                .header(JOB_ID_HEADER, resultAndJobId.getSecond())
+                .build();
+    }
+
     @Override
     public ChunkedOutput<String> executeChunked(final Operation operation) {
         return executeChunkedChain(OperationChain.wrap(operation));
@@ -124,18 +171,24 @@ public class OperationServiceV2 implements IOperationServiceV2 {
     @Override
     public ChunkedOutput<String> executeChunkedChain(final OperationChain opChain) {
         // Create chunked output instance
-        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\r\n");
+        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, ChunkedResultWriter.CHUNK_DELIMITER);
 
         // write chunks to the chunked output object
-        new Thread(() -> {
-            try {
-                final Object result = _execute(opChain).getFirst();
-                chunkResult(result, output);
-            } finally {
-                CloseableUtil.close(output);
-                CloseableUtil.close(opChain);
-            }
-        }).start();
+        try {
+            chunkedQueryExecutor.execute(() -> {
+                try {
+                    final Object result = _execute(opChain).getFirst();
+                    chunkResult(result, output);
+                } finally {
+                    CloseableUtil.close(output);
+                    CloseableUtil.close(opChain);
+                }
+            });
+        } catch (final GafferRuntimeException e) {
+            CloseableUtil.close(output);
+            CloseableUtil.close(opChain);
+            throw e;
+        }
 
         return output;
     }
@@ -247,23 +300,15 @@ public class OperationServiceV2 implements IOperationServiceV2 {
     }
 
     protected void chunkResult(final Object result, final ChunkedOutput<String> output) {
-        if (result instanceof Iterable) {
-            final Iterable itr = (Iterable) result;
-            try {
-                for (final Object item : itr) {
-                    output.write(mapper.writeValueAsString(item));
-                }
-            } catch (final IOException ioe) {
-                LOGGER.warn("IOException (chunks)", ioe);
-            } finally {
-                CloseableUtil.close(itr);
-            }
-        } else {
-            try {
-                output.write(mapper.writeValueAsString(result));
-            } catch (final IOException ioe) {
-                LOGGER.warn("IOException (chunks)", ioe);
+        final Iterable<?> items = result instanceof Iterable ? (Iterable<?>) result : Collections.singletonList(result);
+        try (final ChunkedResultWriter writer = new ChunkedResultWriter(mapper, output, chunkedQueryExecutor, result)) {
+            for (final Object item : items) {
+                writer.write(item);
             }
+        } catch (final IOException ioe) {
+            LOGGER.warn("IOException (chunks)", ioe);
+        } finally {
+            CloseableUtil.close(result);
         }
     }
 
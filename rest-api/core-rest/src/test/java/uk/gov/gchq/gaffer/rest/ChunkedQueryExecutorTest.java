@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.rest;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.core.exception.Status;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ChunkedQueryExecutorTest {
+    @Test
+    public void shouldRejectQueriesWhenQueueIsFull() throws InterruptedException {
+        // Given
+        final ChunkedQueryExecutor executor = new ChunkedQueryExecutor(1, 1, 10, 1000);
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            running.countDown();
+            await(release);
+        });
+        running.await();
+        executor.execute(() -> {
+        });
+
+        // When / Then
+        try {
+            executor.execute(() -> {
+            });
+            fail("Exception expected");
+        } catch (final GafferRuntimeException e) {
+            assertEquals(Status.SERVICE_UNAVAILABLE, e.getStatus());
+        }
+        assertEquals(1, executor.getRunningCount());
+        assertEquals(1, executor.getQueuedCount());
+        assertEquals(1, executor.getRejectedCount());
+        assertEquals(new ChunkedQueryStatus(1, 1, 0, 1, 0), executor.getStatus());
+        release.countDown();
+    }
+
+    @Test
+    public void shouldRunTimeoutActionWhenWriteTimesOut() throws InterruptedException {
+        // Given
+        final ChunkedQueryExecutor executor = new ChunkedQueryExecutor(1, 1, 10, 10);
+        final CountDownLatch timedOut = new CountDownLatch(1);
+
+        // When
+        executor.scheduleWriteTimeout(timedOut::countDown);
+
+        // Then
+        assertTrue(timedOut.await(10, TimeUnit.SECONDS));
+        assertEquals(1, executor.getTimedOutCount());
+    }
+
+    @Test
+    public void shouldNotRunTimeoutActionWhenCancelled() throws InterruptedException {
+        // Given
+        final ChunkedQueryExecutor executor = new ChunkedQueryExecutor(1, 1, 10, 100);
+        final CountDownLatch timedOut = new CountDownLatch(1);
+
+        // When
+        final ScheduledFuture<?> timeout = executor.scheduleWriteTimeout(timedOut::countDown);
+        timeout.cancel(false);
+
+        // Then
+        assertFalse(timedOut.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(0, executor.getTimedOutCount());
+    }
+
+    @Test
+    public void shouldRunScheduledFlushRepeatedlyUntilCancelled() throws InterruptedException {
+        // Given
+        final ChunkedQueryExecutor executor = new ChunkedQueryExecutor(1, 1, 10, 1000);
+        final CountDownLatch flushed = new CountDownLatch(2);
+
+        // When
+        final ScheduledFuture<?> flush = executor.scheduleFlush(flushed::countDown, 10);
+
+        // Then
+        assertTrue(flushed.await(10, TimeUnit.SECONDS));
+        flush.cancel(false);
+        assertTrue(flush.isCancelled());
+    }
+
+    @Test
+    public void shouldRejectInvalidConfiguration() {
+        try {
+            new ChunkedQueryExecutor(0, 1, 1, 1);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("must be positive"));
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.rest.service.v2;
+
+import org.glassfish.jersey.server.ChunkedOutput;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.rest.ChunkedQueryExecutor;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class ChunkedResultWriterTest {
+    @Test
+    public void shouldWriteItemsInBatches() throws IOException {
+        // Given
+        final ChunkedOutput<String> output = mock(ChunkedOutput.class);
+        final ChunkedQueryExecutor executor = new ChunkedQueryExecutor(1, 1, 2, 10000);
+
+        // When
+        try (final ChunkedResultWriter writer = new ChunkedResultWriter(JSONSerialiser.createDefaultMapper(), output, executor, null)) {
+            writer.write("item1");
+            writer.write("item2");
+            writer.write(3);
+        }
+
+        // Then
+        verify(output).write("\"item1\"\r\n\"item2\"");
+        verify(output).write("3");
+    }
+
+    @Test
+    public void shouldFlushPartialBatchWhileWaitingForMoreItems() throws IOException {
+        // Given
+        final ChunkedOutput<String> output = mock(ChunkedOutput.class);
+        final ChunkedQueryExecutor executor = new ChunkedQueryExecutor(1, 1, 10, 10000);
+
+        // When
+        try (final ChunkedResultWriter writer = new ChunkedResultWriter(JSONSerialiser.createDefaultMapper(), output, executor, null)) {
+            writer.write("item1");
+
+            // Then
+            verify(output, timeout(10000)).write("\"item1\"");
+            writer.write("item2");
+        }
+        verify(output).write("\"item2\"");
+    }
+
+    @Test
+    public void shouldCloseResultWhenWriteTimesOut() throws IOException, InterruptedException {
+        // Given
+        final ChunkedOutput<String> output = mock(ChunkedOutput.class);
+        final CloseableIterable<?> result = mock(CloseableIterable.class);
+        final CountDownLatch release = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            release.await();
+            return null;
+        }).given(output).write("\"item1\"");
+        final ChunkedQueryExecutor executor = new ChunkedQueryExecutor(1, 1, 1, 10);
+        final ChunkedResultWriter writer = new ChunkedResultWriter(JSONSerialiser.createDefaultMapper(), output, executor, result);
+        final Thread writerThread = new Thread(() -> {
+            try {
+                writer.write("item1");
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        // When
+        writerThread.start();
+
+        // Then
+        verify(result, timeout(10000)).close();
+        verify(output, timeout(10000)).close();
+        release.countDown();
+        writerThread.join();
+    }
+
+    @Test
+    public void shouldNotCloseResultWhenWriteCompletesInTime() throws IOException {
+        // Given
+        final ChunkedOutput<String> output = mock(ChunkedOutput.class);
+        final CloseableIterable<?> result = mock(CloseableIterable.class);
+        final ChunkedQueryExecutor executor = new ChunkedQueryExecutor(1, 1, 1, 10000);
+
+        // When
+        try (final ChunkedResultWriter writer = new ChunkedResultWriter(JSONSerialiser.createDefaultMapper(), output, executor, result)) {
+            writer.write("item1");
+        }
+
+        // Then
+        verify(output).write("\"item1\"");
+        verify(result, never()).close();
+    }
+}
@@ -19,6 +19,7 @@ package uk.gov.gchq.gaffer.rest.service.v2;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.rest.ChunkedQueryStatus;
 import uk.gov.gchq.gaffer.rest.RestApiTestClient;
 import uk.gov.gchq.gaffer.rest.SystemStatus;
 import uk.gov.gchq.gaffer.rest.application.ApplicationConfigV2;
@@ -76,6 +77,13 @@ public class RestApiV2TestClient extends RestApiTestClient {
                 .get(SystemStatus.class);
     }
 
+    public ChunkedQueryStatus getChunkedQueryStatus() {
+        return client.target(uriString)
+                .path("/graph/status/chunked")
+                .request()
+                .get(ChunkedQueryStatus.class);
+    }
+
     @Override
     public Response getOperationDetails(final Class clazz) throws IOException {
         return client.target(uriString)
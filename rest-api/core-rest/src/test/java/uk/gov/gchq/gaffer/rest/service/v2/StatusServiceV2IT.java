@@ -15,11 +15,27 @@
  */
 package uk.gov.gchq.gaffer.rest.service.v2;
 
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.rest.ChunkedQueryStatus;
 import uk.gov.gchq.gaffer.rest.RestApiTestClient;
 import uk.gov.gchq.gaffer.rest.service.impl.StatusServiceIT;
 
+import static org.junit.Assert.assertEquals;
+
 public class StatusServiceV2IT extends StatusServiceIT {
 
+    @Test
+    public void shouldReturnChunkedQueryStatus() {
+        // When
+        final ChunkedQueryStatus status = ((RestApiV2TestClient) client).getChunkedQueryStatus();
+
+        // Then
+        assertEquals(0, status.getRunning());
+        assertEquals(0, status.getQueued());
+        assertEquals(0, status.getRejected());
+    }
+
     @Override
     protected RestApiTestClient getClient() {
         return new RestApiV2TestClient();
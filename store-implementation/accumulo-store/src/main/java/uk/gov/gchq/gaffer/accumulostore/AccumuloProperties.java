@@ -44,25 +44,33 @@ public class AccumuloProperties extends StoreProperties {
     public static final String PASSWORD = "accumulo.password";
     public static final String THREADS_FOR_BATCH_SCANNER = "accumulo.batchScannerThreads";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "accumulo.entriesForBatchScanner";
+    public static final String TABLET_AWARE_SCANNING = "accumulo.tabletAwareScanning";
     public static final String CLIENT_SIDE_BLOOM_FILTER_SIZE = "accumulo.clientSideBloomFilterSize";
     public static final String FALSE_POSITIVE_RATE = "accumulo.falsePositiveRate";
     public static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR = "accumulo.maxBloomFilterToPassToAnIterator";
+    public static final String MAX_VERTEX_SET_TO_PASS_TO_AN_ITERATOR = "accumulo.maxVertexSetToPassToAnIterator";
     public static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER = "accumulo.maxBufferSizeForBatchWriterInBytes";
     public static final String MAX_TIME_OUT_FOR_BATCH_WRITER = "accumulo.maxTimeOutForBatchWriterInMilliseconds";
     public static final String NUM_THREADS_FOR_BATCH_WRITER = "accumulo.numThreadsForBatchWriter";
+    public static final String INGEST_CONVERTER_THREADS = "accumulo.ingestConverterThreads";
+    public static final String INGEST_BATCH_SIZE = "accumulo.ingestBatchSize";
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
     public static final String ENABLE_VALIDATOR_ITERATOR = "gaffer.store.accumulo.enable.validator.iterator";
     public static final String HDFS_SKIP_PERMISSIONS = "accumulostore.operation.hdfs.skip_permissions";
 
     // default values
     private static final String NUM_THREADS_FOR_BATCH_WRITER_DEFAULT = "10";
+    private static final String INGEST_CONVERTER_THREADS_DEFAULT = "1";
+    private static final String INGEST_BATCH_SIZE_DEFAULT = "1000";
     private static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
     private static final String CLIENT_SIDE_BLOOM_FILTER_SIZE_DEFAULT = "838860800";
     private static final String FALSE_POSITIVE_RATE_DEFAULT = "0.0002";
     private static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR_DEFAULT = "8388608";
+    private static final String MAX_VERTEX_SET_TO_PASS_TO_AN_ITERATOR_DEFAULT = "1048576";
     private static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER_DEFAULT = "100000000";
     private static final String MAX_TIME_OUT_FOR_BATCH_WRITER_DEFAULT = "1000";
     private static final String THREADS_FOR_BATCH_SCANNER_DEFAULT = "10";
+    private static final String TABLET_AWARE_SCANNING_DEFAULT = "false";
     public static final String ENABLE_VALIDATOR_ITERATOR_DEFAULT = "true";
 
     public AccumuloProperties() {
@@ -130,6 +138,47 @@ public class AccumuloProperties extends StoreProperties {
         return Integer.parseInt(get(NUM_THREADS_FOR_BATCH_WRITER, NUM_THREADS_FOR_BATCH_WRITER_DEFAULT));
     }
 
+    /**
+     * Gets the number of threads that should be used to convert elements into
+     * Accumulo mutations when adding elements to the store. The threads are
+     * shared by all the operations adding elements to the store.
+     *
+     * @return The number of threads used to convert elements whilst ingesting.
+     */
+    public int getIngestConverterThreads() {
+        return Integer.parseInt(get(INGEST_CONVERTER_THREADS, INGEST_CONVERTER_THREADS_DEFAULT));
+    }
+
+    /**
+     * Sets the number of threads that should be used to convert elements into
+     * Accumulo mutations when adding elements to the store.
+     *
+     * @param ingestConverterThreads the number of threads to use.
+     */
+    public void setIngestConverterThreads(final String ingestConverterThreads) {
+        set(INGEST_CONVERTER_THREADS, ingestConverterThreads);
+    }
+
+    /**
+     * Gets the number of elements that are converted into Accumulo mutations
+     * together by a single ingest converter thread.
+     *
+     * @return The number of elements in each ingest batch.
+     */
+    public int getIngestBatchSize() {
+        return Integer.parseInt(get(INGEST_BATCH_SIZE, INGEST_BATCH_SIZE_DEFAULT));
+    }
+
+    /**
+     * Sets the number of elements that are converted into Accumulo mutations
+     * together by a single ingest converter thread.
+     *
+     * @param ingestBatchSize the number of elements in each ingest batch.
+     */
+    public void setIngestBatchSize(final String ingestBatchSize) {
+        set(INGEST_BATCH_SIZE, ingestBatchSize);
+    }
+
     /**
      * Gets the time out/latency that should be used for the Accumulo batch
      * writers.
@@ -284,6 +333,28 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Gets the flag determining whether seeded queries should group their
+     * ranges by tablet server and scan each tablet server in parallel with
+     * its own batch scanner.
+     *
+     * @return true if seeded queries should use tablet aware scanning.
+     */
+    public boolean getTabletAwareScanning() {
+        return Boolean.parseBoolean(get(TABLET_AWARE_SCANNING, TABLET_AWARE_SCANNING_DEFAULT));
+    }
+
+    /**
+     * Sets the flag determining whether seeded queries should group their
+     * ranges by tablet server and scan each tablet server in parallel with
+     * its own batch scanner.
+     *
+     * @param tabletAwareScanning true if seeded queries should use tablet aware scanning.
+     */
+    public void setTabletAwareScanning(final boolean tabletAwareScanning) {
+        set(TABLET_AWARE_SCANNING, Boolean.toString(tabletAwareScanning));
+    }
+
     /**
      * Gets the size that should be used for the creation of bloom filters on the
      * client side.
@@ -350,6 +421,31 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR, maxBloomFilterToPassToAnIterator);
     }
 
+    /**
+     * Gets the maximum size in bytes of the sorted set of serialised vertices
+     * that will be passed to an iterator on the server side, instead of a
+     * bloom filter.
+     *
+     * @return An integer representing the maximum size in bytes of the vertex
+     * set to pass to an iterator.
+     */
+    public int getMaxVertexSetToPassToAnIterator() {
+        return Integer.parseInt(
+                get(MAX_VERTEX_SET_TO_PASS_TO_AN_ITERATOR, MAX_VERTEX_SET_TO_PASS_TO_AN_ITERATOR_DEFAULT));
+    }
+
+    /**
+     * Sets the maximum size in bytes of the sorted set of serialised vertices
+     * that will be passed to an iterator on the server side, instead of a
+     * bloom filter. Setting this to 0 means bloom filters are always used.
+     *
+     * @param maxVertexSetToPassToAnIterator the maximum size in bytes of the
+     *                                       vertex set to pass to an iterator.
+     */
+    public void setMaxVertexSetToPassToAnIterator(final String maxVertexSetToPassToAnIterator) {
+        set(MAX_VERTEX_SET_TO_PASS_TO_AN_ITERATOR, maxVertexSetToPassToAnIterator);
+    }
+
     /**
      * Gets the key package that should be used in conjunction with this table.
      *
@@ -102,11 +102,22 @@ import uk.gov.gchq.koryphe.ValidationResult;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
 
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -151,6 +162,8 @@ public class AccumuloStore extends Store {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloStore.class);
     private AccumuloKeyPackage keyPackage;
     private Connector connection = null;
+    private ExecutorService ingestExecutor;
+    private int ingestExecutorThreadCount;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
@@ -188,6 +201,7 @@ public class AccumuloStore extends Store {
             throw new StoreException("Unable to construct an instance of key package: " + keyPackageClass, e);
         }
         this.keyPackage.setSchema(getSchema());
+        updateIngestExecutor(getProperties().getIngestConverterThreads());
     }
 
     /**
@@ -419,56 +433,172 @@ public class AccumuloStore extends Store {
     }
 
     protected void insertGraphElements(final Iterable<? extends Element> elements) throws StoreException {
+        if (null == elements) {
+            throw new GafferRuntimeException("Could not find any elements to add to graph.", Status.BAD_REQUEST);
+        }
+
         // Create BatchWriter
         final BatchWriter writer = TableUtils.createBatchWriter(this);
-        // Loop through elements, convert to mutations, and add to
-        // BatchWriter.as
+        // Convert the elements to mutations and add them to the BatchWriter.
         // The BatchWriter takes care of batching them up, sending them without
         // too high a latency, etc.
-        if (null != elements) {
-            for (final Element element : elements) {
-
-                final Pair<Key, Key> keys;
-                try {
-                    keys = keyPackage.getKeyConverter().getKeysFromElement(element);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "key", element.getGroup());
-                    continue;
-                }
-                final Value value;
-                try {
-                    value = keyPackage.getKeyConverter().getValueFromElement(element);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "value", element.getGroup());
-                    continue;
-                }
-                final Mutation m = new Mutation(keys.getFirst().getRow());
-                m.put(keys.getFirst().getColumnFamily(), keys.getFirst().getColumnQualifier(),
-                        new ColumnVisibility(keys.getFirst().getColumnVisibility()), keys.getFirst().getTimestamp(), value);
-                try {
-                    writer.addMutation(m);
-                } catch (final MutationsRejectedException e) {
-                    LOGGER.error("Failed to create an accumulo key mutation");
-                    continue;
+        final AtomicLong failedElements = new AtomicLong();
+        try {
+            final int converterThreads = getProperties().getIngestConverterThreads();
+            final ExecutorService executor = ingestExecutor;
+            if (converterThreads > 1 && null != executor) {
+                insertGraphElementsInParallel(elements, writer, executor, converterThreads, failedElements);
+            } else {
+                for (final Element element : elements) {
+                    writer.addMutations(createMutations(element, failedElements));
                 }
-                // If the GraphElement is a Vertex then there will only be 1 key,
-                // and the second will be null.
-                // If the GraphElement is an Edge then there will be 2 keys.
-                if (null != keys.getSecond()) {
-                    final Mutation m2 = new Mutation(keys.getSecond().getRow());
-                    m2.put(keys.getSecond().getColumnFamily(), keys.getSecond().getColumnQualifier(),
-                            new ColumnVisibility(keys.getSecond().getColumnVisibility()), keys.getSecond().getTimestamp(),
-                            value);
-                    try {
-                        writer.addMutation(m2);
-                    } catch (final MutationsRejectedException e) {
-                        LOGGER.error("Failed to create an accumulo key mutation");
-                    }
+            }
+        } catch (final MutationsRejectedException e) {
+            closeWriterAfterFailure(writer);
+            throw new StoreException("Failed to add elements to Accumulo", e);
+        } catch (final StoreException | RuntimeException e) {
+            closeWriterAfterFailure(writer);
+            throw e;
+        }
+
+        try {
+            writer.close();
+        } catch (final MutationsRejectedException e) {
+            throw new StoreException("Accumulo batch writer failed to write all of the elements", e);
+        }
+
+        if (failedElements.get() > 0) {
+            LOGGER.warn("{} elements could not be converted to Accumulo keys and values and were not added", failedElements.get());
+        }
+    }
+
+    private void insertGraphElementsInParallel(final Iterable<? extends Element> elements, final BatchWriter writer,
+                                               final ExecutorService executor, final int converterThreads,
+                                               final AtomicLong failedElements)
+            throws StoreException, MutationsRejectedException {
+        final int batchSize = getProperties().getIngestBatchSize();
+        // Only a limited number of batches are converted at once, to bound the memory used
+        final Deque<Future<?>> batchesInProgress = new ArrayDeque<>(converterThreads);
+        try {
+            List<Element> batch = new ArrayList<>(batchSize);
+            for (final Element element : elements) {
+                batch.add(element);
+                if (batch.size() >= batchSize) {
+                    submitBatch(batch, writer, executor, converterThreads, failedElements, batchesInProgress);
+                    batch = new ArrayList<>(batchSize);
                 }
             }
-        } else {
-            throw new GafferRuntimeException("Could not find any elements to add to graph.", Status.BAD_REQUEST);
+            if (!batch.isEmpty()) {
+                submitBatch(batch, writer, executor, converterThreads, failedElements, batchesInProgress);
+            }
+            while (!batchesInProgress.isEmpty()) {
+                waitForBatch(batchesInProgress.poll());
+            }
+        } finally {
+            batchesInProgress.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private void submitBatch(final List<Element> batch, final BatchWriter writer, final ExecutorService executor,
+                             final int converterThreads, final AtomicLong failedElements,
+                             final Deque<Future<?>> batchesInProgress)
+            throws StoreException, MutationsRejectedException {
+        if (batchesInProgress.size() >= converterThreads) {
+            waitForBatch(batchesInProgress.poll());
+        }
+        batchesInProgress.add(executor.submit(() -> {
+            final List<Mutation> mutations = new ArrayList<>(batch.size() * 2);
+            for (final Element element : batch) {
+                mutations.addAll(createMutations(element, failedElements));
+            }
+            writer.addMutations(mutations);
+            return null;
+        }));
+    }
+
+    private void updateIngestExecutor(final int threadCount) {
+        // Reuse the executor when the store is initialised again with the same thread count
+        if (null != ingestExecutor && threadCount == ingestExecutorThreadCount) {
+            return;
+        }
+
+        if (null != ingestExecutor) {
+            ingestExecutor.shutdown();
         }
+        ingestExecutor = createIngestExecutor(threadCount);
+        ingestExecutorThreadCount = threadCount;
+    }
+
+    private ExecutorService createIngestExecutor(final int threadCount) {
+        if (threadCount < 2) {
+            return null;
+        }
+
+        // The executor is shared by all the AddElements operations on this store,
+        // so at most threadCount batches are converted at once
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount,
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private void waitForBatch(final Future<?> future) throws StoreException, MutationsRejectedException {
+        try {
+            future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted whilst adding elements to Accumulo", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof MutationsRejectedException) {
+                throw (MutationsRejectedException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new StoreException("Failed to add elements to Accumulo", e.getCause());
+        }
+    }
+
+    private List<Mutation> createMutations(final Element element, final AtomicLong failedElements) {
+        final Pair<Key, Key> keys;
+        try {
+            keys = keyPackage.getKeyConverter().getKeysFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "key", element.getGroup());
+            failedElements.incrementAndGet();
+            return Collections.emptyList();
+        }
+        final Value value;
+        try {
+            value = keyPackage.getKeyConverter().getValueFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "value", element.getGroup());
+            failedElements.incrementAndGet();
+            return Collections.emptyList();
+        }
+
+        final Mutation m = createMutation(keys.getFirst(), value);
+        // If the GraphElement is a Vertex then there will only be 1 key,
+        // and the second will be null.
+        // If the GraphElement is an Edge then there will be 2 keys.
+        if (null == keys.getSecond()) {
+            return Collections.singletonList(m);
+        }
+        return Arrays.asList(m, createMutation(keys.getSecond(), value));
+    }
+
+    private Mutation createMutation(final Key key, final Value value) {
+        final Mutation m = new Mutation(key.getRow());
+        m.put(key.getColumnFamily(), key.getColumnQualifier(),
+                new ColumnVisibility(key.getColumnVisibility()), key.getTimestamp(), value);
+        return m;
+    }
+
+    private void closeWriterAfterFailure(final BatchWriter writer) {
         try {
             writer.close();
         } catch (final MutationsRejectedException e) {
@@ -60,17 +60,18 @@ public abstract class AccumuloElementValueLoader implements ElementValueLoader {
             }
         }
 
-        final Properties props;
+        // Only the requested property is deserialised, the serialised bytes
+        // of the other properties are skipped over until they are requested.
+        final Object property;
         if (eDef.getGroupBy().contains(name)) {
-            props = elementConverter.getPropertiesFromColumnQualifier(group, key.getColumnQualifierData().getBackingArray());
+            property = elementConverter.getPropertyFromColumnQualifier(group, key.getColumnQualifierData().getBackingArray(), name);
         } else if (name.equals(schema.getVisibilityProperty())) {
-            props = elementConverter.getPropertiesFromColumnVisibility(group, key.getColumnVisibilityData().getBackingArray());
+            property = elementConverter.getPropertiesFromColumnVisibility(group, key.getColumnVisibilityData().getBackingArray()).get(name);
         } else if (name.equals(timestampProperty)) {
-            props = elementConverter.getPropertiesFromTimestamp(group, key.getTimestamp());
+            property = elementConverter.getPropertiesFromTimestamp(group, key.getTimestamp()).get(name);
         } else {
-            props = elementConverter.getPropertiesFromValue(group, value);
+            property = elementConverter.getPropertyFromValue(group, value, name);
         }
-        lazyProperties.putAll(props);
-        return props.get(name);
+        return property;
     }
 }
@@ -28,9 +28,8 @@ import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.accumulostore.data.element.AccumuloEdgeValueLoader;
 import uk.gov.gchq.gaffer.accumulostore.data.element.AccumuloEntityValueLoader;
-import uk.gov.gchq.gaffer.accumulostore.key.exception.ElementFilterException;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
-import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorCache;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -44,7 +43,6 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
@@ -95,22 +93,12 @@ public abstract class AbstractElementFilter extends Filter {
                      final Map<String, String> options,
                      final IteratorEnvironment env) throws IOException {
         super.init(source, options, env);
-        schema = Schema.fromJson(StringUtil.toBytes(options.get(AccumuloStoreConstants.SCHEMA)));
+        schema = IteratorCache.getSchema(options.get(AccumuloStoreConstants.SCHEMA));
         LOGGER.debug("Initialising AbstractElementFilter with Schema {}", schema);
 
-        final String elementConverterClass = options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
-        try {
-            elementConverter = Class
-                    .forName(elementConverterClass)
-                    .asSubclass(AccumuloElementConverter.class)
-                    .getConstructor(Schema.class)
-                    .newInstance(schema);
-            LOGGER.debug("Creating AccumuloElementConverter of class {}", elementConverterClass);
-        } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
-                | InvocationTargetException | NoSuchMethodException | SecurityException e) {
-            throw new ElementFilterException("Failed to create element converter of the class name provided ("
-                    + elementConverterClass + ")", e);
-        }
+        elementConverter = IteratorCache.getElementConverter(
+                options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS),
+                options.get(AccumuloStoreConstants.SCHEMA));
 
         if (filterType == ElementValidator.FilterType.SCHEMA_VALIDATION) {
             updateSchemaGroupsWithoutFilters();
@@ -120,7 +108,7 @@ public abstract class AbstractElementFilter extends Filter {
             if (null == viewJson) {
                 throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.VIEW);
             }
-            final View view = View.fromJson(StringUtil.toBytes(viewJson));
+            final View view = IteratorCache.getView(viewJson);
             LOGGER.debug("Determining groups that don't need to be filtered based on view {}", view);
             if (filterType == ElementValidator.FilterType.PRE_AGGREGATION_FILTER) {
                 updateViewGroupsWithoutFilters(view, ViewElementDefinition::hasPreAggregationFilters);
@@ -24,6 +24,8 @@ import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 
+import java.util.SortedSet;
+
 /**
  * The iterator settings factory is designed to enable the AccumuloStore to
  * easily set all iterators that will be commonly required by different
@@ -46,6 +48,18 @@ public interface IteratorSettingFactory {
      */
     IteratorSetting getBloomFilterIteratorSetting(final BloomFilter filter) throws IteratorSettingException;
 
+    /**
+     * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
+     * can be used to apply an iterator that will filter elements based on their
+     * vertices exact membership in a given sorted set of serialised vertices
+     * to a {@link org.apache.accumulo.core.client.Scanner}.
+     *
+     * @param vertices the serialised vertices, sorted in unsigned lexicographical order
+     * @return A new {@link IteratorSetting} for an Iterator capable of filtering elements based on checking its serialised form for membership in the set of vertices
+     * @throws IteratorSettingException if an iterator setting could not be created
+     */
+    IteratorSetting getVertexSetFilterIteratorSetting(final SortedSet<byte[]> vertices) throws IteratorSettingException;
+
     /**
      * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
      * can be used to apply an iterator that will filter elements based on
@@ -84,6 +98,21 @@ public interface IteratorSettingFactory {
      */
     IteratorSetting getEdgeEntityDirectionFilterIteratorSetting(final GraphFilters operation);
 
+    /**
+     * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
+     * can be used to apply an iterator that will replace the value of each edge
+     * with its serialised adjacent vertex, so only the adjacent vertices are
+     * returned from a {@link org.apache.accumulo.core.client.Scanner}.
+     *
+     * @param view        the operation view
+     * @param deduplicate true if each adjacent vertex should only be returned once for each queried vertex
+     * @param store       the accumulo store
+     * @return A new {@link IteratorSetting} for an Iterator capable of converting edges into their adjacent vertices
+     * @throws IteratorSettingException if an iterator setting could not be created
+     */
+    IteratorSetting getAdjacentIdIteratorSetting(final View view, final boolean deduplicate, final AccumuloStore store)
+            throws IteratorSettingException;
+
     /**
      * Returns an Iterator that will aggregate values in the accumulo table,
      * this iterator will be applied to the table on creation
@@ -160,6 +160,17 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return properties;
     }
 
+    @Override
+    public Object getPropertyFromValue(final String group, final Value value, final String propertyName) {
+        if (isNotEmpty(value)) {
+            final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
+            if (isStoredInValue(propertyName, elementDefinition)) {
+                return getDeserialisedProperty(value.get(), elementDefinition, elementDefinition.getProperties(), propertyName, true);
+            }
+        }
+        return null;
+    }
+
     @Override
     public Element getElementFromKey(final Key key, final boolean includeMatchedVertex) {
         final byte[] row = key.getRowData().getBackingArray();
@@ -314,6 +325,62 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return properties;
     }
 
+    @Override
+    public Object getPropertyFromColumnQualifier(final String group, final byte[] bytes, final String propertyName) {
+        if (null != bytes && bytes.length != 0) {
+            final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
+            if (elementDefinition.getGroupBy().contains(propertyName)) {
+                return getDeserialisedProperty(bytes, elementDefinition, elementDefinition.getGroupBy(), propertyName, false);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Deserialises a single property, skipping over the serialised bytes of
+     * the properties stored before it.
+     *
+     * @param bytes             the serialised properties
+     * @param elementDefinition the schema element definition
+     * @param propertyNames     the properties in the order they were serialised
+     * @param propertyName      the property to deserialise
+     * @param valueOnly         true if only the properties stored in the value should be considered
+     * @return the deserialised property, or null if it could not be found
+     */
+    private Object getDeserialisedProperty(final byte[] bytes, final SchemaElementDefinition elementDefinition, final Iterable<String> propertyNames, final String propertyName, final boolean valueOnly) {
+        int delimiterPosition = 0;
+        final int arrayLength = bytes.length;
+        final Iterator<String> propertyNamesItr = propertyNames.iterator();
+        while (propertyNamesItr.hasNext() && delimiterPosition < arrayLength) {
+            final String currentPropertyName = propertyNamesItr.next();
+            if (valueOnly && !isStoredInValue(currentPropertyName, elementDefinition)) {
+                continue;
+            }
+
+            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(currentPropertyName);
+            final ToBytesSerialiser serialiser = (null != typeDefinition) ? (ToBytesSerialiser) typeDefinition.getSerialiser() : null;
+            if (null == serialiser) {
+                if (propertyName.equals(currentPropertyName)) {
+                    return null;
+                }
+                continue;
+            }
+
+            final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[delimiterPosition]);
+            final int currentPropLength = getCurrentPropLength(bytes, delimiterPosition);
+            delimiterPosition += numBytesForLength;
+            if (propertyName.equals(currentPropertyName)) {
+                try {
+                    return getDeserialisedObject(serialiser, bytes, delimiterPosition, currentPropLength);
+                } catch (final SerialisationException e) {
+                    throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
+                }
+            }
+            delimiterPosition += currentPropLength;
+        }
+        return null;
+    }
+
     private int addDeserialisedProperty(final byte[] bytes, final int carriage, final Properties properties, final SchemaElementDefinition elementDefinition, final String propertyName) throws SerialisationException {
         int rtn = carriage;
         final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
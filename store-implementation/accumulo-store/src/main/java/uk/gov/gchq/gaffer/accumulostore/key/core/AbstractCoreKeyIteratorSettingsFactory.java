@@ -25,7 +25,9 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyBloomFilterIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyGroupByAggregatorIterator;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyVertexSetFilterIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.AdjacentIdIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.AggregatorIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPostAggregationFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPreAggregationFilter;
@@ -39,6 +41,8 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
 
+import java.util.SortedSet;
+
 public abstract class AbstractCoreKeyIteratorSettingsFactory implements IteratorSettingFactory {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractCoreKeyIteratorSettingsFactory.class);
 
@@ -54,6 +58,18 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
         return is;
     }
 
+    @Override
+    public IteratorSetting getVertexSetFilterIteratorSetting(final SortedSet<byte[]> vertices) throws IteratorSettingException {
+        final IteratorSetting is = new IteratorSettingBuilder(AccumuloStoreConstants.VERTEX_SET_FILTER_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.VERTEX_SET_FILTER_ITERATOR_NAME, CoreKeyVertexSetFilterIterator.class)
+                .vertexSet(vertices)
+                .build();
+        LOGGER.debug("Creating IteratorSetting for iterator class {} with priority = {} and {} vertices",
+                CoreKeyVertexSetFilterIterator.class.getName(),
+                AccumuloStoreConstants.VERTEX_SET_FILTER_ITERATOR_PRIORITY, vertices.size());
+        return is;
+    }
+
     @Override
     public IteratorSetting getElementPreAggregationFilterIteratorSetting(final View view, final AccumuloStore store)
             throws IteratorSettingException {
@@ -100,6 +116,24 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
         return is;
     }
 
+    @Override
+    public IteratorSetting getAdjacentIdIteratorSetting(final View view, final boolean deduplicate, final AccumuloStore store)
+            throws IteratorSettingException {
+        final IteratorSetting is = new IteratorSettingBuilder(AccumuloStoreConstants.ADJACENT_ID_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.ADJACENT_ID_ITERATOR_NAME, AdjacentIdIterator.class)
+                .schema(store.getSchema())
+                .view(view)
+                .keyConverter(store.getKeyPackage().getKeyConverter())
+                .deduplicateAdjacentIds(deduplicate)
+                .build();
+        LOGGER.debug("Creating IteratorSetting for iterator class {} with priority = {}, "
+                        + "schema = {}, view = {}, keyConverter = {}, deduplicate = {}",
+                AdjacentIdIterator.class.getName(),
+                AccumuloStoreConstants.ADJACENT_ID_ITERATOR_PRIORITY,
+                store.getSchema(), view, store.getKeyPackage().getKeyConverter(), deduplicate);
+        return is;
+    }
+
     @Override
     public IteratorSetting getAggregatorIteratorSetting(final AccumuloStore store) throws IteratorSettingException {
         final IteratorSetting is = new IteratorSettingBuilder(AccumuloStoreConstants.AGGREGATOR_ITERATOR_PRIORITY,
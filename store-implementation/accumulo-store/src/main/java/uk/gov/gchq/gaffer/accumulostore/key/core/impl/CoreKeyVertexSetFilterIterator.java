@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.key.core.impl;
+
+import com.google.common.primitives.UnsignedBytes;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.Filter;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.key.exception.BloomFilterIteratorException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import uk.gov.gchq.gaffer.commonutil.ByteArrayEscapeUtils;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * The CoreKeyVertexSetFilterIterator filters out Edges based on their non
+ * searched for vertex's membership of a provided sorted set of serialised
+ * vertices. Unlike the {@link CoreKeyBloomFilterIterator} the membership test
+ * is exact, using a binary search of the set, so no false positives are
+ * returned.
+ */
+public class CoreKeyVertexSetFilterIterator extends Filter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoreKeyVertexSetFilterIterator.class);
+    private static final Comparator<byte[]> COMPARATOR = UnsignedBytes.lexicographicalComparator();
+
+    protected byte[][] vertices;
+
+    @Override
+    public boolean accept(final Key key, final Value value) {
+        final byte[] row = key.getRowData().getBackingArray();
+        int pos = -1;
+        for (int i = row.length - 3; i > 0; --i) {
+            if (row[i] == ByteArrayEscapeUtils.DELIMITER) {
+                pos = i;
+                break;
+            }
+        }
+        if (pos == -1) {
+            return true;
+        }
+        return Arrays.binarySearch(vertices, Arrays.copyOfRange(row, pos + 1, row.length - 2), COMPARATOR) >= 0;
+    }
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+
+        final byte[] bytes;
+        try {
+            bytes = options.get(AccumuloStoreConstants.VERTEX_SET).getBytes(AccumuloStoreConstants.BLOOM_FILTER_CHARSET);
+        } catch (final UnsupportedEncodingException e) {
+            throw new BloomFilterIteratorException("Failed to re-create serialised vertex set", e);
+        }
+
+        try {
+            int pos = 0;
+            final int numVertices = (int) CompactRawSerialisationUtils.readLong(bytes, pos);
+            pos += CompactRawSerialisationUtils.decodeVIntSize(bytes[pos]);
+            vertices = new byte[numVertices][];
+            for (int i = 0; i < numVertices; i++) {
+                final int length = (int) CompactRawSerialisationUtils.readLong(bytes, pos);
+                pos += CompactRawSerialisationUtils.decodeVIntSize(bytes[pos]);
+                vertices[i] = Arrays.copyOfRange(bytes, pos, pos + length);
+                pos += length;
+            }
+        } catch (final SerialisationException | ArrayIndexOutOfBoundsException e) {
+            throw new BloomFilterIteratorException("Failed to re-create serialised vertex set", e);
+        }
+
+        // The set should already be sorted, but the binary search relies on it
+        Arrays.sort(vertices, COMPARATOR);
+        LOGGER.debug("Initialised CoreKeyVertexSetFilterIterator with {} vertices", vertices.length);
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final CoreKeyVertexSetFilterIterator copy = (CoreKeyVertexSetFilterIterator) super.deepCopy(env);
+        copy.vertices = vertices;
+        return copy;
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!super.validateOptions(options)) {
+            return false;
+        }
+        if (!options.containsKey(AccumuloStoreConstants.VERTEX_SET)) {
+            throw new BloomFilterIteratorException("Must set the " + AccumuloStoreConstants.VERTEX_SET + " option");
+        }
+
+        return true;
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.VERTEX_SET_FILTER_ITERATOR_NAME, "Vertex Set Filter")
+                .addNamedOption(AccumuloStoreConstants.VERTEX_SET,
+                        "Required: The serialised, sorted set of vertices that keys will be tested against")
+                .build();
+    }
+}
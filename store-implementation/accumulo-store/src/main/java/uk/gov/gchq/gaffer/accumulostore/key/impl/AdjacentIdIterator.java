@@ -0,0 +1,236 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.IteratorException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorCache;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The AdjacentIdIterator replaces the value of each edge with the serialised
+ * form of the edge's adjacent vertex, i.e. the vertex at the other end of the
+ * edge to the vertex that was queried for. This means only the adjacent vertex
+ * is returned to the client rather than all the properties of the edge.
+ * <p>
+ * Edges in groups that have post transform filters in the {@link View} are
+ * returned unchanged, as the client needs the full element to apply them. Any
+ * entities are skipped.
+ * </p>
+ * <p>
+ * If the {@link AccumuloStoreConstants#DEDUPLICATE_ADJACENT_IDS} option is set,
+ * an adjacent vertex is only returned the first time it is found for each
+ * queried vertex. Deduplication is best effort: a vertex may be returned more
+ * than once if the scan is re-seeked, or if the number of distinct adjacent
+ * vertices of a queried vertex exceeds {@link #MAX_DEDUPLICATION_SET_SIZE}.
+ * </p>
+ */
+public class AdjacentIdIterator extends WrappingIterator implements OptionDescriber {
+    public static final int MAX_DEDUPLICATION_SET_SIZE = 100000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdjacentIdIterator.class);
+
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "elementConverter is initialised in init method, which is always called first")
+    private AccumuloElementConverter elementConverter;
+
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "vertexSerialiser is initialised in init method, which is always called first")
+    private ToBytesSerialiser vertexSerialiser;
+
+    private Set<String> fullElementGroups = new HashSet<>();
+    private boolean deduplicate;
+
+    private final Set<ByteBuffer> adjacentVertices = new HashSet<>();
+    private Object matchedVertex;
+
+    private Key topKey;
+    private Value topValue;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source,
+                     final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+
+        final Schema schema = IteratorCache.getSchema(options.get(AccumuloStoreConstants.SCHEMA));
+        vertexSerialiser = (ToBytesSerialiser) schema.getVertexSerialiser();
+
+        elementConverter = IteratorCache.getElementConverter(
+                options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS),
+                options.get(AccumuloStoreConstants.SCHEMA));
+
+        final String viewJson = options.get(AccumuloStoreConstants.VIEW);
+        if (null != viewJson) {
+            final View view = IteratorCache.getView(viewJson);
+            for (final Map.Entry<String, ViewElementDefinition> entry : new ChainedIterable<Map.Entry<String, ViewElementDefinition>>(view.getEntities().entrySet(), view.getEdges().entrySet())) {
+                if (null != entry.getValue() && entry.getValue().hasPostTransformFilters()) {
+                    fullElementGroups.add(entry.getKey());
+                }
+            }
+        }
+
+        deduplicate = options.containsKey(AccumuloStoreConstants.DEDUPLICATE_ADJACENT_IDS);
+        LOGGER.debug("Initialised AdjacentIdIterator with fullElementGroups = {}, deduplicate = {}",
+                fullElementGroups, deduplicate);
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive) throws IOException {
+        super.seek(range, columnFamilies, inclusive);
+        resetAdjacentVertices(null);
+        findTop();
+    }
+
+    @Override
+    public void next() throws IOException {
+        getSource().next();
+        findTop();
+    }
+
+    @Override
+    public boolean hasTop() {
+        return null != topKey;
+    }
+
+    @Override
+    public Key getTopKey() {
+        return topKey;
+    }
+
+    @Override
+    public Value getTopValue() {
+        return topValue;
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final AdjacentIdIterator newInstance = new AdjacentIdIterator();
+        newInstance.setSource(getSource().deepCopy(env));
+        newInstance.elementConverter = elementConverter;
+        newInstance.vertexSerialiser = vertexSerialiser;
+        newInstance.fullElementGroups = fullElementGroups;
+        newInstance.deduplicate = deduplicate;
+        return newInstance;
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.ADJACENT_ID_ITERATOR_NAME,
+                "Returns the serialised adjacent vertex of each edge instead of its properties")
+                .addSchemaNamedOption()
+                .addViewNamedOption()
+                .addElementConverterClassNamedOption()
+                .addNamedOption(AccumuloStoreConstants.DEDUPLICATE_ADJACENT_IDS,
+                        "Optional: Set if each adjacent vertex should only be returned once for each queried vertex")
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!options.containsKey(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
+        }
+        return true;
+    }
+
+    private void findTop() throws IOException {
+        topKey = null;
+        topValue = null;
+        while (getSource().hasTop()) {
+            final Key key = getSource().getTopKey();
+            final String group = elementConverter.getGroupFromColumnFamily(key.getColumnFamilyData().getBackingArray());
+            if (fullElementGroups.contains(group)) {
+                topKey = key;
+                topValue = getSource().getTopValue();
+                return;
+            }
+
+            final ElementId elementId = elementConverter.getElementId(key, true);
+            if (elementId instanceof EdgeId) {
+                final EdgeId edgeId = (EdgeId) elementId;
+                final Object vertex;
+                final Object adjacentVertex;
+                if (EdgeId.MatchedVertex.DESTINATION == edgeId.getMatchedVertex()) {
+                    vertex = edgeId.getDestination();
+                    adjacentVertex = edgeId.getSource();
+                } else {
+                    vertex = edgeId.getSource();
+                    adjacentVertex = edgeId.getDestination();
+                }
+
+                final byte[] adjacentVertexBytes = serialise(adjacentVertex);
+                if (!deduplicate || isNewAdjacentVertex(vertex, adjacentVertexBytes)) {
+                    topKey = key;
+                    topValue = new Value(adjacentVertexBytes);
+                    return;
+                }
+            }
+            getSource().next();
+        }
+    }
+
+    private boolean isNewAdjacentVertex(final Object vertex, final byte[] adjacentVertexBytes) {
+        if (null == matchedVertex || !matchedVertex.equals(vertex)
+                || adjacentVertices.size() >= MAX_DEDUPLICATION_SET_SIZE) {
+            resetAdjacentVertices(vertex);
+        }
+        return adjacentVertices.add(ByteBuffer.wrap(adjacentVertexBytes));
+    }
+
+    private void resetAdjacentVertices(final Object vertex) {
+        matchedVertex = vertex;
+        adjacentVertices.clear();
+    }
+
+    private byte[] serialise(final Object vertex) {
+        try {
+            return vertexSerialiser.serialise(vertex);
+        } catch (final SerialisationException e) {
+            throw new IteratorException("Failed to serialise adjacent vertex", e);
+        }
+    }
+}
@@ -17,7 +17,6 @@
 package uk.gov.gchq.gaffer.accumulostore.retriever;
 
 import com.google.common.collect.Iterators;
-import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.data.Key;
@@ -33,6 +32,7 @@ import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyCloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
@@ -91,7 +91,7 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
     protected class ElementIterator implements CloseableIterator<Element> {
         private final Iterator<? extends I_ITEM> idsIterator;
         private int count;
-        private BatchScanner scanner;
+        private CloseableIterable<Entry<Key, Value>> scanner;
         private Iterator<Entry<Key, Value>> scannerIterator;
         private Element nextElm;
 
@@ -111,7 +111,7 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
             // Create BatchScanner, appropriately configured (i.e. ranges,
             // iterators, etc).
             try {
-                scanner = getScanner(ranges);
+                scanner = createScanner(ranges);
             } catch (final Exception e) {
                 CloseableUtil.close(idsIterator);
                 CloseableUtil.close(ids);
@@ -163,7 +163,7 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
                 }
                 scanner.close();
                 try {
-                    scanner = getScanner(ranges);
+                    scanner = createScanner(ranges);
                 } catch (final TableNotFoundException | StoreException e) {
                     LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
                     return false;
@@ -190,6 +190,13 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
             return nextReturn;
         }
 
+        private CloseableIterable<Entry<Key, Value>> createScanner(final Set<Range> ranges) throws TableNotFoundException, StoreException {
+            if (store.getProperties().getTabletAwareScanning()) {
+                return getTabletAwareScanner(ranges);
+            }
+            return new WrappedCloseableIterable<>(getScanner(ranges));
+        }
+
         @Override
         public void remove() {
             throw new UnsupportedOperationException("Unable to remove elements from this iterator");
@@ -16,10 +16,14 @@
 
 package uk.gov.gchq.gaffer.accumulostore.retriever;
 
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
 import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.security.Authorizations;
 import org.apache.hadoop.io.Text;
 import org.slf4j.Logger;
@@ -29,8 +33,12 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
 import uk.gov.gchq.gaffer.accumulostore.key.RangeFactory;
+import uk.gov.gchq.gaffer.accumulostore.utils.TabletUtils;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.PipelinedIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
@@ -40,10 +48,23 @@ import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM> implements CloseableIterable<O_ITEM> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloRetriever.class);
+    private static final int TABLET_SERVER_SCAN_BUFFER_SIZE = 1000;
+    private static final ExecutorService SCAN_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        return thread;
+    });
 
     protected CloseableIterator<O_ITEM> iterator;
     protected final AccumuloStore store;
@@ -117,10 +138,62 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
      * @throws StoreException         if a connection to accumulo could not be created.
      */
     protected BatchScanner getScanner(final Set<Range> ranges) throws TableNotFoundException, StoreException {
+        return getScanner(ranges, store.getProperties().getThreadsForBatchScanner());
+    }
+
+    /**
+     * Create the scanners to use in your query, grouping the ranges by the
+     * tablet server hosting them.
+     * <p>
+     * Overlapping ranges are merged and the ranges for each tablet server are
+     * scanned in parallel by their own {@link BatchScanner}, sharing the
+     * configured number of batch scanner threads. The entries are returned in
+     * the order they arrive, so a slow tablet server does not hold up the
+     * entries from the others. If the tablets cannot be located a single
+     * {@link BatchScanner} is used for all the ranges.
+     * </p>
+     *
+     * @param ranges the ranges to get the scanners for
+     * @return the entries from the scanners for the ranges provided.
+     * @throws TableNotFoundException if an accumulo table could not be found
+     * @throws StoreException         if a connection to accumulo could not be created.
+     */
+    protected CloseableIterable<Map.Entry<Key, Value>> getTabletAwareScanner(final Set<Range> ranges) throws TableNotFoundException, StoreException {
+        final List<Range> mergedRanges = Range.mergeOverlapping(ranges);
+        final Collection<List<Range>> rangesByServer = groupRangesByTabletServer(mergedRanges);
+        if (rangesByServer.size() < 2) {
+            return new WrappedCloseableIterable<>(getScanner(mergedRanges, store.getProperties().getThreadsForBatchScanner()));
+        }
+
+        final int threadsPerScanner = Math.max(1, store.getProperties().getThreadsForBatchScanner() / rangesByServer.size());
+        final List<BatchScanner> scanners = new ArrayList<>(rangesByServer.size());
+        try {
+            for (final List<Range> serverRanges : rangesByServer) {
+                scanners.add(getScanner(serverRanges, threadsPerScanner));
+            }
+        } catch (final TableNotFoundException | StoreException | RuntimeException e) {
+            scanners.forEach(CloseableUtil::close);
+            throw e;
+        }
+        LOGGER.debug("Scanning {} ranges on {} tablet servers", mergedRanges.size(), rangesByServer.size());
+        return new PipelinedIterable<>(scanners, SCAN_EXECUTOR, TABLET_SERVER_SCAN_BUFFER_SIZE);
+    }
+
+    private Collection<List<Range>> groupRangesByTabletServer(final List<Range> ranges) throws TableNotFoundException, StoreException {
+        try {
+            return TabletUtils.groupRangesByTabletServer(
+                    store.getConnection().tableOperations().locate(store.getTableName(), ranges));
+        } catch (final AccumuloException | AccumuloSecurityException | UnsupportedOperationException e) {
+            LOGGER.debug("Unable to locate the tablets for table {}, using a single BatchScanner: {}", store.getTableName(), e.getMessage());
+            return Collections.singletonList(ranges);
+        }
+    }
+
+    private BatchScanner getScanner(final Collection<Range> ranges, final int numThreads) throws TableNotFoundException, StoreException {
         final BatchScanner scanner = store.getConnection().createBatchScanner(store.getTableName(),
-                authorisations, store.getProperties().getThreadsForBatchScanner());
+                authorisations, numThreads);
         LOGGER.debug("Initialised BatchScanner on table {} with authorisations {} using {} threads",
-                store.getTableName(), authorisations, store.getProperties().getThreadsForBatchScanner());
+                store.getTableName(), authorisations, numThreads);
         if (null != iteratorSettings) {
             for (final IteratorSetting iteratorSetting : iteratorSettings) {
                 if (null != iteratorSetting) {
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.accumulostore.retriever;
 
+import com.google.common.primitives.UnsignedBytes;
 import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.TableNotFoundException;
@@ -51,6 +52,8 @@ import java.util.Iterator;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? extends EntityId>, CloseableIterable<? extends Element>> & GraphFilters>
         extends AccumuloRetriever<OP, Element> {
@@ -170,14 +173,80 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         }
     }
 
+    /**
+     * Serialises the vertices into a set, sorted in unsigned lexicographical
+     * order, that can be passed to the iterators for an exact membership test.
+     * The set is only used if its serialised size is within
+     * {@link uk.gov.gchq.gaffer.accumulostore.AccumuloProperties#getMaxVertexSetToPassToAnIterator()},
+     * otherwise null is returned and Bloom filters should be used instead.
+     *
+     * @param vertices the vertices to serialise
+     * @return the sorted set of serialised vertices, or null if it is too large
+     * @throws RetrieverException if a vertex could not be serialised
+     */
+    protected SortedSet<byte[]> getVertexSet(final Iterable<?> vertices) throws RetrieverException {
+        final SortedSet<byte[]> vertexSet = createVertexSet();
+        long size = 0;
+        for (final Object vertex : vertices) {
+            final byte[] serialisedVertex = serialiseVertex(vertex);
+            if (vertexSet.add(serialisedVertex)) {
+                size += serialisedVertex.length;
+                if (size > store.getProperties().getMaxVertexSetToPassToAnIterator()) {
+                    return null;
+                }
+            }
+        }
+        return vertexSet;
+    }
+
+    protected SortedSet<byte[]> createVertexSet() {
+        return new TreeSet<>(UnsignedBytes.lexicographicalComparator());
+    }
+
+    protected byte[] serialiseVertex(final Object vertex) throws RetrieverException {
+        try {
+            return elementConverter.serialiseVertex(vertex);
+        } catch (final AccumuloElementConversionException e) {
+            throw new RetrieverException("Failed to serialise the vertex", e);
+        }
+    }
+
     protected abstract class AbstractElementIteratorReadIntoMemory implements CloseableIterator<Element> {
         private AccumuloItemRetriever<?, ?> parentRetriever;
         private Iterator<Element> iterator;
         private Element nextElm;
 
+        /**
+         * Initialises the iterator, filtering the edges on the server side
+         * by the provided vertices. If the vertices are small enough they are
+         * passed to the iterators as a sorted set, for an exact membership
+         * test, otherwise they are added to a {@link BloomFilter}.
+         *
+         * @param vertices the vertices the non queried end of the edges must be in
+         * @throws RetrieverException if the iterator could not be initialised
+         */
+        protected void initialise(final Set<Object> vertices) throws RetrieverException {
+            final SortedSet<byte[]> vertexSet = getVertexSet(vertices);
+            if (null != vertexSet) {
+                IteratorSetting vertexSetFilter = null;
+                try {
+                    vertexSetFilter = iteratorSettingFactory.getVertexSetFilterIteratorSetting(vertexSet);
+                } catch (final IteratorSettingException e) {
+                    LOGGER.error(
+                            "Failed to apply the vertex set filter to the retriever, creating the gaffer.accumulostore.retriever without vertex set filter",
+                            e);
+                }
+                initialise(vertexSetFilter);
+            } else {
+                final BloomFilter filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
+                        vertices.size(), store.getProperties().getMaxBloomFilterToPassToAnIterator());
+                addToBloomFilter(vertices, filter);
+                initialise(filter);
+            }
+        }
+
         protected void initialise(final BloomFilter filter) throws RetrieverException {
             IteratorSetting bloomFilter = null;
-            IteratorSetting[] iteratorSettings1 = Arrays.copyOf(iteratorSettings, iteratorSettings.length + 1);
             try {
                 bloomFilter = iteratorSettingFactory.getBloomFilterIteratorSetting(filter);
             } catch (final IteratorSettingException e) {
@@ -185,7 +254,12 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                         "Failed to apply the bloom filter to the retriever, creating the gaffer.accumulostore.retriever without bloom filter",
                         e);
             }
-            iteratorSettings1[iteratorSettings.length] = bloomFilter;
+            initialise(bloomFilter);
+        }
+
+        private void initialise(final IteratorSetting filterIteratorSetting) throws RetrieverException {
+            IteratorSetting[] iteratorSettings1 = Arrays.copyOf(iteratorSettings, iteratorSettings.length + 1);
+            iteratorSettings1[iteratorSettings.length] = filterIteratorSetting;
             try {
                 parentRetriever = new AccumuloSingleIDRetriever(store, operation, user, iteratorSettings1);
             } catch (final Exception e) {
@@ -272,17 +346,20 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         protected Set<Object> currentSeeds;
         protected BatchScanner scanner;
         protected BloomFilter filter;
+        // The exact set of serialised vertices, used instead of the Bloom
+        // filters whilst it is small enough to be passed to the iterators.
+        protected SortedSet<byte[]> vertexSet;
+        private long vertexSetSize;
         private Iterator<Entry<Key, Value>> scannerIterator;
         private Element nextElm;
         private int count;
 
         public AbstractElementIteratorFromBatches() {
-            // Set up client side filter
-            clientSideFilter = BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideBloomFilterSize());
-            // Create Bloom filter to be passed to iterators.
-            filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    store.getProperties().getMaxEntriesForBatchScanner(),
-                    store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            if (store.getProperties().getMaxVertexSetToPassToAnIterator() > 0) {
+                vertexSet = createVertexSet();
+            } else {
+                createBloomFilters();
+            }
             currentSeeds = new HashSet<>();
         }
 
@@ -342,6 +419,72 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
 
         protected abstract void updateBloomFilterIfRequired(final EntityId seed) throws RetrieverException;
 
+        /**
+         * Adds the vertex to the set of vertices that the non queried end of
+         * the edges must be in. The vertices are kept in an exact sorted set
+         * until its serialised size exceeds
+         * {@link uk.gov.gchq.gaffer.accumulostore.AccumuloProperties#getMaxVertexSetToPassToAnIterator()},
+         * then the set is replaced by the Bloom filters.
+         *
+         * @param vertex the vertex to add
+         * @throws RetrieverException if the vertex could not be serialised
+         */
+        protected void addToFilters(final Object vertex) throws RetrieverException {
+            final byte[] serialisedVertex = serialiseVertex(vertex);
+            if (null != vertexSet) {
+                if (vertexSet.add(serialisedVertex)) {
+                    vertexSetSize += serialisedVertex.length;
+                    if (vertexSetSize > store.getProperties().getMaxVertexSetToPassToAnIterator()) {
+                        LOGGER.debug("Vertex set is larger than {} bytes, using bloom filters instead",
+                                store.getProperties().getMaxVertexSetToPassToAnIterator());
+                        createBloomFilters();
+                        for (final byte[] setVertex : vertexSet) {
+                            addToBloomFilters(setVertex);
+                        }
+                        vertexSet = null;
+                    }
+                }
+            } else {
+                addToBloomFilters(serialisedVertex);
+            }
+        }
+
+        /**
+         * Checks whether the vertex has been added to the filters. If the exact
+         * vertex set is still being used the check is exact, otherwise the
+         * client side Bloom filter is checked.
+         *
+         * @param vertex the vertex to check
+         * @return true if the vertex is, or may be, in the filters
+         */
+        protected boolean isInFilters(final Object vertex) {
+            final byte[] serialisedVertex;
+            try {
+                serialisedVertex = elementConverter.serialiseVertex(vertex);
+            } catch (final AccumuloElementConversionException e) {
+                return false;
+            }
+            if (null != vertexSet) {
+                return vertexSet.contains(serialisedVertex);
+            }
+            return clientSideFilter.membershipTest(new org.apache.hadoop.util.bloom.Key(serialisedVertex));
+        }
+
+        private void createBloomFilters() {
+            // Set up client side filter
+            clientSideFilter = BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideBloomFilterSize());
+            // Create Bloom filter to be passed to iterators.
+            filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
+                    store.getProperties().getMaxEntriesForBatchScanner(),
+                    store.getProperties().getMaxBloomFilterToPassToAnIterator());
+        }
+
+        private void addToBloomFilters(final byte[] serialisedVertex) {
+            final org.apache.hadoop.util.bloom.Key key = new org.apache.hadoop.util.bloom.Key(serialisedVertex);
+            filter.add(key);
+            clientSideFilter.add(key);
+        }
+
         protected void updateScanner() throws RetrieverException {
             // Read through the first N entities (where N =
             // maxEntriesForBatchScanner), create the associated ranges
@@ -368,9 +511,13 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                 throw new RetrieverException(e);
             }
             try {
-                scanner.addScanIterator(iteratorSettingFactory.getBloomFilterIteratorSetting(filter));
+                if (null != vertexSet) {
+                    scanner.addScanIterator(iteratorSettingFactory.getVertexSetFilterIteratorSetting(vertexSet));
+                } else {
+                    scanner.addScanIterator(iteratorSettingFactory.getBloomFilterIteratorSetting(filter));
+                }
             } catch (final IteratorSettingException e) {
-                LOGGER.error("Failed to apply the bloom filter iterator setting continuing without bloom filter", e);
+                LOGGER.error("Failed to apply the filter iterator setting continuing without filter", e);
             }
             scannerIterator = scanner.iterator();
         }
@@ -31,6 +31,7 @@ import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
 import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloRetriever;
 import uk.gov.gchq.gaffer.accumulostore.retriever.RetrieverException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
@@ -42,8 +43,10 @@ import uk.gov.gchq.gaffer.data.element.id.ElementId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
@@ -58,6 +61,7 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
 
     private final Iterable<? extends ElementId> ids;
     private final Set<String> transformGroups;
+    private final ToBytesSerialiser vertexSerialiser;
 
     public AccumuloAdjacentIdRetriever(final AccumuloStore store, final GetAdjacentIds operation,
                                        final User user)
@@ -66,9 +70,12 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
                 store.getKeyPackage().getIteratorFactory().getEdgeEntityDirectionFilterIteratorSetting(operation),
                 store.getKeyPackage().getIteratorFactory().getElementPreAggregationFilterIteratorSetting(operation.getView(), store),
                 store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(operation.getView(), store),
-                store.getKeyPackage().getIteratorFactory().getElementPostAggregationFilterIteratorSetting(operation.getView(), store));
+                store.getKeyPackage().getIteratorFactory().getElementPostAggregationFilterIteratorSetting(operation.getView(), store),
+                store.getKeyPackage().getIteratorFactory().getAdjacentIdIteratorSetting(operation.getView(),
+                        Boolean.parseBoolean(operation.getOption(AccumuloStoreConstants.OPERATION_DEDUPLICATE_ADJACENT_IDS)), store));
         this.ids = operation.getInput();
         transformGroups = getGroupsWithTransforms(operation.getView());
+        vertexSerialiser = (ToBytesSerialiser) store.getSchema().getVertexSerialiser();
     }
 
     /**
@@ -139,45 +146,19 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
                 final Map.Entry<Key, Value> entry = scannerIterator.next();
 
                 final String group = StringUtil.toString(entry.getKey().getColumnFamilyData().getBackingArray());
-                ElementId elementId = null;
                 if (transformGroups.contains(group)) {
-                    final Element element;
-                    try {
-                        element = elementConverter.getFullElement(
-                                entry.getKey(),
-                                entry.getValue(),
-                                true);
-                    } catch (final AccumuloElementConversionException e) {
-                        LOGGER.error("Failed to re-create an element from a key value entry set returning next EntityId as null",
-                                e);
-                        continue;
-                    }
-                    if (null != element) {
-                        doTransformation(element);
-                        if (doPostFilter(element)) {
-                            elementId = element;
-                        }
-                    }
+                    nextId = getAdjacentIdFromFullElement(entry);
                 } else {
+                    // The adjacent id iterator has replaced the value with the adjacent vertex
                     try {
-                        elementId = elementConverter.getElementId(entry.getKey(), true);
-                    } catch (final AccumuloElementConversionException e) {
-                        LOGGER.error("Failed to create element id returning next EntityId as null", e);
-                        continue;
+                        nextId = new EntitySeed(vertexSerialiser.deserialise(entry.getValue().get()));
+                    } catch (final SerialisationException e) {
+                        LOGGER.error("Failed to deserialise adjacent vertex returning next EntityId as null", e);
                     }
                 }
 
-                if (null != elementId) {
-                    if (elementId instanceof EdgeId) {
-                        if (EdgeId.MatchedVertex.DESTINATION == ((EdgeId) elementId).getMatchedVertex()) {
-                            nextId = new EntitySeed(((EdgeId) elementId).getSource());
-                        } else {
-                            nextId = new EntitySeed(((EdgeId) elementId).getDestination());
-                        }
-                        return true;
-                    } else {
-                        LOGGER.error("Unexpected EntityId returned, returning next result as null");
-                    }
+                if (null != nextId) {
+                    return true;
                 }
             }
 
@@ -238,6 +219,36 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
         }
     }
 
+    private EntityId getAdjacentIdFromFullElement(final Map.Entry<Key, Value> entry) {
+        final Element element;
+        try {
+            element = elementConverter.getFullElement(entry.getKey(), entry.getValue(), true);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error("Failed to re-create an element from a key value entry set returning next EntityId as null",
+                    e);
+            return null;
+        }
+
+        if (null == element) {
+            return null;
+        }
+
+        doTransformation(element);
+        if (!doPostFilter(element)) {
+            return null;
+        }
+
+        if (element instanceof EdgeId) {
+            if (EdgeId.MatchedVertex.DESTINATION == ((EdgeId) element).getMatchedVertex()) {
+                return new EntitySeed(((EdgeId) element).getSource());
+            }
+            return new EntitySeed(((EdgeId) element).getDestination());
+        }
+
+        LOGGER.error("Unexpected EntityId returned, returning next result as null");
+        return null;
+    }
+
     private void addToRanges(final ElementId seed, final Set<Range> ranges) throws RangeFactoryException {
         ranges.addAll(rangeFactory.getRange(seed, operation));
     }
@@ -17,15 +17,11 @@
 package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
 
 import org.apache.accumulo.core.client.IteratorSetting;
-import org.apache.hadoop.util.bloom.BloomFilter;
-import org.apache.hadoop.util.bloom.Key;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
-import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsBetweenSets;
 import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloSetRetriever;
 import uk.gov.gchq.gaffer.accumulostore.retriever.RetrieverException;
-import uk.gov.gchq.gaffer.accumulostore.utils.BloomFilterUtils;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -68,6 +64,13 @@ import java.util.Set;
  * out edges that are definitely not to set B. The second, larger,
  * {@link org.apache.hadoop.util.bloom.BloomFilter} is used client-side to
  * further reduce the chances of false positives making it to the user.
+ * <p>
+ * In both modes, if the serialised seeds in set B are no larger than
+ * {@link uk.gov.gchq.gaffer.accumulostore.AccumuloProperties#getMaxVertexSetToPassToAnIterator()}
+ * they are passed to the iterators as a sorted set instead of a
+ * {@link org.apache.hadoop.util.bloom.BloomFilter}. The iterators then do an
+ * exact membership test, so there are no false positives and no client-side
+ * {@link org.apache.hadoop.util.bloom.BloomFilter} is needed.
  */
 public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElementsBetweenSets> {
     private Iterable<? extends EntityId> seedSetA;
@@ -127,13 +130,7 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
         ElementIteratorReadIntoMemory() throws RetrieverException {
             verticesA = extractVertices(seedSetAIter);
             verticesB = extractVertices(seedSetBIter);
-
-            // Create Bloom filter, read through set of entities B and add them
-            // to Bloom filter
-            final BloomFilter filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    verticesB.size(), store.getProperties().getMaxBloomFilterToPassToAnIterator());
-            addToBloomFilter(verticesB, filter);
-            initialise(filter);
+            initialise(verticesB);
         }
 
         /**
@@ -151,7 +148,10 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
     private class ElementIteratorFromBatches extends AbstractElementIteratorFromBatches {
         ElementIteratorFromBatches() throws RetrieverException {
             try {
-                addToBloomFilter(seedSetBIter, filter, clientSideFilter);
+                while (seedSetBIter.hasNext()) {
+                    addToFilters(seedSetBIter.next().getVertex());
+                }
+                CloseableUtil.close(seedSetBIter);
                 idsAIterator = seedSetAIter;
                 updateScanner();
             } catch (final Exception e) {
@@ -175,26 +175,8 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
             final Edge edge = (Edge) elm;
             final Object source = edge.getSource();
             final Object destination = edge.getDestination();
-            final boolean sourceIsInCurrent = currentSeeds.contains(source);
-            boolean destMatchesClientFilter;
-            try {
-                destMatchesClientFilter = clientSideFilter.membershipTest(
-                        new Key(elementConverter.serialiseVertex(destination)));
-            } catch (final AccumuloElementConversionException e) {
-                return false;
-            }
-            if (sourceIsInCurrent && destMatchesClientFilter) {
-                return true;
-            }
-            final boolean destIsInCurrent = currentSeeds.contains(destination);
-            boolean sourceMatchesClientFilter;
-            try {
-                sourceMatchesClientFilter = clientSideFilter.membershipTest(
-                        new Key(elementConverter.serialiseVertex(source)));
-            } catch (final AccumuloElementConversionException e) {
-                return false;
-            }
-            return destIsInCurrent && sourceMatchesClientFilter;
+            return currentSeeds.contains(source) && isInFilters(destination)
+                    || currentSeeds.contains(destination) && isInFilters(source);
         }
     }
 }
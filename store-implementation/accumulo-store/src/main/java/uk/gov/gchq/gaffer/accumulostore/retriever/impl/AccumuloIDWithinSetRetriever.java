@@ -17,15 +17,11 @@
 package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
 
 import org.apache.accumulo.core.client.IteratorSetting;
-import org.apache.hadoop.util.bloom.BloomFilter;
-import org.apache.hadoop.util.bloom.Key;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
-import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsWithinSet;
 import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloSetRetriever;
 import uk.gov.gchq.gaffer.accumulostore.retriever.RetrieverException;
-import uk.gov.gchq.gaffer.accumulostore.utils.BloomFilterUtils;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -71,6 +67,13 @@ import java.util.Set;
  * load into memory, we use a client-side
  * {@link org.apache.hadoop.util.bloom.BloomFilter} to further reduce the
  * chances of false positives making it to the user.
+ * <p>
+ * In both modes, if the serialised seeds are no larger than
+ * {@link uk.gov.gchq.gaffer.accumulostore.AccumuloProperties#getMaxVertexSetToPassToAnIterator()}
+ * they are passed to the iterators as a sorted set instead of a
+ * {@link org.apache.hadoop.util.bloom.BloomFilter}. The iterators then do an
+ * exact membership test, so there are no false positives and no client-side
+ * {@link org.apache.hadoop.util.bloom.BloomFilter} is needed.
  */
 public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever<GetElementsWithinSet> {
     private Iterable<? extends EntityId> seeds;
@@ -119,14 +122,7 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever<GetElemen
 
         ElementIteratorReadIntoMemory() throws RetrieverException {
             vertices = extractVertices(seedsIter);
-
-            // Create Bloom filter, read through set of entities and add them to
-            // Bloom filter
-            final BloomFilter filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    vertices.size(), store.getProperties().getMaxBloomFilterToPassToAnIterator());
-            addToBloomFilter(vertices, filter);
-
-            initialise(filter);
+            initialise(vertices);
         }
 
         /**
@@ -148,13 +144,13 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever<GetElemen
 
         @Override
         protected void updateBloomFilterIfRequired(final EntityId seed) throws RetrieverException {
-            // NB: Do not reset either of the Bloom filters here - when we query
-            // for the first batch of seeds the Bloom filters contain that first set
+            // NB: Do not reset the filters here - when we query
+            // for the first batch of seeds the filters contain that first set
             // (and so we find edges within that first batch);
-            // we next query for the second batch of seeds and the Bloom filters
+            // we next query for the second batch of seeds and the filters
             // contain both the first batch and the second batch
             // (and so we find edges from the second batch to either the first or second batches).
-            addToBloomFilter(seed, filter, clientSideFilter);
+            addToFilters(seed.getVertex());
         }
 
         @Override
@@ -170,24 +166,8 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever<GetElemen
             if (sourceIsInCurrent && destIsInCurrent) {
                 return true;
             }
-            boolean destMatchesClientFilter;
-            try {
-                destMatchesClientFilter = clientSideFilter.membershipTest(
-                        new Key(elementConverter.serialiseVertex(destination)));
-            } catch (final AccumuloElementConversionException e) {
-                return false;
-            }
-            if (sourceIsInCurrent && destMatchesClientFilter) {
-                return true;
-            }
-            boolean sourceMatchesClientFilter;
-            try {
-                sourceMatchesClientFilter = clientSideFilter.membershipTest(
-                        new Key(elementConverter.serialiseVertex(source)));
-            } catch (final AccumuloElementConversionException e) {
-                return false;
-            }
-            return destIsInCurrent && sourceMatchesClientFilter;
+            return sourceIsInCurrent && isInFilters(destination)
+                    || destIsInCurrent && isInFilters(source);
         }
     }
 }
@@ -21,6 +21,7 @@ public final class AccumuloStoreConstants {
     public static final String VALIDATOR_ITERATOR_NAME = "Validator";
     public static final String AGGREGATOR_ITERATOR_NAME = "Aggregator";
     public static final String BLOOM_FILTER_ITERATOR_NAME = "Bloom_Filter";
+    public static final String VERTEX_SET_FILTER_ITERATOR_NAME = "Vertex_Set_Filter";
     public static final String ELEMENT_PRE_AGGREGATION_FILTER_ITERATOR_NAME = "Element_Pre_Aggregation_Filter";
     public static final String ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_NAME = "Element_Post_Aggregation_Filter";
 
@@ -28,6 +29,7 @@ public final class AccumuloStoreConstants {
     public static final String COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_NAME = "Column_Qualifier_Aggregator";
     public static final String ROW_ID_AGGREGATOR_ITERATOR_NAME = "Row_ID_Aggregator";
     public static final String RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR_NAME = "Range_Element_Property_Filter";
+    public static final String ADJACENT_ID_ITERATOR_NAME = "Adjacent_Id";
 
     // Converter class to be used in iterators must be on classpath of all
     // iterators
@@ -55,8 +57,10 @@ public final class AccumuloStoreConstants {
     public static final String INCOMING_EDGE_ONLY = "Incoming_Edges_Only";
     public static final String OUTGOING_EDGE_ONLY = "Outgoing_Edges_Only";
     public static final String DEDUPLICATE_UNDIRECTED_EDGES = "Deduplicate_Undirected_Edges";
+    public static final String DEDUPLICATE_ADJACENT_IDS = "Deduplicate_Adjacent_Ids";
     public static final String BLOOM_FILTER = "Bloom_Filter";
     public static final String BLOOM_FILTER_CHARSET = "ISO-8859-1";
+    public static final String VERTEX_SET = "Vertex_Set";
     public static final String COLUMN_FAMILY = "columnFamily";
 
     // Iterator priorities
@@ -66,6 +70,8 @@ public final class AccumuloStoreConstants {
     public static final int VALIDATOR_ITERATOR_PRIORITY = 20;
     // Applied only during scans.
     public static final int BLOOM_FILTER_ITERATOR_PRIORITY = 31;
+    // Applied only during scans. Used instead of the bloom filter iterator.
+    public static final int VERTEX_SET_FILTER_ITERATOR_PRIORITY = 31;
     // Applied only during scans.
     public static final int RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR_PRIORITY = 32;
     // Applied only during scans.
@@ -78,9 +84,17 @@ public final class AccumuloStoreConstants {
     public static final int COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_PRIORITY = 36;
     // Applied only during scans.
     public static final int ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_PRIORITY = 37;
+    // Applied only during scans. Must run after all iterators that need the full element.
+    public static final int ADJACENT_ID_ITERATOR_PRIORITY = 38;
 
     // Operations options
     public static final String ADD_ELEMENTS_FROM_HDFS_SKIP_IMPORT = "accumulostore.operation.hdfs.skip_import";
+    /**
+     * GetAdjacentIds option to return each adjacent vertex only once per seed.
+     * This is off by default so GetAdjacentIds returns one id per matching
+     * edge, as it does on the other stores.
+     */
+    public static final String OPERATION_DEDUPLICATE_ADJACENT_IDS = "accumulostore.operation.adjacent_ids.deduplicate";
 
     // General use constants
     public static final byte[] EMPTY_BYTES = new byte[0];
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.IteratorException;
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A process wide cache of the {@link Schema}s, {@link View}s and
+ * {@link AccumuloElementConverter}s used by the Gaffer iterators.
+ * <p>
+ * Accumulo initialises a new stack of iterators for every scan of every tablet,
+ * so without this cache each iterator would deserialise the schema and view
+ * json and reflectively create an element converter for every scan. The
+ * objects are cached against their full serialised form, so an object is only
+ * reused for identical options. Each cache holds at most
+ * {@link #MAX_CACHE_SIZE} objects, with the least recently used objects
+ * removed first.
+ * </p>
+ * <p>
+ * The cached objects are shared by all the iterators running in the tablet
+ * server, so they must not be modified.
+ * </p>
+ */
+public final class IteratorCache {
+    public static final int MAX_CACHE_SIZE = 100;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IteratorCache.class);
+
+    private static final Cache<String, Schema> SCHEMAS = createCache();
+    private static final Cache<String, View> VIEWS = createCache();
+    private static final Cache<String, AccumuloElementConverter> ELEMENT_CONVERTERS = createCache();
+
+    private IteratorCache() {
+        // private constructor to prevent users instantiating this class as it
+        // only contains static methods.
+    }
+
+    public static Schema getSchema(final String schemaJson) {
+        return get(SCHEMAS, schemaJson, () -> Schema.fromJson(StringUtil.toBytes(schemaJson)));
+    }
+
+    public static View getView(final String viewJson) {
+        return get(VIEWS, viewJson, () -> View.fromJson(StringUtil.toBytes(viewJson)));
+    }
+
+    public static AccumuloElementConverter getElementConverter(final String elementConverterClass, final String schemaJson) {
+        return get(ELEMENT_CONVERTERS, elementConverterClass + '\n' + schemaJson, () -> {
+            try {
+                LOGGER.debug("Creating AccumuloElementConverter of class {}", elementConverterClass);
+                return Class.forName(elementConverterClass)
+                        .asSubclass(AccumuloElementConverter.class)
+                        .getConstructor(Schema.class)
+                        .newInstance(getSchema(schemaJson));
+            } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
+                    | InvocationTargetException | NoSuchMethodException | SecurityException e) {
+                throw new IteratorException("Failed to create element converter of the class name provided ("
+                        + elementConverterClass + ")", e);
+            }
+        });
+    }
+
+    public static CacheStats getSchemaStats() {
+        return SCHEMAS.stats();
+    }
+
+    public static CacheStats getViewStats() {
+        return VIEWS.stats();
+    }
+
+    public static CacheStats getElementConverterStats() {
+        return ELEMENT_CONVERTERS.stats();
+    }
+
+    /**
+     * Estimates the total time saved by the caches, based on the average time
+     * taken to create each type of object.
+     *
+     * @return the estimated time saved in nanoseconds
+     */
+    public static long getEstimatedTimeSavedNanos() {
+        return getEstimatedTimeSavedNanos(getSchemaStats())
+                + getEstimatedTimeSavedNanos(getViewStats())
+                + getEstimatedTimeSavedNanos(getElementConverterStats());
+    }
+
+    /**
+     * Removes all the cached objects. This does not reset the statistics.
+     */
+    public static void clear() {
+        SCHEMAS.invalidateAll();
+        VIEWS.invalidateAll();
+        ELEMENT_CONVERTERS.invalidateAll();
+    }
+
+    private static <T> T get(final Cache<String, T> cache, final String key, final Callable<T> loader) {
+        if (null == key) {
+            throw new IllegalArgumentException("Unable to get an object from the iterator cache for a null key");
+        }
+
+        final T value;
+        try {
+            value = cache.get(key, loader);
+        } catch (final UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } catch (final ExecutionException e) {
+            throw new IteratorException("Failed to create iterator object", e.getCause());
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Iterator cache hit rates: schemas = {}, views = {}, element converters = {}, "
+                            + "estimated time saved = {}ms",
+                    getSchemaStats().hitRate(), getViewStats().hitRate(), getElementConverterStats().hitRate(),
+                    TimeUnit.NANOSECONDS.toMillis(getEstimatedTimeSavedNanos()));
+        }
+        return value;
+    }
+
+    private static long getEstimatedTimeSavedNanos(final CacheStats stats) {
+        return (long) (stats.hitCount() * stats.averageLoadPenalty());
+    }
+
+    private static <T> Cache<String, T> createCache() {
+        return CacheBuilder.newBuilder()
+                .maximumSize(MAX_CACHE_SIZE)
+                .recordStats()
+                .build();
+    }
+}
@@ -31,12 +31,14 @@ import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.util.Collection;
 import java.util.List;
 
 public class IteratorSettingBuilder {
@@ -92,6 +94,35 @@ public class IteratorSettingBuilder {
         return this;
     }
 
+    /**
+     * Adds the serialised vertices as an option. Each vertex is written as
+     * its length followed by its bytes, in the order they are provided.
+     *
+     * @param vertices the serialised vertices, sorted
+     * @return this builder
+     * @throws IteratorSettingException if the vertices could not be encoded
+     */
+    public IteratorSettingBuilder vertexSet(final Collection<byte[]> vertices) throws IteratorSettingException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try {
+            CompactRawSerialisationUtils.write(vertices.size(), baos);
+            for (final byte[] vertex : vertices) {
+                CompactRawSerialisationUtils.write(vertex.length, baos);
+                baos.write(vertex);
+            }
+        } catch (final IOException e) {
+            throw new IteratorSettingException("Failed to write vertex set", e);
+        }
+
+        try {
+            setting.addOption(AccumuloStoreConstants.VERTEX_SET, new String(baos.toByteArray(), AccumuloStoreConstants.BLOOM_FILTER_CHARSET));
+        } catch (final UnsupportedEncodingException e) {
+            throw new IteratorSettingException("Failed to encode the vertex set to a string", e);
+        }
+
+        return this;
+    }
+
     public IteratorSettingBuilder includeEdges(final boolean includeEdges) {
         if (includeEdges) {
             setting.addOption(AccumuloStoreConstants.INCLUDE_EDGES, "true");
@@ -132,6 +163,13 @@ public class IteratorSettingBuilder {
         return this;
     }
 
+    public IteratorSettingBuilder deduplicateAdjacentIds(final boolean deduplicateAdjacentIds) {
+        if (deduplicateAdjacentIds) {
+            setting.addOption(AccumuloStoreConstants.DEDUPLICATE_ADJACENT_IDS, "true");
+        }
+        return this;
+    }
+
     public IteratorSettingBuilder schema(final Schema schema) {
         try {
             setting.addOption(AccumuloStoreConstants.SCHEMA, new String(schema.toCompactJson(), CommonConstants.UTF_8));
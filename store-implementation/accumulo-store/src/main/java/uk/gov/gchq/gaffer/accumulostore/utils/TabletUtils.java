@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.client.admin.Locations;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TabletId;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utilities for working with the locations of Accumulo tablets.
+ */
+public final class TabletUtils {
+    private TabletUtils() {
+        // private to prevent this class being instantiated.
+        // All methods are static and should be called directly.
+    }
+
+    /**
+     * Groups the ranges in the provided {@link Locations} by the tablet server
+     * hosting them. Each range is clipped to the tablets it overlaps, so a
+     * range spanning tablets on different tablet servers is split between
+     * the groups and no part of a range appears in more than one group.
+     *
+     * @param locations the locations of the tablets the ranges overlap
+     * @return the ranges for each tablet server
+     */
+    public static Collection<List<Range>> groupRangesByTabletServer(final Locations locations) {
+        final Map<String, List<Range>> rangesByServer = new HashMap<>();
+        for (final Map.Entry<TabletId, List<Range>> entry : locations.groupByTablet().entrySet()) {
+            final TabletId tablet = entry.getKey();
+            final Range tabletRange = new Range(tablet.getPrevEndRow(), false, tablet.getEndRow(), true);
+            for (final Range range : entry.getValue()) {
+                final Range clippedRange = tabletRange.clip(range, true);
+                if (null != clippedRange) {
+                    rangesByServer.computeIfAbsent(locations.getTabletLocation(tablet), k -> new ArrayList<>())
+                            .add(clippedRange);
+                }
+            }
+        }
+        return rangesByServer.values();
+    }
+}
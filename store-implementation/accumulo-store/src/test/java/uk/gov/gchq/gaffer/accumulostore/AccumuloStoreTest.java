@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.accumulostore;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
 import org.apache.accumulo.core.client.AccumuloException;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
 import org.apache.accumulo.core.client.Connector;
@@ -60,6 +61,7 @@ import uk.gov.gchq.gaffer.operation.impl.Validate;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.generate.GenerateElements;
 import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
@@ -83,7 +85,10 @@ import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -332,6 +337,42 @@ public class AccumuloStoreTest {
         assertEquals(0, Iterables.size(relatedResults));
     }
 
+    @Test
+    public void shouldInsertElementsUsingMultipleConverterThreads() throws OperationException, StoreException {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setIngestConverterThreads("4");
+        properties.setIngestBatchSize("7");
+        final SingleUseMockAccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("parallelIngestGraph", SCHEMA, properties);
+
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final Entity entity = new Entity(TestGroups.ENTITY, "vertex" + i);
+            entity.putProperty(TestPropertyNames.PROP_1, 1);
+            entity.putProperty(TestPropertyNames.PROP_2, 2);
+            entity.putProperty(TestPropertyNames.PROP_3, 3);
+            entity.putProperty(TestPropertyNames.PROP_4, 4);
+            entity.putProperty(TestPropertyNames.COUNT, 1);
+            elements.add(entity);
+        }
+        final User user = new User();
+
+        // When
+        store.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), new Context(user));
+
+        // Then
+        final CloseableIterable<? extends Element> results = store.execute(new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build(), new Context(user));
+        assertEquals(elements.size(), Iterables.size(results));
+        assertEquals(new HashSet<>(elements), Sets.newHashSet(results));
+    }
+
     @Test
     public void testStoreReturnsHandlersForRegisteredOperationsGaffer1() throws OperationException, StoreException {
         testStoreReturnsHandlersForRegisteredOperations(gaffer1KeyStore);
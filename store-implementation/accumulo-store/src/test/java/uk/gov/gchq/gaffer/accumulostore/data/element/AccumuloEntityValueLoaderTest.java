@@ -68,7 +68,7 @@ public class AccumuloEntityValueLoaderTest {
     }
 
     @Test
-    public void shouldLoadAllColumnQualifierPropertiesWhenGetGroupByProperty() throws SerialisationException {
+    public void shouldLoadOnlyRequestedColumnQualifierPropertyWhenGetGroupByProperty() throws SerialisationException {
         // Given
         final String group = TestGroups.ENTITY;
         final Key key = mock(Key.class);
@@ -77,20 +77,20 @@ public class AccumuloEntityValueLoaderTest {
         final Schema schema = createSchema();
         final AccumuloEntityValueLoader loader = new AccumuloEntityValueLoader(group, key, value, converter, schema);
         final LazyProperties lazyProperties = mock(LazyProperties.class);
-        final Properties properties = mock(Properties.class);
         final ByteSequence cqData = mock(ByteSequence.class);
         given(key.getColumnQualifierData()).willReturn(cqData);
         final byte[] cqBytes = {0, 1, 2, 3, 4};
         given(cqData.getBackingArray()).willReturn(cqBytes);
-        given(converter.getPropertiesFromColumnQualifier(group, cqBytes)).willReturn(properties);
-        given(properties.get(TestPropertyNames.PROP_1)).willReturn("propValue1");
+        given(converter.getPropertyFromColumnQualifier(group, cqBytes, TestPropertyNames.PROP_1)).willReturn("propValue1");
 
         // When
         final Object property = loader.getProperty(TestPropertyNames.PROP_1, lazyProperties);
 
         // Then
         assertEquals("propValue1", property);
-        verify(lazyProperties).putAll(properties);
+        verify(lazyProperties, never()).putAll(Mockito.anyMap());
+        verify(converter, never()).getPropertiesFromColumnQualifier(Mockito.eq(group), Mockito.any(byte[].class));
+        verify(converter, never()).getPropertyFromValue(Mockito.eq(group), Mockito.any(Value.class), Mockito.anyString());
         verify(converter, never()).getElementId(key, false);
         verify(converter, never()).getPropertiesFromColumnVisibility(Mockito.eq(group), Mockito.any(byte[].class));
         verify(converter, never()).getPropertiesFromTimestamp(Mockito.eq(group), Mockito.anyLong());
@@ -98,7 +98,7 @@ public class AccumuloEntityValueLoaderTest {
     }
 
     @Test
-    public void shouldLoadAllValuePropertiesWhenGetProperty() throws SerialisationException {
+    public void shouldLoadOnlyRequestedValuePropertyWhenGetProperty() throws SerialisationException {
         // Given
         final String group = TestGroups.ENTITY;
         final Key key = mock(Key.class);
@@ -107,16 +107,16 @@ public class AccumuloEntityValueLoaderTest {
         final Schema schema = createSchema();
         final AccumuloEntityValueLoader loader = new AccumuloEntityValueLoader(group, key, value, converter, schema);
         final LazyProperties lazyProperties = mock(LazyProperties.class);
-        final Properties properties = mock(Properties.class);
-        given(converter.getPropertiesFromValue(group, value)).willReturn(properties);
-        given(properties.get(TestPropertyNames.PROP_3)).willReturn("propValue3");
+        given(converter.getPropertyFromValue(group, value, TestPropertyNames.PROP_3)).willReturn("propValue3");
 
         // When
         final Object property = loader.getProperty(TestPropertyNames.PROP_3, lazyProperties);
 
         // Then
         assertEquals("propValue3", property);
-        verify(lazyProperties).putAll(properties);
+        verify(lazyProperties, never()).putAll(Mockito.anyMap());
+        verify(converter, never()).getPropertiesFromValue(Mockito.eq(group), Mockito.any(Value.class));
+        verify(converter, never()).getPropertyFromColumnQualifier(Mockito.eq(group), Mockito.any(byte[].class), Mockito.anyString());
         verify(converter, never()).getElementId(key, false);
         verify(converter, never()).getPropertiesFromColumnVisibility(Mockito.eq(group), Mockito.any(byte[].class));
         verify(converter, never()).getPropertiesFromTimestamp(Mockito.eq(group), Mockito.anyLong());
@@ -146,7 +146,7 @@ public class AccumuloEntityValueLoaderTest {
 
         // Then
         assertEquals("vis1", property);
-        verify(lazyProperties).putAll(properties);
+        verify(lazyProperties, never()).putAll(Mockito.anyMap());
         verify(converter, never()).getElementId(key, false);
         verify(converter, never()).getPropertiesFromColumnQualifier(Mockito.eq(group), Mockito.any(byte[].class));
         verify(converter, never()).getPropertiesFromTimestamp(Mockito.eq(group), Mockito.anyLong());
@@ -174,7 +174,7 @@ public class AccumuloEntityValueLoaderTest {
 
         // Then
         assertEquals(timestamp, property);
-        verify(lazyProperties).putAll(properties);
+        verify(lazyProperties, never()).putAll(Mockito.anyMap());
         verify(converter, never()).getElementId(key, false);
         verify(converter, never()).getPropertiesFromColumnQualifier(Mockito.eq(group), Mockito.any(byte[].class));
         verify(converter, never()).getPropertiesFromColumnVisibility(Mockito.eq(group), Mockito.any(byte[].class));
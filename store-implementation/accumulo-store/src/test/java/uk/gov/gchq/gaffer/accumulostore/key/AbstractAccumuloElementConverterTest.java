@@ -308,6 +308,73 @@ public abstract class AbstractAccumuloElementConverterTest<T extends AccumuloEle
         assertEquals(8, deSerialisedProperties.get(AccumuloPropertyNames.COUNT));
     }
 
+    @Test
+    public void shouldDeserialiseSinglePropertyFromValue() {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.PROP_1, 5);
+        properties.put(AccumuloPropertyNames.PROP_2, null);
+        properties.put(AccumuloPropertyNames.PROP_3, 299);
+        properties.put(AccumuloPropertyNames.COUNT, 8);
+        final Value value = converter.getValueFromProperties(TestGroups.EDGE, properties);
+
+        // When / Then
+        assertEquals(5, converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.PROP_1));
+        assertNull(converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.PROP_2));
+        assertEquals(299, converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.PROP_3));
+        assertNull(converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.PROP_4));
+        assertEquals(8, converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.COUNT));
+        assertNull(converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.COLUMN_QUALIFIER));
+        assertNull(converter.getPropertyFromValue(TestGroups.EDGE, value, "unknownProperty"));
+    }
+
+    @Test
+    public void shouldDeserialiseSinglePropertyFromColumnQualifier() {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        properties.put(AccumuloPropertyNames.COLUMN_QUALIFIER_3, 3);
+        properties.put(AccumuloPropertyNames.COLUMN_QUALIFIER_4, 4);
+        properties.put(AccumuloPropertyNames.PROP_1, 5);
+        final byte[] columnQualifier = converter.buildColumnQualifier(TestGroups.EDGE, properties);
+
+        // When / Then
+        assertEquals(1, converter.getPropertyFromColumnQualifier(TestGroups.EDGE, columnQualifier, AccumuloPropertyNames.COLUMN_QUALIFIER));
+        assertNull(converter.getPropertyFromColumnQualifier(TestGroups.EDGE, columnQualifier, AccumuloPropertyNames.COLUMN_QUALIFIER_2));
+        assertEquals(3, converter.getPropertyFromColumnQualifier(TestGroups.EDGE, columnQualifier, AccumuloPropertyNames.COLUMN_QUALIFIER_3));
+        assertEquals(4, converter.getPropertyFromColumnQualifier(TestGroups.EDGE, columnQualifier, AccumuloPropertyNames.COLUMN_QUALIFIER_4));
+        assertNull(converter.getPropertyFromColumnQualifier(TestGroups.EDGE, columnQualifier, AccumuloPropertyNames.PROP_1));
+    }
+
+    @Test
+    public void shouldDeserialiseSinglePropertiesConsistentlyWithAllProperties() {
+        // Given
+        final Edge edge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("1")
+                .dest("2")
+                .directed(true)
+                .property(AccumuloPropertyNames.COLUMN_QUALIFIER, 1)
+                .property(AccumuloPropertyNames.COLUMN_QUALIFIER_2, 2)
+                .property(AccumuloPropertyNames.PROP_1, 5)
+                .property(AccumuloPropertyNames.PROP_4, 20)
+                .property(AccumuloPropertyNames.COUNT, 8)
+                .build();
+        final Pair<Key, Key> keys = converter.getKeysFromElement(edge);
+        final Value value = converter.getValueFromElement(edge);
+        final byte[] columnQualifier = keys.getFirst().getColumnQualifierData().getBackingArray();
+
+        // When
+        final Properties valueProperties = converter.getPropertiesFromValue(TestGroups.EDGE, value);
+        final Properties cqProperties = converter.getPropertiesFromColumnQualifier(TestGroups.EDGE, columnQualifier);
+
+        // Then
+        for (final String propertyName : Schema.fromJson(StreamUtil.schemas(getClass())).getElement(TestGroups.EDGE).getProperties()) {
+            assertEquals(valueProperties.get(propertyName), converter.getPropertyFromValue(TestGroups.EDGE, value, propertyName));
+            assertEquals(cqProperties.get(propertyName), converter.getPropertyFromColumnQualifier(TestGroups.EDGE, columnQualifier, propertyName));
+        }
+    }
+
     @Test
     public void shouldTruncatePropertyBytes() {
         // Given
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import com.google.common.primitives.UnsignedBytes;
+import org.apache.accumulo.core.data.Key;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyVertexSetFilterIterator;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.BloomFilterIteratorException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorSettingBuilder;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CoreKeyVertexSetFilterIteratorTest {
+    private static final Schema SCHEMA = new Schema.Builder()
+            .type("string", String.class)
+            .type("true", Boolean.class)
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("true")
+                    .build())
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .build())
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    private final ByteEntityAccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(SCHEMA);
+
+    @Test
+    public void shouldThrowExceptionWhenValidateOptionsWithoutVertexSet() {
+        // Given
+        final CoreKeyVertexSetFilterIterator filter = new CoreKeyVertexSetFilterIterator();
+        final Map<String, String> options = new HashMap<>();
+
+        // When / Then
+        try {
+            filter.validateOptions(options);
+            fail("Exception expected");
+        } catch (final BloomFilterIteratorException e) {
+            assertTrue(e.getMessage().contains(AccumuloStoreConstants.VERTEX_SET));
+        }
+    }
+
+    @Test
+    public void shouldValidateOptionsSuccessfully() {
+        // Given
+        final CoreKeyVertexSetFilterIterator filter = new CoreKeyVertexSetFilterIterator();
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.VERTEX_SET, "some value");
+
+        // When
+        final boolean result = filter.validateOptions(options);
+
+        // Then
+        assertTrue(result);
+    }
+
+    @Test
+    public void shouldOnlyAcceptEdgesWhoseOtherVertexIsInTheSet() throws Exception {
+        // Given
+        final SortedSet<byte[]> vertices = new TreeSet<>(UnsignedBytes.lexicographicalComparator());
+        vertices.add(new StringSerialiser().serialise("vertexB"));
+        vertices.add(new StringSerialiser().serialise("vertexZ"));
+        final CoreKeyVertexSetFilterIterator filter = new CoreKeyVertexSetFilterIterator();
+        filter.init(null, new IteratorSettingBuilder(AccumuloStoreConstants.VERTEX_SET_FILTER_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.VERTEX_SET_FILTER_ITERATOR_NAME, CoreKeyVertexSetFilterIterator.class)
+                .vertexSet(vertices)
+                .build()
+                .getOptions(), null);
+
+        final Pair<Key, Key> edgeKeys = converter.getKeysFromElement(new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("vertexA")
+                .dest("vertexB")
+                .directed(true)
+                .build());
+        final Pair<Key, Key> otherEdgeKeys = converter.getKeysFromElement(new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("vertexA")
+                .dest("vertexC")
+                .directed(true)
+                .build());
+        final Pair<Key, Key> entityKeys = converter.getKeysFromElement(new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertexA")
+                .build());
+
+        // When / Then
+        assertTrue(filter.accept(edgeKeys.getFirst(), null));
+        assertFalse(filter.accept(edgeKeys.getSecond(), null));
+        assertFalse(filter.accept(otherEdgeKeys.getFirst(), null));
+        assertFalse(filter.accept(otherEdgeKeys.getSecond(), null));
+        assertTrue(filter.accept(entityKeys.getFirst(), null));
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class AccumuloAdjacentIdRetrieverTest {
+
+    private static AccumuloStore byteEntityStore;
+    private static AccumuloStore gaffer1KeyStore;
+    private static final Schema schema = Schema.fromJson(StreamUtil.schemas(AccumuloAdjacentIdRetrieverTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(AccumuloAdjacentIdRetrieverTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(AccumuloAdjacentIdRetrieverTest.class, "/accumuloStoreClassicKeys.properties"));
+
+    @BeforeClass
+    public static void setup() {
+        byteEntityStore = new SingleUseMockAccumuloStore();
+        gaffer1KeyStore = new SingleUseMockAccumuloStore();
+    }
+
+    @Before
+    public void reInitialise() throws Exception {
+        byteEntityStore.initialise("byteEntityGraph", schema, PROPERTIES);
+        gaffer1KeyStore.initialise("gaffer1Graph", schema, CLASSIC_PROPERTIES);
+        setupGraph(byteEntityStore);
+        setupGraph(gaffer1KeyStore);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        byteEntityStore = null;
+        gaffer1KeyStore = null;
+    }
+
+    @Test
+    public void shouldGetAdjacentIdsByteEntityStore() throws Exception {
+        shouldGetAdjacentIds(byteEntityStore);
+    }
+
+    @Test
+    public void shouldGetAdjacentIdsGaffer1Store() throws Exception {
+        shouldGetAdjacentIds(gaffer1KeyStore);
+    }
+
+    private void shouldGetAdjacentIds(final AccumuloStore store) throws Exception {
+        // Given
+        final GetAdjacentIds operation = new GetAdjacentIds.Builder()
+                .input(new EntitySeed("A"), new EntitySeed("E"))
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .edge(TestGroups.EDGE_2)
+                        .build())
+                .build();
+
+        // When
+        final List<Object> results = getAdjacentVertices(store, operation);
+
+        // Then
+        assertEquals(Arrays.asList("A", "B", "B", "C", "D", "E", "F"), results);
+    }
+
+    @Test
+    public void shouldDeduplicateAdjacentIdsByteEntityStore() throws Exception {
+        shouldDeduplicateAdjacentIds(byteEntityStore);
+    }
+
+    @Test
+    public void shouldDeduplicateAdjacentIdsGaffer1Store() throws Exception {
+        shouldDeduplicateAdjacentIds(gaffer1KeyStore);
+    }
+
+    private void shouldDeduplicateAdjacentIds(final AccumuloStore store) throws Exception {
+        // Given
+        final GetAdjacentIds operation = new GetAdjacentIds.Builder()
+                .input(new EntitySeed("A"), new EntitySeed("E"))
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .edge(TestGroups.EDGE_2)
+                        .build())
+                .option(AccumuloStoreConstants.OPERATION_DEDUPLICATE_ADJACENT_IDS, "true")
+                .build();
+
+        // When
+        final List<Object> results = getAdjacentVertices(store, operation);
+
+        // Then
+        assertEquals(Arrays.asList("A", "B", "C", "D", "E", "F"), results);
+    }
+
+    @Test
+    public void shouldApplyPostTransformFiltersByteEntityStore() throws Exception {
+        shouldApplyPostTransformFilters(byteEntityStore);
+    }
+
+    @Test
+    public void shouldApplyPostTransformFiltersGaffer1Store() throws Exception {
+        shouldApplyPostTransformFilters(gaffer1KeyStore);
+    }
+
+    private void shouldApplyPostTransformFilters(final AccumuloStore store) throws Exception {
+        // Given
+        final GetAdjacentIds operation = new GetAdjacentIds.Builder()
+                .input(new EntitySeed("A"))
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .edge(TestGroups.EDGE_2, new ViewElementDefinition.Builder()
+                                .postTransformFilter(new ElementFilter.Builder()
+                                        .select(AccumuloPropertyNames.PROP_1)
+                                        .execute(new IsMoreThan(5))
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final List<Object> results = getAdjacentVertices(store, operation);
+
+        // Then
+        assertEquals(Arrays.asList("B", "B", "C", "F"), results);
+    }
+
+    private List<Object> getAdjacentVertices(final AccumuloStore store, final GetAdjacentIds operation) throws Exception {
+        final List<Object> vertices = new ArrayList<>();
+        final AccumuloAdjacentIdRetriever retriever = new AccumuloAdjacentIdRetriever(store, operation, new User());
+        for (final EntityId entityId : retriever) {
+            vertices.add(entityId.getVertex());
+        }
+        retriever.close();
+        vertices.sort(Comparator.comparing(Object::toString));
+        return vertices;
+    }
+
+    private static void setupGraph(final AccumuloStore store) throws Exception {
+        final List<Element> elements = Arrays.asList(
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("A")
+                        .dest("B")
+                        .directed(true)
+                        .property(AccumuloPropertyNames.COLUMN_QUALIFIER, 1)
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("A")
+                        .dest("B")
+                        .directed(true)
+                        .property(AccumuloPropertyNames.COLUMN_QUALIFIER, 2)
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("A")
+                        .dest("C")
+                        .directed(false)
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE_2)
+                        .source("A")
+                        .dest("D")
+                        .directed(true)
+                        .property(AccumuloPropertyNames.PROP_1, 1)
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE_2)
+                        .source("A")
+                        .dest("F")
+                        .directed(true)
+                        .property(AccumuloPropertyNames.PROP_1, 10)
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE_2)
+                        .source("E")
+                        .dest("A")
+                        .directed(true)
+                        .property(AccumuloPropertyNames.PROP_1, 1)
+                        .build()
+        );
+        store.execute(new AddElements.Builder().input(elements).build(), new Context(new User()));
+    }
+}
@@ -262,6 +262,48 @@ public class AccumuloIDBetweenSetsRetrieverTest {
      *
      * @throws uk.gov.gchq.gaffer.store.StoreException if an error is encountered
      */
+    @Test
+    public void shouldDealWithFalsePositivesUsingBloomFiltersInMemoryByteEntityStore() throws StoreException {
+        shouldDealWithFalsePositivesUsingBloomFilters(true, byteEntityStore);
+    }
+
+    @Test
+    public void shouldDealWithFalsePositivesUsingBloomFiltersByteEntityStore() throws StoreException {
+        shouldDealWithFalsePositivesUsingBloomFilters(false, byteEntityStore);
+    }
+
+    private void shouldDealWithFalsePositivesUsingBloomFilters(final boolean loadIntoMemory, final AccumuloStore store) throws StoreException {
+        final String maxVertexSet = store.getProperties().get(AccumuloProperties.MAX_VERTEX_SET_TO_PASS_TO_AN_ITERATOR);
+        store.getProperties().setMaxVertexSetToPassToAnIterator("0");
+        try {
+            shouldDealWithFalsePositives(loadIntoMemory, store);
+        } finally {
+            store.getProperties().set(AccumuloProperties.MAX_VERTEX_SET_TO_PASS_TO_AN_ITERATOR, maxVertexSet);
+        }
+    }
+
+    @Test
+    public void shouldGetCorrectEdgesWhenVertexSetIsTooLargeInMemoryByteEntityStore() throws StoreException {
+        shouldGetCorrectEdgesWhenVertexSetIsTooLarge(true, byteEntityStore);
+    }
+
+    @Test
+    public void shouldGetCorrectEdgesWhenVertexSetIsTooLargeByteEntityStore() throws StoreException {
+        shouldGetCorrectEdgesWhenVertexSetIsTooLarge(false, byteEntityStore);
+    }
+
+    private void shouldGetCorrectEdgesWhenVertexSetIsTooLarge(final boolean loadIntoMemory, final AccumuloStore store) throws StoreException {
+        // Only the first few seeds fit in the vertex set, so the retriever
+        // switches to bloom filters part way through reading the seeds
+        final String maxVertexSet = store.getProperties().get(AccumuloProperties.MAX_VERTEX_SET_TO_PASS_TO_AN_ITERATOR);
+        store.getProperties().setMaxVertexSetToPassToAnIterator("2");
+        try {
+            shouldGetCorrectEdges(loadIntoMemory, store);
+        } finally {
+            store.getProperties().set(AccumuloProperties.MAX_VERTEX_SET_TO_PASS_TO_AN_ITERATOR, maxVertexSet);
+        }
+    }
+
     @Test
     public void shouldDealWithFalsePositivesInMemoryByteEntityStore() throws StoreException {
         shouldDealWithFalsePositives(true, byteEntityStore);
@@ -115,6 +115,30 @@ public class AccumuloSingleIDRetrieverTest {
         //Should find both i-B and i-C edges and entities i
     }
 
+    @Test
+    public void shouldReturnSameElementsWithTabletAwareScanning() throws StoreException, IteratorSettingException {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setTabletAwareScanning(true);
+        properties.setMaxEntriesForBatchScanner("100");
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("tabletAwareGraph", schema, properties);
+        setupGraph(store, numEntries);
+
+        final Set<ElementId> ids = new HashSet<>();
+        for (int i = 0; i < numEntries; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements operation = new GetElements.Builder().view(view).input(ids).build();
+
+        // When
+        final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(store, operation, new User());
+
+        // Then
+        assertEquals(numEntries * 3, Iterables.size(retriever));
+    }
+
     @Test
     public void testEntityIdQueryEdgesOnly() throws AccumuloException, StoreException {
         testEntityIdQueryEdgesOnly(byteEntityStore);
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.IteratorException;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.classic.ClassicAccumuloElementConverter;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class IteratorCacheTest {
+    private static final String SCHEMA_JSON = StringUtil.toString(
+            Schema.fromJson(StreamUtil.schemas(IteratorCacheTest.class)).toCompactJson());
+    private static final String VIEW_JSON = StringUtil.toString(
+            new View.Builder().edge(TestGroups.EDGE).build().toCompactJson());
+
+    @Before
+    public void before() {
+        IteratorCache.clear();
+    }
+
+    @Test
+    public void shouldReturnSameSchemaForSameJson() {
+        // Given
+        final long hitCount = IteratorCache.getSchemaStats().hitCount();
+
+        // When
+        final Schema schema1 = IteratorCache.getSchema(SCHEMA_JSON);
+        final Schema schema2 = IteratorCache.getSchema(new String(SCHEMA_JSON));
+
+        // Then
+        assertSame(schema1, schema2);
+        assertEquals(hitCount + 1, IteratorCache.getSchemaStats().hitCount());
+    }
+
+    @Test
+    public void shouldReturnSameViewForSameJson() {
+        // When
+        final View view1 = IteratorCache.getView(VIEW_JSON);
+        final View view2 = IteratorCache.getView(VIEW_JSON);
+
+        // Then
+        assertSame(view1, view2);
+        assertEquals(1, view1.getEdgeGroups().size());
+        assertTrue(view1.getEdgeGroups().contains(TestGroups.EDGE));
+    }
+
+    @Test
+    public void shouldReturnElementConverterForEachConverterClass() {
+        // When
+        final AccumuloElementConverter byteEntityConverter1 = IteratorCache.getElementConverter(
+                ByteEntityAccumuloElementConverter.class.getName(), SCHEMA_JSON);
+        final AccumuloElementConverter byteEntityConverter2 = IteratorCache.getElementConverter(
+                ByteEntityAccumuloElementConverter.class.getName(), SCHEMA_JSON);
+        final AccumuloElementConverter classicConverter = IteratorCache.getElementConverter(
+                ClassicAccumuloElementConverter.class.getName(), SCHEMA_JSON);
+
+        // Then
+        assertSame(byteEntityConverter1, byteEntityConverter2);
+        assertNotSame(byteEntityConverter1, classicConverter);
+        assertEquals(ByteEntityAccumuloElementConverter.class, byteEntityConverter1.getClass());
+        assertEquals(ClassicAccumuloElementConverter.class, classicConverter.getClass());
+    }
+
+    @Test
+    public void shouldEstimateTimeSavedFromCacheHits() {
+        // When
+        IteratorCache.getSchema(SCHEMA_JSON);
+        IteratorCache.getSchema(SCHEMA_JSON);
+
+        // Then
+        assertTrue(IteratorCache.getEstimatedTimeSavedNanos() > 0);
+    }
+
+    @Test
+    public void shouldThrowExceptionForUnknownElementConverterClass() {
+        // When / Then
+        try {
+            IteratorCache.getElementConverter("unknown.ElementConverter", SCHEMA_JSON);
+            fail("Exception expected");
+        } catch (final IteratorException e) {
+            assertTrue(e.getMessage().contains("unknown.ElementConverter"));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.client.admin.Locations;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TabletId;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class TabletUtilsTest {
+
+    @Test
+    public void shouldGroupRangesByTabletServer() {
+        // Given
+        final TabletId tablet1 = createTablet(null, "c");
+        final TabletId tablet2 = createTablet("c", "f");
+        final TabletId tablet3 = createTablet("f", null);
+        final Range rangeA = Range.exact("a");
+        final Range rangeD = Range.exact("d");
+        final Range rangeG = Range.exact("g");
+        final Map<TabletId, List<Range>> rangesByTablet = new HashMap<>();
+        rangesByTablet.put(tablet1, Collections.singletonList(rangeA));
+        rangesByTablet.put(tablet2, Collections.singletonList(rangeD));
+        rangesByTablet.put(tablet3, Collections.singletonList(rangeG));
+        final Locations locations = mock(Locations.class);
+        given(locations.groupByTablet()).willReturn(rangesByTablet);
+        given(locations.getTabletLocation(tablet1)).willReturn("server1");
+        given(locations.getTabletLocation(tablet2)).willReturn("server2");
+        given(locations.getTabletLocation(tablet3)).willReturn("server1");
+
+        // When
+        final Collection<List<Range>> groups = TabletUtils.groupRangesByTabletServer(locations);
+
+        // Then
+        final Set<Set<Range>> expected = new HashSet<>(Arrays.asList(
+                new HashSet<>(Arrays.asList(rangeA, rangeG)),
+                Collections.singleton(rangeD)
+        ));
+        assertEquals(expected, toSets(groups));
+    }
+
+    @Test
+    public void shouldClipRangesSpanningTabletsOnDifferentTabletServers() {
+        // Given
+        final TabletId tablet1 = createTablet(null, "c");
+        final TabletId tablet2 = createTablet("c", null);
+        final Range range = new Range("b", "d");
+        final Map<TabletId, List<Range>> rangesByTablet = new HashMap<>();
+        rangesByTablet.put(tablet1, Collections.singletonList(range));
+        rangesByTablet.put(tablet2, Collections.singletonList(range));
+        final Locations locations = mock(Locations.class);
+        given(locations.groupByTablet()).willReturn(rangesByTablet);
+        given(locations.getTabletLocation(tablet1)).willReturn("server1");
+        given(locations.getTabletLocation(tablet2)).willReturn("server2");
+
+        // When
+        final Collection<List<Range>> groups = TabletUtils.groupRangesByTabletServer(locations);
+
+        // Then
+        assertEquals(2, groups.size());
+        final List<Range> clippedRanges = new ArrayList<>();
+        groups.forEach(clippedRanges::addAll);
+        assertEquals(2, clippedRanges.size());
+        assertTrue(clippedRanges.contains(new Range("b", true, "c", true)));
+        assertTrue(clippedRanges.contains(new Range(new Text("c"), false, new Text("d"), true)));
+        assertEquals(Collections.singletonList(range), Range.mergeOverlapping(clippedRanges));
+    }
+
+    @Test
+    public void shouldReturnNoGroupsWhenNoTablets() {
+        // Given
+        final Locations locations = mock(Locations.class);
+        given(locations.groupByTablet()).willReturn(Collections.emptyMap());
+
+        // When
+        final Collection<List<Range>> groups = TabletUtils.groupRangesByTabletServer(locations);
+
+        // Then
+        assertTrue(groups.isEmpty());
+    }
+
+    private TabletId createTablet(final String prevEndRow, final String endRow) {
+        final TabletId tablet = mock(TabletId.class);
+        given(tablet.getPrevEndRow()).willReturn(null == prevEndRow ? null : new Text(prevEndRow));
+        given(tablet.getEndRow()).willReturn(null == endRow ? null : new Text(endRow));
+        return tablet;
+    }
+
+    private Set<Set<Range>> toSets(final Collection<List<Range>> groups) {
+        final Set<Set<Range>> sets = new HashSet<>();
+        for (final List<Range> group : groups) {
+            sets.add(new HashSet<>(group));
+        }
+        return sets;
+    }
+}
@@ -78,6 +78,10 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreProperties.IS_PUBLIC_ACCESS_ALLOWED_DEFAULT;
 import static uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil.getCleanStrings;
@@ -99,6 +103,8 @@ public class FederatedStore extends Store {
     private FederatedGraphStorage graphStorage = new FederatedGraphStorage();
     private Set<String> customPropertiesAuths;
     private Boolean isPublicAccessAllowed = Boolean.valueOf(IS_PUBLIC_ACCESS_ALLOWED_DEFAULT);
+    private ExecutorService graphExecutor;
+    private int graphExecutorThreadCount;
 
     /**
      * Initialise this FederatedStore with any sub-graphs defined within the
@@ -115,6 +121,7 @@ public class FederatedStore extends Store {
         super.initialise(graphId, new Schema(), properties);
         customPropertiesAuths = getCustomPropertiesAuths();
         isPublicAccessAllowed = Boolean.valueOf(getProperties().getIsPublicAccessAllowed());
+        updateGraphExecutor(getProperties().getGraphExecutorThreadCount());
     }
 
     @Override
@@ -304,6 +311,17 @@ public class FederatedStore extends Store {
         return graphStorage.get(user, getCleanStrings(graphIdsCsv));
     }
 
+    /**
+     * Get the {@link ExecutorService} used to execute operations on the
+     * federated graphs concurrently.
+     *
+     * @return the executor, or null if the graphs should be queried one after
+     * another.
+     */
+    public ExecutorService getGraphExecutor() {
+        return graphExecutor;
+    }
+
     /**
      * The FederatedStore at time of initialisation, can set the auths required
      * to allow users to use custom {@link StoreProperties} outside the
@@ -395,6 +413,34 @@ public class FederatedStore extends Store {
         }
     }
 
+    private void updateGraphExecutor(final int threadCount) {
+        // Reuse the executor when the store is initialised again with the same thread count
+        if (null != graphExecutor && threadCount == graphExecutorThreadCount) {
+            return;
+        }
+
+        if (null != graphExecutor) {
+            graphExecutor.shutdown();
+        }
+        graphExecutor = createGraphExecutor(threadCount);
+        graphExecutorThreadCount = threadCount;
+    }
+
+    private ExecutorService createGraphExecutor(final int threadCount) {
+        if (threadCount < 1) {
+            return null;
+        }
+
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount,
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     private Set<String> getCustomPropertiesAuths() {
         final String value = getProperties().getCustomPropsValue();
         return (Strings.isNullOrEmpty(value)) ? null : Sets.newHashSet(getCleanStrings(value));
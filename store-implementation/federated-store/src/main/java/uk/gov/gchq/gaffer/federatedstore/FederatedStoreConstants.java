@@ -24,6 +24,7 @@ public final class FederatedStoreConstants {
     public static final String KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE = "gaffer.federatedstore.operation.skipFailedFederatedStoreExecute";
     public static final String DEFAULT_VALUE_KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE = String.valueOf(false);
     public static final String DEFAULT_VALUE_IS_PUBLIC = String.valueOf(false);
+    public static final String KEY_GRAPH_TIMEOUT_MILLIS = "gaffer.federatedstore.operation.graphTimeoutMillis";
 
     private FederatedStoreConstants() {
         // private constructor to prevent users instantiating this class as it
@@ -33,4 +34,8 @@ public final class FederatedStoreConstants {
     public static String getSkipFailedFederatedStoreExecute(final Operation op) {
         return op.getOption(KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE, DEFAULT_VALUE_KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE);
     }
+
+    public static String getGraphTimeoutMillis(final Operation op) {
+        return op.getOption(KEY_GRAPH_TIMEOUT_MILLIS);
+    }
 }
@@ -47,6 +47,24 @@ public class FederatedStoreProperties extends StoreProperties {
     public static final String CACHE_SERVICE_CLASS = CacheProperties.CACHE_SERVICE_CLASS;
     public static final String CACHE_SERVICE_CLASS_DEFAULT = null;
 
+    /**
+     * The number of threads used to execute operations on the federated graphs
+     * concurrently. By default this is 0 and the graphs are queried one after
+     * another. When greater than 0 the graphs are queried and their results are
+     * read ahead concurrently. In both cases results are returned in graph order.
+     * e.g gaffer.federatedstore.graph.executor.thread.count=10
+     */
+    public static final String GRAPH_EXECUTOR_THREAD_COUNT = "gaffer.federatedstore.graph.executor.thread.count";
+    public static final String GRAPH_EXECUTOR_THREAD_COUNT_DEFAULT = "0";
+
+    /**
+     * The number of results to read ahead from each federated graph whilst
+     * merging the results from the graphs.
+     * e.g gaffer.federatedstore.merge.buffer.size=1000
+     */
+    public static final String MERGE_BUFFER_SIZE = "gaffer.federatedstore.merge.buffer.size";
+    public static final String MERGE_BUFFER_SIZE_DEFAULT = "1000";
+
     public FederatedStoreProperties() {
         super(FederatedStore.class);
     }
@@ -94,4 +112,20 @@ public class FederatedStoreProperties extends StoreProperties {
     public void setGraphsCanHavePublicAccess(final boolean b) {
         set(IS_PUBLIC_ACCESS_ALLOWED, Boolean.toString(b));
     }
+
+    public int getGraphExecutorThreadCount() {
+        return Integer.parseInt(get(GRAPH_EXECUTOR_THREAD_COUNT, GRAPH_EXECUTOR_THREAD_COUNT_DEFAULT));
+    }
+
+    public void setGraphExecutorThreadCount(final int threadCount) {
+        set(GRAPH_EXECUTOR_THREAD_COUNT, Integer.toString(threadCount));
+    }
+
+    public int getMergeBufferSize() {
+        return Integer.parseInt(get(MERGE_BUFFER_SIZE, MERGE_BUFFER_SIZE_DEFAULT));
+    }
+
+    public void setMergeBufferSize(final int mergeBufferSize) {
+        set(MERGE_BUFFER_SIZE, Integer.toString(mergeBufferSize));
+    }
 }
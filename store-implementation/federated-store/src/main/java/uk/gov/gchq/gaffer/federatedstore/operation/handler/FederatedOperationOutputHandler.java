@@ -27,23 +27,61 @@ import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_OPERATION_OPTIONS_GRAPH_IDS;
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.getGraphTimeoutMillis;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.getSkipFailedFederatedStoreExecute;
 
 /**
  * A abstract handler for Operations with output for FederatedStore
+ * <p>
+ * If the FederatedStore has a graph executor the operation is executed on
+ * all of the graphs concurrently, otherwise the graphs are queried one after
+ * another. When executed concurrently the
+ * {@link uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants#KEY_GRAPH_TIMEOUT_MILLIS}
+ * option can be used to limit how long to wait for each graph. Each graph's
+ * timeout starts when the operation starts running on that graph, so time
+ * spent waiting for a free executor thread is not counted. A graph that times
+ * out is treated as a failed graph.
+ * </p>
  *
  * @see uk.gov.gchq.gaffer.store.operation.handler.OperationHandler
  * @see uk.gov.gchq.gaffer.federatedstore.FederatedStore
  * @see uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler
  */
 public abstract class FederatedOperationOutputHandler<OP extends Output<O>, O> implements OutputOperationHandler<OP, O> {
+    private static final long QUEUED_POLL_MILLIS = 100;
 
     @Override
     public O doOperation(final OP operation, final Context context, final Store store) throws OperationException {
-        final Collection<Graph> graphs = ((FederatedStore) store).getGraphs(context.getUser(), operation.getOption(KEY_OPERATION_OPTIONS_GRAPH_IDS));
+        final FederatedStore federatedStore = (FederatedStore) store;
+        final Collection<Graph> graphs = federatedStore.getGraphs(context.getUser(), operation.getOption(KEY_OPERATION_OPTIONS_GRAPH_IDS));
+        final ExecutorService graphExecutor = federatedStore.getGraphExecutor();
+        final List<O> results;
+        if (null == graphExecutor || (graphs.size() < 2 && null == getGraphTimeoutMillis(operation))) {
+            results = executeSequentially(operation, graphs, context);
+        } else {
+            results = executeConcurrently(operation, graphs, context, graphExecutor);
+        }
+
+        try {
+            return mergeResults(results, operation, context, store);
+        } catch (final Exception e) {
+            throw new OperationException(e);
+        }
+    }
+
+    protected abstract O mergeResults(final List<O> results, final OP operation, final Context context, final Store store);
+
+    private List<O> executeSequentially(final OP operation, final Collection<Graph> graphs, final Context context) throws OperationException {
         final List<O> results = new ArrayList<>(graphs.size());
         for (final Graph graph : graphs) {
             final OP updatedOp = FederatedStoreUtil.updateOperationForGraph(operation, graph);
@@ -52,21 +90,101 @@ public abstract class FederatedOperationOutputHandler<OP extends Output<O>, O> i
                 try {
                     execute = graph.execute(updatedOp, context);
                 } catch (final Exception e) {
-                    if (!Boolean.valueOf(getSkipFailedFederatedStoreExecute(updatedOp))) {
-                        throw new OperationException(FederatedStoreUtil.createOperationErrorMsg(operation, graph.getGraphId(), e), e);
-                    }
+                    handleFailure(operation, updatedOp, graph, e);
                 }
                 if (null != execute) {
                     results.add(execute);
                 }
             }
         }
+        return results;
+    }
+
+    private List<O> executeConcurrently(final OP operation, final Collection<Graph> graphs, final Context context, final ExecutorService graphExecutor) throws OperationException {
+        final Map<Graph, OP> updatedOps = new LinkedHashMap<>(graphs.size());
+        final Map<Graph, GraphTask> tasks = new LinkedHashMap<>(graphs.size());
+        for (final Graph graph : graphs) {
+            final OP updatedOp = FederatedStoreUtil.updateOperationForGraph(operation, graph);
+            if (null != updatedOp) {
+                // Each graph gets its own context as executing an operation updates the context
+                final GraphTask task = new GraphTask(graph, updatedOp, context.shallowClone());
+                updatedOps.put(graph, updatedOp);
+                tasks.put(graph, task);
+                graphExecutor.execute(task);
+            }
+        }
+
+        final String timeoutMillis = getGraphTimeoutMillis(operation);
+        final long timeout = null != timeoutMillis ? Long.parseLong(timeoutMillis) : 0;
+        final List<O> results = new ArrayList<>(tasks.size());
         try {
-            return mergeResults(results, operation, context, store);
-        } catch (final Exception e) {
-            throw new OperationException(e);
+            for (final Map.Entry<Graph, GraphTask> entry : tasks.entrySet()) {
+                O execute = null;
+                try {
+                    execute = entry.getValue().getResult(timeout);
+                } catch (final ExecutionException e) {
+                    handleFailure(operation, updatedOps.get(entry.getKey()), entry.getKey(),
+                            e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+                } catch (final TimeoutException e) {
+                    entry.getValue().cancel(true);
+                    handleFailure(operation, updatedOps.get(entry.getKey()), entry.getKey(),
+                            new TimeoutException("Graph did not respond within " + timeoutMillis + "ms"));
+                }
+                if (null != execute) {
+                    results.add(execute);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            tasks.values().forEach(task -> task.cancel(true));
+            throw new OperationException("Interrupted whilst waiting for the federated graphs", e);
+        } catch (final OperationException e) {
+            tasks.values().forEach(task -> task.cancel(true));
+            throw e;
         }
+        return results;
     }
 
-    protected abstract O mergeResults(final List<O> results, final OP operation, final Context context, final Store store);
+    private void handleFailure(final OP operation, final OP updatedOp, final Graph graph, final Exception e) throws OperationException {
+        if (!Boolean.valueOf(getSkipFailedFederatedStoreExecute(updatedOp))) {
+            throw new OperationException(FederatedStoreUtil.createOperationErrorMsg(operation, graph.getGraphId(), e), e);
+        }
+    }
+
+    /**
+     * Executes the operation on a single graph and records when it started,
+     * so each graph is given the full timeout from the time it starts running
+     * rather than from when it was queued.
+     */
+    private final class GraphTask extends FutureTask<O> {
+        private volatile long startMillis;
+
+        private GraphTask(final Graph graph, final OP updatedOp, final Context graphContext) {
+            super(() -> graph.execute(updatedOp, graphContext));
+        }
+
+        @Override
+        public void run() {
+            startMillis = System.currentTimeMillis();
+            super.run();
+        }
+
+        private O getResult(final long timeoutMillis) throws InterruptedException, ExecutionException, TimeoutException {
+            if (timeoutMillis <= 0) {
+                return get();
+            }
+
+            // Wait for the graph to start before starting its timeout
+            while (0 == startMillis) {
+                try {
+                    return get(QUEUED_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (final TimeoutException e) {
+                    if (isDone()) {
+                        return get();
+                    }
+                }
+            }
+            return get(Math.max(0, startMillis + timeoutMillis - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        }
+    }
 }
@@ -18,18 +18,33 @@ package uk.gov.gchq.gaffer.federatedstore.operation.handler.impl;
 
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.PipelinedIterable;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
 import uk.gov.gchq.gaffer.federatedstore.operation.handler.FederatedOperationOutputHandler;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
 
 /**
  * A generic handler for Operations with CloseableIterable of elements for FederatedStore.
- * Simply executes the operation on each delegate graph then chains the results together
- * using a {@link ChainedIterable}.
+ * Simply executes the operation on each delegate graph then merges the results together.
+ * <p>
+ * The results are returned in graph order. If the FederatedStore has a graph
+ * executor, the results from every graph are read ahead concurrently on that
+ * executor using a {@link PipelinedIterable} per graph, each with a buffer of
+ * {@link uk.gov.gchq.gaffer.federatedstore.FederatedStoreProperties#MERGE_BUFFER_SIZE}
+ * items, so later graphs are read whilst the results of earlier graphs are
+ * being consumed. Otherwise the results are chained together using a
+ * {@link ChainedIterable}.
+ * </p>
  *
  * @see FederatedOperationOutputHandler
  */
@@ -40,7 +55,69 @@ public class FederatedOperationIterableHandler<OP extends Output<O>, O extends I
             return (O) new EmptyClosableIterable<>();
         }
 
+        final FederatedStore federatedStore = (FederatedStore) store;
+        final ExecutorService graphExecutor = federatedStore.getGraphExecutor();
+        if (results.size() > 1 && null != graphExecutor) {
+            // Read ahead on all the graphs but keep the results in graph order
+            final int bufferSize = federatedStore.getProperties().getMergeBufferSize();
+            final List<PipelinedIterable<Object>> pipelines = new ArrayList<>(results.size());
+            for (final O result : results) {
+                pipelines.add(new PipelinedIterable<Object>(result, graphExecutor, bufferSize));
+            }
+            return (O) new ReadAheadChainedIterable<>(pipelines);
+        }
+
         // Concatenate all the results into 1 iterable
         return (O) new ChainedIterable<>(CollectionUtil.toIterableArray(results));
     }
+
+    private static final class ReadAheadChainedIterable<T> implements CloseableIterable<T> {
+        private final List<PipelinedIterable<T>> pipelines;
+
+        private ReadAheadChainedIterable(final List<PipelinedIterable<T>> pipelines) {
+            this.pipelines = pipelines;
+        }
+
+        @Override
+        public CloseableIterator<T> iterator() {
+            // Start all the iterators so every graph is read ahead straight away
+            final List<CloseableIterator<T>> iterators = new ArrayList<>(pipelines.size());
+            for (final PipelinedIterable<T> pipeline : pipelines) {
+                iterators.add(pipeline.iterator());
+            }
+            return new CloseableIterator<T>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    while (index < iterators.size()) {
+                        if (iterators.get(index).hasNext()) {
+                            return true;
+                        }
+                        iterators.get(index).close();
+                        index++;
+                    }
+                    return false;
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return iterators.get(index).next();
+                }
+
+                @Override
+                public void close() {
+                    iterators.forEach(CloseableIterator::close);
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            pipelines.forEach(PipelinedIterable::close);
+        }
+    }
 }
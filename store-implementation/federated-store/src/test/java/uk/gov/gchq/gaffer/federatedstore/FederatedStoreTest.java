@@ -70,6 +70,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
@@ -77,6 +78,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static uk.gov.gchq.gaffer.operation.export.graph.handler.GraphDelegate.GRAPH_ID_S_CANNOT_BE_CREATED_WITHOUT_DEFINED_KNOWN_S;
@@ -170,6 +172,33 @@ public class FederatedStoreTest {
         clearCache();
     }
 
+    @Test
+    public void shouldQueryGraphsSequentiallyByDefault() {
+        assertNull(store.getGraphExecutor());
+    }
+
+    @Test
+    public void shouldReuseGraphExecutorAndShutDownReplacedExecutor() throws Exception {
+        // Given
+        federatedProperties.setGraphExecutorThreadCount(2);
+        store.initialise(FEDERATED_STORE_ID, null, federatedProperties);
+        final ExecutorService executor = store.getGraphExecutor();
+
+        // When
+        store.initialise(FEDERATED_STORE_ID, null, federatedProperties);
+
+        // Then
+        assertSame(executor, store.getGraphExecutor());
+
+        // When
+        federatedProperties.setGraphExecutorThreadCount(0);
+        store.initialise(FEDERATED_STORE_ID, null, federatedProperties);
+
+        // Then
+        assertNull(store.getGraphExecutor());
+        assertTrue(executor.isShutdown());
+    }
+
     @Test
     public void shouldLoadGraphsWithIds() throws Exception {
         // When
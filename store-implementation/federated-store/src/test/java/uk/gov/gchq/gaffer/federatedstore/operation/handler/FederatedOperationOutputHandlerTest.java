@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.federatedstore.operation.handler;
 
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -25,6 +26,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStoreProperties;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.graph.GraphConfig;
 import uk.gov.gchq.gaffer.operation.OperationChain;
@@ -38,6 +40,8 @@ import uk.gov.gchq.gaffer.user.User;
 
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
@@ -47,6 +51,7 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_GRAPH_TIMEOUT_MILLIS;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_OPERATION_OPTIONS_GRAPH_IDS;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE;
 import static uk.gov.gchq.gaffer.user.StoreUser.testUser;
@@ -61,11 +66,18 @@ public abstract class FederatedOperationOutputHandlerTest<OP extends Output<O>,
     protected O o4;
     protected User user;
     protected Context context;
+    private ExecutorService executor;
 
     @Before
     public void setUp() throws Exception {
         user = testUser();
         context = new Context(user);
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void after() {
+        executor.shutdownNow();
     }
 
     @Test
@@ -240,8 +252,112 @@ public abstract class FederatedOperationOutputHandlerTest<OP extends Output<O>,
         verify(mockStore4, never()).execute(any(OperationChain.class), any(Context.class));
     }
 
+    @Test
+    public final void shouldMergeResultsFromFieldObjectsWhenExecutedConcurrently() throws Exception {
+        // Given
+        final OP op = getExampleOperation();
+
+        Schema unusedSchema = new Schema.Builder().build();
+        StoreProperties storeProperties = new StoreProperties();
+
+        Store mockStore1 = getMockStore(unusedSchema, storeProperties, o1);
+        Store mockStore2 = getMockStore(unusedSchema, storeProperties, o2);
+        Store mockStore3 = getMockStore(unusedSchema, storeProperties, o3);
+
+        FederatedStore mockStore = getMockFederatedStoreWithExecutor();
+        LinkedHashSet<Graph> linkedGraphs = Sets.newLinkedHashSet();
+        linkedGraphs.add(getGraphWithMockStore(mockStore1));
+        linkedGraphs.add(getGraphWithMockStore(mockStore2));
+        linkedGraphs.add(getGraphWithMockStore(mockStore3));
+        Mockito.when(mockStore.getGraphs(user, null)).thenReturn(linkedGraphs);
+
+        // When
+        O theMergedResultsOfOperation = getFederatedHandler().doOperation(op, context, mockStore);
+
+        //Then
+        validateMergeResultsFromFieldObjects(theMergedResultsOfOperation, o1, o2, o3);
+        verify(mockStore1).execute(any(OperationChain.class), any(Context.class));
+        verify(mockStore2).execute(any(OperationChain.class), any(Context.class));
+        verify(mockStore3).execute(any(OperationChain.class), any(Context.class));
+    }
+
+    @Test
+    public final void shouldSkipGraphThatTimesOutWhenExecutedConcurrently() throws Exception {
+        // Given
+        final OP op = getExampleOperation();
+        op.addOption(KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE, String.valueOf(true));
+        op.addOption(KEY_GRAPH_TIMEOUT_MILLIS, "100");
+
+        Schema unusedSchema = new Schema.Builder().build();
+        StoreProperties storeProperties = new StoreProperties();
+
+        Store mockStore1 = getMockStore(unusedSchema, storeProperties, o1);
+        Store mockStore2 = Mockito.mock(Store.class);
+        given(mockStore2.getSchema()).willReturn(unusedSchema);
+        given(mockStore2.getProperties()).willReturn(storeProperties);
+        given(mockStore2.execute(any(OperationChain.class), any(Context.class))).willAnswer(invocation -> {
+            Thread.sleep(10000);
+            return o2;
+        });
+
+        FederatedStore mockStore = getMockFederatedStoreWithExecutor();
+        LinkedHashSet<Graph> linkedGraphs = Sets.newLinkedHashSet();
+        linkedGraphs.add(getGraphWithMockStore(mockStore1));
+        linkedGraphs.add(getGraphWithMockStore(mockStore2));
+        Mockito.when(mockStore.getGraphs(user, null)).thenReturn(linkedGraphs);
+
+        // When
+        O theMergedResultsOfOperation = getFederatedHandler().doOperation(op, context, mockStore);
+
+        //Then
+        validateMergeResultsFromFieldObjects(theMergedResultsOfOperation, o1);
+    }
+
+    @Test
+    public final void shouldStartEachGraphTimeoutWhenTheGraphStartsExecuting() throws Exception {
+        // Given
+        final OP op = getExampleOperation();
+        op.addOption(KEY_GRAPH_TIMEOUT_MILLIS, "1000");
+
+        Schema unusedSchema = new Schema.Builder().build();
+        StoreProperties storeProperties = new StoreProperties();
+
+        Store mockStore1 = getSlowMockStore(unusedSchema, storeProperties, o1, 600);
+        Store mockStore2 = getSlowMockStore(unusedSchema, storeProperties, o2, 600);
+
+        // Only 1 thread, so the second graph waits for the first graph to finish
+        final ExecutorService singleThreadExecutor = Executors.newSingleThreadExecutor();
+        FederatedStore mockStore = getMockFederatedStoreWithExecutor(singleThreadExecutor);
+        LinkedHashSet<Graph> linkedGraphs = Sets.newLinkedHashSet();
+        linkedGraphs.add(getGraphWithMockStore(mockStore1));
+        linkedGraphs.add(getGraphWithMockStore(mockStore2));
+        Mockito.when(mockStore.getGraphs(user, null)).thenReturn(linkedGraphs);
+
+        // When
+        final O theMergedResultsOfOperation;
+        try {
+            theMergedResultsOfOperation = getFederatedHandler().doOperation(op, context, mockStore);
+        } finally {
+            singleThreadExecutor.shutdownNow();
+        }
+
+        //Then
+        validateMergeResultsFromFieldObjects(theMergedResultsOfOperation, o1, o2);
+    }
+
     protected abstract boolean validateMergeResultsFromFieldObjects(final O result, final Object... resultParts);
 
+    private FederatedStore getMockFederatedStoreWithExecutor() {
+        return getMockFederatedStoreWithExecutor(executor);
+    }
+
+    private FederatedStore getMockFederatedStoreWithExecutor(final ExecutorService graphExecutor) {
+        final FederatedStore mockStore = Mockito.mock(FederatedStore.class);
+        given(mockStore.getGraphExecutor()).willReturn(graphExecutor);
+        given(mockStore.getProperties()).willReturn(new FederatedStoreProperties());
+        return mockStore;
+    }
+
     private Graph getGraphWithMockStore(final Store mockStore) {
         return new Graph.Builder()
                 .config(new GraphConfig.Builder()
@@ -252,6 +368,17 @@ public abstract class FederatedOperationOutputHandlerTest<OP extends Output<O>,
     }
 
 
+    private Store getSlowMockStore(final Schema unusedSchema, final StoreProperties storeProperties, final O willReturn, final long delayMillis) throws uk.gov.gchq.gaffer.operation.OperationException {
+        Store mockStore = Mockito.mock(Store.class);
+        given(mockStore.getSchema()).willReturn(unusedSchema);
+        given(mockStore.getProperties()).willReturn(storeProperties);
+        given(mockStore.execute(any(OperationChain.class), any(Context.class))).willAnswer(invocation -> {
+            Thread.sleep(delayMillis);
+            return willReturn;
+        });
+        return mockStore;
+    }
+
     private Store getMockStore(final Schema unusedSchema, final StoreProperties storeProperties, final O willReturn) throws uk.gov.gchq.gaffer.operation.OperationException {
         Store mockStore1 = Mockito.mock(Store.class);
         given(mockStore1.getSchema()).willReturn(unusedSchema);
@@ -18,22 +18,32 @@ package uk.gov.gchq.gaffer.federatedstore.operation.handler.impl;
 
 import com.google.common.collect.Lists;
 import org.junit.Before;
+import org.junit.Test;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.TransformIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStoreProperties;
 import uk.gov.gchq.gaffer.federatedstore.operation.handler.FederatedOperationOutputHandler;
 import uk.gov.gchq.gaffer.federatedstore.operation.handler.FederatedOperationOutputHandlerTest;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 
 public class FederatedGetElementsHandlerTest extends FederatedOperationOutputHandlerTest<GetElements, CloseableIterable<? extends Element>> {
 
@@ -56,6 +66,44 @@ public class FederatedGetElementsHandlerTest extends FederatedOperationOutputHan
                 .build()));
     }
 
+    @Test
+    public void shouldKeepGraphOrderWhenReadingGraphsConcurrently() throws Exception {
+        // Given
+        final Entity entity1 = new Entity.Builder().group(TEST_ENTITY).vertex("1").build();
+        final Entity entity2 = new Entity.Builder().group(TEST_ENTITY).vertex("2").build();
+        final Entity entity3 = new Entity.Builder().group(TEST_ENTITY).vertex("3").build();
+        final CloseableIterable<Element> slowResult = new TransformIterable<Element, Element>(Collections.singletonList(entity1)) {
+            @Override
+            protected Element transform(final Element element) {
+                try {
+                    Thread.sleep(200);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return element;
+            }
+        };
+        final List<CloseableIterable<? extends Element>> results = Arrays.asList(
+                slowResult,
+                new WrappedCloseableIterable<>(Arrays.asList(entity2, entity3)));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final FederatedStore store = mock(FederatedStore.class);
+        given(store.getGraphExecutor()).willReturn(executor);
+        given(store.getProperties()).willReturn(new FederatedStoreProperties());
+
+        // When
+        final List<Element> merged;
+        try {
+            merged = Lists.newArrayList(new FederatedGetElementsHandler().mergeResults(results, getExampleOperation(), context, store));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(Arrays.asList(entity1, entity2, entity3), merged);
+    }
+
     @Override
     protected FederatedOperationOutputHandler<GetElements, CloseableIterable<? extends Element>> getFederatedHandler() {
         return new FederatedGetElementsHandler();
@@ -42,9 +42,11 @@ public class HBaseProperties extends StoreProperties {
     public static final String WRITE_BUFFER_SIZE = "hbase.writeBufferSize";
     public static final String DEPENDENCY_JARS_HDFS_DIR_PATH = "hbase.hdfs.jars.path";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "hbase.entriesForBatchScanner";
+    public static final String REGION_AWARE_SCANNING = "hbase.regionAwareScanning";
 
     public static final int WRITE_BUFFER_SIZE_DEFAULT = 1000000;
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    public static final String REGION_AWARE_SCANNING_DEFAULT = "false";
 
     public HBaseProperties() {
         super(HBaseStore.class);
@@ -164,6 +166,26 @@ public class HBaseProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Get the flag determining whether seeded queries should group their row
+     * ranges by region server and scan each region server in parallel.
+     *
+     * @return true if seeded queries should use region aware scanning
+     */
+    public boolean getRegionAwareScanning() {
+        return Boolean.parseBoolean(get(REGION_AWARE_SCANNING, REGION_AWARE_SCANNING_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether seeded queries should group their row
+     * ranges by region server and scan each region server in parallel.
+     *
+     * @param regionAwareScanning true if seeded queries should use region aware scanning
+     */
+    public void setRegionAwareScanning(final boolean regionAwareScanning) {
+        set(REGION_AWARE_SCANNING, Boolean.toString(regionAwareScanning));
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
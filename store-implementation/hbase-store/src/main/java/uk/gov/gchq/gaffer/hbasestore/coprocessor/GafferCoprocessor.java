@@ -28,6 +28,7 @@ import org.apache.hadoop.hbase.regionserver.compactions.CompactionRequest;
 import org.apache.hadoop.hbase.util.Bytes;
 
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner.CountGroupsScanner;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner.QueryScanner;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner.StoreScanner;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
@@ -73,6 +74,10 @@ public class GafferCoprocessor extends BaseRegionObserver {
 
     @Override
     public RegionScanner postScannerOpen(final ObserverContext<RegionCoprocessorEnvironment> e, final Scan scan, final RegionScanner scanner) throws IOException {
-        return new QueryScanner(scanner, scan, schema, serialisation);
+        final QueryScanner queryScanner = new QueryScanner(scanner, scan, schema, serialisation);
+        if (null != scan.getAttribute(HBaseStoreConstants.COUNT_GROUPS)) {
+            return new CountGroupsScanner(queryScanner, serialisation);
+        }
+        return queryScanner;
     }
 }
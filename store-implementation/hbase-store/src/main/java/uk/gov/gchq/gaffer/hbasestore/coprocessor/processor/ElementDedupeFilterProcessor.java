@@ -17,7 +17,6 @@
 package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
 
 import org.apache.hadoop.hbase.Cell;
-import org.apache.hadoop.hbase.CellUtil;
 
 import uk.gov.gchq.gaffer.commonutil.ByteUtil;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
@@ -80,8 +79,7 @@ public class ElementDedupeFilterProcessor extends FilterProcessor {
     }
 
     private byte getFlag(final Cell cell) {
-        final byte[] rowID = CellUtil.cloneRow(cell);
-        return rowID[rowID.length - 1];
+        return cell.getRowArray()[cell.getRowOffset() + cell.getRowLength() - 1];
     }
 
     private boolean testEdge(final byte flag, final Cell cell) {
@@ -107,7 +105,7 @@ public class ElementDedupeFilterProcessor extends FilterProcessor {
     private boolean testForDuplicateUndirectedEdge(final Cell cell) {
         final byte[][] sourceDestValues = new byte[3][];
         try {
-            elementSerialisation.getSourceAndDestination(CellUtil.cloneRow(cell), sourceDestValues);
+            elementSerialisation.getSourceAndDestination(cell.getRowArray(), cell.getRowOffset(), cell.getRowLength(), sourceDestValues);
         } catch (final SerialisationException e) {
             throw new RuntimeException("Unable to deserialise element source and destination");
         }
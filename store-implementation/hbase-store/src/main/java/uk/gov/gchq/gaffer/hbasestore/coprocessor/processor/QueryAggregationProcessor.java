@@ -153,8 +153,8 @@ public class QueryAggregationProcessor implements GafferScannerProcessor {
         }
 
         try {
-            final byte[] groupByPropBytesLeft = serialisation.getPropertiesAsBytesFromColumnQualifier(group, CellUtil.cloneQualifier(left), groupBy.size());
-            final byte[] groupByPropBytesRight = serialisation.getPropertiesAsBytesFromColumnQualifier(group, CellUtil.cloneQualifier(right), groupBy.size());
+            final byte[] groupByPropBytesLeft = serialisation.getPropertiesAsBytesFromColumnQualifier(group, left.getQualifierArray(), left.getQualifierOffset(), left.getQualifierLength(), groupBy.size());
+            final byte[] groupByPropBytesRight = serialisation.getPropertiesAsBytesFromColumnQualifier(group, right.getQualifierArray(), right.getQualifierOffset(), right.getQualifierLength(), groupBy.size());
             return ByteUtil.areSortedBytesEqual(groupByPropBytesLeft, groupByPropBytesRight);
         } catch (final SerialisationException e) {
             throw new RuntimeException("Unable to serialise properties into bytes", e);
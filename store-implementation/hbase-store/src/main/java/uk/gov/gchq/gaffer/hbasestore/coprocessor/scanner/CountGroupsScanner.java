@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.regionserver.RegionScanner;
+import org.apache.hadoop.hbase.regionserver.ScannerContext;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@code CountGroupsScanner} counts the elements returned by a
+ * {@link QueryScanner} in each group, rather than returning the elements.
+ * <p>
+ * The rows of the region are counted in batches. For each batch a single row
+ * is returned containing a cell for each group, with the group as the column
+ * qualifier and the number of elements as the value. The column family of the
+ * cells is {@link HBaseStoreConstants#getCountColFam()}. The client should sum
+ * the counts from all the rows returned. Counting in batches keeps each call
+ * to the region server short, and the row returned is the last row counted so
+ * a scan restarted by the client does not count any rows twice.
+ * </p>
+ */
+public class CountGroupsScanner implements RegionScanner {
+    private static final int MAX_ROWS_PER_BATCH = 10000;
+
+    private final RegionScanner scanner;
+    private final ElementSerialisation serialisation;
+
+    public CountGroupsScanner(final RegionScanner scanner, final ElementSerialisation serialisation) {
+        this.scanner = scanner;
+        this.serialisation = serialisation;
+    }
+
+    @Override
+    public boolean next(final List<Cell> output) throws IOException {
+        return nextRaw(output);
+    }
+
+    @Override
+    public boolean next(final List<Cell> output, final ScannerContext scannerContext) throws IOException {
+        return nextRaw(output);
+    }
+
+    @Override
+    public boolean nextRaw(final List<Cell> output, final ScannerContext scannerContext) throws IOException {
+        return nextRaw(output);
+    }
+
+    @Override
+    public boolean nextRaw(final List<Cell> output) throws IOException {
+        final Map<String, Long> groupCounts = new HashMap<>();
+        final List<Cell> cells = new ArrayList<>();
+        Cell lastCell = null;
+        boolean moreRows = true;
+        int rows = 0;
+        while (moreRows && rows < MAX_ROWS_PER_BATCH) {
+            cells.clear();
+            moreRows = scanner.nextRaw(cells);
+            for (final Cell cell : cells) {
+                groupCounts.merge(getGroup(cell), 1L, Long::sum);
+                lastCell = cell;
+            }
+            rows++;
+        }
+
+        if (null != lastCell) {
+            final byte[] row = CellUtil.cloneRow(lastCell);
+            for (final Map.Entry<String, Long> entry : groupCounts.entrySet()) {
+                output.add(CellUtil.createCell(row, HBaseStoreConstants.getCountColFam(), Bytes.toBytes(entry.getKey()),
+                        HConstants.LATEST_TIMESTAMP, KeyValue.Type.Put.getCode(), Bytes.toBytes(entry.getValue())));
+            }
+        }
+        return moreRows;
+    }
+
+    @Override
+    public HRegionInfo getRegionInfo() {
+        return scanner.getRegionInfo();
+    }
+
+    @Override
+    public boolean isFilterDone() throws IOException {
+        return scanner.isFilterDone();
+    }
+
+    @Override
+    public boolean reseek(final byte[] row) throws IOException {
+        return scanner.reseek(row);
+    }
+
+    @Override
+    public long getMaxResultSize() {
+        return scanner.getMaxResultSize();
+    }
+
+    @Override
+    public long getMvccReadPoint() {
+        return scanner.getMvccReadPoint();
+    }
+
+    @Override
+    public int getBatch() {
+        return scanner.getBatch();
+    }
+
+    @Override
+    public void close() throws IOException {
+        scanner.close();
+    }
+
+    private String getGroup(final Cell cell) throws IOException {
+        try {
+            return serialisation.getGroup(cell);
+        } catch (final SerialisationException e) {
+            throw new IOException("Unable to deserialise the group of a cell", e);
+        }
+    }
+}
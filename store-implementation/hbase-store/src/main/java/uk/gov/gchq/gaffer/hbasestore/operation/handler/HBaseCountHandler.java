@@ -0,0 +1,54 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.operation.handler;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.hbasestore.retriever.HBaseRetriever;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.CountHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+
+/**
+ * A {@code HBaseCountHandler} handles {@link Count} operations. If the input
+ * is the output of a get elements operation on the HBase store, the elements
+ * are counted on the region servers so they are not sent to the client.
+ * Otherwise the items are counted by the {@link CountHandler}.
+ *
+ * @param <T> the type of items to count
+ */
+public class HBaseCountHandler<T> implements OutputOperationHandler<Count<T>, Long> {
+    private final CountHandler<T> handler = new CountHandler<>();
+
+    @Override
+    public Long doOperation(final Count<T> operation, final Context context, final Store store)
+            throws OperationException {
+        if (!HBaseCountGroupsHandler.isServerSideCountable(operation.getInput())) {
+            return handler.doOperation(operation, context, store);
+        }
+
+        try {
+            return ((HBaseRetriever<?>) operation.getInput()).count();
+        } catch (final RuntimeException e) {
+            throw new OperationException("Unable to count the elements", e);
+        } finally {
+            CloseableUtil.close(operation);
+        }
+    }
+}
@@ -17,12 +17,18 @@
 package uk.gov.gchq.gaffer.hbasestore.retriever;
 
 import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.client.RegionLocator;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
 import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
 import org.apache.hadoop.hbase.security.visibility.Authorizations;
 import org.apache.hadoop.hbase.util.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
@@ -30,8 +36,10 @@ import uk.gov.gchq.gaffer.commonutil.iterable.AlwaysValid;
 import uk.gov.gchq.gaffer.commonutil.iterable.BatchedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.PipelinedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.TransformOneToManyIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.data.GroupCounts;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
@@ -41,6 +49,7 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
+import uk.gov.gchq.gaffer.hbasestore.utils.RegionUtils;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.ElementValidator;
@@ -49,12 +58,25 @@ import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Element>> & GraphFilters> implements CloseableIterable<Element> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HBaseRetriever.class);
+    private static final int REGION_SERVER_SCAN_BUFFER_SIZE = 1000;
+    private static final ExecutorService SCAN_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final ElementSerialisation serialisation;
     private final RowRangeFactory rowRangeFactory;
     private final ElementValidator validator;
@@ -67,6 +89,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
 
     private CloseableIterator<Element> iterator;
     private Iterator<? extends ElementId> idsIterator;
+    private boolean countGroups;
 
     public HBaseRetriever(final HBaseStore store,
                           final OP operation,
@@ -111,6 +134,103 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         return iterator;
     }
 
+    /**
+     * Checks whether the elements can be counted on the region servers using
+     * {@link #countGroups(Integer)}. This is not possible if the view has post
+     * transform filters, as these are applied by the client.
+     *
+     * @return true if the groups can be counted on the region servers
+     */
+    public boolean canCountGroups() {
+        return !operation.getView().hasPostTransformFilters();
+    }
+
+    /**
+     * Counts the number of elements in each group. The elements are counted
+     * on the region servers so only the counts are sent back to the client.
+     * A group count larger than {@link Integer#MAX_VALUE} is reported as
+     * {@link Integer#MAX_VALUE}.
+     *
+     * @param limit the maximum number of elements to count, or null to count
+     *              all the elements
+     * @return the number of elements in each group
+     */
+    public GroupCounts countGroups(final Integer limit) {
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        final GroupCounts groupCounts = new GroupCounts();
+        groupCounts.setLimitHit(countGroups(limit, counts));
+        for (final Map.Entry<String, Long> entry : counts.entrySet()) {
+            final Map<String, Integer> groups = null != store.getSchema().getEntity(entry.getKey())
+                    ? groupCounts.getEntityGroups() : groupCounts.getEdgeGroups();
+            groups.put(entry.getKey(), (int) Math.min(Integer.MAX_VALUE, entry.getValue()));
+        }
+        return groupCounts;
+    }
+
+    /**
+     * Counts the number of elements on the region servers so only the counts
+     * are sent back to the client.
+     *
+     * @return the number of elements
+     */
+    public long count() {
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        countGroups(null, counts);
+        long total = 0;
+        for (final Long count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    // Adds the number of elements in each group to the counts and returns true if the limit was hit
+    private boolean countGroups(final Integer limit, final Map<String, Long> counts) {
+        // By design, only 1 iterator can be open at a time
+        close();
+
+        final byte[] countColFam = HBaseStoreConstants.getCountColFam();
+        long total = 0;
+        countGroups = true;
+        CloseableIterable<Result> scanner = null;
+        try {
+            if (null != ids) {
+                idsIterator = ids.iterator();
+                scanner = new BatchedResultScanner();
+            } else {
+                scanner = createScanner();
+            }
+
+            for (final Result result : scanner) {
+                for (final Cell cell : result.rawCells()) {
+                    if (!CellUtil.matchingFamily(cell, countColFam)) {
+                        throw new IllegalStateException("The region servers did not return group counts. "
+                                + "Check the Gaffer coprocessor on the region servers is the same version as the client.");
+                    }
+
+                    final String group = Bytes.toString(cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength());
+                    long count = Bytes.toLong(cell.getValueArray(), cell.getValueOffset(), cell.getValueLength());
+                    final boolean limitHit = null != limit && total + count > limit;
+                    if (limitHit) {
+                        count = limit - total;
+                    }
+                    total += count;
+                    if (count > 0) {
+                        counts.merge(group, count, Long::sum);
+                    }
+                    if (limitHit) {
+                        return true;
+                    }
+                }
+            }
+        } finally {
+            countGroups = false;
+            CloseableUtil.close(scanner);
+            close();
+        }
+
+        return false;
+    }
+
     @Override
     public void close() {
         if (null != iterator) {
@@ -150,37 +270,80 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
             return null;
         }
 
-        Table table = null;
+        if (null == idsIterator) {
+            return getScanner(createScan(null));
+        }
+
+        final List<RowRange> rowRanges = new ArrayList<>();
+        final int maxEntriesForBatchScanner = store.getProperties().getMaxEntriesForBatchScanner();
+        int count = 0;
         try {
-            final Scan scan = new Scan();
-
-            if (null != idsIterator) {
-                final List<MultiRowRangeFilter.RowRange> rowRanges = new ArrayList<>();
-                final int maxEntriesForBatchScanner = store.getProperties().getMaxEntriesForBatchScanner();
-                int count = 0;
-                while (idsIterator.hasNext() && count < maxEntriesForBatchScanner) {
-                    count++;
-                    rowRanges.addAll(rowRangeFactory.getRowRange(idsIterator.next(), operation));
-                }
+            while (idsIterator.hasNext() && count < maxEntriesForBatchScanner) {
+                count++;
+                rowRanges.addAll(rowRangeFactory.getRowRange(idsIterator.next(), operation));
+            }
+        } catch (final SerialisationException e) {
+            throw new RuntimeException(e);
+        }
+
+        if (rowRanges.isEmpty()) {
+            return new WrappedCloseableIterable<>(Collections.emptyList());
+        }
 
-                if (rowRanges.isEmpty()) {
-                    return new WrappedCloseableIterable<>(Collections.emptyList());
+        if (store.getProperties().getRegionAwareScanning()) {
+            final Collection<Map<HRegionInfo, List<RowRange>>> rangesByServer = groupRowRangesByRegionServer(rowRanges);
+            if (rangesByServer.size() > 1) {
+                final List<CloseableIterable<Result>> scanners = new ArrayList<>(rangesByServer.size());
+                for (final Map<HRegionInfo, List<RowRange>> serverRanges : rangesByServer) {
+                    scanners.add(new RegionResultScanner(serverRanges));
                 }
+                LOGGER.debug("Scanning {} row ranges on {} region servers", rowRanges.size(), rangesByServer.size());
+                return new PipelinedIterable<>(scanners, SCAN_EXECUTOR, REGION_SERVER_SCAN_BUFFER_SIZE);
+            }
+        }
 
+        return getScanner(createScan(rowRanges));
+    }
+
+    private Collection<Map<HRegionInfo, List<RowRange>>> groupRowRangesByRegionServer(final List<RowRange> rowRanges) {
+        try (final RegionLocator locator = store.getConnection().getRegionLocator(store.getTableName())) {
+            return RegionUtils.groupRowRangesByRegionServer(locator.getAllRegionLocations(), rowRanges);
+        } catch (final IOException | StoreException e) {
+            LOGGER.debug("Unable to locate the regions for table {}, using a single scan: {}", store.getTableName(), e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private Scan createScan(final List<RowRange> rowRanges) {
+        final Scan scan = new Scan();
+        try {
+            if (null != rowRanges) {
                 scan.setFilter(new MultiRowRangeFilter(rowRanges));
             }
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
 
-            scan.setAuthorizations(authorisations);
-            scan.setAttribute(HBaseStoreConstants.SCHEMA, store.getSchema().toCompactJson());
-            scan.setAttribute(HBaseStoreConstants.INCLUDE_MATCHED_VERTEX, Bytes.toBytes(Boolean.toString(includeMatchedVertex)));
-            scan.setAttribute(HBaseStoreConstants.VIEW, operation.getView().toCompactJson());
-            if (null != operation.getDirectedType()) {
-                scan.setAttribute(HBaseStoreConstants.DIRECTED_TYPE, Bytes.toBytes(operation.getDirectedType().name()));
-            }
-            if (null != extraProcessors) {
-                scan.setAttribute(HBaseStoreConstants.EXTRA_PROCESSORS, extraProcessors);
-            }
-            scan.setMaxVersions();
+        scan.setAuthorizations(authorisations);
+        scan.setAttribute(HBaseStoreConstants.SCHEMA, store.getSchema().toCompactJson());
+        scan.setAttribute(HBaseStoreConstants.INCLUDE_MATCHED_VERTEX, Bytes.toBytes(Boolean.toString(includeMatchedVertex)));
+        scan.setAttribute(HBaseStoreConstants.VIEW, operation.getView().toCompactJson());
+        if (null != operation.getDirectedType()) {
+            scan.setAttribute(HBaseStoreConstants.DIRECTED_TYPE, Bytes.toBytes(operation.getDirectedType().name()));
+        }
+        if (null != extraProcessors) {
+            scan.setAttribute(HBaseStoreConstants.EXTRA_PROCESSORS, extraProcessors);
+        }
+        if (countGroups) {
+            scan.setAttribute(HBaseStoreConstants.COUNT_GROUPS, Bytes.toBytes(Boolean.TRUE.toString()));
+        }
+        scan.setMaxVersions();
+        return scan;
+    }
+
+    private CloseableIterable<Result> getScanner(final Scan scan) {
+        Table table = null;
+        try {
             table = store.getTable();
             return new WrappedCloseableIterable<>(table.getScanner(scan));
         } catch (final IOException | StoreException e) {
@@ -198,6 +361,31 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         }
     }
 
+    /**
+     * Scans the regions of a single region server one after another, each
+     * scan being restricted to the region and the row ranges within it.
+     */
+    private final class RegionResultScanner extends BatchedIterable<Result> {
+        private final Iterator<Map.Entry<HRegionInfo, List<RowRange>>> regionsItr;
+
+        private RegionResultScanner(final Map<HRegionInfo, List<RowRange>> rangesByRegion) {
+            this.regionsItr = rangesByRegion.entrySet().iterator();
+        }
+
+        @Override
+        protected Iterable<Result> createBatch() {
+            if (!regionsItr.hasNext()) {
+                return null;
+            }
+
+            final Map.Entry<HRegionInfo, List<RowRange>> region = regionsItr.next();
+            final Scan scan = createScan(region.getValue());
+            scan.setStartRow(region.getKey().getStartKey());
+            scan.setStopRow(region.getKey().getEndKey());
+            return getScanner(scan);
+        }
+    }
+
     private final class HBaseRetrieverIterable extends TransformOneToManyIterable<Result, Element> {
         private final CloseableIterable<Result> scanner;
 
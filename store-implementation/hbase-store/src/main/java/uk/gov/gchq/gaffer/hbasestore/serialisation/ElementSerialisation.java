@@ -47,10 +47,11 @@ import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Iterator;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 public class ElementSerialisation {
     private static final Logger LOGGER = LoggerFactory.getLogger(ElementSerialisation.class);
 
@@ -104,12 +105,20 @@ public class ElementSerialisation {
 
     public Properties getPropertiesFromValue(final String group, final byte[] value)
             throws SerialisationException {
+        if (null == value) {
+            return new Properties();
+        }
+        return getPropertiesFromValue(group, value, 0, value.length);
+    }
+
+    public Properties getPropertiesFromValue(final String group, final byte[] value, final int offset, final int length)
+            throws SerialisationException {
         final Properties properties = new Properties();
-        if (null == value || value.length == 0) {
+        if (null == value || length == 0) {
             return properties;
         }
-        int lastDelimiter = 0;
-        final int arrayLength = value.length;
+        int lastDelimiter = offset;
+        final int arrayLength = offset + length;
         final SchemaElementDefinition elementDefinition = schema.getElement(group);
         if (null == elementDefinition) {
             throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
@@ -167,8 +176,8 @@ public class ElementSerialisation {
     }
 
     public Properties getProperties(final String group, final Cell cell) throws SerialisationException {
-        Properties properties = getPropertiesFromColumnQualifier(group, CellUtil.cloneQualifier(cell));
-        properties.putAll(getPropertiesFromValue(group, CellUtil.cloneValue(cell)));
+        Properties properties = getPropertiesFromColumnQualifier(group, cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength());
+        properties.putAll(getPropertiesFromValue(group, cell.getValueArray(), cell.getValueOffset(), cell.getValueLength()));
         properties.putAll(getPropertiesFromTimestamp(group, cell.getTimestamp()));
         return properties;
     }
@@ -248,18 +257,23 @@ public class ElementSerialisation {
 
     public Properties getPropertiesFromColumnQualifier(final String group, final byte[] bytes)
             throws SerialisationException {
+        return getPropertiesFromColumnQualifier(group, bytes, 0, null != bytes ? bytes.length : 0);
+    }
+
+    public Properties getPropertiesFromColumnQualifier(final String group, final byte[] bytes, final int offset, final int length)
+            throws SerialisationException {
         final SchemaElementDefinition elementDefinition = schema.getElement(group);
         if (null == elementDefinition) {
             throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
         }
 
         final Properties properties = new Properties();
-        if (null == bytes || bytes.length == 0) {
+        if (null == bytes || length == 0) {
             return properties;
         }
 
-        int carriage = CompactRawSerialisationUtils.decodeVIntSize(bytes[0]) + Bytes.toBytes(group).length;
-        final int arrayLength = bytes.length;
+        int carriage = offset + getGroupLength(bytes, offset);
+        final int arrayLength = offset + length;
 
         final Iterator<String> propertyNames = elementDefinition.getGroupBy().iterator();
         while (propertyNames.hasNext() && carriage < arrayLength) {
@@ -298,7 +312,12 @@ public class ElementSerialisation {
 
     public byte[] getPropertiesAsBytesFromColumnQualifier(final String group, final byte[] bytes, final int numProps)
             throws SerialisationException {
-        if (numProps == 0 || null == bytes || bytes.length == 0) {
+        return getPropertiesAsBytesFromColumnQualifier(group, bytes, 0, null != bytes ? bytes.length : 0, numProps);
+    }
+
+    public byte[] getPropertiesAsBytesFromColumnQualifier(final String group, final byte[] bytes, final int offset, final int length, final int numProps)
+            throws SerialisationException {
+        if (numProps == 0 || null == bytes || length == 0) {
             return HBaseStoreConstants.EMPTY_BYTES;
         }
         final SchemaElementDefinition elementDefinition = schema.getElement(group);
@@ -306,23 +325,18 @@ public class ElementSerialisation {
             throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
         }
 
-        final int firstDelimiter = CompactRawSerialisationUtils.decodeVIntSize(bytes[0]) + Bytes.toBytes(group).length;
+        final int firstDelimiter = offset + getGroupLength(bytes, offset);
+        final int arrayLength = offset + length;
         if (numProps == elementDefinition.getProperties().size()) {
-            final int length = bytes.length - firstDelimiter;
-            final byte[] propertyBytes = new byte[length];
-            System.arraycopy(bytes, firstDelimiter, propertyBytes, 0, length);
-            return propertyBytes;
+            return Arrays.copyOfRange(bytes, firstDelimiter, arrayLength);
         }
         int lastDelimiter = firstDelimiter;
-        final int arrayLength = bytes.length;
         long currentPropLength;
         int propIndex = 0;
         while (propIndex < numProps && lastDelimiter < arrayLength) {
             final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[lastDelimiter]);
-            final byte[] length = new byte[numBytesForLength];
-            System.arraycopy(bytes, lastDelimiter, length, 0, numBytesForLength);
             try {
-                currentPropLength = CompactRawSerialisationUtils.readLong(length);
+                currentPropLength = CompactRawSerialisationUtils.readLong(bytes, lastDelimiter);
             } catch (final SerialisationException e) {
                 throw new SerialisationException("Exception reading length of property");
             }
@@ -335,10 +349,7 @@ public class ElementSerialisation {
             propIndex++;
         }
 
-        final int length = lastDelimiter - firstDelimiter;
-        final byte[] propertyBytes = new byte[length];
-        System.arraycopy(bytes, firstDelimiter, propertyBytes, 0, length);
-        return propertyBytes;
+        return Arrays.copyOfRange(bytes, firstDelimiter, lastDelimiter);
     }
 
     public long getTimestamp(final Element element) throws SerialisationException {
@@ -393,25 +404,38 @@ public class ElementSerialisation {
     }
 
     public boolean isEntity(final Cell cell) throws SerialisationException {
-        final byte[] row = CellUtil.cloneRow(cell);
-        return row[row.length - 1] == HBaseStoreConstants.ENTITY;
+        return cell.getRowArray()[cell.getRowOffset() + cell.getRowLength() - 1] == HBaseStoreConstants.ENTITY;
     }
 
 
     public String getGroup(final Cell cell) throws SerialisationException {
-        return getGroup(CellUtil.cloneQualifier(cell));
+        return getGroup(cell.getQualifierArray(), cell.getQualifierOffset());
     }
 
     public String getGroup(final byte[] columnQualifier) throws SerialisationException {
+        return getGroup(columnQualifier, 0);
+    }
+
+    private String getGroup(final byte[] columnQualifier, final int offset) throws SerialisationException {
         try {
-            final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(columnQualifier[0]);
-            int currentPropLength = (int) CompactRawSerialisationUtils.readLong(columnQualifier, 0);
-            return new String(columnQualifier, numBytesForLength, currentPropLength, Charset.forName("UTF-8"));
+            final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(columnQualifier[offset]);
+            int currentPropLength = (int) CompactRawSerialisationUtils.readLong(columnQualifier, offset);
+            return new String(columnQualifier, offset + numBytesForLength, currentPropLength, UTF_8);
         } catch (final SerialisationException e) {
             throw new SerialisationException("Exception reading length of property");
         }
     }
 
+    // The number of bytes used by the group, and its length, at the start of a column qualifier
+    private int getGroupLength(final byte[] columnQualifier, final int offset) throws SerialisationException {
+        try {
+            return CompactRawSerialisationUtils.decodeVIntSize(columnQualifier[offset])
+                    + (int) CompactRawSerialisationUtils.readLong(columnQualifier, offset);
+        } catch (final SerialisationException e) {
+            throw new SerialisationException("Exception reading length of group");
+        }
+    }
+
     @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST", justification = "If an element is not an Entity it must be an Edge")
     public Pair<byte[], byte[]> getRowKeys(final Element element) throws SerialisationException {
         if (element instanceof Entity) {
@@ -529,12 +553,17 @@ public class ElementSerialisation {
     }
 
     public EdgeDirection getSourceAndDestination(final byte[] rowKey, final byte[][] sourceDestValues) throws SerialisationException {
+        return getSourceAndDestination(rowKey, 0, rowKey.length, sourceDestValues);
+    }
+
+    public EdgeDirection getSourceAndDestination(final byte[] rowKey, final int offset, final int length, final byte[][] sourceDestValues) throws SerialisationException {
         // Get element class, sourceValue, destinationValue and directed flag from row cell
         // Expect to find 3 delimiters (4 fields)
         final int[] positionsOfDelimiters = new int[3];
         short numDelims = 0;
+        final int end = offset + length;
         // Last byte will be directional flag so don't count it
-        for (int i = 0; i < rowKey.length - 1; ++i) {
+        for (int i = offset; i < end - 1; ++i) {
             if (rowKey[i] == ByteArrayEscapeUtils.DELIMITER) {
                 if (numDelims >= 3) {
                     throw new SerialisationException(
@@ -552,11 +581,11 @@ public class ElementSerialisation {
         // If the edge is directed then need to decide which way round the vertices should go.
         byte directionFlag;
         try {
-            directionFlag = rowKey[rowKey.length - 1];
+            directionFlag = rowKey[end - 1];
         } catch (final NumberFormatException e) {
             throw new SerialisationException("Error parsing direction flag from row cell - " + e);
         }
-        byte[] sourceBytes = ByteArrayEscapeUtils.unEscape(rowKey, 0, positionsOfDelimiters[0]);
+        byte[] sourceBytes = ByteArrayEscapeUtils.unEscape(rowKey, offset, positionsOfDelimiters[0]);
         byte[] destBytes = ByteArrayEscapeUtils.unEscape(rowKey, positionsOfDelimiters[1] + 1, positionsOfDelimiters[2]);
         sourceDestValues[0] = sourceBytes;
         sourceDestValues[1] = destBytes;
@@ -597,9 +626,9 @@ public class ElementSerialisation {
     private void addPropertiesToElement(final Element element, final Cell cell)
             throws SerialisationException {
         element.copyProperties(
-                getPropertiesFromColumnQualifier(element.getGroup(), CellUtil.cloneQualifier(cell)));
+                getPropertiesFromColumnQualifier(element.getGroup(), cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength()));
         element.copyProperties(
-                getPropertiesFromValue(element.getGroup(), CellUtil.cloneValue(cell)));
+                getPropertiesFromValue(element.getGroup(), cell.getValueArray(), cell.getValueOffset(), cell.getValueLength()));
         element.copyProperties(
                 getPropertiesFromTimestamp(element.getGroup(), cell.getTimestamp()));
     }
@@ -612,7 +641,7 @@ public class ElementSerialisation {
     private Edge getEdge(final Cell cell, final boolean includeMatchedVertex)
             throws SerialisationException {
         final byte[][] result = new byte[3][];
-        final EdgeDirection direction = getSourceAndDestination(CellUtil.cloneRow(cell), result);
+        final EdgeDirection direction = getSourceAndDestination(cell.getRowArray(), cell.getRowOffset(), cell.getRowLength(), result);
         final EdgeId.MatchedVertex matchedVertex;
         if (!includeMatchedVertex) {
             matchedVertex = null;
@@ -635,9 +664,8 @@ public class ElementSerialisation {
     private Entity getEntity(final Cell cell) throws SerialisationException {
 
         try {
-            final byte[] row = CellUtil.cloneRow(cell);
             final Entity entity = new Entity(getGroup(cell), ((ToBytesSerialiser) schema.getVertexSerialiser())
-                    .deserialise(ByteArrayEscapeUtils.unEscape(row, 0, row.length - 2)));
+                    .deserialise(ByteArrayEscapeUtils.unEscape(cell.getRowArray(), cell.getRowOffset(), cell.getRowOffset() + cell.getRowLength() - 2)));
             addPropertiesToElement(entity, cell);
             return entity;
         } catch (final SerialisationException e) {
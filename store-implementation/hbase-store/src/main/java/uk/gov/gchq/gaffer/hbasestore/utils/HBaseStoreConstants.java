@@ -24,10 +24,23 @@ public final class HBaseStoreConstants {
 
     private static final byte[] COL_FAM = Bytes.toBytes("e"); // e - for Elements/Edges/Entities
 
+    private static final byte[] COUNT_COL_FAM = Bytes.toBytes("c"); // c - for group Counts
+
     public static byte[] getColFam() {
         return Bytes.copy(COL_FAM);
     }
 
+    /**
+     * Gets the column family of the cells returned by a scan with the
+     * {@link #COUNT_GROUPS} option. These cells hold the number of elements
+     * in a group and are never stored in the table.
+     *
+     * @return the column family of the group count cells
+     */
+    public static byte[] getCountColFam() {
+        return Bytes.copy(COUNT_COL_FAM);
+    }
+
     /**
      * Schema configuration property to set the timestamp property used in a schema that should be assigned to the timestamp column in Accumulo.
      * This is an advanced feature - if you use it then make sure you really understand it.
@@ -41,6 +54,7 @@ public final class HBaseStoreConstants {
     public static final String EXTRA_PROCESSORS = "ExtraProcessors";
     public static final String DIRECTED_TYPE = "DirectedType";
     public static final String INCLUDE_MATCHED_VERTEX = "IncludeMatchedVertex";
+    public static final String COUNT_GROUPS = "CountGroups";
 
     // Operations options
     public static final String OPERATION_HDFS_STAGING_PATH = "hbasestore.operation.hdfs.staging.path";
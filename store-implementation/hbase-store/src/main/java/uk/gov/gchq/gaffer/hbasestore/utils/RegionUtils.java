@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.utils;
+
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.HRegionLocation;
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utilities for working with the locations of HBase regions.
+ */
+public final class RegionUtils {
+    private RegionUtils() {
+        // private to prevent this class being instantiated.
+        // All methods are static and should be called directly.
+    }
+
+    /**
+     * Groups the row ranges by the region server hosting them. For each
+     * region server the row ranges are grouped by the region they overlap,
+     * in the order of the regions. Each row range is clipped to the regions
+     * it overlaps, so a row range spanning several regions is split between
+     * them and no part of a row range appears in more than one region.
+     *
+     * @param locations the locations of the regions of the table
+     * @param rowRanges the row ranges to group
+     * @return the row ranges for each region of each region server
+     */
+    public static Collection<Map<HRegionInfo, List<RowRange>>> groupRowRangesByRegionServer(
+            final List<HRegionLocation> locations, final List<RowRange> rowRanges) {
+        final List<HRegionLocation> sortedLocations = new ArrayList<>(locations);
+        sortedLocations.sort((first, second) -> Bytes.compareTo(
+                first.getRegionInfo().getStartKey(), second.getRegionInfo().getStartKey()));
+
+        final Map<ServerName, Map<HRegionInfo, List<RowRange>>> rangesByServer = new LinkedHashMap<>();
+        for (final RowRange rowRange : rowRanges) {
+            for (int i = getFirstRegion(sortedLocations, rowRange.getStartRow()); i < sortedLocations.size(); i++) {
+                final HRegionLocation location = sortedLocations.get(i);
+                final HRegionInfo region = location.getRegionInfo();
+                if (isAfter(region.getStartKey(), rowRange)) {
+                    break;
+                }
+
+                final RowRange clippedRange = clip(region, rowRange);
+                if (null != clippedRange) {
+                    rangesByServer.computeIfAbsent(location.getServerName(), k -> new LinkedHashMap<>())
+                            .computeIfAbsent(region, k -> new ArrayList<>())
+                            .add(clippedRange);
+                }
+            }
+        }
+        return rangesByServer.values();
+    }
+
+    private static int getFirstRegion(final List<HRegionLocation> sortedLocations, final byte[] row) {
+        // Binary search for the last region starting at or before the row
+        int low = 0;
+        int high = sortedLocations.size() - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (Bytes.compareTo(sortedLocations.get(mid).getRegionInfo().getStartKey(), row) <= 0) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private static boolean isAfter(final byte[] regionStart, final RowRange rowRange) {
+        final byte[] stopRow = rowRange.getStopRow();
+        if (isEmpty(stopRow) || isEmpty(regionStart)) {
+            return false;
+        }
+        final int comparison = Bytes.compareTo(regionStart, stopRow);
+        return comparison > 0 || (0 == comparison && !rowRange.isStopRowInclusive());
+    }
+
+    private static RowRange clip(final HRegionInfo region, final RowRange rowRange) {
+        byte[] startRow = rowRange.getStartRow();
+        boolean startInclusive = rowRange.isStartRowInclusive();
+        if (!isEmpty(region.getStartKey())
+                && (isEmpty(startRow) || Bytes.compareTo(region.getStartKey(), startRow) > 0)) {
+            startRow = region.getStartKey();
+            startInclusive = true;
+        }
+
+        byte[] stopRow = rowRange.getStopRow();
+        boolean stopInclusive = rowRange.isStopRowInclusive();
+        if (!isEmpty(region.getEndKey())) {
+            // The end key of a region is exclusive
+            final int comparison = isEmpty(stopRow) ? -1 : Bytes.compareTo(region.getEndKey(), stopRow);
+            if (comparison < 0 || (0 == comparison && stopInclusive)) {
+                stopRow = region.getEndKey();
+                stopInclusive = false;
+            }
+        }
+
+        if (!isEmpty(stopRow)) {
+            final int comparison = Bytes.compareTo(startRow, stopRow);
+            if (comparison > 0 || (0 == comparison && !(startInclusive && stopInclusive))) {
+                return null;
+            }
+        }
+        return new RowRange(startRow, startInclusive, stopRow, stopInclusive);
+    }
+
+    private static boolean isEmpty(final byte[] row) {
+        return null == row || 0 == row.length;
+    }
+}
@@ -28,6 +28,8 @@ import java.io.IOException;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class HBasePropertiesTest {
     @Test
@@ -39,11 +41,25 @@ public class HBasePropertiesTest {
         properties.setDependencyJarsHdfsDirPath("pathTo/jars");
         properties.setWriteBufferSize(10);
         properties.setZookeepers("zookeeper1,zookeeper2");
+        properties.setRegionAwareScanning(true);
 
         // Then
         assertEquals(new Path("pathTo/jars"), properties.getDependencyJarsHdfsDirPath());
         assertEquals(10, properties.getWriteBufferSize());
         assertEquals("zookeeper1,zookeeper2", properties.getZookeepers());
+        assertTrue(properties.getRegionAwareScanning());
+    }
+
+    @Test
+    public void shouldNotUseRegionAwareScanningByDefault() {
+        // Given
+        final HBaseProperties properties = new HBaseProperties();
+
+        // When
+        final boolean regionAwareScanning = properties.getRegionAwareScanning();
+
+        // Then
+        assertFalse(regionAwareScanning);
     }
 
     @Test
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.regionserver.RegionScanner;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class CountGroupsScannerTest {
+    private static final Schema SCHEMA = new Schema.Builder()
+            .type("string", String.class)
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("true")
+                    .build())
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .build())
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    private final ElementSerialisation serialisation = new ElementSerialisation(SCHEMA);
+
+    @Test
+    public void shouldCountTheCellsInEachGroup() throws IOException {
+        // Given
+        final Cell entity1 = getEntityCell("vertex1");
+        final Cell entity2 = getEntityCell("vertex2");
+        final Cell edge = getCell(new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("vertex2")
+                .dest("vertex3")
+                .directed(true)
+                .build());
+        final RegionScanner scanner = mockScanner(
+                Arrays.asList(entity1),
+                Arrays.asList(entity2, edge));
+        final CountGroupsScanner countGroupsScanner = new CountGroupsScanner(scanner, serialisation);
+        final List<Cell> output = new ArrayList<>();
+
+        // When
+        final boolean moreRows = countGroupsScanner.nextRaw(output);
+
+        // Then
+        assertFalse(moreRows);
+        assertEquals(2, output.size());
+        final Map<String, Long> counts = new HashMap<>();
+        for (final Cell cell : output) {
+            assertArrayEquals(HBaseStoreConstants.getCountColFam(), CellUtil.cloneFamily(cell));
+            assertArrayEquals(CellUtil.cloneRow(edge), CellUtil.cloneRow(cell));
+            counts.put(Bytes.toString(CellUtil.cloneQualifier(cell)),
+                    Bytes.toLong(CellUtil.cloneValue(cell)));
+        }
+        assertEquals(2L, (long) counts.get(TestGroups.ENTITY));
+        assertEquals(1L, (long) counts.get(TestGroups.EDGE));
+    }
+
+    @Test
+    public void shouldReturnNoCellsWhenNoRowsScanned() throws IOException {
+        // Given
+        final RegionScanner scanner = mockScanner(new ArrayList<>());
+        final CountGroupsScanner countGroupsScanner = new CountGroupsScanner(scanner, serialisation);
+        final List<Cell> output = new ArrayList<>();
+
+        // When
+        final boolean moreRows = countGroupsScanner.next(output);
+
+        // Then
+        assertFalse(moreRows);
+        assertTrue(output.isEmpty());
+    }
+
+    @Test
+    public void shouldDelegateMethodsToInternalScanner() throws IOException {
+        final RegionScanner scanner = mock(RegionScanner.class);
+        final CountGroupsScanner countGroupsScanner = new CountGroupsScanner(scanner, serialisation);
+
+        final HRegionInfo regionInfo = mock(HRegionInfo.class);
+        given(scanner.getRegionInfo()).willReturn(regionInfo);
+        assertSame(regionInfo, countGroupsScanner.getRegionInfo());
+        verify(scanner).getRegionInfo();
+
+        given(scanner.isFilterDone()).willReturn(true);
+        assertTrue(countGroupsScanner.isFilterDone());
+        verify(scanner).isFilterDone();
+
+        final byte[] bytes = new byte[]{0, 1, 2, 3};
+        given(scanner.reseek(bytes)).willReturn(true);
+        assertTrue(countGroupsScanner.reseek(bytes));
+        verify(scanner).reseek(bytes);
+
+        given(scanner.getMaxResultSize()).willReturn(100L);
+        assertEquals(100L, countGroupsScanner.getMaxResultSize());
+        verify(scanner).getMaxResultSize();
+
+        given(scanner.getMvccReadPoint()).willReturn(200L);
+        assertEquals(200L, countGroupsScanner.getMvccReadPoint());
+        verify(scanner).getMvccReadPoint();
+
+        given(scanner.getBatch()).willReturn(2);
+        assertEquals(2, countGroupsScanner.getBatch());
+        verify(scanner).getBatch();
+
+        countGroupsScanner.close();
+        verify(scanner).close();
+    }
+
+    private Cell getEntityCell(final String vertex) throws SerialisationException {
+        return getCell(new Entity(TestGroups.ENTITY, vertex));
+    }
+
+    private Cell getCell(final Element element) throws SerialisationException {
+        return serialisation.getPuts(element).getFirst().getFamilyCellMap().values().iterator().next().get(0);
+    }
+
+    private RegionScanner mockScanner(final List<Cell>... rows) throws IOException {
+        final RegionScanner scanner = mock(RegionScanner.class);
+        final Iterator<List<Cell>> rowsItr = Arrays.asList(rows).iterator();
+        given(scanner.nextRaw(anyList())).willAnswer(invocation -> {
+            ((List<Cell>) invocation.getArguments()[0]).addAll(rowsItr.next());
+            return rowsItr.hasNext();
+        });
+        return scanner;
+    }
+}
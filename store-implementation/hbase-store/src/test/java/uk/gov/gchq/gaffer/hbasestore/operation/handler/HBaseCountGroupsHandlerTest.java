@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.operation.handler;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
+import uk.gov.gchq.gaffer.data.GroupCounts;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+import uk.gov.gchq.gaffer.hbasestore.retriever.HBaseRetriever;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.CountGroups;
+import uk.gov.gchq.gaffer.store.Context;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class HBaseCountGroupsHandlerTest {
+    @Test
+    public void shouldCountGroupsOnRegionServers() throws OperationException {
+        // Given
+        final HBaseRetriever retriever = mock(HBaseRetriever.class);
+        final GroupCounts groupCounts = new GroupCounts();
+        given(retriever.canCountGroups()).willReturn(true);
+        given(retriever.countGroups(10)).willReturn(groupCounts);
+        final CountGroups countGroups = new CountGroups.Builder()
+                .input(retriever)
+                .limit(10)
+                .build();
+
+        // When
+        final GroupCounts result = new HBaseCountGroupsHandler().doOperation(countGroups, new Context(), mock(HBaseStore.class));
+
+        // Then
+        assertSame(groupCounts, result);
+        verify(retriever).close();
+        verify(retriever, never()).iterator();
+    }
+
+    @Test
+    public void shouldCountGroupsOnClientWhenRetrieverCannotCountGroups() throws OperationException {
+        // Given
+        final HBaseRetriever retriever = mock(HBaseRetriever.class);
+        given(retriever.canCountGroups()).willReturn(false);
+        given(retriever.iterator()).willReturn(new WrappedCloseableIterator<>(getElements().iterator()));
+        final CountGroups countGroups = new CountGroups.Builder()
+                .input(retriever)
+                .build();
+
+        // When
+        final GroupCounts result = new HBaseCountGroupsHandler().doOperation(countGroups, new Context(), mock(HBaseStore.class));
+
+        // Then
+        assertEquals(2, (int) result.getEntityGroups().get(TestGroups.ENTITY));
+        assertEquals(1, (int) result.getEdgeGroups().get(TestGroups.EDGE));
+        verify(retriever, never()).countGroups(null);
+    }
+
+    @Test
+    public void shouldCountOnRegionServers() throws OperationException {
+        // Given
+        final HBaseRetriever retriever = mock(HBaseRetriever.class);
+        final long elementCount = Integer.MAX_VALUE + 5L;
+        given(retriever.canCountGroups()).willReturn(true);
+        given(retriever.count()).willReturn(elementCount);
+        final Count<Element> count = new Count<>();
+        count.setInput(retriever);
+
+        // When
+        final Long result = new HBaseCountHandler<Element>().doOperation(count, new Context(), mock(HBaseStore.class));
+
+        // Then
+        assertEquals(elementCount, (long) result);
+        verify(retriever).close();
+        verify(retriever, never()).iterator();
+    }
+
+    @Test
+    public void shouldCountOnClientWhenInputIsNotARetriever() throws OperationException {
+        // Given
+        final Count<Element> count = new Count<>();
+        count.setInput(getElements());
+
+        // When
+        final Long result = new HBaseCountHandler<Element>().doOperation(count, new Context(), mock(HBaseStore.class));
+
+        // Then
+        assertEquals(3L, (long) result);
+    }
+
+    private List<Element> getElements() {
+        return Arrays.asList(
+                new Entity(TestGroups.ENTITY, "vertex1"),
+                new Entity(TestGroups.ENTITY, "vertex2"),
+                new Edge.Builder().group(TestGroups.EDGE).source("vertex1").dest("vertex2").directed(true).build());
+    }
+}
@@ -15,6 +15,9 @@
  */
 package uk.gov.gchq.gaffer.hbasestore.serialisation;
 
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.KeyValue;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -626,6 +629,85 @@ public class ElementSerialisationTest {
         assertEquals(EdgeDirection.UNDIRECTED, direction);
     }
 
+    @Test
+    public void shouldDeserialiseSourceDestinationValuesFromOffset() throws SerialisationException {
+        // Given
+        final Edge edge = new Edge.Builder()
+                .source("1")
+                .dest("2")
+                .directed(true)
+                .group(TestGroups.ENTITY)
+                .build();
+
+        final byte[] rowKey = serialisation.getRowKeys(edge).getSecond();
+        final byte[] paddedRowKey = new byte[rowKey.length + 6];
+        System.arraycopy(rowKey, 0, paddedRowKey, 3, rowKey.length);
+        final byte[][] sourceDestValues = new byte[2][];
+
+        // When
+        final EdgeDirection direction = serialisation.getSourceAndDestination(paddedRowKey, 3, rowKey.length, sourceDestValues);
+
+        // Then
+        assertEquals(EdgeDirection.DIRECTED_REVERSED, direction);
+        assertArrayEquals("1".getBytes(), sourceDestValues[0]);
+        assertArrayEquals("2".getBytes(), sourceDestValues[1]);
+    }
+
+    @Test
+    public void shouldGetElementAndPropertiesFromCellWithSharedBackingArray() throws SerialisationException {
+        // Given
+        final Edge edge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("1")
+                .dest("2")
+                .directed(true)
+                .property(HBasePropertyNames.COLUMN_QUALIFIER, 1)
+                .property(HBasePropertyNames.PROP_1, 60)
+                .property(HBasePropertyNames.COUNT, 8)
+                .build();
+        // A KeyValue stores the row, qualifier and value in a single backing array
+        final Cell cell = CellUtil.createCell(serialisation.getRowKeys(edge).getFirst(), HBaseStoreConstants.getColFam(),
+                serialisation.getColumnQualifier(edge), 1L, KeyValue.Type.Put.getCode(), serialisation.getValue(edge));
+
+        // When
+        final Edge result = (Edge) serialisation.getElement(cell, false);
+        final Properties properties = serialisation.getProperties(TestGroups.EDGE, cell);
+
+        // Then
+        assertEquals(TestGroups.EDGE, serialisation.getGroup(cell));
+        assertEquals("1", result.getSource());
+        assertEquals("2", result.getDestination());
+        assertEquals(true, result.isDirected());
+        assertEquals(1, result.getProperty(HBasePropertyNames.COLUMN_QUALIFIER));
+        assertEquals(60, result.getProperty(HBasePropertyNames.PROP_1));
+        assertEquals(8, result.getProperty(HBasePropertyNames.COUNT));
+        assertEquals(1, properties.get(HBasePropertyNames.COLUMN_QUALIFIER));
+        assertEquals(60, properties.get(HBasePropertyNames.PROP_1));
+        assertEquals(8, properties.get(HBasePropertyNames.COUNT));
+    }
+
+    @Test
+    public void shouldTruncatePropertyBytesFromOffset() throws Exception {
+        // Given
+        final Properties properties = new Properties() {
+            {
+                put(HBasePropertyNames.COLUMN_QUALIFIER, 1);
+                put(HBasePropertyNames.COLUMN_QUALIFIER_2, 2);
+                put(HBasePropertyNames.COLUMN_QUALIFIER_3, 3);
+                put(HBasePropertyNames.COLUMN_QUALIFIER_4, 4);
+            }
+        };
+        final byte[] bytes = serialisation.getColumnQualifier(TestGroups.EDGE, properties);
+        final byte[] paddedBytes = new byte[bytes.length + 4];
+        System.arraycopy(bytes, 0, paddedBytes, 2, bytes.length);
+
+        // When
+        final byte[] truncatedPropertyBytes = serialisation.getPropertiesAsBytesFromColumnQualifier(TestGroups.EDGE, paddedBytes, 2, bytes.length, 2);
+
+        // Then
+        assertArrayEquals(serialisation.getPropertiesAsBytesFromColumnQualifier(TestGroups.EDGE, bytes, 2), truncatedPropertyBytes);
+    }
+
     private Entity getExampleEntity(final int value) {
         final Entity entity = new Entity(TestGroups.ENTITY);
         entity.putProperty(HBasePropertyNames.COLUMN_QUALIFIER, value);
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.util;
+
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.HRegionLocation;
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.hbasestore.utils.RegionUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RegionUtilsTest {
+    private static final TableName TABLE = TableName.valueOf("table");
+    private static final ServerName SERVER_1 = ServerName.valueOf("server1", 16020, 1L);
+    private static final ServerName SERVER_2 = ServerName.valueOf("server2", 16020, 1L);
+
+    private final HRegionInfo region1 = createRegion(null, "c");
+    private final HRegionInfo region2 = createRegion("c", "f");
+    private final HRegionInfo region3 = createRegion("f", null);
+    private final List<HRegionLocation> locations = Arrays.asList(
+            new HRegionLocation(region3, SERVER_1),
+            new HRegionLocation(region2, SERVER_2),
+            new HRegionLocation(region1, SERVER_1));
+
+    @Test
+    public void shouldGroupRowRangesByRegionServer() {
+        // Given
+        final List<RowRange> rowRanges = Arrays.asList(
+                createRowRange("g", true, "h", true),
+                createRowRange("d", true, "e", true),
+                createRowRange("a", true, "b", false));
+
+        // When
+        final Collection<Map<HRegionInfo, List<RowRange>>> result =
+                RegionUtils.groupRowRangesByRegionServer(locations, rowRanges);
+
+        // Then
+        assertEquals(2, result.size());
+        final Iterator<Map<HRegionInfo, List<RowRange>>> itr = result.iterator();
+        final Map<HRegionInfo, List<RowRange>> server1 = itr.next();
+        assertEquals(Arrays.asList(region3, region1), new ArrayList<>(server1.keySet()));
+        assertRowRanges(Collections.singletonList("[g,h]"), server1.get(region3));
+        assertRowRanges(Collections.singletonList("[a,b)"), server1.get(region1));
+        final Map<HRegionInfo, List<RowRange>> server2 = itr.next();
+        assertEquals(Collections.singletonList(region2), new ArrayList<>(server2.keySet()));
+        assertRowRanges(Collections.singletonList("[d,e]"), server2.get(region2));
+    }
+
+    @Test
+    public void shouldClipRowRangesSpanningRegions() {
+        // Given
+        final List<RowRange> rowRanges = Collections.singletonList(createRowRange("b", false, "g", true));
+
+        // When
+        final Collection<Map<HRegionInfo, List<RowRange>>> result =
+                RegionUtils.groupRowRangesByRegionServer(locations, rowRanges);
+
+        // Then
+        assertEquals(2, result.size());
+        final Iterator<Map<HRegionInfo, List<RowRange>>> itr = result.iterator();
+        final Map<HRegionInfo, List<RowRange>> server1 = itr.next();
+        assertRowRanges(Collections.singletonList("(b,c)"), server1.get(region1));
+        assertRowRanges(Collections.singletonList("[f,g]"), server1.get(region3));
+        final Map<HRegionInfo, List<RowRange>> server2 = itr.next();
+        assertRowRanges(Collections.singletonList("[c,f)"), server2.get(region2));
+    }
+
+    @Test
+    public void shouldNotIncludeRegionStartingAtExclusiveStopRow() {
+        // Given
+        final List<RowRange> rowRanges = Collections.singletonList(createRowRange("a", true, "c", false));
+
+        // When
+        final Collection<Map<HRegionInfo, List<RowRange>>> result =
+                RegionUtils.groupRowRangesByRegionServer(locations, rowRanges);
+
+        // Then
+        assertEquals(1, result.size());
+        final Map<HRegionInfo, List<RowRange>> server1 = result.iterator().next();
+        assertEquals(Collections.singletonList(region1), new ArrayList<>(server1.keySet()));
+        assertRowRanges(Collections.singletonList("[a,c)"), server1.get(region1));
+    }
+
+    @Test
+    public void shouldReturnNoGroupsForNoRowRanges() {
+        // When
+        final Collection<Map<HRegionInfo, List<RowRange>>> result =
+                RegionUtils.groupRowRangesByRegionServer(locations, Collections.emptyList());
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    private static HRegionInfo createRegion(final String startKey, final String endKey) {
+        return new HRegionInfo(TABLE,
+                null == startKey ? null : Bytes.toBytes(startKey),
+                null == endKey ? null : Bytes.toBytes(endKey));
+    }
+
+    private static RowRange createRowRange(final String startRow, final boolean startInclusive,
+                                           final String stopRow, final boolean stopInclusive) {
+        return new RowRange(Bytes.toBytes(startRow), startInclusive, Bytes.toBytes(stopRow), stopInclusive);
+    }
+
+    private static void assertRowRanges(final List<String> expected, final List<RowRange> rowRanges) {
+        final List<String> actual = new ArrayList<>(rowRanges.size());
+        for (final RowRange rowRange : rowRanges) {
+            actual.add((rowRange.isStartRowInclusive() ? "[" : "(")
+                    + Bytes.toString(rowRange.getStartRow()) + ","
+                    + Bytes.toString(rowRange.getStopRow())
+                    + (rowRange.isStopRowInclusive() ? "]" : ")"));
+        }
+        assertEquals(expected, actual);
+    }
+}
@@ -47,6 +47,28 @@ public class MapStoreProperties extends StoreProperties {
     public static final String INGEST_BUFFER_SIZE = "gaffer.store.mapstore.map.ingest.buffer.size";
     public static final int INGEST_BUFFER_SIZE_DEFAULT = 0;
 
+    /**
+     * Property name for the number of partitions to aggregate each buffered
+     * batch of elements in parallel. Defaults to 1, so batches are aggregated
+     * on the ingesting thread.
+     */
+    public static final String INGEST_AGGREGATION_PARALLELISM = "gaffer.store.mapstore.map.ingest.aggregation.parallelism";
+    public static final int INGEST_AGGREGATION_PARALLELISM_DEFAULT = 1;
+
+    /**
+     * Property name for the directory to persist the elements in. If this is
+     * set then the elements are loaded from the directory on initialisation,
+     * and added elements are appended to a log in the directory.
+     */
+    public static final String SNAPSHOT_DIRECTORY = "gaffer.store.mapstore.snapshot.directory";
+
+    /**
+     * Property name for the size in bytes the log of added elements can reach
+     * before a new snapshot of all the elements is written.
+     */
+    public static final String SNAPSHOT_LOG_MAX_BYTES = "gaffer.store.mapstore.snapshot.log.max.bytes";
+    public static final long SNAPSHOT_LOG_MAX_BYTES_DEFAULT = 256L * 1024L * 1024L;
+
     public MapStoreProperties() {
         super(MapStore.class);
     }
@@ -113,6 +135,19 @@ public class MapStoreProperties extends StoreProperties {
         set(INGEST_BUFFER_SIZE, String.valueOf(ingestBufferSize));
     }
 
+    public int getIngestAggregationParallelism() {
+        final String parallelism = get(INGEST_AGGREGATION_PARALLELISM, null);
+        if (null == parallelism) {
+            return INGEST_AGGREGATION_PARALLELISM_DEFAULT;
+        }
+
+        return Integer.parseInt(parallelism);
+    }
+
+    public void setIngestAggregationParallelism(final int ingestAggregationParallelism) {
+        set(INGEST_AGGREGATION_PARALLELISM, String.valueOf(ingestAggregationParallelism));
+    }
+
     public boolean isStaticMap() {
         return Boolean.parseBoolean(get(STATIC_MAP, STATIC_MAP_DEFAULT));
     }
@@ -120,4 +155,25 @@ public class MapStoreProperties extends StoreProperties {
     public void setStaticMap(final boolean staticMap) {
         set(STATIC_MAP, Boolean.toString(staticMap));
     }
+
+    public String getSnapshotDirectory() {
+        return get(SNAPSHOT_DIRECTORY, null);
+    }
+
+    public void setSnapshotDirectory(final String snapshotDirectory) {
+        set(SNAPSHOT_DIRECTORY, snapshotDirectory);
+    }
+
+    public long getSnapshotLogMaxBytes() {
+        final String maxBytes = get(SNAPSHOT_LOG_MAX_BYTES, null);
+        if (null == maxBytes) {
+            return SNAPSHOT_LOG_MAX_BYTES_DEFAULT;
+        }
+
+        return Long.parseLong(maxBytes);
+    }
+
+    public void setSnapshotLogMaxBytes(final long snapshotLogMaxBytes) {
+        set(SNAPSHOT_LOG_MAX_BYTES, String.valueOf(snapshotLogMaxBytes));
+    }
 }
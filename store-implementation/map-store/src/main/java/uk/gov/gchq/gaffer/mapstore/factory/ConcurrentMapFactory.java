@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.ConcurrentMapOfSets;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of the {@link MapFactory} interface that creates thread safe
+ * {@link ConcurrentHashMap} and {@link ConcurrentMapOfSets} instances. This allows
+ * a {@link uk.gov.gchq.gaffer.mapstore.MapStore} to handle multiple
+ * {@link uk.gov.gchq.gaffer.operation.impl.add.AddElements} operations in parallel
+ * with queries.
+ * <p>
+ * Updates to a single element are merged atomically using the per bin locking of
+ * the {@link ConcurrentHashMap}, so writers to different elements do not contend.
+ * </p>
+ */
+public class ConcurrentMapFactory implements MapFactory {
+    private final ElementCloner cloner;
+
+    private final Map<String, Map> maps = new ConcurrentHashMap<>();
+    private final Map<String, MultiMap> multiMaps = new ConcurrentHashMap<>();
+
+    public ConcurrentMapFactory() {
+        this(new ElementCloner());
+    }
+
+    protected ConcurrentMapFactory(final ElementCloner cloner) {
+        this.cloner = cloner;
+    }
+
+    @Override
+    public void initialise(final Schema schema, final MapStoreProperties properties) {
+        // no action required.
+    }
+
+    @Override
+    public <K, V> Map<K, V> getMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return maps.computeIfAbsent(mapName, n -> new ConcurrentHashMap<>());
+    }
+
+    @Override
+    public <K, V> MultiMap<K, V> getMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return multiMaps.computeIfAbsent(mapName, n -> new ConcurrentMapOfSets<>());
+    }
+
+    @Override
+    public void clear() {
+        maps.clear();
+        multiMaps.clear();
+    }
+
+    @Override
+    public Element cloneElement(final Element element, final Schema schema) {
+        return cloner.cloneElement(element, schema);
+    }
+}
@@ -17,6 +17,7 @@ package uk.gov.gchq.gaffer.mapstore.factory;
 
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.LongMultiMap;
 import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
@@ -64,6 +65,23 @@ public interface MapFactory {
      */
     <K, V> MultiMap<K, V> getMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass);
 
+    /**
+     * Retrieve a named {@link LongMultiMap}, used to index graphs where all
+     * vertices are Longs or Integers without boxing or wrapping the vertices.
+     *
+     * If the requested map does not exist, a new multi map is created and cached.
+     * Factories that do not support these maps return null, in which case
+     * {@link #getMultiMap(String, Class, Class)} is used instead.
+     *
+     * @param mapName the name of the multi map to retrieve
+     * @param valueClass the class type to use for the map values
+     * @param <V> the type of the map values
+     * @return the requested {@link LongMultiMap} object, or null if not supported
+     */
+    default <V> LongMultiMap<V> getLongMultiMap(final String mapName, final Class<V> valueClass) {
+        return null;
+    }
+
     /**
      * Update a value associated with a key in a specified map object.
      *
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.offheap.MatchedVertexElementSerialiser;
+import uk.gov.gchq.gaffer.mapstore.offheap.OffHeapMap;
+import uk.gov.gchq.gaffer.mapstore.offheap.OffHeapMultiMap;
+import uk.gov.gchq.gaffer.mapstore.offheap.OffHeapStorage;
+import uk.gov.gchq.gaffer.mapstore.offheap.PropertyPresenceSerialiser;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.RawLongSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.store.serialiser.EdgeIdSerialiser;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+import uk.gov.gchq.gaffer.store.serialiser.EntityIdSerialiser;
+import uk.gov.gchq.gaffer.store.serialiser.GroupedPropertiesSerialiser;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of the {@link MapFactory} interface that creates {@link OffHeapMap}
+ * and {@link OffHeapMultiMap} instances. These hold the elements as compact byte
+ * records, serialised using the serialisers in the {@link Schema}, outside of the
+ * Java heap. This greatly reduces the heap usage and garbage collection time of
+ * large graphs, at the cost of deserialising elements when they are read.
+ * <p>
+ * By default the records are held in direct byte buffers. If the
+ * "gaffer.store.mapstore.map.offheap.directory" store property is set then the
+ * records are instead held in memory mapped files in that directory, allowing
+ * graphs larger than the available memory to be paged in and out by the
+ * operating system.
+ * </p>
+ * <p>
+ * Elements are compared using their serialised form, so the vertex serialiser and
+ * the serialisers of any properties used to identify an element must be consistent.
+ * The maps are not thread safe.
+ * </p>
+ */
+public class OffHeapMapFactory implements MapFactory {
+    public static final String DIRECTORY = "gaffer.store.mapstore.map.offheap.directory";
+    public static final String MAX_CHUNK_SIZE = "gaffer.store.mapstore.map.offheap.chunk.size";
+    public static final int MAX_CHUNK_SIZE_DEFAULT = 64 * 1024 * 1024;
+
+    private final Map<String, Map> maps = new HashMap<>();
+    private final Map<String, MultiMap> multiMaps = new HashMap<>();
+    private Schema schema;
+    private Path directory;
+    private int maxChunkSize = MAX_CHUNK_SIZE_DEFAULT;
+
+    @Override
+    public void initialise(final Schema schema, final MapStoreProperties properties) {
+        validateSchema(schema);
+        this.schema = schema;
+
+        final String directoryName = properties.get(DIRECTORY, null);
+        if (null != directoryName) {
+            directory = Paths.get(directoryName);
+            if (!Files.isDirectory(directory)) {
+                throw new IllegalArgumentException("Off heap directory does not exist: " + directoryName);
+            }
+        }
+
+        final String chunkSize = properties.get(MAX_CHUNK_SIZE, null);
+        if (null != chunkSize) {
+            maxChunkSize = Integer.parseInt(chunkSize);
+        }
+    }
+
+    @Override
+    public <K, V> Map<K, V> getMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return maps.computeIfAbsent(mapName, n -> new OffHeapMap<>(createStorage(), getSerialiser(keyClass), getSerialiser(valueClass)));
+    }
+
+    @Override
+    public <K, V> MultiMap<K, V> getMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return multiMaps.computeIfAbsent(mapName, n -> new OffHeapMultiMap<>(createStorage(), getSerialiser(keyClass), getIndexSerialiser(valueClass)));
+    }
+
+    @Override
+    public void clear() {
+        maps.values().forEach(Map::clear);
+        multiMaps.values().forEach(MultiMap::clear);
+        maps.clear();
+        multiMaps.clear();
+    }
+
+    /**
+     * Elements are deserialised each time they are read from an off heap map, so
+     * they are never shared and do not need to be cloned.
+     *
+     * @param element the element to clone
+     * @param schema  the relevant schema
+     * @return the provided element
+     */
+    @Override
+    public Element cloneElement(final Element element, final Schema schema) {
+        return element;
+    }
+
+    private OffHeapStorage createStorage() {
+        return new OffHeapStorage(maxChunkSize, directory);
+    }
+
+    private <T> ToBytesSerialiser<T> getIndexSerialiser(final Class<T> clazz) {
+        if (Element.class.isAssignableFrom(clazz)) {
+            return (ToBytesSerialiser) new MatchedVertexElementSerialiser(schema);
+        }
+        return getSerialiser(clazz);
+    }
+
+    private <T> ToBytesSerialiser<T> getSerialiser(final Class<T> clazz) {
+        final ToBytesSerialiser serialiser;
+        if (GroupedProperties.class.isAssignableFrom(clazz)) {
+            serialiser = new PropertyPresenceSerialiser<>(new GroupedPropertiesSerialiser(schema), schema);
+        } else if (Element.class.isAssignableFrom(clazz)) {
+            serialiser = new PropertyPresenceSerialiser<>(new ElementSerialiser(schema), schema);
+        } else if (EntityId.class.isAssignableFrom(clazz)) {
+            serialiser = new EntityIdSerialiser(schema);
+        } else if (EdgeId.class.isAssignableFrom(clazz)) {
+            serialiser = new EdgeIdSerialiser(schema);
+        } else if (Long.class.equals(clazz)) {
+            serialiser = new RawLongSerialiser();
+        } else {
+            throw new IllegalArgumentException("Off heap maps do not support class: " + clazz.getName());
+        }
+        return serialiser;
+    }
+
+    private static void validateSchema(final Schema schema) {
+        validateSerialiser("vertex", schema.getVertexSerialiser());
+        for (final String group : schema.getGroups()) {
+            final SchemaElementDefinition elementDef = schema.getElement(group);
+            final Set<String> identifyingProperties = elementDef.isAggregate() ? elementDef.getGroupBy() : elementDef.getProperties();
+            for (final String property : identifyingProperties) {
+                // Properties without a type definition are never serialised
+                final TypeDefinition typeDef = elementDef.getPropertyTypeDef(property);
+                if (null != typeDef) {
+                    validateSerialiser(group + "." + property, typeDef.getSerialiser());
+                }
+            }
+        }
+    }
+
+    private static void validateSerialiser(final String name, final Serialiser serialiser) {
+        if (!(serialiser instanceof ToBytesSerialiser)) {
+            throw new IllegalArgumentException("Off heap maps require a " + ToBytesSerialiser.class.getSimpleName() + " for " + name);
+        }
+        if (!serialiser.isConsistent()) {
+            throw new IllegalArgumentException("Off heap maps require a consistent serialiser for " + name
+                    + ", " + serialiser.getClass().getName() + " is not consistent");
+        }
+    }
+}
@@ -17,6 +17,7 @@ package uk.gov.gchq.gaffer.mapstore.factory;
 
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.LongMultiMap;
 import uk.gov.gchq.gaffer.mapstore.multimap.MapOfSets;
 import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
 import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
@@ -77,6 +78,23 @@ public class SimpleMapFactory implements MapFactory {
         return multiMaps.computeIfAbsent(mapName, n -> new MapOfSets(getMap(n, keyClass, valueClass)));
     }
 
+    /**
+     * {@link LongMultiMap}s are only used when the default {@link HashMap} class
+     * is configured, as they replace the configured map class.
+     *
+     * @param mapName    the name of the multi map to retrieve
+     * @param valueClass the class type to use for the map values
+     * @param <V>        the type of the map values
+     * @return the requested {@link LongMultiMap} object, or null if another map class is configured
+     */
+    @Override
+    public <V> LongMultiMap<V> getLongMultiMap(final String mapName, final Class<V> valueClass) {
+        if (!HashMap.class.equals(mapClass)) {
+            return null;
+        }
+        return (LongMultiMap<V>) multiMaps.computeIfAbsent(mapName, n -> new LongMultiMap<>());
+    }
+
     @Override
     public void clear() {
         maps.clear();
@@ -37,6 +37,7 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -57,7 +58,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         return null;
     }
 
-    private void addElements(final Iterable<? extends Element> elements, final MapStore mapStore) {
+    private void addElements(final Iterable<? extends Element> elements, final MapStore mapStore) throws OperationException {
         final MapImpl mapImpl = mapStore.getMapImpl();
         final Schema schema = mapStore.getSchema();
 
@@ -68,6 +69,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             addBatch(mapImpl, schema, elements);
         } else {
             LOGGER.info("Adding elements in batches, batch size = " + bufferSize);
+            final int parallelism = mapStore.getProperties().getIngestAggregationParallelism();
             int count = 0;
             final List<Element> batch = new ArrayList<>(bufferSize);
             for (final Element element : elements) {
@@ -75,7 +77,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                     batch.add(element);
                     count++;
                     if (count >= bufferSize) {
-                        addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema));
+                        addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema, parallelism));
                         batch.clear();
                         count = 0;
                     }
@@ -83,25 +85,52 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             }
 
             if (count > 0) {
-                addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema));
+                addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema, parallelism));
+            }
+        }
+
+        final MapPersistence persistence = mapImpl.getPersistence();
+        if (null != persistence) {
+            try {
+                persistence.flush(mapImpl);
+            } catch (final IOException e) {
+                throw new OperationException("Unable to persist elements", e);
             }
         }
     }
 
-    private void addBatch(final MapImpl mapImpl, final Schema schema, final Iterable<? extends Element> elements) {
+    private void addBatch(final MapImpl mapImpl, final Schema schema, final Iterable<? extends Element> elements) throws OperationException {
+        final MapPersistence persistence = mapImpl.getPersistence();
         for (final Element element : elements) {
             if (null != element) {
-                final Element elementForIndexing = addElement(element, schema, mapImpl);
-
-                // Update entityIdToElements and edgeIdToElements if index required
-                if (mapImpl.isMaintainIndex()) {
-                    updateElementIndex(elementForIndexing, mapImpl);
+                if (null == persistence) {
+                    addElementToMap(element, schema, mapImpl);
+                } else {
+                    // Log and add the element together, so a snapshot cannot be taken in between
+                    synchronized (persistence) {
+                        try {
+                            persistence.append(element);
+                        } catch (final IOException e) {
+                            throw new OperationException("Unable to persist element", e);
+                        }
+                        addElementToMap(element, schema, mapImpl);
+                    }
                 }
             }
         }
     }
 
-    private Element addElement(final Element element, final Schema schema, final MapImpl mapImpl) {
+    static void addElementToMap(final Element element, final Schema schema, final MapImpl mapImpl) {
+        final Element elementForIndexing = addElement(element, schema, mapImpl);
+
+        // Update entityIdToElements and edgeIdToElements if index required.
+        // Elements that have been added before are already in the index.
+        if (null != elementForIndexing && mapImpl.isMaintainIndex()) {
+            updateElementIndex(elementForIndexing, mapImpl);
+        }
+    }
+
+    private static Element addElement(final Element element, final Schema schema, final MapImpl mapImpl) {
         final Element elementForIndexing;
         if (!mapImpl.isAggregationEnabled(element)) {
             elementForIndexing = addNonAggElement(element, schema, mapImpl);
@@ -111,7 +140,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         return elementForIndexing;
     }
 
-    private Element addAggElement(final Element element, final Schema schema, final MapImpl mapImpl) {
+    private static Element addAggElement(final Element element, final Schema schema, final MapImpl mapImpl) {
         final String group = element.getGroup();
         final Element elementWithGroupByProperties = element.emptyClone();
         final GroupedProperties properties = new GroupedProperties(element.getGroup());
@@ -122,11 +151,10 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             properties.put(propertyName, element.getProperty(propertyName));
         }
 
-        mapImpl.addAggElement(elementWithGroupByProperties, properties);
-        return elementWithGroupByProperties;
+        return mapImpl.addAggElement(elementWithGroupByProperties, properties) ? elementWithGroupByProperties : null;
     }
 
-    private Element addNonAggElement(final Element element, final Schema schema, final MapImpl mapImpl) {
+    private static Element addNonAggElement(final Element element, final Schema schema, final MapImpl mapImpl) {
         final Element elementClone = element.emptyClone();
 
         // Copy properties that exist in the schema
@@ -135,11 +163,10 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             elementClone.putProperty(property, element.getProperty(property));
         }
 
-        mapImpl.addNonAggElement(elementClone);
-        return elementClone;
+        return mapImpl.addNonAggElement(elementClone) ? elementClone : null;
     }
 
-    private void updateElementIndex(final Element element, final MapImpl mapImpl) {
+    private static void updateElementIndex(final Element element, final MapImpl mapImpl) {
         if (element instanceof Entity) {
             final Entity entity = (Entity) element;
             final EntityId entityId = new EntitySeed(entity.getVertex());
@@ -150,9 +177,12 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             final EntityId sourceEntityId = new EntitySeed(edge.getSource());
             mapImpl.addIndex(sourceEntityId, edge);
 
-            final Edge destMatchedEdge = new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.DESTINATION, edge.getProperties());
-            final EntityId destinationEntityId = new EntitySeed(edge.getDestination());
-            mapImpl.addIndex(destinationEntityId, destMatchedEdge);
+            // A self loop is already indexed against its destination and the index does not need to hold equal edges twice
+            if (!edge.getSource().equals(edge.getDestination())) {
+                final Edge destMatchedEdge = new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.DESTINATION, edge.getProperties());
+                final EntityId destinationEntityId = new EntitySeed(edge.getDestination());
+                mapImpl.addIndex(destinationEntityId, destMatchedEdge);
+            }
 
             final EdgeId edgeId = new EdgeSeed(edge.getSource(), edge.getDestination(), edge.isDirected());
             mapImpl.addIndex(edgeId, edge);
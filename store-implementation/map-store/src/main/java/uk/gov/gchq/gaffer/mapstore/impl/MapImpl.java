@@ -19,16 +19,25 @@ import uk.gov.gchq.gaffer.commonutil.iterable.RepeatItemIterable;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.data.element.function.PropertiesTuple;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
 import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
+import uk.gov.gchq.gaffer.mapstore.multimap.LongMultiMap;
 import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
 import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -36,6 +45,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Stream;
 
 /**
@@ -59,6 +69,7 @@ public class MapImpl {
     public static final String NON_AGG_ELEMENTS = "nonAggElements";
     public static final String ENTITY_ID_TO_ELEMENTS = "entityIdToElements";
     public static final String EDGE_ID_TO_ELEMENTS = "edgeIdToElements";
+    public static final String VERTEX_TO_ELEMENTS = "vertexToElements";
 
     /**
      * aggElements maps from an Element group to a map of Elements containing the group-by properties
@@ -77,6 +88,18 @@ public class MapImpl {
      */
     private final MultiMap<EntityId, Element> entityIdToElements;
 
+    /**
+     * vertexToElements replaces entityIdToElements when all vertices are Longs or
+     * Integers. It maps from the primitive value of a vertex to the element key
+     * from aggElements or nonAggElements.
+     */
+    private final LongMultiMap<Element> vertexToElements;
+
+    /**
+     * The class of all vertices when vertexToElements is used, otherwise null.
+     */
+    private final Class<?> vertexClass;
+
     /**
      * edgeIdToElements is a map from an EdgeId to the element key from aggElements or nonAggElements
      */
@@ -86,10 +109,12 @@ public class MapImpl {
     private final Map<String, Set<String>> groupToGroupByProperties = new HashMap<>();
     private final Map<String, Set<String>> groupToNonGroupByProperties = new HashMap<>();
     private final Set<String> groupsWithNoAggregation = new HashSet<>();
+    private final Map<String, ElementAggregator> groupToIngestAggregator = new HashMap<>();
     private final List<String> aggregatedGroups;
     private final Schema schema;
     private final boolean maintainIndex;
     private final AggregatorUtil.IngestPropertiesBinaryOperator propertyAggregator;
+    private final MapPersistence persistence;
 
     public MapImpl(final Schema schema, final MapStoreProperties mapStoreProperties) {
         this.schema = schema;
@@ -103,9 +128,19 @@ public class MapImpl {
         }
 
         if (maintainIndex) {
-            entityIdToElements = mapFactory.getMultiMap(ENTITY_ID_TO_ELEMENTS, EntityId.class, Element.class);
+            final Class<?> numericVertexClass = getNumericVertexClass(schema);
+            vertexToElements = null != numericVertexClass ? mapFactory.getLongMultiMap(VERTEX_TO_ELEMENTS, Element.class) : null;
+            if (null != vertexToElements) {
+                vertexClass = numericVertexClass;
+                entityIdToElements = null;
+            } else {
+                vertexClass = null;
+                entityIdToElements = mapFactory.getMultiMap(ENTITY_ID_TO_ELEMENTS, EntityId.class, Element.class);
+            }
             edgeIdToElements = mapFactory.getMultiMap(EDGE_ID_TO_ELEMENTS, EdgeId.class, Element.class);
         } else {
+            vertexToElements = null;
+            vertexClass = null;
             entityIdToElements = null;
             edgeIdToElements = null;
         }
@@ -113,27 +148,75 @@ public class MapImpl {
         this.aggregatedGroups = schema.getAggregatedGroups();
         schema.getEntityGroups().forEach(this::addToGroupByMap);
         schema.getEdgeGroups().forEach(this::addToGroupByMap);
+
+        persistence = createPersistence(schema, mapStoreProperties);
     }
 
     public void clear() {
         aggElements.clear();
         nonAggElements.clear();
         if (maintainIndex) {
-            entityIdToElements.clear();
+            if (null != vertexToElements) {
+                vertexToElements.clear();
+            } else {
+                entityIdToElements.clear();
+            }
             edgeIdToElements.clear();
         }
+        if (null != persistence) {
+            try {
+                persistence.clear();
+            } catch (final IOException e) {
+                throw new RuntimeException("Unable to clear persisted elements", e);
+            }
+        }
     }
 
-    void addNonAggElement(final Element element) {
-        nonAggElements.get(element.getGroup()).merge(element, 1L, (a, b) -> a + b);
+    /**
+     * Adds a non aggregated element, incrementing its count.
+     *
+     * @param element the element to add
+     * @return true if the element had not been added before
+     */
+    boolean addNonAggElement(final Element element) {
+        return 1L == nonAggElements.get(element.getGroup()).merge(element, 1L, (a, b) -> a + b);
     }
 
-    void addAggElement(final Element elementWithGroupByProperties, final GroupedProperties properties) {
-        aggElements.get(elementWithGroupByProperties.getGroup())
-                .merge(elementWithGroupByProperties, properties, propertyAggregator);
+    /**
+     * Adds an aggregated element, aggregating its properties with any existing
+     * properties for the element.
+     *
+     * @param elementWithGroupByProperties the element with only its group by properties
+     * @param properties                   the non group by properties
+     * @return true if the element had not been added before
+     */
+    boolean addAggElement(final Element elementWithGroupByProperties, final GroupedProperties properties) {
+        final Map<Element, GroupedProperties> map = aggElements.get(elementWithGroupByProperties.getGroup());
+        final GroupedProperties result;
+        if (map instanceof ConcurrentMap) {
+            // Aggregate into a copy so concurrent readers never see partially aggregated properties.
+            // The aggregator's own tuples are shared, so new tuples are created for each merge.
+            final ElementAggregator aggregator = groupToIngestAggregator.get(elementWithGroupByProperties.getGroup());
+            result = map.merge(elementWithGroupByProperties, properties, (existing, update) -> {
+                final GroupedProperties aggregated = new GroupedProperties(existing.getGroup());
+                aggregated.putAll(existing);
+                aggregator.apply(new PropertiesTuple(aggregated), new PropertiesTuple(update));
+                return aggregated;
+            });
+        } else {
+            result = map.merge(elementWithGroupByProperties, properties, propertyAggregator);
+        }
+
+        // Aggregation always produces a different properties instance, so the
+        // provided properties are only returned if the element is new.
+        return properties == result;
     }
 
     Collection<Element> lookup(final EntityId entitId) {
+        if (null != vertexToElements) {
+            return lookupVertex(entitId.getVertex());
+        }
+
         Collection<Element> results = entityIdToElements.get(entitId);
         if (null == results) {
             results = Collections.emptySet();
@@ -142,6 +225,28 @@ public class MapImpl {
         return results;
     }
 
+    /**
+     * Looks up the elements for a vertex, without wrapping the vertex in an
+     * {@link EntityId} if the vertices are indexed by their primitive values.
+     *
+     * @param vertex the vertex to lookup
+     * @return the elements for the vertex
+     */
+    Collection<Element> lookupVertex(final Object vertex) {
+        Collection<Element> results;
+        if (null != vertexToElements) {
+            // Only vertices of the indexed class can be equal to an indexed vertex
+            results = vertexClass.isInstance(vertex) ? vertexToElements.get(((Number) vertex).longValue()) : null;
+        } else {
+            results = entityIdToElements.get(new EntitySeed(vertex));
+        }
+        if (null == results) {
+            results = Collections.emptySet();
+        }
+
+        return results;
+    }
+
     Collection<Element> lookup(final EdgeId edgeId) {
         Collection<Element> results = edgeIdToElements.get(edgeId);
         if (null == results) {
@@ -196,18 +301,31 @@ public class MapImpl {
                 .flatMap(Streams::toStream);
     }
 
+    Stream<Map.Entry<Element, Long>> getAllNonAggElementCounts() {
+        return nonAggElements.values().stream()
+                .flatMap(map -> map.entrySet().stream());
+    }
+
     Stream<Element> getAllElements(final Set<String> groups) {
         return Stream.concat(getAllAggElements(groups), getAllNonAggElements(groups));
     }
 
     void addIndex(final EntityId entityId, final Element element) {
-        entityIdToElements.put(entityId, element);
+        if (null != vertexToElements) {
+            vertexToElements.put(((Number) entityId.getVertex()).longValue(), element);
+        } else {
+            entityIdToElements.put(entityId, element);
+        }
     }
 
     void addIndex(final EdgeId edgeId, final Element element) {
         edgeIdToElements.put(edgeId, element);
     }
 
+    MapPersistence getPersistence() {
+        return persistence;
+    }
+
     boolean isMaintainIndex() {
         return maintainIndex;
     }
@@ -267,11 +385,54 @@ public class MapImpl {
         return mapFactory;
     }
 
+    private MapPersistence createPersistence(final Schema schema, final MapStoreProperties mapStoreProperties) {
+        final String directory = mapStoreProperties.getSnapshotDirectory();
+        if (null == directory) {
+            return null;
+        }
+
+        final MapPersistence mapPersistence = new MapPersistence(Paths.get(directory), schema, mapStoreProperties.getSnapshotLogMaxBytes());
+        try {
+            mapPersistence.load(this);
+        } catch (final IOException e) {
+            throw new RuntimeException("Unable to load persisted elements from " + directory, e);
+        }
+        return mapPersistence;
+    }
+
+    /**
+     * Gets the class of the vertices if they are all Longs or all Integers, so
+     * they can be indexed by their primitive values.
+     *
+     * @param schema the schema
+     * @return the vertex class, or null if the vertices are not all Longs or all Integers
+     */
+    private static Class<?> getNumericVertexClass(final Schema schema) {
+        final Set<Class<?>> vertexClasses = new HashSet<>();
+        for (final SchemaEntityDefinition entityDef : schema.getEntities().values()) {
+            vertexClasses.add(entityDef.getIdentifierClass(IdentifierType.VERTEX));
+        }
+        for (final SchemaEdgeDefinition edgeDef : schema.getEdges().values()) {
+            vertexClasses.add(edgeDef.getIdentifierClass(IdentifierType.SOURCE));
+            vertexClasses.add(edgeDef.getIdentifierClass(IdentifierType.DESTINATION));
+        }
+
+        if (1 == vertexClasses.size()) {
+            final Class<?> vertexClass = vertexClasses.iterator().next();
+            if (Long.class.equals(vertexClass) || Integer.class.equals(vertexClass)) {
+                return vertexClass;
+            }
+        }
+        return null;
+    }
+
     private void addToGroupByMap(final String group) {
         final SchemaElementDefinition sed = schema.getElement(group);
         groupToGroupByProperties.put(group, sed.getGroupBy());
         if (!aggregatedGroups.contains(group)) {
             groupsWithNoAggregation.add(group);
+        } else {
+            groupToIngestAggregator.put(group, sed.getIngestAggregator());
         }
         final Set<String> nonGroupByProperties = new HashSet<>(sed.getProperties());
         nonGroupByProperties.removeAll(sed.getGroupBy());
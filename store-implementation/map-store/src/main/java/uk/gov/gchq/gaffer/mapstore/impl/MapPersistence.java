@@ -0,0 +1,306 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.mapstore.offheap.PropertyPresenceSerialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Persists the elements in a {@link MapImpl} to a directory, so they can be
+ * loaded when the store is next initialised without re-ingesting them.
+ * <p>
+ * The directory holds a snapshot of all the elements and logs of the elements
+ * added since the snapshot was written. Each record in the snapshot is an
+ * element that has already been aggregated, so loading a snapshot only reads
+ * each element once. When a log grows larger than the configured size a new
+ * snapshot is written and the logs it contains are deleted.
+ * </p>
+ * <p>
+ * Logs are numbered by generation and a snapshot records the first generation
+ * it does not contain, so a log is never loaded twice if the store stops while
+ * a snapshot is being written. A record that was only partly written to the end
+ * of a log is ignored.
+ * </p>
+ */
+public class MapPersistence {
+    public static final String SNAPSHOT_FILE = "elements.snapshot";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MapPersistence.class);
+    private static final Pattern LOG_FILE = Pattern.compile("elements-(\\d+)\\.log");
+    private static final int MAGIC = 0x47414646;
+    private static final int VERSION = 1;
+    private static final int END_OF_RECORDS = -1;
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private final Path directory;
+    private final Schema schema;
+    private final long logMaxBytes;
+    private final ToBytesSerialiser<Element> serialiser;
+    private long logGeneration;
+    private long logBytes;
+    private DataOutputStream log;
+
+    public MapPersistence(final Path directory, final Schema schema, final long logMaxBytes) {
+        validateSchema(schema);
+        this.directory = directory;
+        this.schema = schema;
+        this.logMaxBytes = logMaxBytes;
+        this.serialiser = new PropertyPresenceSerialiser<>(new ElementSerialiser(schema), schema);
+    }
+
+    /**
+     * Loads the snapshot and logs into the provided map, then starts a new log.
+     *
+     * @param mapImpl the map to add the elements to
+     * @throws IOException if the elements could not be read
+     */
+    public synchronized void load(final MapImpl mapImpl) throws IOException {
+        Files.createDirectories(directory);
+
+        long firstLogGeneration = 0;
+        final Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshot)) {
+            LOGGER.info("Loading snapshot {}", snapshot);
+            try (final DataInputStream in = openInput(snapshot)) {
+                if (MAGIC != in.readInt() || VERSION != in.readInt()) {
+                    throw new IOException("Invalid snapshot file: " + snapshot);
+                }
+                firstLogGeneration = in.readLong();
+                for (int length = in.readInt(); END_OF_RECORDS != length; length = in.readInt()) {
+                    final Element element = readElement(in, length);
+                    final long count = in.readLong();
+                    for (long i = 0; i < count; i++) {
+                        AddElementsHandler.addElementToMap(element, schema, mapImpl);
+                    }
+                }
+            }
+        }
+
+        logGeneration = firstLogGeneration;
+        for (final long generation : getLogGenerations()) {
+            final Path logFile = getLogFile(generation);
+            if (generation < firstLogGeneration) {
+                Files.delete(logFile);
+            } else {
+                LOGGER.info("Loading log {}", logFile);
+                loadLog(logFile, mapImpl);
+                logGeneration = generation + 1;
+            }
+        }
+
+        openLog();
+    }
+
+    /**
+     * Appends an element to the log.
+     *
+     * @param element the element to append
+     * @throws IOException if the element could not be written
+     */
+    public synchronized void append(final Element element) throws IOException {
+        final byte[] bytes = serialise(element);
+        log.writeInt(bytes.length);
+        log.write(bytes);
+        logBytes += Integer.BYTES + bytes.length;
+    }
+
+    /**
+     * Flushes the log and writes a new snapshot if the log has grown too large.
+     *
+     * @param mapImpl the map containing all the elements
+     * @throws IOException if the log or snapshot could not be written
+     */
+    public synchronized void flush(final MapImpl mapImpl) throws IOException {
+        log.flush();
+        if (logBytes >= logMaxBytes) {
+            writeSnapshot(mapImpl);
+        }
+    }
+
+    /**
+     * Writes a snapshot of all the elements in the map and deletes the logs.
+     * Elements must not be added to the map while the snapshot is written.
+     *
+     * @param mapImpl the map containing all the elements
+     * @throws IOException if the snapshot could not be written
+     */
+    public synchronized void writeSnapshot(final MapImpl mapImpl) throws IOException {
+        log.close();
+        final long firstLogGeneration = logGeneration + 1;
+        final Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        final Path tmpSnapshot = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        LOGGER.info("Writing snapshot {}", snapshot);
+
+        try (final FileOutputStream fileOut = new FileOutputStream(tmpSnapshot.toFile());
+             final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut, BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(firstLogGeneration);
+
+            final Iterator<Element> aggElements = mapImpl.getAllAggElements(schema.getGroups()).iterator();
+            while (aggElements.hasNext()) {
+                writeRecord(out, aggElements.next(), 1);
+            }
+            final Iterator<Map.Entry<Element, Long>> nonAggElements = mapImpl.getAllNonAggElementCounts().iterator();
+            while (nonAggElements.hasNext()) {
+                final Map.Entry<Element, Long> entry = nonAggElements.next();
+                writeRecord(out, entry.getKey(), entry.getValue());
+            }
+            out.writeInt(END_OF_RECORDS);
+            out.flush();
+            fileOut.getFD().sync();
+        }
+        Files.move(tmpSnapshot, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        for (final long generation : getLogGenerations()) {
+            if (generation < firstLogGeneration) {
+                Files.delete(getLogFile(generation));
+            }
+        }
+        logGeneration = firstLogGeneration;
+        openLog();
+    }
+
+    /**
+     * Deletes the snapshot and logs and starts a new log.
+     *
+     * @throws IOException if the files could not be deleted
+     */
+    public synchronized void clear() throws IOException {
+        log.close();
+        Files.deleteIfExists(directory.resolve(SNAPSHOT_FILE));
+        for (final long generation : getLogGenerations()) {
+            Files.delete(getLogFile(generation));
+        }
+        logGeneration = 0;
+        openLog();
+    }
+
+    private void loadLog(final Path logFile, final MapImpl mapImpl) throws IOException {
+        try (final DataInputStream in = openInput(logFile)) {
+            while (true) {
+                final Element element;
+                try {
+                    element = readElement(in, in.readInt());
+                } catch (final EOFException e) {
+                    // Either the end of the log or a record that was only partly written
+                    break;
+                }
+                AddElementsHandler.addElementToMap(element, schema, mapImpl);
+            }
+        }
+    }
+
+    private void openLog() throws IOException {
+        log = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(getLogFile(logGeneration),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), BUFFER_SIZE));
+        logBytes = 0;
+    }
+
+    private List<Long> getLogGenerations() throws IOException {
+        final List<Long> generations = new ArrayList<>();
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (final Path file : files) {
+                final Matcher matcher = LOG_FILE.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    generations.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+        Collections.sort(generations);
+        return generations;
+    }
+
+    private Path getLogFile(final long generation) {
+        return directory.resolve("elements-" + generation + ".log");
+    }
+
+    private void writeRecord(final DataOutputStream out, final Element element, final long count) throws IOException {
+        final byte[] bytes = serialise(element);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        out.writeLong(count);
+    }
+
+    private byte[] serialise(final Element element) throws IOException {
+        try {
+            return serialiser.serialise(element);
+        } catch (final SerialisationException e) {
+            throw new IOException("Unable to serialise element: " + element, e);
+        }
+    }
+
+    private Element readElement(final DataInputStream in, final int length) throws IOException {
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        try {
+            return serialiser.deserialise(bytes);
+        } catch (final SerialisationException e) {
+            throw new IOException("Unable to deserialise element", e);
+        }
+    }
+
+    private static DataInputStream openInput(final Path file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+    }
+
+    private static void validateSchema(final Schema schema) {
+        if (!(schema.getVertexSerialiser() instanceof ToBytesSerialiser)) {
+            throw new IllegalArgumentException("Persisting elements requires a " + ToBytesSerialiser.class.getSimpleName() + " for vertices");
+        }
+        for (final String group : schema.getGroups()) {
+            final SchemaElementDefinition elementDef = schema.getElement(group);
+            for (final String property : elementDef.getProperties()) {
+                // Properties without a type definition are never serialised
+                final TypeDefinition typeDef = elementDef.getPropertyTypeDef(property);
+                if (null != typeDef && !(typeDef.getSerialiser() instanceof ToBytesSerialiser)) {
+                    throw new IllegalArgumentException("Persisting elements requires a " + ToBytesSerialiser.class.getSimpleName()
+                            + " for property " + property + " in group " + group);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * A {@link MultiMap} keyed on primitive long values. The keys are held in an open
+ * addressing table and the values for each key in an array, so adding and
+ * looking up values does not box the key or create a set per key.
+ * <p>
+ * Values are not checked for duplicates when they are added, so callers should
+ * avoid adding the same value to a key more than once. The collections returned
+ * by {@link #get(long)} are read only views of the values added before the call.
+ * </p>
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ *
+ * @param <V> the type of value
+ */
+public class LongMultiMap<V> implements MultiMap<Long, V> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+
+    /**
+     * The single value for a key, or an array of values if there is more than
+     * one. A null entry means the slot is empty.
+     */
+    private Object[] values;
+    private int[] sizes;
+    private int mask;
+    private int size;
+
+    public LongMultiMap() {
+        init(INITIAL_CAPACITY);
+    }
+
+    public boolean put(final long key, final V value) {
+        final int slot = findSlot(key);
+        final Object existing = values[slot];
+        if (null == existing) {
+            keys[slot] = key;
+            values[slot] = value;
+            sizes[slot] = 1;
+            size++;
+            if (size << 1 > keys.length) {
+                resize();
+            }
+        } else {
+            final int count = sizes[slot];
+            Object[] array;
+            if (1 == count) {
+                array = new Object[2];
+                array[0] = existing;
+                values[slot] = array;
+            } else {
+                array = (Object[]) existing;
+                if (count == array.length) {
+                    array = Arrays.copyOf(array, count << 1);
+                    values[slot] = array;
+                }
+            }
+            array[count] = value;
+            sizes[slot] = count + 1;
+        }
+        return true;
+    }
+
+    public Collection<V> get(final long key) {
+        final int slot = findSlot(key);
+        final Object existing = values[slot];
+        if (null == existing) {
+            return null;
+        }
+
+        if (1 == sizes[slot]) {
+            return Collections.singletonList((V) existing);
+        }
+        return new ValueList<>((Object[]) existing, sizes[slot]);
+    }
+
+    @Override
+    public boolean put(final Long key, final V value) {
+        return put(key.longValue(), value);
+    }
+
+    @Override
+    public void put(final Long key, final Collection<V> values) {
+        for (final V value : values) {
+            put(key.longValue(), value);
+        }
+    }
+
+    @Override
+    public Collection<V> get(final Long key) {
+        return get(key.longValue());
+    }
+
+    @Override
+    public Set<Long> keySet() {
+        final Set<Long> keySet = new HashSet<>(size);
+        for (int slot = 0; slot < values.length; slot++) {
+            if (null != values[slot]) {
+                keySet.add(keys[slot]);
+            }
+        }
+        return keySet;
+    }
+
+    @Override
+    public void clear() {
+        init(INITIAL_CAPACITY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void init(final int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        sizes = new int[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private int findSlot(final long key) {
+        int slot = hash(key) & mask;
+        while (null != values[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        final int[] oldSizes = sizes;
+        init(oldKeys.length << 1);
+        for (int oldSlot = 0; oldSlot < oldValues.length; oldSlot++) {
+            if (null != oldValues[oldSlot]) {
+                final int slot = findSlot(oldKeys[oldSlot]);
+                keys[slot] = oldKeys[oldSlot];
+                values[slot] = oldValues[oldSlot];
+                sizes[slot] = oldSizes[oldSlot];
+                size++;
+            }
+        }
+    }
+
+    private static int hash(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static final class ValueList<V> extends AbstractList<V> implements RandomAccess {
+        private final Object[] values;
+        private final int size;
+
+        private ValueList(final Object[] values, final int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        public V get(final int index) {
+            if (index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return (V) values[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
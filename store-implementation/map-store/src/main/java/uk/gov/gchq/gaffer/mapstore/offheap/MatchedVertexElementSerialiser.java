@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.offheap;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId.MatchedVertex;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+
+import java.util.Arrays;
+
+/**
+ * Serialiser for the {@link Element}s held in the MapStore indices. This extends
+ * the {@link PropertyPresenceSerialiser} format with a leading byte recording the
+ * {@link MatchedVertex} of an {@link Edge}, which is needed to apply the
+ * incoming/outgoing filters to edges found via an index.
+ */
+public class MatchedVertexElementSerialiser implements ToBytesSerialiser<Element> {
+    private static final long serialVersionUID = -4358326358129845474L;
+    private static final byte MATCHED_SOURCE = 0;
+    private static final byte MATCHED_DESTINATION = 1;
+
+    private final PropertyPresenceSerialiser<Element> elementSerialiser;
+
+    public MatchedVertexElementSerialiser(final Schema schema) {
+        this.elementSerialiser = new PropertyPresenceSerialiser<>(new ElementSerialiser(schema), schema);
+    }
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return Element.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final Element element) throws SerialisationException {
+        final byte[] elementBytes = elementSerialiser.serialise(element);
+        final byte[] bytes = new byte[elementBytes.length + 1];
+        bytes[0] = element instanceof Edge && MatchedVertex.DESTINATION == ((Edge) element).getMatchedVertex()
+                ? MATCHED_DESTINATION : MATCHED_SOURCE;
+        System.arraycopy(elementBytes, 0, bytes, 1, elementBytes.length);
+        return bytes;
+    }
+
+    @Override
+    public Element deserialise(final byte[] bytes) throws SerialisationException {
+        final Element element = elementSerialiser.deserialise(Arrays.copyOfRange(bytes, 1, bytes.length));
+        if (element instanceof Edge) {
+            final Edge edge = (Edge) element;
+            final MatchedVertex matchedVertex = MATCHED_DESTINATION == bytes[0] ? MatchedVertex.DESTINATION : MatchedVertex.SOURCE;
+            edge.setIdentifiers(edge.getSource(), edge.getDestination(), edge.isDirected(), matchedVertex);
+        }
+        return element;
+    }
+
+    @Override
+    public Element deserialiseEmpty() throws SerialisationException {
+        return null;
+    }
+
+    @Override
+    public boolean preservesObjectOrdering() {
+        return false;
+    }
+
+    @Override
+    public boolean isConsistent() {
+        return elementSerialiser.isConsistent();
+    }
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.offheap;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * A {@link java.util.Map} that holds its keys and values as serialised byte records in an
+ * {@link OffHeapStorage}. Only an open addressing table of record addresses and
+ * key hashes is held on the heap, so the map costs two primitive array slots per
+ * entry on the heap regardless of the size of the keys and values.
+ * <p>
+ * Keys are compared using their serialised form, so the key serialiser must be
+ * consistent. Keys and values are deserialised each time they are read, so the
+ * returned objects are never shared with the map. Updating a returned value
+ * therefore has no effect unless it is put back into the map.
+ * </p>
+ * <p>
+ * If an updated value serialises to the same number of bytes as the existing
+ * value it is overwritten in place, otherwise a new record is appended. The
+ * records are compacted once the space taken by replaced records exceeds the
+ * space taken by live records.
+ * </p>
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ */
+public class OffHeapMap<K, V> extends AbstractMap<K, V> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int INT_BYTES = 4;
+    private static final int NO_SLOT = -1;
+
+    private final ToBytesSerialiser<K> keySerialiser;
+    private final ToBytesSerialiser<V> valueSerialiser;
+    private OffHeapStorage storage;
+
+    private long[] addresses;
+    private int[] hashes;
+    private int size;
+    private long garbageBytes;
+    private int modCount;
+
+    public OffHeapMap(final OffHeapStorage storage,
+                      final ToBytesSerialiser<K> keySerialiser,
+                      final ToBytesSerialiser<V> valueSerialiser) {
+        this.storage = storage;
+        this.keySerialiser = keySerialiser;
+        this.valueSerialiser = valueSerialiser;
+        initTable(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        final byte[] keyBytes = serialiseKey(key);
+        return null != keyBytes && NO_SLOT != findSlot(keyBytes, hash(keyBytes));
+    }
+
+    @Override
+    public V get(final Object key) {
+        final byte[] keyBytes = serialiseKey(key);
+        if (null == keyBytes) {
+            return null;
+        }
+        final int slot = findSlot(keyBytes, hash(keyBytes));
+        return NO_SLOT == slot ? null : readValue(addresses[slot]);
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        final byte[] keyBytes = serialise(keySerialiser, key);
+        final int hash = hash(keyBytes);
+        final int slot = findSlot(keyBytes, hash);
+        final V previous = NO_SLOT == slot ? null : readValue(addresses[slot]);
+        write(slot, keyBytes, hash, serialise(valueSerialiser, value));
+        return previous;
+    }
+
+    @Override
+    public V merge(final K key, final V value, final BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        final byte[] keyBytes = serialise(keySerialiser, key);
+        final int hash = hash(keyBytes);
+        final int slot = findSlot(keyBytes, hash);
+        final V newValue = NO_SLOT == slot ? value : remappingFunction.apply(readValue(addresses[slot]), value);
+        if (null == newValue) {
+            if (NO_SLOT != slot) {
+                removeSlot(slot);
+            }
+        } else {
+            write(slot, keyBytes, hash, serialise(valueSerialiser, newValue));
+        }
+        return newValue;
+    }
+
+    @Override
+    public V remove(final Object key) {
+        final byte[] keyBytes = serialiseKey(key);
+        if (null == keyBytes) {
+            return null;
+        }
+        final int slot = findSlot(keyBytes, hash(keyBytes));
+        if (NO_SLOT == slot) {
+            return null;
+        }
+        final V previous = readValue(addresses[slot]);
+        removeSlot(slot);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        storage.clear();
+        garbageBytes = 0;
+        size = 0;
+        modCount++;
+        initTable(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * @return the number of bytes of storage used by live records.
+     */
+    public long getLiveBytes() {
+        return storage.getAllocatedBytes() - garbageBytes;
+    }
+
+    private void write(final int existingSlot, final byte[] keyBytes, final int hash, final byte[] valueBytes) {
+        if (NO_SLOT != existingSlot) {
+            final long address = addresses[existingSlot];
+            final long valueAddress = address + INT_BYTES + keyBytes.length;
+            if (storage.getInt(valueAddress) == valueBytes.length) {
+                storage.putBytes(valueAddress + INT_BYTES, valueBytes);
+                return;
+            }
+            garbageBytes += recordSize(keyBytes.length, storage.getInt(valueAddress));
+            addresses[existingSlot] = writeRecord(keyBytes, valueBytes);
+            compactIfRequired();
+        } else {
+            if (2 * (size + 1) > addresses.length) {
+                resize(addresses.length * 2);
+            }
+            final int slot = findFreeSlot(hash);
+            addresses[slot] = writeRecord(keyBytes, valueBytes);
+            hashes[slot] = hash;
+            size++;
+            modCount++;
+        }
+    }
+
+    private long writeRecord(final byte[] keyBytes, final byte[] valueBytes) {
+        final long address = storage.allocate(recordSize(keyBytes.length, valueBytes.length));
+        storage.putInt(address, keyBytes.length);
+        storage.putBytes(address + INT_BYTES, keyBytes);
+        storage.putInt(address + INT_BYTES + keyBytes.length, valueBytes.length);
+        storage.putBytes(address + INT_BYTES + keyBytes.length + INT_BYTES, valueBytes);
+        return address;
+    }
+
+    private static int recordSize(final int keyLength, final int valueLength) {
+        return INT_BYTES + keyLength + INT_BYTES + valueLength;
+    }
+
+    private K readKey(final long address) {
+        return deserialise(keySerialiser, storage.getBytes(address + INT_BYTES, storage.getInt(address)));
+    }
+
+    private V readValue(final long address) {
+        final long valueAddress = address + INT_BYTES + storage.getInt(address);
+        return deserialise(valueSerialiser, storage.getBytes(valueAddress + INT_BYTES, storage.getInt(valueAddress)));
+    }
+
+    private int findSlot(final byte[] keyBytes, final int hash) {
+        final int mask = addresses.length - 1;
+        int slot = hash & mask;
+        while (OffHeapStorage.NULL_ADDRESS != addresses[slot]) {
+            if (hashes[slot] == hash) {
+                final long address = addresses[slot];
+                if (storage.getInt(address) == keyBytes.length
+                        && storage.bytesEqual(address + INT_BYTES, keyBytes)) {
+                    return slot;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NO_SLOT;
+    }
+
+    private int findFreeSlot(final int hash) {
+        final int mask = addresses.length - 1;
+        int slot = hash & mask;
+        while (OffHeapStorage.NULL_ADDRESS != addresses[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void removeSlot(final int slot) {
+        final long address = addresses[slot];
+        final int keyLength = storage.getInt(address);
+        garbageBytes += recordSize(keyLength, storage.getInt(address + INT_BYTES + keyLength));
+        size--;
+        modCount++;
+
+        // Backward shift deletion to keep the probe sequences intact
+        final int mask = addresses.length - 1;
+        int free = slot;
+        int current = (slot + 1) & mask;
+        addresses[free] = OffHeapStorage.NULL_ADDRESS;
+        while (OffHeapStorage.NULL_ADDRESS != addresses[current]) {
+            final int ideal = hashes[current] & mask;
+            if (((current - ideal) & mask) >= ((current - free) & mask)) {
+                addresses[free] = addresses[current];
+                hashes[free] = hashes[current];
+                addresses[current] = OffHeapStorage.NULL_ADDRESS;
+                free = current;
+            }
+            current = (current + 1) & mask;
+        }
+        compactIfRequired();
+    }
+
+    private void resize(final int capacity) {
+        final long[] oldAddresses = addresses;
+        final int[] oldHashes = hashes;
+        initTable(capacity);
+        for (int i = 0; i < oldAddresses.length; i++) {
+            if (OffHeapStorage.NULL_ADDRESS != oldAddresses[i]) {
+                final int slot = findFreeSlot(oldHashes[i]);
+                addresses[slot] = oldAddresses[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+
+    private void compactIfRequired() {
+        if (garbageBytes < OffHeapStorage.INITIAL_CHUNK_SIZE || garbageBytes < getLiveBytes()) {
+            return;
+        }
+
+        final OffHeapStorage oldStorage = storage;
+        final OffHeapStorage newStorage = storage.emptyCopy();
+        for (int i = 0; i < addresses.length; i++) {
+            final long address = addresses[i];
+            if (OffHeapStorage.NULL_ADDRESS != address) {
+                final int keyLength = oldStorage.getInt(address);
+                final int valueLength = oldStorage.getInt(address + INT_BYTES + keyLength);
+                final int recordSize = recordSize(keyLength, valueLength);
+                final long newAddress = newStorage.allocate(recordSize);
+                newStorage.putBytes(newAddress, oldStorage.getBytes(address, recordSize));
+                addresses[i] = newAddress;
+            }
+        }
+        oldStorage.clear();
+        storage = newStorage;
+        garbageBytes = 0;
+    }
+
+    private void initTable(final int capacity) {
+        addresses = new long[capacity];
+        hashes = new int[capacity];
+        Arrays.fill(addresses, OffHeapStorage.NULL_ADDRESS);
+    }
+
+    private static int hash(final byte[] bytes) {
+        final int hash = Arrays.hashCode(bytes);
+        return hash ^ (hash >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] serialiseKey(final Object key) {
+        if (null == key || !keySerialiser.canHandle(key.getClass())) {
+            return null;
+        }
+        return serialise(keySerialiser, (K) key);
+    }
+
+    private static <T> byte[] serialise(final ToBytesSerialiser<T> serialiser, final T object) {
+        if (null == object) {
+            throw new IllegalArgumentException(OffHeapMap.class.getSimpleName() + " does not support null keys or values");
+        }
+        try {
+            return serialiser.serialise(object);
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException("Unable to serialise " + object.getClass().getName(), e);
+        }
+    }
+
+    private static <T> T deserialise(final ToBytesSerialiser<T> serialiser, final byte[] bytes) {
+        try {
+            return serialiser.deserialise(bytes);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("Unable to deserialise record", e);
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+        private final int expectedModCount = modCount;
+        private int nextSlot = advance(0);
+
+        @Override
+        public boolean hasNext() {
+            return nextSlot < addresses.length;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            final long address = addresses[nextSlot];
+            nextSlot = advance(nextSlot + 1);
+            return new SimpleImmutableEntry<>(readKey(address), readValue(address));
+        }
+
+        private int advance(final int from) {
+            int slot = from;
+            while (slot < addresses.length && OffHeapStorage.NULL_ADDRESS == addresses[slot]) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.offheap;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.RawLongSerialiser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A {@link MultiMap} that holds its keys and values as serialised byte records
+ * outside of the Java heap. Each key maps, via an {@link OffHeapMap}, to the
+ * address of the most recently added value. The values for a key are stored as
+ * a linked list of records, so adding a value is a constant time append.
+ * <p>
+ * Values are not checked for duplicates when they are added. Instead, duplicates
+ * are removed when the values for a key are read, keeping the value that was
+ * added first. Callers should therefore avoid
+ * repeatedly adding the same value.
+ * </p>
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ */
+public class OffHeapMultiMap<K, V> implements MultiMap<K, V> {
+    private static final int INT_BYTES = 4;
+    private static final int LONG_BYTES = 8;
+
+    private final OffHeapMap<K, Long> heads;
+    private final OffHeapStorage values;
+    private final ToBytesSerialiser<V> valueSerialiser;
+
+    public OffHeapMultiMap(final OffHeapStorage storage,
+                           final ToBytesSerialiser<K> keySerialiser,
+                           final ToBytesSerialiser<V> valueSerialiser) {
+        this.heads = new OffHeapMap<>(storage.emptyCopy(), keySerialiser, new RawLongSerialiser());
+        this.values = storage;
+        this.valueSerialiser = valueSerialiser;
+    }
+
+    @Override
+    public boolean put(final K key, final V value) {
+        final byte[] valueBytes;
+        try {
+            valueBytes = valueSerialiser.serialise(value);
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException("Unable to serialise " + value.getClass().getName(), e);
+        }
+
+        final long address = values.allocate(LONG_BYTES + INT_BYTES + valueBytes.length);
+        values.putLong(address, OffHeapStorage.NULL_ADDRESS);
+        values.putInt(address + LONG_BYTES, valueBytes.length);
+        values.putBytes(address + LONG_BYTES + INT_BYTES, valueBytes);
+
+        // Link the new value record to the previous head of the list
+        heads.merge(key, address, (previousHead, newHead) -> {
+            values.putLong(newHead, previousHead);
+            return newHead;
+        });
+        return true;
+    }
+
+    @Override
+    public void put(final K key, final Collection<V> values) {
+        for (final V value : values) {
+            put(key, value);
+        }
+    }
+
+    @Override
+    public Collection<V> get(final K key) {
+        final Long head = heads.get(key);
+        if (null == head) {
+            return null;
+        }
+
+        final List<V> newestFirst = new ArrayList<>();
+        long address = head;
+        while (OffHeapStorage.NULL_ADDRESS != address) {
+            final byte[] valueBytes = values.getBytes(address + LONG_BYTES + INT_BYTES, values.getInt(address + LONG_BYTES));
+            try {
+                newestFirst.add(valueSerialiser.deserialise(valueBytes));
+            } catch (final SerialisationException e) {
+                throw new RuntimeException("Unable to deserialise record", e);
+            }
+            address = values.getLong(address);
+        }
+
+        // Like a set, keep the first of any equal values that were added
+        final Set<V> results = new LinkedHashSet<>(newestFirst.size());
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            results.add(newestFirst.get(i));
+        }
+        return results;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return heads.keySet();
+    }
+
+    @Override
+    public void clear() {
+        heads.clear();
+        values.clear();
+    }
+}
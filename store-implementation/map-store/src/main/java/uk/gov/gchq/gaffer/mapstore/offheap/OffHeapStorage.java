@@ -0,0 +1,189 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.offheap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append only storage of byte records outside of the Java heap. Records are
+ * written into chunks, which are either direct {@link ByteBuffer}s or, if a
+ * directory is provided, memory mapped temporary files in that directory.
+ * <p>
+ * Records are located by a long address, made up of the chunk index in the upper
+ * 32 bits and the offset within the chunk in the lower 32 bits. A record never
+ * spans more than one chunk. Chunks start small and double in size up to the
+ * maximum chunk size, so small maps do not reserve large amounts of memory.
+ * </p>
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ */
+public class OffHeapStorage {
+    public static final long NULL_ADDRESS = -1L;
+    public static final int INITIAL_CHUNK_SIZE = 64 * 1024;
+
+    private final int maxChunkSize;
+    private final Path directory;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private ByteBuffer current;
+    private long allocatedBytes;
+
+    /**
+     * @param maxChunkSize the maximum size in bytes of each chunk
+     * @param directory    the directory to create memory mapped files in. If
+     *                     null then direct byte buffers are used.
+     */
+    public OffHeapStorage(final int maxChunkSize, final Path directory) {
+        if (maxChunkSize < INITIAL_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Max chunk size must be at least " + INITIAL_CHUNK_SIZE + " bytes");
+        }
+        this.maxChunkSize = maxChunkSize;
+        this.directory = directory;
+    }
+
+    /**
+     * @return a new empty storage instance with the same configuration as this one.
+     */
+    public OffHeapStorage emptyCopy() {
+        return new OffHeapStorage(maxChunkSize, directory);
+    }
+
+    /**
+     * Reserves space for a record.
+     *
+     * @param size the size of the record in bytes
+     * @return the address of the record
+     */
+    public long allocate(final int size) {
+        if (null == current || current.remaining() < size) {
+            addChunk(size);
+        }
+        final int offset = current.position();
+        current.position(offset + size);
+        allocatedBytes += size;
+        return ((long) (chunks.size() - 1) << 32) | offset;
+    }
+
+    public int getInt(final long address) {
+        return chunk(address).getInt(offset(address));
+    }
+
+    public void putInt(final long address, final int value) {
+        chunk(address).putInt(offset(address), value);
+    }
+
+    public long getLong(final long address) {
+        return chunk(address).getLong(offset(address));
+    }
+
+    public void putLong(final long address, final long value) {
+        chunk(address).putLong(offset(address), value);
+    }
+
+    public byte[] getBytes(final long address, final int length) {
+        final ByteBuffer buffer = chunk(address).duplicate();
+        buffer.position(offset(address));
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    public void putBytes(final long address, final byte[] bytes) {
+        final ByteBuffer buffer = chunk(address).duplicate();
+        buffer.position(offset(address));
+        buffer.put(bytes);
+    }
+
+    /**
+     * Compares the stored bytes at an address with the provided bytes, without
+     * copying the stored bytes onto the heap.
+     *
+     * @param address the address of the stored bytes
+     * @param bytes   the bytes to compare with
+     * @return true if the stored bytes are equal to the provided bytes
+     */
+    public boolean bytesEqual(final long address, final byte[] bytes) {
+        final ByteBuffer chunk = chunk(address);
+        final int offset = offset(address);
+        for (int i = 0; i < bytes.length; i++) {
+            if (chunk.get(offset + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the total number of bytes allocated to records.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Releases all chunks. The memory is freed when the chunks are garbage
+     * collected.
+     */
+    public void clear() {
+        chunks.clear();
+        current = null;
+        allocatedBytes = 0;
+    }
+
+    private ByteBuffer chunk(final long address) {
+        return chunks.get((int) (address >>> 32));
+    }
+
+    private static int offset(final long address) {
+        return (int) address;
+    }
+
+    private void addChunk(final int minSize) {
+        int size = null == current ? INITIAL_CHUNK_SIZE : Math.min(maxChunkSize, current.capacity() * 2);
+        if (size < minSize) {
+            size = minSize;
+        }
+
+        if (null == directory) {
+            current = ByteBuffer.allocateDirect(size);
+        } else {
+            current = mapFile(size);
+        }
+        chunks.add(current);
+    }
+
+    private ByteBuffer mapFile(final int size) {
+        try {
+            final Path file = Files.createTempFile(directory, "gaffer-mapstore-", ".chunk");
+            try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            } finally {
+                // The mapping remains valid after the file has been deleted
+                Files.deleteIfExists(file);
+            }
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Unable to create memory mapped file in directory: " + directory, e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.offheap;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+
+import java.util.Arrays;
+
+/**
+ * Wraps an {@link uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser} or
+ * {@link uk.gov.gchq.gaffer.store.serialiser.GroupedPropertiesSerialiser} and
+ * appends a bitmap recording which of the schema properties were null.
+ * <p>
+ * The wrapped serialisers write a null property as an empty value, which is then
+ * deserialised as the serialiser's empty value, e.g. an empty String. The MapStore
+ * splits an element's properties between the map keys and values, so the absent
+ * properties must be restored as absent for the element to be rebuilt and for
+ * the serialised form of an element to be stable.
+ * </p>
+ *
+ * @param <T> the type of object to serialise, either an {@link Element} or a
+ *            {@link GroupedProperties}
+ */
+public class PropertyPresenceSerialiser<T> implements ToBytesSerialiser<T> {
+    private static final long serialVersionUID = 7430938004532213489L;
+
+    private final ToBytesSerialiser<T> serialiser;
+    private final Schema schema;
+
+    public PropertyPresenceSerialiser(final ToBytesSerialiser<T> serialiser, final Schema schema) {
+        this.serialiser = serialiser;
+        this.schema = schema;
+    }
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return serialiser.canHandle(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final T object) throws SerialisationException {
+        final byte[] bytes = serialiser.serialise(object);
+        final Properties properties = getProperties(object);
+        int index = 0;
+        final SchemaElementDefinition elementDef = getElementDefinition(object);
+        final byte[] result = Arrays.copyOf(bytes, bytes.length + getBitmapLength(elementDef));
+        for (final String property : elementDef.getProperties()) {
+            if (null == properties.get(property)) {
+                result[bytes.length + (index >> 3)] |= 1 << (index & 7);
+            }
+            index++;
+        }
+        return result;
+    }
+
+    @Override
+    public T deserialise(final byte[] bytes) throws SerialisationException {
+        // The wrapped serialisers only read the schema properties, so ignore the trailing bitmap
+        final T object = serialiser.deserialise(bytes);
+        final Properties properties = getProperties(object);
+        final SchemaElementDefinition elementDef = getElementDefinition(object);
+        final int offset = bytes.length - getBitmapLength(elementDef);
+        int index = 0;
+        for (final String property : elementDef.getProperties()) {
+            if (0 != (bytes[offset + (index >> 3)] & (1 << (index & 7)))) {
+                properties.remove(property);
+            }
+            index++;
+        }
+        return object;
+    }
+
+    @Override
+    public T deserialiseEmpty() throws SerialisationException {
+        return null;
+    }
+
+    @Override
+    public boolean preservesObjectOrdering() {
+        return false;
+    }
+
+    @Override
+    public boolean isConsistent() {
+        return serialiser.isConsistent();
+    }
+
+    private SchemaElementDefinition getElementDefinition(final T object) throws SerialisationException {
+        final String group = object instanceof Element ? ((Element) object).getGroup() : ((GroupedProperties) object).getGroup();
+        final SchemaElementDefinition elementDef = schema.getElement(group);
+        if (null == elementDef) {
+            throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema?");
+        }
+        return elementDef;
+    }
+
+    private static int getBitmapLength(final SchemaElementDefinition elementDef) {
+        return (elementDef.getProperties().size() + 7) >> 3;
+    }
+
+    private static Properties getProperties(final Object object) {
+        return object instanceof Element ? ((Element) object).getProperties() : (Properties) object;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest;
+import uk.gov.gchq.gaffer.mapstore.multimap.ConcurrentMapOfSets;
+import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ConcurrentMapFactoryTest {
+    private static final int NUM_THREADS = 8;
+    private static final int NUM_BATCHES_PER_THREAD = 50;
+    private static final int NUM_VERTICES = 20;
+
+    @Test
+    public void shouldCreateConcurrentMaps() {
+        // Given
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory();
+        factory.initialise(mock(Schema.class), mock(MapStoreProperties.class));
+
+        // When
+        final Map<Object, Object> map1 = factory.getMap("mapName1", Object.class, Object.class);
+        final Map<Object, Object> map2 = factory.getMap("mapName2", Object.class, Object.class);
+
+        // Then
+        assertTrue(map1 instanceof ConcurrentHashMap);
+        assertTrue(map2 instanceof ConcurrentHashMap);
+        assertNotSame(map1, map2);
+        assertSame(map1, factory.getMap("mapName1", Object.class, Object.class));
+    }
+
+    @Test
+    public void shouldCreateConcurrentMultiMaps() {
+        // Given
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory();
+        factory.initialise(mock(Schema.class), mock(MapStoreProperties.class));
+
+        // When
+        final ConcurrentMapOfSets<Object, Object> map1 = (ConcurrentMapOfSets) factory.getMultiMap("mapName1", Object.class, Object.class);
+        final ConcurrentMapOfSets<Object, Object> map2 = (ConcurrentMapOfSets) factory.getMultiMap("mapName2", Object.class, Object.class);
+
+        // Then
+        assertTrue(map1.getWrappedMap() instanceof ConcurrentHashMap);
+        assertTrue(map2.getWrappedMap() instanceof ConcurrentHashMap);
+        assertNotSame(map1, map2);
+    }
+
+    @Test
+    public void shouldCloneElementUsingCloner() {
+        // Given
+        final ElementCloner elementCloner = mock(ElementCloner.class);
+        final Element element = mock(Element.class);
+        final Element expectedClonedElement = mock(Element.class);
+        final Schema schema = mock(Schema.class);
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory(elementCloner);
+
+        given(elementCloner.cloneElement(element, schema)).willReturn(expectedClonedElement);
+
+        // When
+        final Element clonedElement = factory.cloneElement(element, schema);
+
+        // Then
+        verify(elementCloner).cloneElement(element, schema);
+        assertSame(expectedClonedElement, clonedElement);
+    }
+
+    @Test
+    public void shouldAggregateElementsAddedConcurrentlyWhilstQuerying() throws Exception {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setMapFactory(ConcurrentMapFactory.class);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("concurrentGraph")
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+
+        final List<Element> batch = new ArrayList<>();
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            batch.add(new Entity.Builder()
+                    .group("BasicEntity")
+                    .vertex("" + i)
+                    .property("property1", "p")
+                    .property("count", 1)
+                    .build());
+        }
+
+        final List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < NUM_THREADS; i++) {
+            tasks.add(() -> {
+                for (int j = 0; j < NUM_BATCHES_PER_THREAD; j++) {
+                    graph.execute(new AddElements.Builder()
+                            .input(batch)
+                            .build(), new User());
+                    try (final CloseableIterable<? extends Element> results = graph.execute(new GetElements.Builder()
+                            .input(new EntitySeed("0"))
+                            .build(), new User())) {
+                        results.forEach(e -> assertEquals("0", ((Entity) e).getVertex()));
+                    }
+                }
+                return null;
+            });
+        }
+
+        // When
+        final ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        try {
+            for (final Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        final List<? extends Element> results = Lists.newArrayList(graph.execute(new GetElements.Builder()
+                .input(new EntitySeed("0"), new EntitySeed("" + (NUM_VERTICES - 1)))
+                .build(), new User()));
+        assertEquals(2, results.size());
+        for (final Element result : results) {
+            assertEquals(NUM_THREADS * NUM_BATCHES_PER_THREAD, result.getProperty("count"));
+        }
+    }
+}
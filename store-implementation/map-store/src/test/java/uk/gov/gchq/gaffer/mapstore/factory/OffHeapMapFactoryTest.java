@@ -0,0 +1,158 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest;
+import uk.gov.gchq.gaffer.mapstore.offheap.OffHeapMap;
+import uk.gov.gchq.gaffer.mapstore.offheap.OffHeapMultiMap;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OffHeapMapFactoryTest {
+
+    @Test
+    public void shouldCreateOffHeapMaps() {
+        // Given
+        final OffHeapMapFactory factory = new OffHeapMapFactory();
+        factory.initialise(new SchemaOptimiser().optimise(GetAllElementsHandlerTest.getSchema(), false), new MapStoreProperties());
+
+        // When / Then
+        assertTrue(factory.getMap("map", Element.class, Long.class) instanceof OffHeapMap);
+        assertTrue(factory.getMultiMap("multiMap", EntitySeed.class, Element.class) instanceof OffHeapMultiMap);
+    }
+
+    @Test
+    public void shouldThrowExceptionIfGroupByPropertySerialiserIsNotConsistent() {
+        // Given
+        final Schema schema = new Schema.Builder()
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source("string")
+                        .destination("string")
+                        .property(TestPropertyNames.PROP_1, "list")
+                        .groupBy(TestPropertyNames.PROP_1)
+                        .build())
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type("list", new TypeDefinition.Builder()
+                        .clazz(List.class)
+                        .serialiser(new JavaSerialiser())
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+        final OffHeapMapFactory factory = new OffHeapMapFactory();
+
+        // When / Then
+        try {
+            factory.initialise(schema, new MapStoreProperties());
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldAddAndGetElements() throws Exception {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setMapFactory(OffHeapMapFactory.class);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("offHeapGraph")
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+        final Entity entity = new Entity.Builder()
+                .group("BasicEntity")
+                .vertex("A")
+                .property("property1", "p")
+                .property("count", 1)
+                .build();
+        final Edge edge = new Edge.Builder()
+                .group("BasicEdge")
+                .source("A")
+                .dest("B")
+                .directed(true)
+                .property("property1", "q")
+                .property("count", 2)
+                .build();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            graph.execute(new AddElements.Builder()
+                    .input(entity, edge)
+                    .build(), new User());
+        }
+
+        // Then
+        final Entity expectedEntity = new Entity.Builder()
+                .group("BasicEntity")
+                .vertex("A")
+                .property("property1", "p")
+                .property("count", 3)
+                .build();
+        final Edge expectedEdge = new Edge.Builder()
+                .group("BasicEdge")
+                .source("A")
+                .dest("B")
+                .directed(true)
+                .property("property1", "q")
+                .property("count", 6)
+                .build();
+        assertEquals(Sets.newHashSet(expectedEntity, expectedEdge),
+                Sets.newHashSet(graph.execute(new GetAllElements(), new User())));
+        assertEquals(Arrays.asList(expectedEdge), Lists.newArrayList(graph.execute(new GetElements.Builder()
+                .input(new EntitySeed("B"))
+                .inOutType(IncludeIncomingOutgoingType.INCOMING)
+                .build(), new User())));
+        assertEquals(Arrays.asList(expectedEntity), Lists.newArrayList(graph.execute(new GetElements.Builder()
+                .input(new EntitySeed("A"))
+                .inOutType(IncludeIncomingOutgoingType.INCOMING)
+                .build(), new User())));
+    }
+}
@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.mapstore.impl;
 
+import com.google.common.collect.Sets;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -32,6 +33,8 @@ import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
@@ -40,6 +43,9 @@ import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutg
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
 import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.function.KorypheFunction;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
@@ -580,6 +586,52 @@ public class GetElementsHandlerTest {
         assertEquals(expectedResults, resultsSet);
     }
 
+    @Test
+    public void testGetElementsByEntityIdWithLongVertices() throws OperationException {
+        // Given
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graphWithLongVertices")
+                        .build())
+                .addSchema(new Schema.Builder()
+                        .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                                .vertex("long")
+                                .build())
+                        .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                                .source("long")
+                                .destination("long")
+                                .directed("true")
+                                .build())
+                        .type("long", Long.class)
+                        .type("true", Boolean.class)
+                        .build())
+                .storeProperties(new MapStoreProperties())
+                .build();
+        final Entity entity = new Entity(TestGroups.ENTITY, 1L);
+        final Edge edge = new Edge(TestGroups.EDGE, 1L, 2L, true);
+        final Edge selfLoop = new Edge(TestGroups.EDGE, 2L, 2L, true);
+        graph.execute(new AddElements.Builder()
+                .input(entity, edge, selfLoop)
+                .build(), new User());
+
+        // When
+        final Set<Element> results1 = Sets.newHashSet(graph.execute(new GetElements.Builder()
+                .input(new EntitySeed(1L))
+                .build(), new User()));
+        final Set<Element> results2 = Sets.newHashSet(graph.execute(new GetElements.Builder()
+                .input(new EntitySeed(2L))
+                .inOutType(IncludeIncomingOutgoingType.OUTGOING)
+                .build(), new User()));
+        final Set<Element> results3 = Sets.newHashSet(graph.execute(new GetElements.Builder()
+                .input(new EntitySeed(1))
+                .build(), new User()));
+
+        // Then
+        assertEquals(Sets.newHashSet(entity, edge), results1);
+        assertEquals(Sets.newHashSet(selfLoop), results2);
+        assertEquals(Collections.emptySet(), results3);
+    }
+
     private static class ExampleTransform extends KorypheFunction<Integer, Integer> {
         static final int INCREMENT_BY = 100;
 
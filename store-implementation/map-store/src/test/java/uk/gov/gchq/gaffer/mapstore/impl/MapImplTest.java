@@ -21,18 +21,27 @@ import org.junit.Before;
 import org.junit.Test;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
+import uk.gov.gchq.gaffer.mapstore.multimap.LongMultiMap;
 import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
 
+import java.util.Arrays;
 import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -103,6 +112,43 @@ public class MapImplTest {
         verify(mockMapFactory, never()).getMultiMap(MapImpl.EDGE_ID_TO_ELEMENTS, EdgeId.class, Element.class);
     }
 
+    @Test
+    public void shouldIndexLongVerticesByPrimitiveValue() throws StoreException {
+        // Given
+        final Schema schema = new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("long")
+                        .build())
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source("long")
+                        .destination("long")
+                        .directed("true")
+                        .build())
+                .type("long", Long.class)
+                .type("true", Boolean.class)
+                .build();
+        final LongMultiMap vertexToElements = new LongMultiMap();
+        final Entity entity = new Entity(TestGroups.ENTITY, 1L);
+        final Edge edge = new Edge(TestGroups.EDGE, 1L, 2L, true);
+
+        given(mockMapFactory.getLongMultiMap(MapImpl.VERTEX_TO_ELEMENTS, Element.class)).willReturn(vertexToElements);
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setMapFactory(TestMapFactory.class);
+        final MapImpl mapImpl = new MapImpl(schema, properties);
+
+        // When
+        mapImpl.addIndex(new EntitySeed(1L), entity);
+        mapImpl.addIndex(new EntitySeed(1L), edge);
+        mapImpl.addIndex(new EntitySeed(2L), edge);
+
+        // Then
+        assertEquals(Arrays.asList(entity, edge), mapImpl.lookupVertex(1L));
+        assertEquals(Arrays.asList(edge), mapImpl.lookup(new EntitySeed(2L)));
+        assertTrue(mapImpl.lookupVertex(1).isEmpty());
+        assertTrue(mapImpl.lookupVertex(3L).isEmpty());
+        verify(mockMapFactory, never()).getMultiMap(MapImpl.ENTITY_ID_TO_ELEMENTS, EntityId.class, Element.class);
+    }
+
     public static final class TestMapFactory implements MapFactory {
 
         @Override
@@ -120,6 +166,11 @@ public class MapImplTest {
             return mockMapFactory.getMultiMap(mapName, keyClass, valueClass);
         }
 
+        @Override
+        public <V> LongMultiMap<V> getLongMultiMap(final String mapName, final Class<V> valueClass) {
+            return mockMapFactory.getLongMultiMap(mapName, valueClass);
+        }
+
         @Override
         public void clear() {
             mockMapFactory.clear();
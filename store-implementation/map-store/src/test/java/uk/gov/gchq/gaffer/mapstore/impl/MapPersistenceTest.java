@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MapPersistenceTest {
+    private static final Entity ENTITY = new Entity.Builder()
+            .group("BasicEntity")
+            .vertex("A")
+            .property("property1", "p")
+            .property("count", 1)
+            .build();
+    private static final Edge EDGE = new Edge.Builder()
+            .group("BasicEdge")
+            .source("A")
+            .dest("B")
+            .directed(true)
+            .property("property1", "q")
+            .property("count", 2)
+            .build();
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldLoadElementsFromLog() throws Exception {
+        // Given
+        final MapStoreProperties storeProperties = createStoreProperties(Long.MAX_VALUE);
+        addElements(createGraph(storeProperties), 3);
+
+        // When
+        final Graph graph = createGraph(storeProperties);
+
+        // Then
+        assertEquals(getExpectedElements(3), getAllElements(graph));
+        assertTrue(Files.notExists(getDirectory(storeProperties).resolve(MapPersistence.SNAPSHOT_FILE)));
+    }
+
+    @Test
+    public void shouldLoadElementsFromSnapshotAndLog() throws Exception {
+        // Given
+        final MapStoreProperties storeProperties = createStoreProperties(1);
+        addElements(createGraph(storeProperties), 2);
+        storeProperties.setSnapshotLogMaxBytes(Long.MAX_VALUE);
+        addElements(createGraph(storeProperties), 1);
+
+        // When
+        final Graph graph = createGraph(storeProperties);
+
+        // Then
+        assertEquals(getExpectedElements(3), getAllElements(graph));
+        assertTrue(Files.exists(getDirectory(storeProperties).resolve(MapPersistence.SNAPSHOT_FILE)));
+    }
+
+    @Test
+    public void shouldIgnorePartlyWrittenRecordAtEndOfLog() throws Exception {
+        // Given
+        final MapStoreProperties storeProperties = createStoreProperties(Long.MAX_VALUE);
+        addElements(createGraph(storeProperties), 2);
+        final Path log = getDirectory(storeProperties).resolve("elements-0.log");
+        Files.write(log, new byte[]{0, 0, 1, 0, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // When
+        final Graph graph = createGraph(storeProperties);
+
+        // Then
+        assertEquals(getExpectedElements(2), getAllElements(graph));
+    }
+
+    private MapStoreProperties createStoreProperties(final long logMaxBytes) throws IOException {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setSnapshotDirectory(testFolder.newFolder().getAbsolutePath());
+        storeProperties.setSnapshotLogMaxBytes(logMaxBytes);
+        return storeProperties;
+    }
+
+    private Path getDirectory(final MapStoreProperties storeProperties) {
+        return new File(storeProperties.getSnapshotDirectory()).toPath();
+    }
+
+    private Graph createGraph(final MapStoreProperties storeProperties) {
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("persistedGraph")
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+    }
+
+    private void addElements(final Graph graph, final int times) throws OperationException {
+        for (int i = 0; i < times; i++) {
+            graph.execute(new AddElements.Builder()
+                    .input(ENTITY, EDGE)
+                    .build(), new User());
+        }
+    }
+
+    private Set<Element> getAllElements(final Graph graph) throws OperationException {
+        return Sets.newHashSet(Lists.newArrayList(graph.execute(new GetAllElements(), new User())));
+    }
+
+    private Set<Element> getExpectedElements(final int times) {
+        final Entity entity = new Entity.Builder()
+                .group("BasicEntity")
+                .vertex("A")
+                .property("property1", "p")
+                .property("count", times)
+                .build();
+        final Edge edge = new Edge.Builder()
+                .group("BasicEdge")
+                .source("A")
+                .dest("B")
+                .directed(true)
+                .property("property1", "q")
+                .property("count", 2 * times)
+                .build();
+        return Sets.newHashSet(entity, edge);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentMapOfSetsTest {
+    @Test
+    public void shouldPutValuesAndIgnoreDuplicates() {
+        // Given
+        final ConcurrentMapOfSets<String, String> mapOfSets = new ConcurrentMapOfSets<>();
+
+        // When
+        final boolean firstPut = mapOfSets.put("key1", "value1");
+        final boolean secondPut = mapOfSets.put("key1", "value1");
+        mapOfSets.put("key1", Arrays.asList("value2", "value3"));
+
+        // Then
+        assertTrue(firstPut);
+        assertFalse(secondPut);
+        assertEquals(Sets.newHashSet("value1", "value2", "value3"), mapOfSets.get("key1"));
+    }
+
+    @Test
+    public void shouldPutValuesFromMultipleThreads() {
+        // Given
+        final ConcurrentMapOfSets<String, Integer> mapOfSets = new ConcurrentMapOfSets<>();
+
+        // When
+        IntStream.range(0, 10000)
+                .parallel()
+                .forEach(i -> mapOfSets.put("key" + (i % 10), i));
+
+        // Then
+        assertEquals(10, mapOfSets.keySet().size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1000, mapOfSets.get("key" + i).size());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LongMultiMapTest {
+    @Test
+    public void shouldPutAndGetValues() {
+        // Given
+        final LongMultiMap<String> multiMap = new LongMultiMap<>();
+
+        // When
+        multiMap.put(1L, "value1");
+        multiMap.put(1L, Arrays.asList("value2", "value3"));
+        multiMap.put(-2L, "value4");
+
+        // Then
+        assertEquals(Arrays.asList("value1", "value2", "value3"), multiMap.get(1L));
+        assertEquals(Arrays.asList("value4"), multiMap.get(Long.valueOf(-2L)));
+        assertNull(multiMap.get(3L));
+        assertEquals(Sets.newHashSet(1L, -2L), multiMap.keySet());
+        assertEquals(2, multiMap.size());
+    }
+
+    @Test
+    public void shouldNotChangeReturnedValuesWhenMoreValuesAreAdded() {
+        // Given
+        final LongMultiMap<String> multiMap = new LongMultiMap<>();
+        multiMap.put(1L, "value1");
+        multiMap.put(1L, "value2");
+
+        // When
+        final Collection<String> values = multiMap.get(1L);
+        multiMap.put(1L, "value3");
+
+        // Then
+        assertEquals(Arrays.asList("value1", "value2"), values);
+    }
+
+    @Test
+    public void shouldGetValuesForManyKeys() {
+        // Given
+        final LongMultiMap<Long> multiMap = new LongMultiMap<>();
+
+        // When
+        for (long key = 0; key < 10000; key++) {
+            for (long value = 0; value <= key % 5; value++) {
+                multiMap.put(key * 31, Long.valueOf(value));
+            }
+        }
+
+        // Then
+        assertEquals(10000, multiMap.size());
+        for (long key = 0; key < 10000; key++) {
+            final List<Long> expected = new ArrayList<>();
+            for (long value = 0; value <= key % 5; value++) {
+                expected.add(value);
+            }
+            assertEquals(expected, multiMap.get(key * 31));
+        }
+    }
+
+    @Test
+    public void shouldClear() {
+        // Given
+        final LongMultiMap<String> multiMap = new LongMultiMap<>();
+        multiMap.put(1L, "value1");
+
+        // When
+        multiMap.clear();
+
+        // Then
+        assertNull(multiMap.get(1L));
+        assertTrue(multiMap.keySet().isEmpty());
+    }
+}
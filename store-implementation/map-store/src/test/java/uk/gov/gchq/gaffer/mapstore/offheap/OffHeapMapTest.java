@@ -0,0 +1,172 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.offheap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.RawLongSerialiser;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapMapTest {
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldPutAndGetValues() {
+        // Given
+        final OffHeapMap<String, Long> map = createMap();
+
+        // When
+        final Long previous1 = map.put("key1", 1L);
+        final Long previous2 = map.put("key1", 2L);
+        map.put("key2", 3L);
+
+        // Then
+        assertNull(previous1);
+        assertEquals(1L, (long) previous2);
+        assertEquals(2L, (long) map.get("key1"));
+        assertEquals(3L, (long) map.get("key2"));
+        assertNull(map.get("key3"));
+        assertNull(map.get(1L));
+        assertTrue(map.containsKey("key1"));
+        assertFalse(map.containsKey("key3"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void shouldMergeValues() {
+        // Given
+        final OffHeapMap<String, Long> map = createMap();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            map.merge("key1", 1L, (a, b) -> a + b);
+        }
+
+        // Then
+        assertEquals(10L, (long) map.get("key1"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void shouldReplaceValuesWithDifferentLengths() {
+        // Given
+        final OffHeapMap<String, String> map = new OffHeapMap<>(
+                new OffHeapStorage(OffHeapStorage.INITIAL_CHUNK_SIZE, null), new StringSerialiser(), new StringSerialiser());
+
+        // When
+        for (int i = 0; i < 100000; i++) {
+            map.put("key" + (i % 10), "value" + i);
+        }
+
+        // Then
+        assertEquals(10, map.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("value" + (99990 + i), map.get("key" + i));
+        }
+        assertTrue(map.getLiveBytes() < OffHeapStorage.INITIAL_CHUNK_SIZE);
+    }
+
+    @Test
+    public void shouldRemoveValuesAndKeepOtherKeysReachable() {
+        // Given
+        final OffHeapMap<String, Long> map = createMap();
+        final Map<String, Long> expected = new HashMap<>();
+        for (long i = 0; i < 1000; i++) {
+            map.put("key" + i, i);
+            expected.put("key" + i, i);
+        }
+
+        // When
+        for (long i = 0; i < 1000; i += 3) {
+            assertEquals(i, (long) map.remove("key" + i));
+            expected.remove("key" + i);
+        }
+
+        // Then
+        assertEquals(expected, new HashMap<>(map));
+        assertNull(map.remove("key0"));
+    }
+
+    @Test
+    public void shouldIterateOverAllEntries() {
+        // Given
+        final OffHeapMap<String, Long> map = createMap();
+        final Map<String, Long> expected = new HashMap<>();
+        for (long i = 0; i < 1000; i++) {
+            map.put("key" + i, i);
+            expected.put("key" + i, i);
+        }
+
+        // When
+        final Map<String, Long> result = new HashMap<>();
+        for (final Map.Entry<String, Long> entry : map.entrySet()) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+
+        // Then
+        assertEquals(expected, result);
+        assertEquals(expected.keySet(), map.keySet());
+    }
+
+    @Test
+    public void shouldClearMap() {
+        // Given
+        final OffHeapMap<String, Long> map = createMap();
+        map.put("key1", 1L);
+
+        // When
+        map.clear();
+
+        // Then
+        assertTrue(map.isEmpty());
+        assertNull(map.get("key1"));
+        assertEquals(0, map.getLiveBytes());
+    }
+
+    @Test
+    public void shouldStoreRecordsInMemoryMappedFiles() throws Exception {
+        // Given
+        final OffHeapMap<String, Long> map = new OffHeapMap<>(
+                new OffHeapStorage(OffHeapStorage.INITIAL_CHUNK_SIZE, testFolder.newFolder().toPath()),
+                new StringSerialiser(), new RawLongSerialiser());
+
+        // When
+        for (long i = 0; i < 10000; i++) {
+            map.put("key" + i, i);
+        }
+
+        // Then
+        for (long i = 0; i < 10000; i++) {
+            assertEquals(i, (long) map.get("key" + i));
+        }
+    }
+
+    private OffHeapMap<String, Long> createMap() {
+        return new OffHeapMap<>(new OffHeapStorage(OffHeapStorage.INITIAL_CHUNK_SIZE, null), new StringSerialiser(), new RawLongSerialiser());
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.offheap;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapMultiMapTest {
+    @Test
+    public void shouldPutAndGetValues() {
+        // Given
+        final OffHeapMultiMap<String, String> multiMap = createMultiMap();
+
+        // When
+        multiMap.put("key1", "value1");
+        multiMap.put("key1", "value1");
+        multiMap.put("key1", Arrays.asList("value2", "value3"));
+        multiMap.put("key2", "value4");
+
+        // Then
+        assertEquals(Sets.newHashSet("value1", "value2", "value3"), Sets.newHashSet(multiMap.get("key1")));
+        assertEquals(3, multiMap.get("key1").size());
+        assertEquals(Sets.newHashSet("value4"), Sets.newHashSet(multiMap.get("key2")));
+        assertNull(multiMap.get("key3"));
+        assertEquals(Sets.newHashSet("key1", "key2"), multiMap.keySet());
+    }
+
+    @Test
+    public void shouldClear() {
+        // Given
+        final OffHeapMultiMap<String, String> multiMap = createMultiMap();
+        multiMap.put("key1", "value1");
+
+        // When
+        multiMap.clear();
+
+        // Then
+        assertNull(multiMap.get("key1"));
+        assertTrue(multiMap.keySet().isEmpty());
+    }
+
+    private OffHeapMultiMap<String, String> createMultiMap() {
+        return new OffHeapMultiMap<>(new OffHeapStorage(OffHeapStorage.INITIAL_CHUNK_SIZE, null), new StringSerialiser(), new StringSerialiser());
+    }
+}
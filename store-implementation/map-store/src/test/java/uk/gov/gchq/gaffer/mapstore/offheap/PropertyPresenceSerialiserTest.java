@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.offheap;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+import uk.gov.gchq.gaffer.store.serialiser.GroupedPropertiesSerialiser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class PropertyPresenceSerialiserTest {
+    private final Schema schema = new SchemaOptimiser().optimise(GetAllElementsHandlerTest.getSchema(), false);
+
+    @Test
+    public void shouldNotAddNullPropertiesToElements() throws Exception {
+        // Given
+        final PropertyPresenceSerialiser<Element> serialiser = new PropertyPresenceSerialiser<>(new ElementSerialiser(schema), schema);
+        final Entity entity = new Entity.Builder()
+                .group("BasicEntity")
+                .vertex("A")
+                .property("property1", "p")
+                .build();
+
+        // When
+        final byte[] bytes = serialiser.serialise(entity);
+        final Element result = serialiser.deserialise(bytes);
+
+        // Then
+        assertEquals(entity, result);
+        assertArrayEquals(bytes, serialiser.serialise(result));
+    }
+
+    @Test
+    public void shouldNotAddNullPropertiesToGroupedProperties() throws Exception {
+        // Given
+        final PropertyPresenceSerialiser<GroupedProperties> serialiser = new PropertyPresenceSerialiser<>(new GroupedPropertiesSerialiser(schema), schema);
+        final GroupedProperties properties = new GroupedProperties("BasicEntity");
+        properties.put("count", 3);
+
+        // When
+        final GroupedProperties result = serialiser.deserialise(serialiser.serialise(properties));
+
+        // Then
+        assertEquals(properties, result);
+    }
+}
@@ -61,6 +61,10 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
 import static uk.gov.gchq.gaffer.store.StoreTrait.ORDERED;
@@ -85,10 +89,12 @@ public class ParquetStore extends Store {
                     PRE_AGGREGATION_FILTERING,
                     STORE_VALIDATION
             ));
+    private static final long FILE_READ_EXECUTOR_KEEP_ALIVE_SECONDS = 60;
 
     private GraphIndex graphIndex;
     private SchemaUtils schemaUtils;
     private FileSystem fs;
+    private ThreadPoolExecutor fileReadExecutor;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
@@ -111,6 +117,7 @@ public class ParquetStore extends Store {
             throw new StoreException("Could not connect to the file system", e);
         }
         schemaUtils = new SchemaUtils(getSchema());
+        updateFileReadExecutor(parquetStoreProperties.getThreadsAvailable());
         loadIndex();
     }
 
@@ -139,6 +146,18 @@ public class ParquetStore extends Store {
         this.graphIndex = graphIndex;
     }
 
+    /**
+     * Gets the executor used to read Parquet files in parallel for queries. It is shared by all queries on this
+     * store, has at most {@link ParquetStoreProperties#getThreadsAvailable()} threads and does not queue tasks.
+     * When all the threads are busy it throws a {@link java.util.concurrent.RejectedExecutionException}, and the
+     * file should then be read on the caller's thread.
+     *
+     * @return the file read executor
+     */
+    public ExecutorService getFileReadExecutor() {
+        return fileReadExecutor;
+    }
+
     public GraphIndex getGraphIndex() {
         return graphIndex;
     }
@@ -212,6 +231,25 @@ public class ParquetStore extends Store {
         validateConsistentGroupByProperties(schemaElementDefinitionEntry, validationResult);
     }
 
+    private void updateFileReadExecutor(final Integer configuredThreadCount) {
+        final int threadCount = null != configuredThreadCount && configuredThreadCount > 0 ? configuredThreadCount : 1;
+        // Reuse the executor when the store is initialised again with the same thread count
+        if (null != fileReadExecutor && fileReadExecutor.getMaximumPoolSize() == threadCount) {
+            return;
+        }
+        if (null != fileReadExecutor) {
+            fileReadExecutor.shutdown();
+        }
+        LOGGER.debug("Initialising file read executor with up to {} threads", threadCount);
+        fileReadExecutor = new ThreadPoolExecutor(threadCount, threadCount,
+                FILE_READ_EXECUTOR_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+        fileReadExecutor.allowCoreThreadTimeOut(true);
+    }
+
     private void loadIndex() throws StoreException {
         final String rootDir = getDataDir();
         try {
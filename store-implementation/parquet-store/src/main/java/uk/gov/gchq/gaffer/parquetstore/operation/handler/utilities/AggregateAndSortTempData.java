@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
 
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.FileUtil;
 import org.apache.hadoop.fs.Path;
 import org.apache.spark.sql.SparkSession;
 import org.slf4j.Logger;
@@ -35,6 +36,7 @@ import uk.gov.gchq.gaffer.store.StoreException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -49,17 +51,24 @@ import java.util.concurrent.Future;
  * had a single edge group then it will generate two tasks:
  * The first would aggregate the group's unsorted data and then sort it by the SOURCE columns.
  * The second would again aggregate the same groups data and then sort it by the DESTINATION column.
+ * <p>
+ * Only the groups that have new data are aggregated and sorted. The current data for the other groups is copied to
+ * the new snapshot unchanged, which avoids the Spark shuffle and sort for those groups but still copies their files.
+ * Every ingest therefore still writes a complete new snapshot, and a group that receives new data is re-aggregated
+ * and re-sorted in full, so the cost of adding elements still grows with the size of the graph.
  */
 public class AggregateAndSortTempData {
     private static final Logger LOGGER = LoggerFactory.getLogger(AggregateAndSortTempData.class);
     private static final String SORTED = "/sorted";
     private static final String SPLIT = "/split";
+    private static final String RAW = "/raw";
 
     public AggregateAndSortTempData(final ParquetStore store, final SparkSession spark,
-                                    final Map<String, Map<Object, Integer>> groupToSplitPoints,
+                                    final Map<String, Map<Object, Integer>> allGroupToSplitPoints,
                                     final ExecutorService pool) throws OperationException, SerialisationException {
         final List<Callable<OperationException>> tasks = new ArrayList<>();
         final SchemaUtils schemaUtils = store.getSchemaUtils();
+        final Map<String, Map<Object, Integer>> groupToSplitPoints = getGroupsWithNewData(store, allGroupToSplitPoints);
         final GraphIndex index = store.getGraphIndex();
         final String currentDataDir;
         if (null != index) {
@@ -138,6 +147,20 @@ public class AggregateAndSortTempData {
                     }
                 }
             }
+            // copy the data for the groups with no new data unchanged
+            if (null != currentDataDir) {
+                for (final String group : schemaUtils.getEdgeGroups()) {
+                    if (!groupToSplitPoints.containsKey(group)) {
+                        copyData(store, currentDataDir, group, ParquetStoreConstants.SOURCE);
+                        copyData(store, currentDataDir, group, ParquetStoreConstants.DESTINATION);
+                    }
+                }
+                for (final String group : schemaUtils.getEntityGroups()) {
+                    if (!groupToSplitPoints.containsKey(group)) {
+                        copyData(store, currentDataDir, group, ParquetStoreConstants.VERTEX);
+                    }
+                }
+            }
         } catch (final InterruptedException e) {
             throw new OperationException("AggregateAndSortData was interrupted", e);
         } catch (final ExecutionException e) {
@@ -150,6 +173,37 @@ public class AggregateAndSortTempData {
         pool.shutdown();
     }
 
+    // A group has new data if any elements of that group were written to the temporary files directory
+    private Map<String, Map<Object, Integer>> getGroupsWithNewData(final ParquetStore store,
+                                                                  final Map<String, Map<Object, Integer>> allGroupToSplitPoints) throws OperationException {
+        final Map<String, Map<Object, Integer>> groupToSplitPoints = new HashMap<>();
+        try {
+            for (final Map.Entry<String, Map<Object, Integer>> entry : allGroupToSplitPoints.entrySet()) {
+                final String group = entry.getKey();
+                final String column = store.getSchemaUtils().getEntityGroups().contains(group)
+                        ? ParquetStoreConstants.VERTEX : ParquetStoreConstants.SOURCE;
+                if (store.getFS().exists(new Path(ParquetStore.getGroupDirectory(group, column, store.getTempFilesDir()) + RAW))) {
+                    groupToSplitPoints.put(group, entry.getValue());
+                } else {
+                    LOGGER.debug("Group {} has no new data so its current data will be copied unchanged", group);
+                }
+            }
+        } catch (final IOException e) {
+            throw new OperationException("AggregateAndSortData had an IO exception thrown", e);
+        }
+        return groupToSplitPoints;
+    }
+
+    private void copyData(final ParquetStore store, final String currentDataDir, final String group, final String column) throws IOException {
+        final Path sourceDir = new Path(ParquetStore.getGroupDirectory(group, column, currentDataDir));
+        if (store.getFS().exists(sourceDir)) {
+            final Path destDir = new Path(ParquetStore.getGroupDirectory(group, column, store.getTempFilesDir() + SORTED));
+            LOGGER.debug("Copying {} to {}", sourceDir, destDir);
+            store.getFS().mkdirs(destDir.getParent());
+            FileUtil.copy(store.getFS(), sourceDir, store.getFS(), destDir, false, store.getFS().getConf());
+        }
+    }
+
     private void addAggregationTask(final String group,
                                     final String column,
                                     final String currentDataDir,
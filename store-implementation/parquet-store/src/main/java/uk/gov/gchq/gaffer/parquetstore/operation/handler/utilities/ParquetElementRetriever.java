@@ -23,6 +23,7 @@ import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.PipelinedIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
@@ -39,25 +40,32 @@ import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * Converts the inputs for get element operations and converts them to a mapping of files to Parquet filters which is
  * then looped over to retrieve the filtered Elements.
+ * <p>
+ * The files are read in parallel using the store's {@link ParquetStore#getFileReadExecutor()}, which is shared by
+ * all queries and has at most {@link ParquetStoreProperties#getThreadsAvailable()} threads. Files that cannot be
+ * given a thread because the executor is busy are read on the thread iterating over the results, so an iterator
+ * that is not read to the end or closed does not stop other queries from reading files. The elements are returned
+ * as soon as they are read, through a bounded buffer, so the readers wait for the consumer rather than holding the
+ * whole result in memory. Closing the iterator cancels the reads that are still running and closes the open
+ * Parquet readers. Readers also give up once the iterator has not been read for 5 minutes.
  */
 public class ParquetElementRetriever implements CloseableIterable<Element> {
     private static final Logger LOGGER = LoggerFactory.getLogger(ParquetElementRetriever.class);
 
     private static final String THERE_ARE_NO_RESULTS_FOR_THIS_QUERY = "There are no results for this query";
+    private static final int BUFFER_SIZE = 10000;
+    private static final long IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
     private final View view;
     private final DirectedType directedType;
     private final SeededGraphFilters.IncludeIncomingOutgoingType includeIncomingOutgoingType;
@@ -72,8 +80,10 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
     private final ParquetFilterUtils parquetFilterUtils;
     private GraphIndex graphIndex;
     private final ParquetStoreProperties properties;
+    private final ExecutorService executor;
     private final Schema gafferSchema;
     private final User user;
+    private final List<ParquetIterator> iterators = new CopyOnWriteArrayList<>();
 
     public ParquetElementRetriever(final View view,
                                    final ParquetStore store,
@@ -91,23 +101,27 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
         this.graphIndex = store.getGraphIndex();
         this.parquetFilterUtils = new ParquetFilterUtils(store);
         this.properties = store.getProperties();
+        this.executor = store.getFileReadExecutor();
         this.user = user;
     }
 
     @Override
     public void close() {
+        iterators.forEach(ParquetIterator::close);
+        iterators.clear();
     }
 
     @Override
     public CloseableIterator<Element> iterator() {
-        return new ParquetIterator(view, directedType, includeIncomingOutgoingType,
-                seedMatchingType, seeds, parquetFilterUtils, graphIndex, properties, gafferSchema, user);
+        final ParquetIterator iterator = new ParquetIterator(view, directedType, includeIncomingOutgoingType,
+                seedMatchingType, seeds, parquetFilterUtils, graphIndex, properties, executor, gafferSchema, user);
+        iterators.add(iterator);
+        return iterator;
     }
 
     protected static class ParquetIterator implements CloseableIterator<Element> {
-        private ConcurrentLinkedQueue<Element> queue;
-        private List<Future<OperationException>> runningTasks;
-        private ExecutorService executorServicePool;
+        private PipelinedIterable<Element> pipeline;
+        private CloseableIterator<Element> iterator;
 
         protected ParquetIterator(final View view,
                                   final DirectedType directedType,
@@ -117,6 +131,7 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
                                   final ParquetFilterUtils parquetFilterUtils,
                                   final GraphIndex graphIndex,
                                   final ParquetStoreProperties properties,
+                                  final ExecutorService executor,
                                   final Schema gafferSchema,
                                   final User user) {
             try {
@@ -125,11 +140,9 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
                     final Map<Path, FilterPredicate> pathToFilterMap = parquetFilterUtils.getPathToFilterMap();
                     LOGGER.debug("pathToFilterMap: {}", pathToFilterMap);
                     if (!pathToFilterMap.isEmpty()) {
-                        queue = new ConcurrentLinkedQueue<>();
-                        executorServicePool = Executors.newFixedThreadPool(properties.getThreadsAvailable());
-                        final List<RetrieveElementsFromFile> tasks = new ArrayList<>(pathToFilterMap.size());
-                        tasks.addAll(pathToFilterMap.entrySet().stream().map(entry -> new RetrieveElementsFromFile(entry.getKey(), entry.getValue(), gafferSchema, queue, parquetFilterUtils.needsValidatorsAndFiltersApplying(), properties.getSkipValidation(), view, user)).collect(Collectors.toList()));
-                        runningTasks = executorServicePool.invokeAll(tasks);
+                        final List<RetrieveElementsFromFile> files = pathToFilterMap.entrySet().stream().map(entry -> new RetrieveElementsFromFile(entry.getKey(), entry.getValue(), gafferSchema, parquetFilterUtils.needsValidatorsAndFiltersApplying(), properties.getSkipValidation(), view, user)).collect(Collectors.toList());
+                        pipeline = new PipelinedIterable<>(files, executor, BUFFER_SIZE, IDLE_TIMEOUT_MILLIS);
+                        iterator = pipeline.iterator();
                     } else {
                         LOGGER.debug(THERE_ARE_NO_RESULTS_FOR_THIS_QUERY);
                     }
@@ -139,74 +152,30 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
                 }
             } catch (final OperationException | SerialisationException e) {
                 LOGGER.error("Exception while creating the mapping of file paths to Parquet filters: {}", e.getMessage());
-            } catch (final InterruptedException e) {
-                LOGGER.error(e.getMessage(), e);
             }
         }
 
-
         @Override
         public boolean hasNext() {
-            if (null != queue) {
-                if (queue.isEmpty()) {
-                    boolean finishedAllTasks = runningTasks.isEmpty();
-                    while (!finishedAllTasks && queue.isEmpty()) {
-                        try {
-                            finishedAllTasks = hasFinishedAllTasks();
-                            if (!finishedAllTasks) {
-                                wait(100L);
-                            }
-                        } catch (final Exception e) {
-                            LOGGER.error(e.getMessage(), e);
-                            finishedAllTasks = true;
-                        }
-                    }
-                    return !queue.isEmpty();
-                } else {
-                    return true;
-                }
-            } else {
-                return false;
-            }
+            return null != iterator && iterator.hasNext();
         }
 
-        private boolean hasFinishedAllTasks() throws ExecutionException, InterruptedException, OperationException {
-            final List<Future<OperationException>> completedTasks = new ArrayList<>();
-            for (final Future<OperationException> task : runningTasks) {
-                if (task.isDone()) {
-                    final OperationException taskResult = task.get();
-                    if (null != taskResult) {
-                        throw taskResult;
-                    } else {
-                        completedTasks.add(task);
-                    }
-                }
-            }
-            runningTasks.removeAll(completedTasks);
-            return runningTasks.isEmpty();
-        }
-
-
         @Override
         public Element next() throws NoSuchElementException {
-            Element e;
-            while (hasNext()) {
-                e = queue.poll();
-                if (null != e) {
-                    return e;
-                }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
-            throw new NoSuchElementException();
+            return iterator.next();
         }
 
         @Override
         public void close() {
-            if (null != executorServicePool) {
-                executorServicePool.shutdown();
-                executorServicePool = null;
+            if (null != pipeline) {
+                // Cancels the reads that are still running, then closes the files and their open readers
+                pipeline.close();
+                pipeline = null;
+                iterator = null;
             }
-            queue = null;
-            runningTasks = null;
         }
     }
 }
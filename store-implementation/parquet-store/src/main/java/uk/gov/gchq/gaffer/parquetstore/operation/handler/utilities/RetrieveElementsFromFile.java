@@ -26,12 +26,13 @@ import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.Authorisations;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.ElementVisibility;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.VisibilityEvaluator;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
-import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
@@ -39,21 +40,22 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Used to retrieve the elements from a single file and put the elements into a shared {@link java.util.concurrent.ConcurrentLinkedQueue}
+ * Used to retrieve the elements from a single file. The file is read lazily as the elements are iterated over, so
+ * only the current row group is held in memory, and closing the iterator stops the file from being read. Closing
+ * this iterable closes the Parquet readers of any of its iterators that are still open.
  */
-public class RetrieveElementsFromFile implements Callable<OperationException> {
+public class RetrieveElementsFromFile implements CloseableIterable<Element> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RetrieveElementsFromFile.class);
     private final Path filePath;
     private final FilterPredicate filter;
     private final byte[] jsonGafferSchema;
     private transient SchemaUtils schemaUtils;
-    private final ConcurrentLinkedQueue<Element> queue;
     private transient ElementFilter elementFilter;
     private final byte[] elementDefinitionJson;
     private final boolean needsValidatorsAndFiltersApplying;
@@ -63,9 +65,10 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
     private final Schema gafferSchema;
     private final Authorisations auths;
     private final String visibility;
+    private final Set<ElementIterator> openIterators = ConcurrentHashMap.newKeySet();
 
     public RetrieveElementsFromFile(final Path filePath, final FilterPredicate filter, final Schema gafferSchema,
-                                    final ConcurrentLinkedQueue<Element> queue, final boolean needsValidatorsAndFiltersApplying,
+                                    final boolean needsValidatorsAndFiltersApplying,
                                     final boolean skipValidation, final View view, final User user) {
         this.filePath = filePath;
         this.filter = filter;
@@ -85,7 +88,6 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
             this.auths = new Authorisations();
         }
 
-        this.queue = queue;
         this.view = view;
         this.needsValidatorsAndFiltersApplying = needsValidatorsAndFiltersApplying;
         this.skipValidation = skipValidation;
@@ -98,53 +100,35 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
     }
 
     @Override
-    public OperationException call() throws Exception {
+    public CloseableIterator<Element> iterator() {
         if (null == elementFilter) {
             elementFilter = new ViewElementDefinition.Builder().json(elementDefinitionJson).build().getPreAggregationFilter();
         }
         if (null == schemaUtils) {
             schemaUtils = new SchemaUtils(Schema.fromJson(jsonGafferSchema));
         }
-        try {
-            final ParquetReader<Element> fileReader = openParquetReader();
-            Element e = fileReader.read();
-            while (null != e) {
-                if (!visibility.isEmpty()) {
-                    if (isVisible(e)) {
-                        if (needsValidatorsAndFiltersApplying) {
-                            final String group = e.getGroup();
-                            final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
-                            if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
-                                if (elementFilter == null || elementFilter.test(e)) {
-                                    ViewUtil.removeProperties(view, e);
-                                    queue.add(e);
-                                }
-                            }
-                        } else {
-                            ViewUtil.removeProperties(view, e);
-                            queue.add(e);
-                        }
-                    }
-                } else if (needsValidatorsAndFiltersApplying) {
-                    final String group = e.getGroup();
-                    final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
-                    if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
-                        if (elementFilter == null || elementFilter.test(e)) {
-                            ViewUtil.removeProperties(view, e);
-                            queue.add(e);
-                        }
-                    }
-                } else {
-                    ViewUtil.removeProperties(view, e);
-                    queue.add(e);
-                }
-                e = fileReader.read();
+        final ElementIterator iterator = new ElementIterator();
+        openIterators.add(iterator);
+        return iterator;
+    }
+
+    @Override
+    public void close() {
+        openIterators.forEach(ElementIterator::close);
+    }
+
+    private boolean isRequired(final Element e) throws VisibilityParseException {
+        if (!visibility.isEmpty() && !isVisible(e)) {
+            return false;
+        }
+        if (needsValidatorsAndFiltersApplying) {
+            final ElementFilter validatorFilter = gafferSchema.getElement(e.getGroup()).getValidator(false);
+            if (!skipValidation && validatorFilter != null && !validatorFilter.test(e)) {
+                return false;
             }
-            fileReader.close();
-        } catch (final IOException ignore) {
-            // ignore as this file does not exist
+            return elementFilter == null || elementFilter.test(e);
         }
-        return null;
+        return true;
     }
 
     private ParquetReader<Element> openParquetReader() throws IOException {
@@ -175,4 +159,63 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
             return true;
         }
     }
+
+    /**
+     * Reading and closing are synchronised, so the iterator can be closed from another thread while it is being read.
+     * The reader is then closed once the current read returns.
+     */
+    private final class ElementIterator implements CloseableIterator<Element> {
+        private ParquetReader<Element> fileReader;
+        private Element nextElement;
+
+        private ElementIterator() {
+            try {
+                fileReader = openParquetReader();
+            } catch (final IOException ignore) {
+                // ignore as this file does not exist
+            }
+        }
+
+        @Override
+        public synchronized boolean hasNext() {
+            try {
+                while (null == nextElement && null != fileReader) {
+                    final Element e = fileReader.read();
+                    if (null == e) {
+                        close();
+                    } else if (isRequired(e)) {
+                        ViewUtil.removeProperties(view, e);
+                        nextElement = e;
+                    }
+                }
+            } catch (final IOException | VisibilityParseException e) {
+                close();
+                throw new RuntimeException("Unable to read the elements from file " + filePath, e);
+            }
+            return null != nextElement;
+        }
+
+        @Override
+        public synchronized Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element e = nextElement;
+            nextElement = null;
+            return e;
+        }
+
+        @Override
+        public synchronized void close() {
+            openIterators.remove(this);
+            if (null != fileReader) {
+                try {
+                    fileReader.close();
+                } catch (final IOException e) {
+                    LOGGER.warn("Unable to close the Parquet reader for file {}: {}", filePath, e.getMessage());
+                }
+                fileReader = null;
+            }
+        }
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import com.google.common.collect.Lists;
+import org.apache.hadoop.fs.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.index.ColumnIndex;
+import uk.gov.gchq.gaffer.parquetstore.index.GraphIndex;
+import uk.gov.gchq.gaffer.parquetstore.index.MinValuesWithPath;
+import uk.gov.gchq.gaffer.parquetstore.testutils.DataGen;
+import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
+import uk.gov.gchq.gaffer.parquetstore.utils.ParquetStoreConstants;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.collection.IsIterableContainingInAnyOrder.containsInAnyOrder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class AggregateAndSortTempDataTest {
+    private static final User USER = new User();
+    private static final List<String> EDGE_COLUMNS = Arrays.asList(ParquetStoreConstants.SOURCE, ParquetStoreConstants.DESTINATION);
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    @Test
+    public void shouldCopyGroupsWithNoNewDataIntoNewSnapshot() throws IOException, OperationException, StoreException {
+        // Given
+        final ParquetStoreProperties properties = TestUtils.getParquetStoreProperties(testFolder);
+        properties.setAddElementsOutputFilesPerGroup(2);
+        properties.setSampleRate(1);
+        final ParquetStore store = new ParquetStore();
+        store.initialise("AggregateAndSortTempDataTest", TestUtils.gafferSchema("schemaUsingStringVertexType"), properties);
+        final Context context = new Context(USER);
+
+        final List<Element> edges = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            edges.add(DataGen.getEdge(TestGroups.EDGE, "src" + i, "dst" + i, true, null, null, null, null, null, null, null, null, 1, ""));
+        }
+        final Element entity1 = DataGen.getEntity(TestGroups.ENTITY, "vertex1", null, null, null, null, null, null, null, null, 1, "");
+        final Element entity2 = DataGen.getEntity(TestGroups.ENTITY, "vertex2", null, null, null, null, null, null, null, null, 1, "");
+        final List<Element> firstBatch = new ArrayList<>(edges);
+        firstBatch.add(entity1);
+        store.execute(new AddElements.Builder().input(firstBatch).build(), context);
+        final GraphIndex firstIndex = store.getGraphIndex();
+
+        // When
+        store.execute(new AddElements.Builder().input(Collections.singletonList(entity2)).build(), context);
+
+        // Then
+        final GraphIndex index = store.getGraphIndex();
+        assertNotEquals(firstIndex.getSnapshotTimestamp(), index.getSnapshotTimestamp());
+        final String snapshotDir = store.getDataDir() + "/" + index.getSnapshotTimestamp();
+        for (final String column : EDGE_COLUMNS) {
+            final List<MinValuesWithPath> expectedIndex = Lists.newArrayList(firstIndex.getGroup(TestGroups.EDGE).getColumn(column).getIterator());
+            final ColumnIndex columnIndex = index.getGroup(TestGroups.EDGE).getColumn(column);
+            final List<MinValuesWithPath> edgeIndex = Lists.newArrayList(columnIndex.getIterator());
+            assertFalse(edgeIndex.isEmpty());
+            assertEquals(expectedIndex.size(), edgeIndex.size());
+            for (int i = 0; i < edgeIndex.size(); i++) {
+                assertEquals(expectedIndex.get(i).getPath(), edgeIndex.get(i).getPath());
+                assertTrue(Arrays.deepEquals(expectedIndex.get(i).getMin(), edgeIndex.get(i).getMin()));
+                final Path file = new Path(ParquetStore.getGroupDirectory(TestGroups.EDGE, column, snapshotDir) + "/" + edgeIndex.get(i).getPath());
+                assertTrue("Missing " + file, store.getFS().exists(file));
+            }
+        }
+
+        final List<Element> expected = new ArrayList<>(edges);
+        expected.add(entity1);
+        expected.add(entity2);
+        assertThat(Lists.newArrayList(store.execute(new GetAllElements(), context)), containsInAnyOrder(expected.toArray()));
+
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed("dst3"))
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+        assertEquals(Collections.singletonList(edges.get(3)), Lists.newArrayList(store.execute(getElements, context)));
+    }
+}
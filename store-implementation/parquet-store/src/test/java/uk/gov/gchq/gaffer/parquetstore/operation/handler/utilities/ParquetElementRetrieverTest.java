@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import com.google.common.collect.Iterables;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.testutils.DataGen;
+import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParquetElementRetrieverTest {
+    private static final User USER = new User();
+    // More elements than the retriever buffers, so a reader waits for the consumer
+    private static final int NUM_ELEMENTS = 20000;
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    @Test(timeout = 120000)
+    public void shouldStopReadingWhenIteratorIsClosedEarly() throws IOException, OperationException {
+        // Given
+        final Graph graph = createGraph("shouldStopReadingWhenIteratorIsClosedEarly");
+        final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements(), USER);
+        final CloseableIterator<? extends Element> iterator = results.iterator();
+        assertTrue(iterator.hasNext());
+        iterator.next();
+
+        // When
+        iterator.close();
+
+        // Then
+        assertFalse(iterator.hasNext());
+        assertEquals(NUM_ELEMENTS, Iterables.size(results));
+    }
+
+    @Test(timeout = 120000)
+    public void shouldNotBlockOtherQueriesWhenIteratorIsPartiallyRead() throws IOException, OperationException {
+        // Given
+        final Graph graph = createGraph("shouldNotBlockOtherQueriesWhenIteratorIsPartiallyRead");
+        final CloseableIterator<? extends Element> partiallyRead = graph.execute(new GetAllElements(), USER).iterator();
+        for (int i = 0; i < 10; i++) {
+            partiallyRead.next();
+        }
+
+        // When
+        final int count = Iterables.size(graph.execute(new GetAllElements(), USER));
+
+        // Then
+        assertEquals(NUM_ELEMENTS, count);
+        assertTrue(partiallyRead.hasNext());
+        partiallyRead.close();
+    }
+
+    private Graph createGraph(final String graphId) throws IOException, OperationException {
+        final ParquetStoreProperties parquetStoreProperties = TestUtils.getParquetStoreProperties(testFolder);
+        parquetStoreProperties.setAddElementsOutputFilesPerGroup(1);
+        parquetStoreProperties.setThreadsAvailable(1);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(graphId)
+                        .build())
+                .addSchemas(TestUtils.gafferSchema("schemaUsingStringVertexType"))
+                .storeProperties(parquetStoreProperties)
+                .build();
+
+        final List<Element> elements = new ArrayList<>(NUM_ELEMENTS);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            elements.add(DataGen.getEntity(TestGroups.ENTITY, "vertex" + i, null, null, null, null, null, null, null, null, 1, ""));
+        }
+        graph.execute(new AddElements.Builder().input(elements).build(), USER);
+        return graph;
+    }
+}
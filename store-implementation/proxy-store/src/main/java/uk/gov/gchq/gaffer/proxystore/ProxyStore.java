@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.proxystore;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.glassfish.jersey.client.ClientProperties;
 import org.slf4j.Logger;
@@ -25,6 +26,7 @@ import org.slf4j.LoggerFactory;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.core.exception.Error;
 import uk.gov.gchq.gaffer.core.exception.GafferWrappedErrorRuntimeException;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -51,6 +53,7 @@ import uk.gov.gchq.gaffer.store.TypeReferenceStoreImpl;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.serialiser.ElementStreamSerialiser;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
@@ -62,9 +65,11 @@ import javax.ws.rs.core.Response.Status.Family;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -78,6 +83,7 @@ public class ProxyStore extends Store {
     private Client client;
     private Set<StoreTrait> traits;
     private Schema schema;
+    private ElementStreamSerialiser elementStreamSerialiser;
     private Set<Class<? extends Operation>> supportedOperations;
 
     @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST", justification = "The properties should always be ProxyProperties")
@@ -90,6 +96,7 @@ public class ProxyStore extends Store {
         supportedOperations = fetchOperations();
 
         super.initialise(graphId, schema, getProperties());
+        elementStreamSerialiser = new ElementStreamSerialiser(schema);
         checkDelegateStoreStatus();
     }
 
@@ -181,6 +188,11 @@ public class ProxyStore extends Store {
                            final Context context) throws StoreException {
 
         final Invocation.Builder request = createRequest(jsonBody, url, context);
+        if (null != elementStreamSerialiser && ElementStreamSerialiser.canSerialise(clazz)) {
+            // Prefer the compact binary format. Older REST APIs, or ones with a different schema, will respond with JSON
+            request.accept(ElementStreamSerialiser.MEDIA_TYPE, MediaType.APPLICATION_JSON + ";q=0.5");
+            request.header(ElementStreamSerialiser.SCHEMA_FINGERPRINT_HEADER, elementStreamSerialiser.getSchemaFingerprint());
+        }
         final Response response;
         try {
             response = request.post(Entity.json(jsonBody));
@@ -210,6 +222,20 @@ public class ProxyStore extends Store {
     protected <O> O handleResponse(final Response response,
                                    final TypeReference<O> outputTypeReference)
             throws StoreException {
+        if (Family.SUCCESSFUL == response.getStatusInfo().getFamily() && response.hasEntity()) {
+            final JavaType outputType = JSONSerialiser.getMapper().getTypeFactory().constructType(outputTypeReference);
+            if (MediaType.valueOf(ElementStreamSerialiser.MEDIA_TYPE).isCompatible(response.getMediaType())) {
+                final ResponseIterable<Element> elements = new ResponseIterable<>(response, elementStreamSerialiser::deserialise);
+                return (O) (isCloseableIterable(outputType) ? elements : readAll(elements));
+            }
+            if (isCloseableIterable(outputType)) {
+                // Decode the items as they are read, rather than reading the whole response into memory.
+                // Only closeable results are decoded lazily, as the caller is expected to close them.
+                return (O) new ResponseIterable<>(response,
+                        ResponseIterable.jsonArrayDecoder(JSONSerialiser.getMapper(), outputType.containedType(0)));
+            }
+        }
+
         final String outputJson = response.hasEntity() ? response.readEntity(String.class) : null;
         if (Family.SUCCESSFUL != response.getStatusInfo().getFamily()) {
             final Error error;
@@ -234,6 +260,18 @@ public class ProxyStore extends Store {
         return output;
     }
 
+    private static <T> List<T> readAll(final CloseableIterable<T> iterable) {
+        final List<T> items = new ArrayList<>();
+        try (final CloseableIterator<T> itr = iterable.iterator()) {
+            itr.forEachRemaining(items::add);
+        }
+        return items;
+    }
+
+    private boolean isCloseableIterable(final JavaType type) {
+        return CloseableIterable.class == type.getRawClass() && 1 == type.containedTypeCount();
+    }
+
     protected Invocation.Builder createRequest(final String body, final URL url, final Context context) {
         final Invocation.Builder request = client.target(url.toString())
                 .request();
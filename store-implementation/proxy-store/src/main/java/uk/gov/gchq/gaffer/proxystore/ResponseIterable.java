@@ -0,0 +1,297 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.proxystore;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CachingIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+
+import javax.ws.rs.core.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code ResponseIterable} decodes the items in the body of a REST API
+ * {@link Response} as they are iterated over, rather than reading the whole
+ * response into memory first.
+ * <p>
+ * The response can only be read once, so the items are cached as they are
+ * read, up to a maximum cache size. If the first iterator reads to the end of
+ * the response, further iterators read from the cache. If the first iterator
+ * is closed before the end of the response, the response is closed straight
+ * away and the items read so far are discarded, so the results cannot be
+ * iterated again. Responses with more items than the maximum cache size can
+ * only be iterated once.
+ * </p>
+ * <p>
+ * Closing the iterable closes the response and the underlying HTTP
+ * connection. If no iterator is created within the idle timeout the response
+ * is closed anyway, so a result that is never read does not hold a
+ * connection open.
+ * </p>
+ *
+ * @param <T> the type of items in the response
+ */
+public class ResponseIterable<T> implements CloseableIterable<T> {
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final ScheduledThreadPoolExecutor IDLE_CLOSER = createIdleCloser();
+
+    private final Response response;
+    private final Decoder<T> decoder;
+    private final int maxCacheSize;
+    private final long idleTimeoutMillis;
+    private final ScheduledFuture<?> idleClose;
+    private List<T> cache;
+    private boolean cacheComplete;
+    private boolean read;
+    private boolean idleClosed;
+    private RuntimeException readFailure;
+
+    public ResponseIterable(final Response response, final Decoder<T> decoder) {
+        this(response, decoder, CachingIterable.DEFAULT_MAX_SIZE, DEFAULT_IDLE_TIMEOUT_MILLIS);
+    }
+
+    public ResponseIterable(final Response response, final Decoder<T> decoder, final int maxCacheSize, final long idleTimeoutMillis) {
+        if (idleTimeoutMillis < 1) {
+            throw new IllegalArgumentException("Idle timeout must be at least 1 millisecond");
+        }
+        this.response = response;
+        this.decoder = decoder;
+        this.maxCacheSize = maxCacheSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.cache = new ArrayList<>(Math.min(CachingIterable.DEFAULT_MAX_SIZE, Math.max(0, maxCacheSize)));
+        this.idleClose = IDLE_CLOSER.schedule(this::closeIfNotRead, idleTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a decoder for a response containing a JSON array.
+     *
+     * @param mapper   the mapper to deserialise the items with
+     * @param itemType the type of the items in the array
+     * @param <T>      the type of the items in the array
+     * @return the decoder
+     */
+    public static <T> Decoder<T> jsonArrayDecoder(final ObjectMapper mapper, final JavaType itemType) {
+        return in -> new JsonArrayIterator<>(mapper, itemType, in);
+    }
+
+    @Override
+    public synchronized CloseableIterator<T> iterator() {
+        if (cacheComplete) {
+            return new WrappedCloseableIterator<>(cache.iterator());
+        }
+        if (idleClosed) {
+            throw new IllegalStateException("The response from the REST API was not read for "
+                    + idleTimeoutMillis + "ms so it has been closed. "
+                    + "Execute the operation again to read the results.");
+        }
+        if (read) {
+            throw new IllegalStateException("The response from the REST API has already been read. "
+                    + "Execute the operation again to read the results again.", readFailure);
+        }
+        read = true;
+        idleClose.cancel(false);
+
+        final CloseableIterator<T> itr;
+        try {
+            itr = decoder.decode(response.readEntity(InputStream.class));
+        } catch (final SerialisationException | RuntimeException e) {
+            close();
+            throw new RuntimeException("Unable to read the response from the REST API: " + e.getMessage(), e);
+        }
+
+        return new ResponseIterator(itr);
+    }
+
+    @Override
+    public void close() {
+        idleClose.cancel(false);
+        response.close();
+    }
+
+    private static ScheduledThreadPoolExecutor createIdleCloser() {
+        final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "proxy-store-response-closer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Cancelled tasks must not keep hold of their responses
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    private synchronized void closeIfNotRead() {
+        if (!read) {
+            idleClosed = true;
+            close();
+        }
+    }
+
+    private synchronized void cacheItem(final T item) {
+        if (null != cache) {
+            if (cache.size() < maxCacheSize) {
+                cache.add(item);
+            } else {
+                cache = null;
+            }
+        }
+    }
+
+    private synchronized void completeCache() {
+        if (null != cache) {
+            cacheComplete = true;
+        }
+    }
+
+    private synchronized void discardCache(final RuntimeException e) {
+        cache = null;
+        readFailure = e;
+    }
+
+    /**
+     * Decodes the items from the body of a response.
+     *
+     * @param <T> the type of items in the response
+     */
+    @FunctionalInterface
+    public interface Decoder<T> {
+        CloseableIterator<T> decode(final InputStream in) throws SerialisationException;
+    }
+
+    private final class ResponseIterator implements CloseableIterator<T> {
+        private final CloseableIterator<T> itr;
+        private boolean closed;
+
+        private ResponseIterator(final CloseableIterator<T> itr) {
+            this.itr = itr;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+            final boolean hasNext;
+            try {
+                hasNext = itr.hasNext();
+            } catch (final RuntimeException e) {
+                discardCache(e);
+                release();
+                throw e;
+            }
+            if (!hasNext) {
+                completeCache();
+                release();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (closed) {
+                throw new NoSuchElementException("Iterator has been closed");
+            }
+            final T item = itr.next();
+            cacheItem(item);
+            return item;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                // The response has not been read to the end, so the items read so far cannot be replayed
+                discardCache(null);
+                release();
+            }
+        }
+
+        private void release() {
+            closed = true;
+            CloseableUtil.close(itr);
+            ResponseIterable.this.close();
+        }
+    }
+
+    private static final class JsonArrayIterator<T> implements CloseableIterator<T> {
+        private final ObjectMapper mapper;
+        private final JavaType itemType;
+        private final JsonParser parser;
+        private JsonToken nextToken;
+
+        private JsonArrayIterator(final ObjectMapper mapper, final JavaType itemType, final InputStream in) throws SerialisationException {
+            this.mapper = mapper;
+            this.itemType = itemType;
+            try {
+                parser = mapper.getFactory().createParser(in);
+                if (JsonToken.START_ARRAY != parser.nextToken()) {
+                    throw new SerialisationException("Expected the response to contain a JSON array");
+                }
+            } catch (final IOException e) {
+                CloseableUtil.close(in);
+                throw new SerialisationException("Unable to parse the response: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == nextToken) {
+                try {
+                    nextToken = parser.nextToken();
+                } catch (final IOException e) {
+                    throw new RuntimeException("Unable to parse the response: " + e.getMessage(), e);
+                }
+                if (null == nextToken) {
+                    throw new RuntimeException("The response ended before the end of the JSON array");
+                }
+            }
+            return JsonToken.END_ARRAY != nextToken;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more items in the response");
+            }
+            try {
+                return mapper.readValue(parser, itemType);
+            } catch (final IOException e) {
+                throw new RuntimeException("Unable to deserialise item: " + e.getMessage(), e);
+            } finally {
+                nextToken = null;
+            }
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(parser);
+        }
+    }
+}
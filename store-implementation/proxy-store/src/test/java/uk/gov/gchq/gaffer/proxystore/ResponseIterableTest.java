@@ -0,0 +1,225 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.proxystore;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import javax.ws.rs.core.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ResponseIterableTest {
+    @Test
+    public void shouldIterateOverResponseMoreThanOnce() {
+        // Given
+        final Response response = createResponse("[1,2,3]");
+        final ResponseIterable<Integer> iterable = createIterable(response, 10);
+
+        // When
+        final Iterable<Integer> firstResults = Lists.newArrayList(iterable);
+        final Iterable<Integer> secondResults = Lists.newArrayList(iterable);
+
+        // Then
+        assertEquals(Arrays.asList(1, 2, 3), firstResults);
+        assertEquals(Arrays.asList(1, 2, 3), secondResults);
+        verify(response).readEntity(InputStream.class);
+        verify(response).close();
+    }
+
+    @Test
+    public void shouldNotIterateAgainWhenSmallResponseClosedEarly() {
+        // Given
+        final Response response = createResponse("[1,2,3]");
+        final ResponseIterable<Integer> iterable = createIterable(response, 10);
+
+        // When
+        final CloseableIterator<Integer> itr = iterable.iterator();
+        assertEquals(1, (int) itr.next());
+        itr.close();
+
+        // Then
+        verify(response).close();
+        assertFalse(itr.hasNext());
+        try {
+            iterable.iterator();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().contains("already been read"));
+        }
+    }
+
+    @Test
+    public void shouldIterateAgainWhenFirstIteratorClosedAfterReadingToTheEnd() {
+        // Given
+        final Response response = createResponse("[1,2,3]");
+        final ResponseIterable<Integer> iterable = createIterable(response, 10);
+
+        // When
+        final CloseableIterator<Integer> itr = iterable.iterator();
+        assertEquals(Arrays.asList(1, 2, 3), Lists.newArrayList(itr));
+        itr.close();
+
+        // Then
+        assertEquals(Arrays.asList(1, 2, 3), Lists.newArrayList(iterable));
+        verify(response).close();
+    }
+
+    @Test
+    public void shouldNotIterateAgainWhenLargeResponseClosedEarly() {
+        // Given
+        final Response response = createResponse("[1,2,3]");
+        final ResponseIterable<Integer> iterable = createIterable(response, 2);
+
+        // When
+        final CloseableIterator<Integer> itr = iterable.iterator();
+        assertEquals(1, (int) itr.next());
+        itr.close();
+
+        // Then
+        verify(response).close();
+        try {
+            iterable.iterator();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().contains("already been read"));
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionAndCloseResponseWhenJsonIsTruncated() {
+        // Given
+        final Response response = createResponse("[1,2,");
+        final ResponseIterable<Integer> iterable = createIterable(response, 10);
+        final CloseableIterator<Integer> itr = iterable.iterator();
+        assertEquals(1, (int) itr.next());
+        assertEquals(2, (int) itr.next());
+
+        // When / Then
+        try {
+            itr.hasNext();
+            fail("Exception expected");
+        } catch (final RuntimeException e) {
+            assertTrue(e.getMessage().contains("response"));
+        }
+        verify(response).close();
+        try {
+            iterable.iterator();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().contains("already been read"));
+        }
+    }
+
+    @Test
+    public void shouldNotCacheTruncatedResponseWhenFirstIteratorClosedEarly() {
+        // Given
+        final Response response = createResponse("[1,2,");
+        final ResponseIterable<Integer> iterable = createIterable(response, 10);
+
+        // When
+        final CloseableIterator<Integer> itr = iterable.iterator();
+        assertEquals(1, (int) itr.next());
+        itr.close();
+
+        // Then
+        verify(response).close();
+        try {
+            iterable.iterator();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().contains("already been read"));
+        }
+    }
+
+    @Test
+    public void shouldCloseResponseThatIsNotIteratedWithinIdleTimeout() {
+        // Given
+        final Response response = createResponse("[1,2,3]");
+
+        // When
+        final ResponseIterable<Integer> iterable = new ResponseIterable<>(response, createDecoder(), 10, 10);
+
+        // Then
+        verify(response, timeout(5000)).close();
+        try {
+            iterable.iterator();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().contains("has been closed"));
+        }
+    }
+
+    @Test
+    public void shouldNotCloseResponseWhenIteratedWithinIdleTimeout() throws InterruptedException {
+        // Given
+        final Response response = createResponse("[1,2,3]");
+        final ResponseIterable<Integer> iterable = new ResponseIterable<>(response, createDecoder(), 10, 100);
+        final CloseableIterator<Integer> itr = iterable.iterator();
+
+        // When
+        Thread.sleep(300);
+
+        // Then
+        verify(response, times(0)).close();
+        assertEquals(Arrays.asList(1, 2, 3), Lists.newArrayList(itr));
+        verify(response).close();
+    }
+
+    @Test
+    public void shouldReadEmptyResponse() {
+        // Given
+        final Response response = createResponse("[]");
+        final ResponseIterable<Integer> iterable = createIterable(response, 10);
+
+        // When / Then
+        assertEquals(Collections.emptyList(), Lists.newArrayList(iterable));
+        assertEquals(Collections.emptyList(), Lists.newArrayList(iterable));
+    }
+
+    private static Response createResponse(final String json) {
+        final Response response = mock(Response.class);
+        given(response.readEntity(InputStream.class)).willReturn(new ByteArrayInputStream(StringUtil.toBytes(json)));
+        return response;
+    }
+
+    private static ResponseIterable<Integer> createIterable(final Response response, final int maxCacheSize) {
+        return new ResponseIterable<>(response, createDecoder(), maxCacheSize, ResponseIterable.DEFAULT_IDLE_TIMEOUT_MILLIS);
+    }
+
+    private static ResponseIterable.Decoder<Integer> createDecoder() {
+        return ResponseIterable.jsonArrayDecoder(JSONSerialiser.getMapper(),
+                JSONSerialiser.getMapper().getTypeFactory().constructType(Integer.class));
+    }
+}
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.proxystore.integration;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -35,28 +36,39 @@ import uk.gov.gchq.gaffer.core.exception.Status;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.jobtracker.JobDetail;
 import uk.gov.gchq.gaffer.jobtracker.JobStatus;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.Limit;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.proxystore.ProxyProperties;
 import uk.gov.gchq.gaffer.proxystore.ProxyStore;
 import uk.gov.gchq.gaffer.rest.RestApiTestClient;
 import uk.gov.gchq.gaffer.rest.service.v2.RestApiV2TestClient;
 import uk.gov.gchq.gaffer.store.StoreTrait;
+import uk.gov.gchq.gaffer.store.serialiser.ElementStreamSerialiser;
 import uk.gov.gchq.gaffer.user.User;
 
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.hasItems;
@@ -145,6 +157,49 @@ public class ProxyStoreBasicIT {
         assertThat((CloseableIterable<Element>) results, hasItems(DEFAULT_ELEMENTS));
     }
 
+    @Test
+    public void shouldGetAllElementsInBinaryFormatWhenRequested() throws Exception {
+        // Given
+        addDefaultElements();
+
+        final ElementStreamSerialiser serialiser = new ElementStreamSerialiser(graph.getSchema());
+
+        // When
+        final Response response = executeGetAllElements(ElementStreamSerialiser.MEDIA_TYPE, serialiser.getSchemaFingerprint());
+
+        // Then
+        assertEquals(ElementStreamSerialiser.MEDIA_TYPE, response.getMediaType().toString());
+        final List<Element> results = Lists.newArrayList(serialiser.deserialise(response.readEntity(InputStream.class)));
+        assertEquals(DEFAULT_ELEMENTS.length, results.size());
+        assertThat(results, hasItems(DEFAULT_ELEMENTS));
+    }
+
+    @Test
+    public void shouldGetAllElementsAsJsonWhenSchemaIsDifferent() throws Exception {
+        // Given
+        addDefaultElements();
+
+        // When
+        final Response response = executeGetAllElements(ElementStreamSerialiser.MEDIA_TYPE, "differentSchema");
+
+        // Then
+        assertEquals(MediaType.APPLICATION_JSON_TYPE, response.getMediaType());
+        response.close();
+    }
+
+    @Test
+    public void shouldGetAllElementsAsJsonByDefault() throws Exception {
+        // Given
+        addDefaultElements();
+
+        // When
+        final Response response = executeGetAllElements(MediaType.WILDCARD, null);
+
+        // Then
+        assertEquals(MediaType.APPLICATION_JSON_TYPE, response.getMediaType());
+        response.close();
+    }
+
     @Test
     public void shouldAddElementsAndGetRelatedElements() throws Exception {
         // Given
@@ -164,6 +219,21 @@ public class ProxyStoreBasicIT {
         assertThat((CloseableIterable<Element>) results, hasItem(DEFAULT_ELEMENTS[0]));
     }
 
+    @Test
+    public void shouldAddElementsAndGetAdjacentIds() throws Exception {
+        // Given
+        addDefaultElements();
+
+        // When
+        final CloseableIterable<? extends EntityId> results = graph.execute(new GetAdjacentIds.Builder()
+                .input(new EntitySeed("1"))
+                .build(), USER);
+
+        // Then
+        assertEquals(Lists.newArrayList(new EntitySeed("2")), Lists.newArrayList(results));
+        assertEquals(Lists.newArrayList(new EntitySeed("2")), Lists.newArrayList(results));
+    }
+
     @Test
     public void shouldAddElementsViaAJob() throws Exception {
         // Add elements
@@ -232,6 +302,18 @@ public class ProxyStoreBasicIT {
         assertEquals(expectedTraits, storeTraits);
     }
 
+    private Response executeGetAllElements(final String mediaType, final String schemaFingerprint) throws Exception {
+        final ProxyProperties properties = new ProxyProperties();
+        properties.setGafferHost("localhost");
+        properties.setGafferPort(8080);
+        properties.setGafferContextRoot("rest");
+        return ClientBuilder.newClient()
+                .target(properties.getGafferUrl("graph/operations/execute").toString())
+                .request(mediaType)
+                .header(ElementStreamSerialiser.SCHEMA_FINGERPRINT_HEADER, schemaFingerprint)
+                .post(javax.ws.rs.client.Entity.json(JSONSerialiser.serialise(new GetAllElements())));
+    }
+
     private void addDefaultElements() throws OperationException {
         final AddElements add = new AddElements.Builder()
                 .input(DEFAULT_ELEMENTS)